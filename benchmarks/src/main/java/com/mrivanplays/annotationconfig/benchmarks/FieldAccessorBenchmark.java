@@ -0,0 +1,85 @@
+package com.mrivanplays.annotationconfig.benchmarks;
+
+import com.mrivanplays.annotationconfig.core.annotations.GenerateBinder;
+import com.mrivanplays.annotationconfig.core.internal.FieldAccessor;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link FieldAccessor FieldAccessors} backed by a generated binder against plain
+ * reflective {@link Field} access. The binder of the subject is generated by the annotation
+ * processor, which this module is compiled with.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessorBenchmark {
+
+  @GenerateBinder
+  public static class Subject {
+
+    // not private, so the binder accesses them directly
+    int number = 5;
+    String name = "Ivan";
+  }
+
+  private Subject subject;
+  private Field numberField;
+  private Field nameField;
+  private FieldAccessor numberAccessor;
+  private FieldAccessor nameAccessor;
+
+  @Setup
+  public void setup() throws NoSuchFieldException {
+    subject = new Subject();
+    numberField = Subject.class.getDeclaredField("number");
+    numberField.setAccessible(true);
+    nameField = Subject.class.getDeclaredField("name");
+    nameField.setAccessible(true);
+    numberAccessor = FieldAccessor.of(numberField);
+    nameAccessor = FieldAccessor.of(nameField);
+    if (!numberAccessor.toString().startsWith("BinderAccessor")
+        || !nameAccessor.toString().startsWith("BinderAccessor")) {
+      throw new IllegalStateException("The binder of the subject hasn't been generated");
+    }
+  }
+
+  @Benchmark
+  public Object reflectiveGet() throws IllegalAccessException {
+    numberField.get(subject);
+    return nameField.get(subject);
+  }
+
+  @Benchmark
+  public Object binderGet() {
+    numberAccessor.get(subject);
+    return nameAccessor.get(subject);
+  }
+
+  @Benchmark
+  public Subject reflectiveSet() throws IllegalAccessException {
+    numberField.set(subject, 10);
+    nameField.set(subject, "Pesho");
+    return subject;
+  }
+
+  @Benchmark
+  public Subject binderSet() {
+    numberAccessor.set(subject, 10);
+    nameAccessor.set(subject, "Pesho");
+    return subject;
+  }
+}
@@ -2,12 +2,18 @@ package com.mrivanplays.annotationconfig.core;
 
 import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
 import com.mrivanplays.annotationconfig.core.resolver.MultilineString;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueReader;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
 import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
 import com.mrivanplays.annotationconfig.core.utils.ReflectionUtils;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -20,91 +26,168 @@ import java.util.Properties;
  */
 public final class PropertyConfig {
 
-  private static ConfigResolver configResolver;
-
   /**
    * Returns the {@link ConfigResolver} instance of PropertyConfig
    *
    * @return config resolver
    */
   public static ConfigResolver getConfigResolver() {
-    if (configResolver == null) {
-      generateConfigResolver();
-    }
-    return configResolver;
+    return ConfigResolverHolder.CONFIG_RESOLVER;
   }
 
   private static final ValueWriter PROPERTIES_VALUE_WRITER = new PropertyValueWriter();
+  private static final StreamingValueReader PROPERTIES_VALUE_READER = new PropertyValueReader();
 
-  private static void generateConfigResolver() {
-    configResolver =
-        ConfigResolver.newBuilder()
-            .withCommentPrefix("# ")
-            .withFileExtension(".properties")
-            .withValueWriter(PROPERTIES_VALUE_WRITER)
-            .withValueReader(
-                (reader, settings) -> {
-                  Properties properties = new Properties();
-                  properties.load(reader);
-                  Map<String, Object> ret = new LinkedHashMap<>();
-                  for (Object key : properties.keySet()) {
-                    Object value = properties.get(key);
-                    if (value instanceof String) {
-                      String valueString = String.valueOf(value);
-                      if (valueString.contains(",")) {
-                        String[] stringArray = valueString.split(",");
-                        Object[] newArray = new Object[stringArray.length];
-                        for (int i = 0; i < stringArray.length; i++) {
-                          newArray[i] = stringArray[i].trim();
-                        }
-                        value = newArray;
-                      }
-                    }
-                    ret.put(String.valueOf(key), value);
-                  }
-                  return ret;
-                })
-            .build();
+  private static ConfigResolver generateConfigResolver() {
+    return ConfigResolver.newBuilder()
+        .withCommentPrefix("# ")
+        .withFileExtension(".properties")
+        .withValueWriter(PROPERTIES_VALUE_WRITER)
+        .withValueReader(PROPERTIES_VALUE_READER)
+        .build();
   }
 
-  private static final class PropertyValueWriter implements ValueWriter {
+  private static final class PropertyValueReader implements StreamingValueReader {
 
     @Override
-    public void write(
-        Map<String, Object> values,
-        Map<String, List<String>> fieldComments,
-        PrintWriter writer,
-        Settings settings) {
-      int index = 0;
-      for (Map.Entry<String, Object> entry : values.entrySet()) {
-        if (entry.getValue() instanceof Map<?, ?>) {
-          throw new IllegalArgumentException(".properties does not support maps");
-        }
-        if (entry.getValue() instanceof List<?>) {
-          throw new IllegalArgumentException(".properties does not support lists");
-        }
-        if (fieldComments.containsKey(entry.getKey())) {
-          for (String comment : fieldComments.get(entry.getKey())) {
-            writer.println("# " + comment);
+    public ValueCursor open(Reader reader, Settings settings) throws IOException {
+      Properties properties = new Properties();
+      properties.load(reader);
+      return new PropertyValueCursor(properties.entrySet().iterator());
+    }
+  }
+
+  /**
+   * Represents a cursor over loaded {@link Properties}: a single section of string values. Values
+   * containing commas are read as arrays of their trimmed parts. Empty properties have no tokens,
+   * so they are read as an empty config.
+   */
+  private static final class PropertyValueCursor implements ValueCursor {
+
+    private final Iterator<Map.Entry<Object, Object>> entries;
+    private Map.Entry<Object, Object> entry;
+    private Token current;
+
+    PropertyValueCursor(Iterator<Map.Entry<Object, Object>> entries) {
+      this.entries = entries;
+    }
+
+    @Override
+    public Token next() {
+      if (current == null) {
+        return entries.hasNext() ? current = Token.START_SECTION : null;
+      }
+      switch (current) {
+        case START_SECTION:
+        case SCALAR:
+          if (entries.hasNext()) {
+            entry = entries.next();
+            return current = Token.KEY;
           }
+          entry = null;
+          return current = Token.END;
+        case KEY:
+          return current = Token.SCALAR;
+        default:
+          return null;
+      }
+    }
+
+    @Override
+    public Token current() {
+      return current;
+    }
+
+    @Override
+    public String getKey() {
+      if (current != Token.KEY) {
+        throw new IllegalStateException("Not at a key");
+      }
+      return String.valueOf(entry.getKey());
+    }
+
+    @Override
+    public Object getScalar() {
+      if (current != Token.SCALAR) {
+        throw new IllegalStateException("Not at a scalar");
+      }
+      Object value = entry.getValue();
+      if (value instanceof String) {
+        String valueString = (String) value;
+        if (valueString.contains(",")) {
+          String[] stringArray = valueString.split(",");
+          Object[] newArray = new Object[stringArray.length];
+          for (int i = 0; i < stringArray.length; i++) {
+            newArray[i] = stringArray[i].trim();
+          }
+          value = newArray;
         }
-        String toWrite;
-        if (entry.getValue() instanceof MultilineString) {
-          toWrite = ((MultilineString) entry.getValue()).getString();
-        } else if (!entry.getValue().getClass().isArray()) {
-          toWrite = String.valueOf(entry.getValue());
-        } else {
-          toWrite =
-              Arrays.deepToString(ReflectionUtils.castToArray(entry.getValue()))
-                  .replace("[", "")
-                  .replace("]", "");
-        }
-        writer.println(entry.getKey() + "=" + toWrite);
-        if ((index + 1) != values.size()) {
-          writer.append('\n');
-        }
-        index++;
       }
+      return value;
+    }
+  }
+
+  private static final class PropertyValueWriter implements StreamingValueWriter {
+
+    @Override
+    public ValueEmitter open(PrintWriter writer, Settings settings) {
+      return new PropertyValueEmitter(writer);
+    }
+  }
+
+  /** Represents an emitter of properties: a single section of values, separated by a new line. */
+  private static final class PropertyValueEmitter implements ValueEmitter {
+
+    private final PrintWriter writer;
+    private boolean first = true;
+
+    PropertyValueEmitter(PrintWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void beginSection(String key, List<String> comments) {
+      throw new IllegalArgumentException(".properties does not support maps");
+    }
+
+    @Override
+    public void scalar(String key, Object value, List<String> comments) {
+      if (value instanceof Map<?, ?>) {
+        throw new IllegalArgumentException(".properties does not support maps");
+      }
+      if (value instanceof List<?>) {
+        throw new IllegalArgumentException(".properties does not support lists");
+      }
+      if (!first) {
+        writer.append('\n');
+      }
+      first = false;
+      for (String comment : comments) {
+        writer.println("# " + comment);
+      }
+      String toWrite;
+      if (value instanceof MultilineString) {
+        toWrite = ((MultilineString) value).getString();
+      } else if (!value.getClass().isArray()) {
+        toWrite = String.valueOf(value);
+      } else {
+        toWrite =
+            Arrays.deepToString(ReflectionUtils.castToArray(value))
+                .replace("[", "")
+                .replace("]", "");
+      }
+      writer.println(key + "=" + toWrite);
+    }
+
+    @Override
+    public void endSection() {
+      throw new IllegalStateException("No section has been begun");
     }
   }
+
+  // initialized on first use; the JVM guarantees it is created once and safely published
+  private static final class ConfigResolverHolder {
+
+    static final ConfigResolver CONFIG_RESOLVER = generateConfigResolver();
+  }
 }
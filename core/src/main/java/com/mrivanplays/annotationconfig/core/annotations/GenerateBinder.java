@@ -0,0 +1,21 @@
+package com.mrivanplays.annotationconfig.core.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation, marking a config class for which the annotationconfig-processor should generate a
+ * {@link com.mrivanplays.annotationconfig.core.resolver.binder.ConfigBinder}. Classes using any of
+ * the other annotations of AnnotationConfig get a binder anyway, so this is only needed for configs
+ * which use none of them.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateBinder {}
@@ -1,9 +1,11 @@
 package com.mrivanplays.annotationconfig.core.annotations.custom;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a registry for custom annotations.
@@ -14,8 +16,10 @@ import java.util.Optional;
 public enum CustomAnnotationRegistry {
   INSTANCE;
 
-  private Map<Class<? extends Annotation>, AnnotationValidator<? extends Annotation>> registry =
-      new LinkedHashMap<>();
+  // immutable snapshot, replaced on every (un)registration; lookups never lock
+  private volatile Map<Class<? extends Annotation>, AnnotationValidator<? extends Annotation>>
+      registry = Collections.emptyMap();
+  private final AtomicInteger modificationStamp = new AtomicInteger();
 
   /**
    * Binds the specified {@link AnnotationValidator} {@code validator} to the specified {@code
@@ -26,13 +30,17 @@ public enum CustomAnnotationRegistry {
    * @param <T> annotation type
    * @throws IllegalArgumentException if the annotation already has a validator.
    */
-  public <T extends Annotation> void register(
+  public synchronized <T extends Annotation> void register(
       Class<T> annotation, AnnotationValidator<T> validator) {
     if (registry.containsKey(annotation)) {
       throw new IllegalArgumentException(
           "Custom annotation " + annotation.getName() + " already registered.");
     }
-    registry.put(annotation, validator);
+    Map<Class<? extends Annotation>, AnnotationValidator<? extends Annotation>> copy =
+        new LinkedHashMap<>(registry);
+    copy.put(annotation, validator);
+    registry = Collections.unmodifiableMap(copy);
+    modificationStamp.incrementAndGet();
   }
 
   /**
@@ -42,12 +50,16 @@ public enum CustomAnnotationRegistry {
    * @param annotation the annotation you want to remove the validator of
    * @throws IllegalArgumentException if no validator was present for the specified annotation
    */
-  public void unregister(Class<? extends Annotation> annotation) {
+  public synchronized void unregister(Class<? extends Annotation> annotation) {
     if (!registry.containsKey(annotation)) {
       throw new IllegalArgumentException(
           "Custom annotation " + annotation.getName() + " already not registered.");
     }
-    registry.remove(annotation);
+    Map<Class<? extends Annotation>, AnnotationValidator<? extends Annotation>> copy =
+        new LinkedHashMap<>(registry);
+    copy.remove(annotation);
+    registry = copy.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(copy);
+    modificationStamp.incrementAndGet();
   }
 
   /**
@@ -79,4 +91,15 @@ public enum CustomAnnotationRegistry {
       Class<? extends Annotation> annotationClass) {
     return Optional.ofNullable(registry.get(annotationClass));
   }
+
+  /**
+   * Returns a number, which changes every time a validator is registered or unregistered. Can be
+   * used to cache validators looked up from this registry.
+   *
+   * @return modification stamp
+   * @since 3.0.2
+   */
+  public int getModificationStamp() {
+    return modificationStamp.get();
+  }
 }
@@ -1,37 +1,33 @@
 package com.mrivanplays.annotationconfig.core.internal;
 
-import com.mrivanplays.annotationconfig.core.annotations.Key;
-import com.mrivanplays.annotationconfig.core.annotations.Max;
-import com.mrivanplays.annotationconfig.core.annotations.Min;
-import com.mrivanplays.annotationconfig.core.annotations.Multiline;
-import com.mrivanplays.annotationconfig.core.annotations.comment.Comment;
-import com.mrivanplays.annotationconfig.core.annotations.comment.Comments;
 import com.mrivanplays.annotationconfig.core.annotations.custom.AnnotationValidator;
-import com.mrivanplays.annotationconfig.core.annotations.custom.CustomAnnotationRegistry;
-import com.mrivanplays.annotationconfig.core.annotations.custom.ValidationResponse;
 import com.mrivanplays.annotationconfig.core.annotations.type.AnnotationType;
-import com.mrivanplays.annotationconfig.core.internal.MinMaxHandler.NumberResult;
-import com.mrivanplays.annotationconfig.core.internal.MinMaxHandler.State;
+import com.mrivanplays.annotationconfig.core.internal.FieldValidator.CustomValidator;
 import com.mrivanplays.annotationconfig.core.resolver.CommentPlaceholderRegistry;
+import com.mrivanplays.annotationconfig.core.resolver.DumpResult;
 import com.mrivanplays.annotationconfig.core.resolver.MultilineString;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
 import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.binder.ConfigBinder;
+import com.mrivanplays.annotationconfig.core.resolver.binder.DumpContext;
+import com.mrivanplays.annotationconfig.core.resolver.binder.LoadContext;
 import com.mrivanplays.annotationconfig.core.resolver.key.KeyResolver;
 import com.mrivanplays.annotationconfig.core.resolver.settings.NullReadHandleOption;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
-import com.mrivanplays.annotationconfig.core.serialization.AnnotationAccessor;
 import com.mrivanplays.annotationconfig.core.serialization.DataObject;
 import com.mrivanplays.annotationconfig.core.serialization.FieldTypeSerializer;
 import com.mrivanplays.annotationconfig.core.serialization.SerializationContext;
-import com.mrivanplays.annotationconfig.core.serialization.SerializerRegistry;
 import com.mrivanplays.annotationconfig.core.utils.MapUtils;
-import java.io.File;
-import java.io.FileWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -50,10 +46,12 @@ import java.util.TreeSet;
 @SuppressWarnings({"unchecked", "rawtypes", "FieldMayBeFinal"})
 public final class AnnotatedConfigResolver {
 
-  public static Map<AnnotationHolder, Set<AnnotationType>> resolveAnnotations(
-      Object annotatedClass, boolean reverseFields, boolean findParentFields) {
+  // marks read values which leave the option unchanged
+  private static final Object KEEP = new Object();
+
+  static Map<AnnotationHolder, Set<AnnotationType>> resolveAnnotations(
+      Class<?> theClass, boolean reverseFields, boolean findParentFields) {
     Map<AnnotationHolder, Set<AnnotationType>> annotationData = new TreeMap<>();
-    Class<?> theClass = annotatedClass.getClass();
     AnnotationHolder CLASS_ANNOTATION_HOLDER = new AnnotationHolder(theClass);
     List<ParentData> parentData = null;
     if (findParentFields) {
@@ -148,86 +146,51 @@ public final class AnnotatedConfigResolver {
     Annotation[] annotations;
   }
 
-  public static void dump(
+  public static DumpResult dump(
       Object annotatedConfig,
-      Map<AnnotationHolder, Set<AnnotationType>> map,
-      File file,
+      ConfigSchema schema,
+      Path path,
       Settings settings,
+      boolean fsync,
       String commentChar,
       ValueWriter valueWriter,
-      KeyResolver keyResolver,
-      boolean reverseFields,
-      boolean findParentFields) {
+      KeyResolver keyResolver) {
     try {
-      file.createNewFile();
-      try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
-        toWriter(
-            annotatedConfig,
-            writer,
-            map,
-            commentChar,
-            valueWriter,
-            settings,
-            keyResolver,
-            reverseFields,
-            findParentFields);
-      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream(expectedSize(path));
+      PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      toWriter(annotatedConfig, writer, schema, commentChar, valueWriter, settings, keyResolver);
+      writer.flush();
+      byte[] content = out.toByteArray();
+      if (AtomicFileWriter.hasContent(path, content)) {
+        return DumpResult.UNCHANGED;
+      }
+      AtomicFileWriter.write(path, content, fsync);
+      return DumpResult.WRITTEN;
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
-  public static void dump(
-      Object annotatedConfig,
-      Map<AnnotationHolder, Set<AnnotationType>> map,
-      Path path,
-      Settings settings,
-      String commentChar,
-      ValueWriter valueWriter,
-      KeyResolver keyResolver,
-      boolean reverseFields,
-      boolean findParentFields) {
+  // the size of the file we replace is the best guess of the size of the output
+  private static int expectedSize(Path path) {
     try {
-      Files.deleteIfExists(path);
-      Files.createFile(path);
-      try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
-        toWriter(
-            annotatedConfig,
-            writer,
-            map,
-            commentChar,
-            valueWriter,
-            settings,
-            keyResolver,
-            reverseFields,
-            findParentFields);
-      }
+      return (int) Math.max(1024, Math.min(1024 * 1024, Files.size(path)));
     } catch (IOException e) {
-      throw new RuntimeException(e);
+      return 1024;
     }
   }
 
   public static void dump(
       Object annotatedConfig,
-      Map<AnnotationHolder, Set<AnnotationType>> map,
+      ConfigSchema schema,
       Writer writerFeed,
       Settings settings,
       String commentChar,
       ValueWriter valueWriter,
-      KeyResolver keyResolver,
-      boolean reverseFields,
-      boolean findParentFields) {
+      KeyResolver keyResolver) {
     try (PrintWriter writer = new PrintWriter(writerFeed)) {
       toWriter(
-          annotatedConfig,
-          writer,
-          map,
-          commentChar,
-          valueWriter,
-          settings,
-          keyResolver,
-          reverseFields,
-          findParentFields);
+          annotatedConfig, writer, schema, commentChar, valueWriter, settings, keyResolver);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -236,65 +199,113 @@ public final class AnnotatedConfigResolver {
   private static void toWriter(
       Object annotatedConfig,
       PrintWriter writer,
-      Map<AnnotationHolder, Set<AnnotationType>> map,
+      ConfigSchema schema,
       String commentChar,
       ValueWriter valueWriter,
       Settings settings,
-      KeyResolver keyResolver,
-      boolean reverseFields,
-      boolean findParentFields)
+      KeyResolver keyResolver)
       throws IOException {
-    WriteData parentData = new WriteData();
-    Field rawConfigField = null;
-    for (Map.Entry<AnnotationHolder, Set<AnnotationType>> entry : map.entrySet()) {
-      AnnotationHolder holder = entry.getKey();
-      if (holder.isClass()) {
-        for (AnnotationType type : entry.getValue()) {
-          List<String> comments = getComments(type, null, holder.getClazz());
-          if (!comments.isEmpty()) {
-            for (String comment : comments) {
-              writer.println(commentChar + comment);
-            }
-          }
-        }
-        writer.append('\n');
-        continue;
-      }
-      if (entry.getValue().size() > 1) {
-        if (entry.getValue().contains(AnnotationType.RAW_CONFIG)) {
-          throw new IllegalArgumentException(
-              "Found illegal annotation placement ; @RawConfig on a field with other annotations except @RawConfig.");
-        }
-      } else if (entry.getValue().size() == 1
-          && entry.getValue().contains(AnnotationType.RAW_CONFIG)) {
-        rawConfigField = holder.getField();
-        continue;
-      }
-      try {
-        WriteData current = getWriteData(annotatedConfig, entry, keyResolver, reverseFields, findParentFields);
-        for (Map.Entry<String, Object> childDataWrite : current.getToWrite().entrySet()) {
-          String childDataKey = childDataWrite.getKey();
-          Object childDataValue = childDataWrite.getValue();
-          combineMapToData(parentData, childDataKey, childDataValue);
-        }
-        parentData.getFieldComments().putAll(current.getFieldComments());
-      } catch (IllegalAccessException e) {
-        throw new IllegalArgumentException("A field became inaccessible");
+    for (List<String> classComments : schema.getClassComments()) {
+      for (String comment : applyPlaceholders(classComments)) {
+        writer.println(commentChar + comment);
       }
+      writer.append('\n');
+    }
+    if (SchemaEmitter.supports(valueWriter, keyResolver)
+        && SchemaEmitter.canEmit(annotatedConfig, schema, keyResolver)) {
+      ValueEmitter emitter = ((StreamingValueWriter) valueWriter).open(writer, settings);
+      new SchemaEmitter(emitter, keyResolver).emit(annotatedConfig, schema);
+      emitter.finish();
+      return;
     }
+    WriteData parentData = new WriteData();
+    FieldSchema rawConfigField = writeData(annotatedConfig, schema, parentData, keyResolver);
     if (rawConfigField != null) {
-      rawConfigField.setAccessible(true);
-      if (!rawConfigField.getType().isAssignableFrom(DataObject.class)) {
-        throw new IllegalArgumentException("@RawConfig on a field which is not DataObject");
+      // the map is built by this dump, so the data object can own it
+      rawConfigField.set(annotatedConfig, new DataObject(parentData.getToWrite(), true));
+    }
+    valueWriter.write(parentData.getToWrite(), parentData.getFieldComments(), writer, settings);
+  }
+
+  /**
+   * Collects the values and comments of the options of the specified config to the specified
+   * {@link WriteData}, through its generated {@link ConfigBinder} if it has one.
+   *
+   * @return the raw config option of the config, which isn't written, or null if it has none
+   */
+  private static FieldSchema writeData(
+      Object annotatedConfig, ConfigSchema schema, WriteData data, KeyResolver keyResolver) {
+    ConfigBinder binder = schema.getBinder();
+    if (binder != null) {
+      BinderDumpContext context =
+          new BinderDumpContext(annotatedConfig, schema, data, keyResolver);
+      binder.dump(annotatedConfig, context);
+      return context.rawConfigField;
+    }
+    FieldSchema rawConfigField = null;
+    for (FieldSchema fieldSchema : schema.getFields()) {
+      // placement of @RawConfig is checked when the schema is compiled
+      if (fieldSchema.isRawConfig()) {
+        rawConfigField = fieldSchema;
+        continue;
       }
-      try {
-        rawConfigField.set(annotatedConfig, new DataObject(parentData.getToWrite(), true));
-      } catch (IllegalAccessException e) {
-        throw new IllegalArgumentException(
-            "Could not set a field's value ; field not accessible anymore");
+      Object value = fieldSchema.get(annotatedConfig);
+      addWriteData(data, annotatedConfig, fieldSchema, value, schema, keyResolver);
+    }
+    return rawConfigField;
+  }
+
+  private static void addWriteData(
+      WriteData data,
+      Object annotatedConfig,
+      FieldSchema fieldSchema,
+      Object value,
+      ConfigSchema schema,
+      KeyResolver keyResolver) {
+    WriteData current = getWriteData(annotatedConfig, fieldSchema, value, schema, keyResolver);
+    for (Map.Entry<String, Object> childDataWrite : current.getToWrite().entrySet()) {
+      combineMapToData(data, childDataWrite.getKey(), childDataWrite.getValue());
+    }
+    data.getFieldComments().putAll(current.getFieldComments());
+  }
+
+  /** Dumps the options of a config through its generated {@link ConfigBinder}. */
+  private static final class BinderDumpContext implements DumpContext {
+
+    private final Object annotatedConfig;
+    private final ConfigSchema schema;
+    private final WriteData data;
+    private final KeyResolver keyResolver;
+    private FieldSchema rawConfigField;
+
+    BinderDumpContext(
+        Object annotatedConfig, ConfigSchema schema, WriteData data, KeyResolver keyResolver) {
+      this.annotatedConfig = annotatedConfig;
+      this.schema = schema;
+      this.data = data;
+      this.keyResolver = keyResolver;
+    }
+
+    @Override
+    public int[] order() {
+      return schema.getBindOrder().clone();
+    }
+
+    @Override
+    public void write(int index, Object value) {
+      FieldSchema fieldSchema = schema.getBoundField(index);
+      if (fieldSchema.isRawConfig()) {
+        rawConfigField = fieldSchema;
+        return;
       }
+      addWriteData(data, annotatedConfig, fieldSchema, value, schema, keyResolver);
     }
-    valueWriter.write(parentData.getToWrite(), parentData.getFieldComments(), writer, settings);
+  }
+
+  // the written maps get merged in place, so views of immutable data objects are copied
+  private static Map<String, Object> mutableMap(DataObject serialized) {
+    Map<String, Object> map = serialized.getAsMap();
+    return serialized.isImmutable() ? new DataObject(map).getAsMap() : map;
   }
 
   private static class WriteData {
@@ -318,60 +329,21 @@ public final class AnnotatedConfigResolver {
 
   private static WriteData getWriteData(
       Object annotatedConfig,
-      Map.Entry<AnnotationHolder, Set<AnnotationType>> entry,
-      KeyResolver keyResolver,
-      boolean reverseFields,
-      boolean findParentFields)
-      throws IllegalAccessException {
-    SerializerRegistry serializerRegistry = SerializerRegistry.INSTANCE;
-    AnnotationHolder holder = entry.getKey();
+      FieldSchema fieldSchema,
+      Object value,
+      ConfigSchema schema,
+      KeyResolver keyResolver) {
     WriteData ret = new WriteData();
-    if (holder.isClass()) {
-      List<String> comments = Collections.emptyList();
-      for (AnnotationType type : entry.getValue()) {
-        if (comments.isEmpty()) {
-          comments = getComments(type, null, annotatedConfig.getClass());
-        }
-      }
-      ret.getClassComments().addAll(comments);
-      return ret;
-    }
-    Field field = entry.getKey().getField();
-    field.setAccessible(true);
-    String keyName = field.getName();
-    List<String> comments = Collections.emptyList();
-    boolean configObject = false;
-    Character multilineCharacter = null;
-    for (AnnotationType type : entry.getValue()) {
-      if (comments.isEmpty()) {
-        comments = getComments(type, field, null);
-      }
-      if (type.is(AnnotationType.KEY)) {
-        keyName = field.getDeclaredAnnotation(Key.class).value();
-      }
-      if (type.is(AnnotationType.CONFIG_OBJECT)) {
-        configObject = true;
-      }
-      if (type.is(AnnotationType.MULTILINE)) {
-        multilineCharacter = field.getDeclaredAnnotation(Multiline.class).value();
-      }
-    }
-    if (configObject) {
-      Object cfgObject = field.get(annotatedConfig);
-      Map<AnnotationHolder, Set<AnnotationType>> annotations =
-          resolveAnnotations(cfgObject, reverseFields, findParentFields);
+    String keyName = fieldSchema.getKey();
+    List<String> comments = applyPlaceholders(fieldSchema.getComments());
+    if (fieldSchema.isConfigObject()) {
+      ConfigSchema childSchema = schema.child(value.getClass());
 
       WriteData combinedData = new WriteData();
-      for (Map.Entry<AnnotationHolder, Set<AnnotationType>> e1 : annotations.entrySet()) {
-        WriteData childData = getWriteData(cfgObject, e1, keyResolver, reverseFields, findParentFields);
-        combinedData.getClassComments().addAll(childData.getClassComments());
-        for (Map.Entry<String, Object> childDataWrite : childData.getToWrite().entrySet()) {
-          String childDataKey = childDataWrite.getKey();
-          Object childDataValue = childDataWrite.getValue();
-          combineMapToData(combinedData, childDataKey, childDataValue);
-        }
-        combinedData.getFieldComments().putAll(childData.getFieldComments());
+      for (List<String> classComments : childSchema.getClassComments()) {
+        combinedData.getClassComments().addAll(applyPlaceholders(classComments));
       }
+      writeData(value, childSchema, combinedData, keyResolver);
       ret.getToWrite().put(keyName, combinedData.getToWrite());
       for (Map.Entry<String, List<String>> fieldComment :
           combinedData.getFieldComments().entrySet()) {
@@ -387,14 +359,41 @@ public final class AnnotatedConfigResolver {
       }
       return ret;
     }
-    Object defaultsToValueObject = field.get(annotatedConfig);
+    Object defaultsToValueObject = writeValue(annotatedConfig, fieldSchema, value);
+    if (defaultsToValueObject == null) {
+      return ret;
+    }
+    // manipulate the defaultsToValueObject once again before sending it to the writer
+    Map<String, Object> dummyValues = new LinkedHashMap<>();
+    keyResolver.boxTo(fieldSchema.getKeyPath(), defaultsToValueObject, dummyValues);
+    if (dummyValues.size() != 1) {
+      throw new IllegalArgumentException("Invalid key resolver.");
+    }
+    String keyToWrite = keyName;
+    Object valueToWrite = defaultsToValueObject;
+    for (Map.Entry<String, Object> dummyEntry : dummyValues.entrySet()) {
+      keyToWrite = dummyEntry.getKey();
+      valueToWrite = dummyEntry.getValue();
+    }
+    combineMapToData(ret, keyToWrite, valueToWrite);
+
+    ret.getFieldComments().put(keyName, comments);
+    return ret;
+  }
+
+  /**
+   * Returns the value the specified option, holding the specified {@code value}, is written with,
+   * or null if it isn't written.
+   *
+   * @throws IllegalArgumentException if the option has no default value
+   */
+  static Object writeValue(Object annotatedConfig, FieldSchema fieldSchema, Object value) {
+    Field field = fieldSchema.getField();
+    Object defaultsToValueObject = value;
     if (defaultsToValueObject == null) {
       throw new IllegalArgumentException("No default value for field '" + field.getName() + "'");
     }
-    FieldTypeSerializer serializer =
-        serializerRegistry
-            .getSerializer(field.getGenericType())
-            .orElse(serializerRegistry.getDefaultSerializer());
+    FieldTypeSerializer serializer = fieldSchema.getSerializer();
     DataObject serialized =
         serializer.serialize(
             defaultsToValueObject,
@@ -404,7 +403,7 @@ public final class AnnotatedConfigResolver {
                 field.getType(),
                 field.getGenericType(),
                 annotatedConfig),
-            AnnotationAccessor.createFromField(field));
+            fieldSchema.getAnnotationAccessor());
     if (serialized == null) {
       throw new NullPointerException(
           "Expected DataObject, got null ; Field: "
@@ -413,14 +412,15 @@ public final class AnnotatedConfigResolver {
               + field.getType().getName());
     }
     if (serialized.isEmpty()) {
-      return ret;
+      return null;
     }
     if (serialized.isSingleValue()) { // single value includes list
       defaultsToValueObject = serialized.getAsObject();
     } else {
-      defaultsToValueObject = serialized.getAsMap();
+      defaultsToValueObject = mutableMap(serialized);
     }
     // check for multiline string
+    Character multilineCharacter = fieldSchema.getMultilineCharacter();
     if (multilineCharacter != null) {
       if (!(defaultsToValueObject instanceof String)) {
         throw new IllegalArgumentException("@Multiline put on a value which is not a String!");
@@ -429,81 +429,56 @@ public final class AnnotatedConfigResolver {
           new MultilineString((String) defaultsToValueObject, multilineCharacter);
     }
     // check for custom annotations writeValue implementations
-    CustomAnnotationRegistry caRegistry = CustomAnnotationRegistry.INSTANCE;
-    if (!caRegistry.isEmpty()) {
+    List<CustomValidator> customValidators = fieldSchema.getValidator().getCustomValidators();
+    if (!customValidators.isEmpty()) {
       Class<?> foundWriteAnnotation = null;
-      for (Annotation annotation : field.getDeclaredAnnotations()) {
-        Class<? extends Annotation> type = annotation.annotationType();
-        if (AnnotationType.match(type).isPresent()) {
+      for (CustomValidator customValidator : customValidators) {
+        Class<? extends Annotation> type = customValidator.getAnnotationType();
+        AnnotationValidator validator = customValidator.getValidator();
+        Object val = validator.writeValue(defaultsToValueObject);
+        if (val == null || Objects.equals(val, defaultsToValueObject)) {
           continue;
         }
-        Optional<AnnotationValidator<? extends Annotation>> validatorOpt =
-            caRegistry.getValidator(type);
-        if (validatorOpt.isPresent()) {
-          AnnotationValidator validator = validatorOpt.get();
-          Object val = validator.writeValue(defaultsToValueObject);
-          if (val == null || Objects.equals(val, defaultsToValueObject)) {
+        if (foundWriteAnnotation == null) {
+          FieldTypeSerializer newSerializer = SerializerLookup.forClass(val.getClass()).get();
+          DataObject newSerialized =
+              newSerializer.serialize(
+                  val,
+                  SerializationContext.of(
+                      field.getName(),
+                      defaultsToValueObject,
+                      field.getType(),
+                      field.getGenericType(),
+                      annotatedConfig),
+                  fieldSchema.getAnnotationAccessor());
+          if (newSerialized == null) {
+            throw new NullPointerException(
+                "Expected DataObject, but got null ; Field: "
+                    + field.getName()
+                    + " ; Field type: "
+                    + val.getClass().getName());
+          }
+          if (newSerialized.isEmpty()) {
             continue;
           }
-          if (foundWriteAnnotation == null) {
-            FieldTypeSerializer newSerializer =
-                serializerRegistry
-                    .getSerializer(val.getClass())
-                    .orElse(serializerRegistry.getDefaultSerializer());
-            DataObject newSerialized =
-                newSerializer.serialize(
-                    val,
-                    SerializationContext.of(
-                        field.getName(),
-                        defaultsToValueObject,
-                        field.getType(),
-                        field.getGenericType(),
-                        annotatedConfig),
-                    AnnotationAccessor.createFromField(field));
-            if (newSerialized == null) {
-              throw new NullPointerException(
-                  "Expected DataObject, but got null ; Field: "
-                      + field.getName()
-                      + " ; Field type: "
-                      + val.getClass().getName());
-            }
-            if (newSerialized.isEmpty()) {
-              continue;
-            }
-            if (newSerialized.isSingleValue()) {
-              defaultsToValueObject = newSerialized.getAsObject();
-            } else {
-              defaultsToValueObject = newSerialized.getAsMap();
-            }
-            foundWriteAnnotation = type;
+          if (newSerialized.isSingleValue()) {
+            defaultsToValueObject = newSerialized.getAsObject();
           } else {
-            throw new IllegalArgumentException(
-                "Found 2 custom annotations on field '"
-                    + field.getName()
-                    + "' which implement 'writeValue': @"
-                    + foundWriteAnnotation.getSimpleName()
-                    + " and @"
-                    + type.getSimpleName());
+            defaultsToValueObject = mutableMap(newSerialized);
           }
+          foundWriteAnnotation = type;
+        } else {
+          throw new IllegalArgumentException(
+              "Found 2 custom annotations on field '"
+                  + field.getName()
+                  + "' which implement 'writeValue': @"
+                  + foundWriteAnnotation.getSimpleName()
+                  + " and @"
+                  + type.getSimpleName());
         }
       }
     }
-    // manipulate the defaultsToValueObject once again before sending it to the writer
-    Map<String, Object> dummyValues = new LinkedHashMap<>();
-    keyResolver.boxTo(keyName, defaultsToValueObject, dummyValues);
-    if (dummyValues.size() != 1) {
-      throw new IllegalArgumentException("Invalid key resolver.");
-    }
-    String keyToWrite = keyName;
-    Object valueToWrite = defaultsToValueObject;
-    for (Map.Entry<String, Object> dummyEntry : dummyValues.entrySet()) {
-      keyToWrite = dummyEntry.getKey();
-      valueToWrite = dummyEntry.getValue();
-    }
-    combineMapToData(ret, keyToWrite, valueToWrite);
-
-    ret.getFieldComments().put(keyName, comments);
-    return ret;
+    return defaultsToValueObject;
   }
 
   private static void combineMapToData(
@@ -531,290 +506,218 @@ public final class AnnotatedConfigResolver {
   public static boolean setFields(
       Object annotatedConfig,
       Map<String, Object> values,
-      Map<AnnotationHolder, Set<AnnotationType>> map,
+      ConfigSchema schema,
       NullReadHandleOption nullReadHandler,
       Settings settings,
-      KeyResolver keyResolver,
-      boolean reverseFields,
-      boolean findParentFields) {
+      KeyResolver keyResolver) {
+    ConfigBinder binder = schema.getBinder();
+    if (binder != null) {
+      BinderLoadContext context =
+          new BinderLoadContext(
+              annotatedConfig, values, schema, nullReadHandler, settings, keyResolver);
+      binder.load(annotatedConfig, context);
+      return context.missingOptions;
+    }
     boolean missingOptions = false;
-    for (Map.Entry<AnnotationHolder, Set<AnnotationType>> entry : map.entrySet()) {
-      AnnotationHolder holder = entry.getKey();
-      if (holder.isClass()) {
-        continue;
-      }
-      Field field = holder.getField();
-      field.setAccessible(true);
-      Set<AnnotationType> annotationTypes = entry.getValue();
-      if (annotationTypes.size() > 1 && annotationTypes.contains(AnnotationType.RAW_CONFIG)) {
-        throw new IllegalArgumentException(
-            "Found illegal annotation placement ; @RawConfig on a field with other annotations except @RawConfig.");
-      } else if (annotationTypes.size() == 1
-          && annotationTypes.contains(AnnotationType.RAW_CONFIG)) {
-        if (!field.getType().isAssignableFrom(DataObject.class)) {
-          throw new IllegalArgumentException("@RawConfig on a field which is not DataObject");
-        }
-        try {
-          field.set(annotatedConfig, new DataObject(values, true));
-        } catch (IllegalAccessException e) {
-          throw new IllegalArgumentException(
-              "Could not set a field's value ; field not accessible anymore");
-        }
-        continue;
-      }
-      String keyName = field.getName();
-      boolean configObject = false;
-      Object section = null;
-      NumberResult min = NumberResult.stateOnly(State.START);
-      NumberResult max = NumberResult.stateOnly(State.START);
-      for (AnnotationType type : annotationTypes) {
-        if (type.is(AnnotationType.KEY)) {
-          keyName = field.getDeclaredAnnotation(Key.class).value();
-        }
-        if (type.is(AnnotationType.MIN)) {
-          min = MinMaxHandler.getNumber(field.getDeclaredAnnotation(Min.class));
-        }
-        if (type.is(AnnotationType.MAX)) {
-          max = MinMaxHandler.getNumber(field.getDeclaredAnnotation(Max.class));
-        }
-        if (type.is(AnnotationType.CONFIG_OBJECT)) {
-          configObject = true;
-          try {
-            section = field.get(annotatedConfig);
-          } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(
-                "Could not get config object from annotated config '"
-                    + annotatedConfig.getClass().getSimpleName()
-                    + "'");
-          }
-        }
-      }
-      Object value = keyResolver.unbox(keyName, values);
-      boolean thisMissingOption = false;
-      if (value == null) {
-        thisMissingOption = true;
-        if (!missingOptions) {
-          missingOptions = true;
-        }
-      }
-      if (configObject) {
-        if (section == null) {
-          throw new IllegalArgumentException(
-              "Non initialized config object found in annotated config '"
-                  + annotatedConfig.getClass().getSimpleName()
-                  + "'");
-        }
-        if (!(value instanceof Map)) {
-          // sections not supported, continue on
-          continue;
-        }
-        boolean thMissing =
-            setFields(
-                section,
-                (Map<String, Object>) value,
-                resolveAnnotations(section, reverseFields, findParentFields),
-                nullReadHandler,
-                settings,
-                keyResolver,
-                reverseFields,
-                findParentFields);
-        if (thMissing && !missingOptions) {
-          missingOptions = true;
-        }
+    for (FieldSchema fieldSchema : schema.getFields()) {
+      if (fieldSchema.isRawConfig()) {
+        fieldSchema.set(annotatedConfig, rawConfig(values));
         continue;
       }
-      SerializerRegistry serializerRegistry = SerializerRegistry.INSTANCE;
-      Type fieldType = field.getGenericType();
-      FieldTypeSerializer<?> serializer =
-          serializerRegistry
-              .getSerializer(fieldType)
-              .orElse(serializerRegistry.getDefaultSerializer());
-      Object deserialized;
-      try {
-        deserialized =
-            serializer.deserialize(
-                new DataObject(value, true),
-                SerializationContext.fromField(field, annotatedConfig),
-                AnnotationAccessor.createFromField(field));
-      } catch (IllegalAccessException e) {
-        throw new IllegalArgumentException("Field became inaccessible");
-      }
-      if (deserialized == null && !thisMissingOption) {
-        if (nullReadHandler == NullReadHandleOption.USE_DEFAULT_VALUE) {
-          continue;
-        }
-      } else if (deserialized == null) {
-        continue;
-      }
-      if (deserialized instanceof Number) {
-        Number comparable = (Number) deserialized;
-        State comparison = MinMaxHandler.compare(min, max, comparable);
-        handleComparison(comparison, keyName, comparable, fieldType, min, max, Number.class);
-      } else if (deserialized instanceof String) {
-        String comparable = (String) deserialized;
-        State comparison = MinMaxHandler.compare(min, max, comparable);
-        handleComparison(
-            comparison, keyName, comparable.length(), fieldType, min, max, String.class);
-      } else {
-        if (min.getState() != State.START) {
-          throw new IllegalArgumentException("@Min annotation placed on invalid field type");
-        }
-        if (max.getState() != State.START) {
-          throw new IllegalArgumentException("@Max annotation placed on invalid field type");
-        }
-      }
-      // check for custom annotations
-      CustomAnnotationRegistry cARegistry = CustomAnnotationRegistry.INSTANCE;
-      if (!cARegistry.isEmpty()) {
-        Throwable error = null;
-        boolean failed = false;
-        for (Annotation annotation : field.getAnnotations()) {
-          Class<? extends Annotation> type = annotation.annotationType();
-          if (AnnotationType.match(type).isPresent()) {
-            // do not handle any validation of our own annotations even if someone registered a
-            // validator for them.
-            continue;
-          }
-          Optional<AnnotationValidator<? extends Annotation>> validatorOpt =
-              cARegistry.getValidator(type);
-          if (validatorOpt.isPresent()) {
-            AnnotationValidator validator = validatorOpt.get();
-            ValidationResponse validatorResponse =
-                validator.validate(field.getAnnotation(type), deserialized, settings, field);
-            if (validatorResponse.throwError() != null) {
-              error = validatorResponse.throwError();
-              break;
-            }
-            if (validatorResponse.shouldFailSilently()) {
-              failed = validatorResponse.shouldFailSilently();
-              break;
-            }
-            if (validatorResponse.onSuccess() != null) {
-              validatorResponse.onSuccess().run();
-            }
-          }
-        }
-        if (error != null) {
-          throw new RuntimeException(error);
-        }
-        // error wasn't thrown, so just silently skip if the checks failed
-        if (failed) {
-          continue;
-        }
-      }
-      try {
-        field.set(annotatedConfig, deserialized);
-      } catch (IllegalAccessException e) {
-        throw new IllegalArgumentException(
-            "Could not set a field's value ; field not accessible anymore");
+      Object value = keyResolver.unbox(fieldSchema.getKeyPath(), values);
+      if (setField(
+          annotatedConfig, fieldSchema, value, schema, nullReadHandler, settings, keyResolver)) {
+        missingOptions = true;
       }
     }
     return missingOptions;
   }
 
-  private static void handleComparison(
-      State comparison,
-      String key,
-      Number compared,
-      Type fieldType,
-      NumberResult minResult,
-      NumberResult maxResult,
-      Class<?> comparedType) {
-    if (comparison != State.ALRIGHT) {
-      if (comparison == State.INVALID_MIN) {
-        throw new IllegalArgumentException(
-            fieldType.getTypeName()
-                + " "
-                + key
-                + " ; invalid @Min specified - it should implement annotation member ( e.g @Min(minInt = -22) )");
-      }
-      if (comparison == State.MORE_THAN_ONE_MIN) {
-        throw new IllegalArgumentException(
-            fieldType.getTypeName()
-                + " "
-                + key
-                + " ; invalid @Min specified - it should implement only one annotation member");
-      }
-      if (comparison == State.INVALID_MAX) {
-        throw new IllegalArgumentException(
-            fieldType.getTypeName()
-                + " "
-                + key
-                + " ; invalid @Max specified - it should implement annotation member ( e.g. @Max(maxInt = 3) )");
-      }
-      if (comparison == State.MORE_THAN_ONE_MAX) {
-        throw new IllegalArgumentException(
-            fieldType.getTypeName()
-                + " "
-                + key
-                + " ; invalid @Max specified - it should implement only one annotation member");
+  /**
+   * Creates the data object of a raw config option. It outlives the load, and the read values may
+   * be a map the caller of the load still owns, so the data object gets a copy to own.
+   */
+  private static DataObject rawConfig(Map<String, Object> values) {
+    return new DataObject(copyValues(values), true);
+  }
+
+  // copies the maps and lists of the values, the other values are immutable scalars
+  private static Object copyValues(Object value) {
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        copy.put(entry.getKey(), copyValues(entry.getValue()));
       }
-      if (comparison == State.UNDER) {
-        Number min = minResult.getNumber().get();
-        String message;
-        if (comparedType.isAssignableFrom(String.class)) {
-          message =
-              fieldType.getTypeName()
-                  + " ; deserialized String's length is under the minimal length allowed ("
-                  + min
-                  + ") ; string length: "
-                  + compared;
-        } else {
-          message =
-              fieldType.getTypeName()
-                  + " ; deserialized value is under the minimal allowed ("
-                  + min
-                  + ") ; number: "
-                  + compared;
-        }
-        throw new IllegalArgumentException(message);
+      return copy;
+    }
+    if (value instanceof List) {
+      List<Object> copy = new ArrayList<>(((List<?>) value).size());
+      for (Object element : (List<?>) value) {
+        copy.add(copyValues(element));
       }
-      if (comparison == State.ABOVE) {
-        Number max = maxResult.getNumber().get();
-        String message;
-        if (comparedType.isAssignableFrom(String.class)) {
-          message =
-              fieldType.getTypeName()
-                  + " ; deserialized String's length is above the maximum length allowed ("
-                  + max
-                  + ") ; string length: "
-                  + compared;
-        } else {
-          message =
-              fieldType.getTypeName()
-                  + " ; deserialized value is above the maximum allowed ("
-                  + max
-                  + ") ; number: "
-                  + compared;
-        }
-        throw new IllegalArgumentException(message);
+      return copy;
+    }
+    return value;
+  }
+
+  /**
+   * Sets the specified read {@code value} (null if missing) to the specified option.
+   *
+   * @return whether the option, or an option of it if it is a section, is missing
+   */
+  static boolean setField(
+      Object annotatedConfig,
+      FieldSchema fieldSchema,
+      Object value,
+      ConfigSchema schema,
+      NullReadHandleOption nullReadHandler,
+      Settings settings,
+      KeyResolver keyResolver) {
+    Object current = fieldSchema.get(annotatedConfig);
+    if (fieldSchema.isConfigObject()) {
+      return setSection(
+          annotatedConfig, current, value, schema, nullReadHandler, settings, keyResolver);
+    }
+    Object deserialized =
+        readValue(annotatedConfig, fieldSchema, value, current, nullReadHandler, settings);
+    if (deserialized != KEEP) {
+      fieldSchema.set(annotatedConfig, deserialized);
+    }
+    return value == null;
+  }
+
+  /**
+   * Sets the specified read {@code value} (null if missing) to the specified config object.
+   *
+   * @return whether an option of the section is missing
+   */
+  private static boolean setSection(
+      Object annotatedConfig,
+      Object section,
+      Object value,
+      ConfigSchema schema,
+      NullReadHandleOption nullReadHandler,
+      Settings settings,
+      KeyResolver keyResolver) {
+    if (section == null) {
+      throw new IllegalArgumentException(
+          "Non initialized config object found in annotated config '"
+              + annotatedConfig.getClass().getSimpleName()
+              + "'");
+    }
+    if (!(value instanceof Map)) {
+      // sections not supported, continue on
+      return value == null;
+    }
+    return setFields(
+        section,
+        (Map<String, Object>) value,
+        schema.child(section.getClass()),
+        nullReadHandler,
+        settings,
+        keyResolver);
+  }
+
+  /**
+   * Returns the value the specified option should be set to, out of the specified read {@code
+   * value} (null if missing), or {@link #KEEP} if it should keep its {@code current} value.
+   */
+  private static Object readValue(
+      Object annotatedConfig,
+      FieldSchema fieldSchema,
+      Object value,
+      Object current,
+      NullReadHandleOption nullReadHandler,
+      Settings settings) {
+    Field field = fieldSchema.getField();
+    FieldTypeSerializer serializer = fieldSchema.getSerializer();
+    Object deserialized =
+        serializer.deserialize(
+            new DataObject(value, true),
+            SerializationContext.of(
+                field.getName(), current, field.getType(), field.getGenericType(), annotatedConfig),
+            fieldSchema.getAnnotationAccessor());
+    if (deserialized == null && value != null) {
+      if (nullReadHandler == NullReadHandleOption.USE_DEFAULT_VALUE) {
+        return KEEP;
       }
+    } else if (deserialized == null) {
+      return KEEP;
+    }
+    // error wasn't thrown, so just silently skip if a custom validator failed
+    if (!fieldSchema.getValidator().validate(deserialized, settings)) {
+      return KEEP;
     }
+    return deserialized;
   }
 
-  private static List<String> getComments(AnnotationType type, Field field, Class<?> aClass) {
-    if (!type.is(AnnotationType.COMMENT) && !type.is(AnnotationType.COMMENTS)) {
-      return Collections.emptyList();
+  /** Loads the options of a config through its generated {@link ConfigBinder}. */
+  private static final class BinderLoadContext implements LoadContext {
+
+    private final Object annotatedConfig;
+    private final Map<String, Object> values;
+    private final ConfigSchema schema;
+    private final NullReadHandleOption nullReadHandler;
+    private final Settings settings;
+    private final KeyResolver keyResolver;
+    private boolean missingOptions;
+    private Object value;
+
+    BinderLoadContext(
+        Object annotatedConfig,
+        Map<String, Object> values,
+        ConfigSchema schema,
+        NullReadHandleOption nullReadHandler,
+        Settings settings,
+        KeyResolver keyResolver) {
+      this.annotatedConfig = annotatedConfig;
+      this.values = values;
+      this.schema = schema;
+      this.nullReadHandler = nullReadHandler;
+      this.settings = settings;
+      this.keyResolver = keyResolver;
     }
-    List<String> ret = new LinkedList<>();
-    if (type.is(AnnotationType.COMMENT)) {
-      ret.add(getAnnotation(field, aClass, Comment.class).value());
+
+    @Override
+    public int[] order() {
+      return schema.getBindOrder().clone();
     }
-    if (type.is(AnnotationType.COMMENTS)) {
-      for (Comment comment : getAnnotation(field, aClass, Comments.class).value()) {
-        ret.add(comment.value());
-      }
+
+    @Override
+    public boolean read(int index, Object current) {
+      FieldSchema fieldSchema = schema.getBoundField(index);
+      if (fieldSchema.isRawConfig()) {
+        value = rawConfig(values);
+        return true;
+      }
+      Object read = keyResolver.unbox(fieldSchema.getKeyPath(), values);
+      if (fieldSchema.isConfigObject()) {
+        missingOptions |=
+            setSection(
+                annotatedConfig, current, read, schema, nullReadHandler, settings, keyResolver);
+        return false;
+      }
+      missingOptions |= read == null;
+      Object deserialized =
+          readValue(annotatedConfig, fieldSchema, read, current, nullReadHandler, settings);
+      if (deserialized == KEEP) {
+        return false;
+      }
+      value = fieldSchema.coerce(deserialized);
+      return true;
+    }
+
+    @Override
+    public Object value() {
+      return value;
     }
-    return CommentPlaceholderRegistry.INSTANCE.applyPlaceholders(ret);
   }
 
-  private static <T extends Annotation> T getAnnotation(
-      Field field, Class<?> theClass, Class<T> annotationType) {
-    if (field != null) {
-      return field.getDeclaredAnnotation(annotationType);
-    } else {
-      return theClass.getDeclaredAnnotation(annotationType);
+  static List<String> applyPlaceholders(List<String> comments) {
+    if (comments.isEmpty()) {
+      return comments;
     }
+    return CommentPlaceholderRegistry.INSTANCE.applyPlaceholders(new ArrayList<>(comments));
   }
 
   private static void populate(
@@ -0,0 +1,146 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes files atomically: the content is written to a temporary file next to the target, which
+ * is then moved over the target. Readers of the target either see the old content or the new one,
+ * never a missing or a partially written file. The content is rendered in memory beforehand, so
+ * writing a file which already holds it can be skipped altogether.
+ *
+ * <p>A target which is a symbolic link is written through: the file it links to is replaced, and
+ * the link is kept. The POSIX permissions, owner and group of the replaced file are kept as well.
+ */
+final class AtomicFileWriter {
+
+  private AtomicFileWriter() {}
+
+  /**
+   * Returns whether the specified {@code target} file holds exactly the specified {@code content}.
+   *
+   * @param target the file to check
+   * @param content the expected content
+   * @return true if the file exists and its content equals the specified one
+   * @throws IOException if an I/O error occurs
+   */
+  static boolean hasContent(Path target, byte[] content) throws IOException {
+    // the length of the file is known without reading it, and differs for most changes
+    if (!Files.isRegularFile(target) || Files.size(target) != content.length) {
+      return false;
+    }
+    byte[] buffer = new byte[Math.min(content.length, 8192)];
+    int offset = 0;
+    try (InputStream in = Files.newInputStream(target)) {
+      int read;
+      while (offset < content.length
+          && (read = in.read(buffer, 0, Math.min(buffer.length, content.length - offset)))
+              != -1) {
+        for (int i = 0; i < read; i++) {
+          if (buffer[i] != content[offset + i]) {
+            return false;
+          }
+        }
+        offset += read;
+      }
+      // the file might have changed since we checked its size
+      return offset == content.length && in.read() == -1;
+    }
+  }
+
+  /**
+   * Atomically replaces the content of the specified {@code target} with the specified {@code
+   * content}.
+   *
+   * @param target the file to write
+   * @param content the content to write
+   * @param fsync whether to force the content to the storage device before replacing the target
+   * @throws IOException if an I/O error occurs
+   */
+  static void write(Path target, byte[] content, boolean fsync) throws IOException {
+    Path absolute = target.toAbsolutePath();
+    boolean exists = Files.exists(absolute);
+    // the file itself, so the temporary file is moved over it and not over a link to it
+    Path real = exists ? absolute.toRealPath() : absolute;
+    Path parent = real.getParent();
+    Path temp =
+        parent.resolve(
+            "."
+                + real.getFileName()
+                + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong())
+                + ".tmp");
+    boolean moved = false;
+    String dumpedHash = null;
+    try {
+      Files.createFile(temp);
+      if (exists) {
+        // before the content is written, so it's never readable by more than the target is
+        copyAttributes(real, temp);
+      }
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        if (fsync) {
+          channel.force(true);
+        }
+      }
+      dumpedHash = DumpTracker.dumping(absolute, content);
+      try {
+        Files.move(temp, real, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, real, StandardCopyOption.REPLACE_EXISTING);
+      }
+      moved = true;
+      if (fsync) {
+        syncDirectory(parent);
+      }
+    } finally {
+      if (!moved) {
+        if (dumpedHash != null) {
+          DumpTracker.dumpFailed(absolute, dumpedHash);
+        }
+        Files.deleteIfExists(temp);
+      }
+    }
+  }
+
+  // copies the POSIX permissions, owner and group of the file being replaced; only privileged
+  // users may change the owner, so that is done on a best effort basis
+  private static void copyAttributes(Path from, Path to) throws IOException {
+    PosixFileAttributeView view = Files.getFileAttributeView(to, PosixFileAttributeView.class);
+    if (view == null) {
+      return;
+    }
+    PosixFileAttributes attributes = Files.readAttributes(from, PosixFileAttributes.class);
+    view.setPermissions(attributes.permissions());
+    try {
+      view.setGroup(attributes.group());
+      view.setOwner(attributes.owner());
+    } catch (IOException e) {
+      // ignored
+    }
+  }
+
+  // persists the rename itself. Not every platform allows opening directories, so this is done
+  // on a best effort basis
+  private static void syncDirectory(Path directory) {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // ignored
+    }
+  }
+}
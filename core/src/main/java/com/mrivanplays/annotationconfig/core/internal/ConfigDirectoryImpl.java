@@ -0,0 +1,240 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigDirectory;
+import com.mrivanplays.annotationconfig.core.resolver.WritableObject;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link ConfigDirectory}. The index of the loaded files can be persisted to an
+ * index file, one {@code size\tlast modified\thash\tname} line per file, so the changes reported
+ * by the first refresh after a restart are relative to the last refresh before it. The
+ * configurations themselves aren't persisted, so they are all loaded by the first refresh.
+ */
+final class ConfigDirectoryImpl<T> implements ConfigDirectory<T> {
+
+  private final ConfigResolverImpl resolver;
+  private final Predicate<Path> configFile;
+  private final Path dir;
+  private final Supplier<T> configToResolveTo;
+  private final WritableObject dumpFile;
+  private final Settings settings;
+  private final Path indexFile;
+
+  // guarded by this
+  private Map<String, IndexEntry<T>> index;
+  private volatile Map<String, T> configs = Collections.emptyMap();
+
+  ConfigDirectoryImpl(
+      ConfigResolverImpl resolver,
+      Predicate<Path> configFile,
+      Path dir,
+      Supplier<T> configToResolveTo,
+      WritableObject dumpFile,
+      Settings settings,
+      Path indexFile) {
+    this.resolver = resolver;
+    this.configFile = configFile;
+    this.dir = Objects.requireNonNull(dir, "dir");
+    this.configToResolveTo = Objects.requireNonNull(configToResolveTo, "configToResolveTo");
+    this.dumpFile = Objects.requireNonNull(dumpFile, "dumpFile");
+    this.settings = settings;
+    this.indexFile = indexFile;
+  }
+
+  @Override
+  public Path getDirectory() {
+    return dir;
+  }
+
+  @Override
+  public Map<String, T> getConfigs() {
+    return configs;
+  }
+
+  @Override
+  public synchronized Refresh<T> refresh() {
+    if (!Files.isDirectory(dir)) {
+      throw new IllegalArgumentException(dir + " is not a directory!");
+    }
+    if (index == null) {
+      index = readIndex();
+    }
+    List<Path> files;
+    try (Stream<Path> paths = Files.list(dir)) {
+      files =
+          paths
+              .filter(path -> !Files.isDirectory(path) && configFile.test(path))
+              .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+              .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    if (files.isEmpty()) {
+      resolver.dump(configToResolveTo.get(), dumpFile.writer());
+    }
+
+    Map<String, IndexEntry<T>> newIndex = new LinkedHashMap<>();
+    Set<String> added = new LinkedHashSet<>();
+    Set<String> changed = new LinkedHashSet<>();
+    Map<String, RuntimeException> failures = new LinkedHashMap<>();
+    for (Path path : files) {
+      String name = path.getFileName().toString();
+      IndexEntry<T> previous = index.get(name);
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (previous != null
+            && previous.config != null
+            && previous.size == size
+            && previous.lastModified == lastModified) {
+          newIndex.put(name, previous);
+          continue;
+        }
+        String hash = ContentHash.of(path);
+        if (previous != null && previous.hash.equals(hash) && previous.config != null) {
+          // only touched
+          newIndex.put(name, new IndexEntry<>(size, lastModified, hash, previous.config));
+          continue;
+        }
+        T config = configToResolveTo.get();
+        resolver.load(config, path, settings);
+        // new options may have been written to the file while loading it
+        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (attributes.size() != size
+            || attributes.lastModifiedTime().toMillis() != lastModified) {
+          size = attributes.size();
+          lastModified = attributes.lastModifiedTime().toMillis();
+          hash = ContentHash.of(path);
+        }
+        if (previous == null) {
+          added.add(name);
+        } else if (!previous.hash.equals(hash)) {
+          changed.add(name);
+        }
+        newIndex.put(name, new IndexEntry<>(size, lastModified, hash, config));
+      } catch (IOException | RuntimeException e) {
+        failures.put(
+            name,
+            e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e));
+        if (previous != null) {
+          // keep what was loaded before, and retry with the next refresh
+          newIndex.put(name, previous);
+        }
+      }
+    }
+    Set<String> removed = new LinkedHashSet<>(index.keySet());
+    removed.removeAll(newIndex.keySet());
+
+    boolean indexChanged = !newIndex.equals(index);
+    index = newIndex;
+    Map<String, T> newConfigs = new LinkedHashMap<>();
+    for (Map.Entry<String, IndexEntry<T>> entry : newIndex.entrySet()) {
+      if (entry.getValue().config != null) {
+        newConfigs.put(entry.getKey(), entry.getValue().config);
+      }
+    }
+    configs = Collections.unmodifiableMap(newConfigs);
+    if (indexChanged) {
+      writeIndex();
+    }
+    return new Refresh<>(newConfigs, added, changed, removed, failures);
+  }
+
+  private Map<String, IndexEntry<T>> readIndex() {
+    Map<String, IndexEntry<T>> read = new LinkedHashMap<>();
+    if (indexFile == null || !Files.isRegularFile(indexFile)) {
+      return read;
+    }
+    try {
+      for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+        String[] parts = line.split("\t", 4);
+        if (parts.length != 4) {
+          continue;
+        }
+        read.put(
+            parts[3],
+            new IndexEntry<>(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2], null));
+      }
+    } catch (IOException | NumberFormatException e) {
+      // a broken index only means everything is loaded again
+      read.clear();
+    }
+    return read;
+  }
+
+  private void writeIndex() {
+    if (indexFile == null) {
+      return;
+    }
+    StringBuilder content = new StringBuilder();
+    for (Map.Entry<String, IndexEntry<T>> entry : new TreeMap<>(index).entrySet()) {
+      IndexEntry<T> indexEntry = entry.getValue();
+      content
+          .append(indexEntry.size)
+          .append('\t')
+          .append(indexEntry.lastModified)
+          .append('\t')
+          .append(indexEntry.hash)
+          .append('\t')
+          .append(entry.getKey())
+          .append('\n');
+    }
+    try {
+      AtomicFileWriter.write(indexFile, content.toString().getBytes(StandardCharsets.UTF_8), false);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static final class IndexEntry<T> {
+
+    private final long size;
+    private final long lastModified;
+    private final String hash;
+    // null if read from the index file and not loaded since
+    private final T config;
+
+    IndexEntry(long size, long lastModified, String hash, T config) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.hash = hash;
+      this.config = config;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof IndexEntry)) {
+        return false;
+      }
+      IndexEntry<?> other = (IndexEntry<?>) o;
+      return size == other.size && lastModified == other.lastModified && hash.equals(other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(size, lastModified, hash);
+    }
+  }
+}
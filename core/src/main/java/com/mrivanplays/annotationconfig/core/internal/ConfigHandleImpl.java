@@ -0,0 +1,54 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigHandle;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link ConfigHandle}. The current configuration is held in a volatile field,
+ * which is only written once a new configuration has been fully loaded.
+ */
+final class ConfigHandleImpl<T> implements ConfigHandle<T> {
+
+  private final ConfigResolver resolver;
+  private final Path path;
+  private final Supplier<T> configToResolveTo;
+  private final Settings settings;
+
+  private volatile T current;
+
+  ConfigHandleImpl(
+      ConfigResolver resolver, Path path, Supplier<T> configToResolveTo, Settings settings) {
+    this.resolver = resolver;
+    this.path = Objects.requireNonNull(path, "path");
+    this.configToResolveTo = Objects.requireNonNull(configToResolveTo, "configToResolveTo");
+    this.settings = settings;
+  }
+
+  @Override
+  public Path getPath() {
+    return path;
+  }
+
+  @Override
+  public T get() {
+    return current;
+  }
+
+  @Override
+  public synchronized T reload() {
+    T config = Objects.requireNonNull(configToResolveTo.get(), "configToResolveTo returned null");
+    resolver.loadOrDump(config, path, settings);
+    current = config;
+    return config;
+  }
+
+  @Override
+  public CompletableFuture<T> reloadAsync() {
+    return CompletableFuture.supplyAsync(this::reload, resolver.asyncExecutor());
+  }
+}
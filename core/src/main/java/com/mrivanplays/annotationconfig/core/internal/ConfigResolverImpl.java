@@ -1,14 +1,17 @@
 package com.mrivanplays.annotationconfig.core.internal;
 
-import com.mrivanplays.annotationconfig.core.annotations.type.AnnotationType;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigDirectory;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigHandle;
 import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.DumpResult;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueReader;
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
 import com.mrivanplays.annotationconfig.core.resolver.ValueReader;
 import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
 import com.mrivanplays.annotationconfig.core.resolver.WritableObject;
 import com.mrivanplays.annotationconfig.core.resolver.key.KeyResolver;
 import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
 import com.mrivanplays.annotationconfig.core.resolver.settings.NullReadHandleOption;
-import com.mrivanplays.annotationconfig.core.resolver.settings.Setting;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
 import java.io.File;
 import java.io.FileInputStream;
@@ -19,13 +22,24 @@ import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class ConfigResolverImpl implements ConfigResolver {
@@ -36,6 +50,7 @@ public final class ConfigResolverImpl implements ConfigResolver {
   private final Settings settings;
   private final KeyResolver keyResolver;
   private final String[] fileExtensions;
+  private final Executor asyncExecutor;
 
   public ConfigResolverImpl(
       String commentPrefix,
@@ -44,6 +59,17 @@ public final class ConfigResolverImpl implements ConfigResolver {
       Settings settings,
       KeyResolver keyResolver,
       String[] fileExtensions) {
+    this(commentPrefix, valueWriter, valueReader, settings, keyResolver, fileExtensions, null);
+  }
+
+  public ConfigResolverImpl(
+      String commentPrefix,
+      ValueWriter valueWriter,
+      ValueReader valueReader,
+      Settings settings,
+      KeyResolver keyResolver,
+      String[] fileExtensions,
+      Executor asyncExecutor) {
     this.commentPrefix = Objects.requireNonNull(commentPrefix, "commentPrefix");
     this.valueWriter = Objects.requireNonNull(valueWriter, "valueWriter");
     this.valueReader = Objects.requireNonNull(valueReader, "valueReader");
@@ -58,6 +84,7 @@ public final class ConfigResolverImpl implements ConfigResolver {
     } else {
       this.keyResolver = keyResolver;
     }
+    this.asyncExecutor = asyncExecutor;
   }
 
   @Override
@@ -66,64 +93,66 @@ public final class ConfigResolverImpl implements ConfigResolver {
   }
 
   @Override
-  public void dump(Object annotatedConfig, File file) {
-    if (file.exists()) {
-      file.delete();
-    }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, null);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, null);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
-    AnnotatedConfigResolver.dump(
+  public Executor asyncExecutor() {
+    return asyncExecutor != null ? asyncExecutor : AsyncExecutor.POOL;
+  }
+
+  @Override
+  public CompletableFuture<Void> loadAsync(Object annotatedConfig, Path path, Settings settings) {
+    return ConfigStaging.load(
         annotatedConfig,
-        resolvedAnnotations,
-        file,
-        settings,
-        commentPrefix,
-        valueWriter,
-        keyResolver,
-        reverseFields,
-        findParentFields);
+        this.resolve(settings),
+        this.asyncExecutor(),
+        staged -> this.load(staged, path, settings));
+  }
+
+  @Override
+  public CompletableFuture<Void> loadOrDumpAsync(
+      Object annotatedConfig, Path path, Settings settings) {
+    return ConfigStaging.load(
+        annotatedConfig,
+        this.resolve(settings),
+        this.asyncExecutor(),
+        staged -> this.loadOrDump(staged, path, settings));
+  }
+
+  @Override
+  public CompletableFuture<DumpResult> dumpAsync(Object annotatedConfig, Path path) {
+    Object snapshot = ConfigStaging.snapshot(annotatedConfig, this.resolve(null));
+    return CompletableFuture.supplyAsync(
+        () -> this.dumpIfChanged(snapshot, path), this.asyncExecutor());
+  }
+
+  @Override
+  public void dump(Object annotatedConfig, File file) {
+    this.dump(annotatedConfig, file.toPath());
   }
 
   @Override
   public void dump(Object annotatedConfig, Path path) {
+    this.dumpIfChanged(annotatedConfig, path);
+  }
+
+  @Override
+  public DumpResult dumpIfChanged(Object annotatedConfig, Path path) {
     if (Files.isDirectory(path)) {
       throw new IllegalArgumentException("Cannot dump a config FILE to a DIRECTORY: " + path);
     }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, null);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, null);
-    AnnotatedConfigResolver.dump(
-        annotatedConfig,
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields),
-        path,
-        settings,
-        commentPrefix,
-        valueWriter,
-        keyResolver,
-        reverseFields,
-        findParentFields);
+    ResolvedSettings resolved = this.resolve(null);
+    ConfigSchema schema = this.getSchema(annotatedConfig, resolved);
+    return this.dumpToPath(annotatedConfig, schema, path, resolved);
   }
 
   @Override
   public void dump(Object annotatedConfig, Writer writer) {
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, null);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, null);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
     AnnotatedConfigResolver.dump(
         annotatedConfig,
-        resolvedAnnotations,
+        this.getSchema(annotatedConfig, this.resolve(null)),
         writer,
         settings,
         commentPrefix,
         valueWriter,
-        keyResolver,
-        reverseFields,
-        findParentFields);
+        keyResolver);
   }
 
   @Override
@@ -141,12 +170,8 @@ public final class ConfigResolverImpl implements ConfigResolver {
     if (!file.exists()) {
       return;
     }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
-    handleFileLoad(annotatedConfig, resolvedAnnotations, file, settings, findParentFields);
+    ResolvedSettings resolved = this.resolve(settings);
+    handleFileLoad(annotatedConfig, this.getSchema(annotatedConfig, resolved), file, resolved);
   }
 
   @Override
@@ -154,12 +179,8 @@ public final class ConfigResolverImpl implements ConfigResolver {
     if (Files.notExists(path) || Files.isDirectory(path)) {
       return;
     }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
-    handlePathLoad(annotatedConfig, resolvedAnnotations, path, settings, findParentFields);
+    ResolvedSettings resolved = this.resolve(settings);
+    handlePathLoad(annotatedConfig, this.getSchema(annotatedConfig, resolved), path, resolved);
   }
 
   @Override
@@ -172,22 +193,14 @@ public final class ConfigResolverImpl implements ConfigResolver {
     if (values.isEmpty()) {
       return;
     }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
-    NullReadHandleOption nullReadHandler =
-        this.getSetting(ACDefaultSettings.NULL_READ_HANDLER, settings);
+    ResolvedSettings resolved = this.resolve(settings);
     AnnotatedConfigResolver.setFields(
         annotatedConfig,
         values,
-        resolvedAnnotations,
-        nullReadHandler,
-        settings,
-        keyResolver,
-        reverseFields,
-        findParentFields);
+        this.getSchema(annotatedConfig, resolved),
+        resolved.getNullReadHandler(),
+        resolved.getSource(),
+        keyResolver);
   }
 
   @Override
@@ -197,32 +210,17 @@ public final class ConfigResolverImpl implements ConfigResolver {
 
   @Override
   public void load(Object annotatedConfig, Reader reader, Settings settings) {
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
-    Map<String, Object> values;
+    ResolvedSettings resolved = this.resolve(settings);
+    ConfigSchema schema = this.getSchema(annotatedConfig, resolved);
     try {
       try {
-        values = valueReader.read(reader, settings);
+        this.read(annotatedConfig, schema, reader, resolved, false);
       } finally {
         reader.close();
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
-    NullReadHandleOption nullReadHandler =
-        this.getSetting(ACDefaultSettings.NULL_READ_HANDLER, settings);
-    AnnotatedConfigResolver.setFields(
-        annotatedConfig,
-        values,
-        resolvedAnnotations,
-        nullReadHandler,
-        settings,
-        keyResolver,
-        reverseFields,
-        findParentFields);
   }
 
   @Override
@@ -237,25 +235,13 @@ public final class ConfigResolverImpl implements ConfigResolver {
 
   @Override
   public void loadOrDump(Object annotatedConfig, File file, Settings settings) {
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
+    ResolvedSettings resolved = this.resolve(settings);
+    ConfigSchema schema = this.getSchema(annotatedConfig, resolved);
     if (!file.exists()) {
-      AnnotatedConfigResolver.dump(
-          annotatedConfig,
-          resolvedAnnotations,
-          file,
-          settings,
-          commentPrefix,
-          valueWriter,
-          keyResolver,
-          reverseFields,
-          findParentFields);
+      this.dumpToPath(annotatedConfig, schema, file.toPath(), resolved);
       return;
     }
-    handleFileLoad(annotatedConfig, resolvedAnnotations, file, settings, findParentFields);
+    handleFileLoad(annotatedConfig, schema, file, resolved);
   }
 
   @Override
@@ -263,25 +249,13 @@ public final class ConfigResolverImpl implements ConfigResolver {
     if (Files.isDirectory(path)) {
       throw new IllegalArgumentException("Cannot write a config FILE to a DIRECTORY " + path);
     }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations =
-        AnnotatedConfigResolver.resolveAnnotations(
-            annotatedConfig, reverseFields, findParentFields);
+    ResolvedSettings resolved = this.resolve(settings);
+    ConfigSchema schema = this.getSchema(annotatedConfig, resolved);
     if (Files.notExists(path)) {
-      AnnotatedConfigResolver.dump(
-          annotatedConfig,
-          resolvedAnnotations,
-          path,
-          settings,
-          commentPrefix,
-          valueWriter,
-          keyResolver,
-          reverseFields,
-          findParentFields);
+      this.dumpToPath(annotatedConfig, schema, path, resolved);
       return;
     }
-    handlePathLoad(annotatedConfig, resolvedAnnotations, path, settings, findParentFields);
+    handlePathLoad(annotatedConfig, schema, path, resolved);
   }
 
   @Override
@@ -296,8 +270,6 @@ public final class ConfigResolverImpl implements ConfigResolver {
     if (!dir.isDirectory()) {
       throw new IllegalArgumentException(dir + " is not a directory!");
     }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
     if (!dir.exists()) {
       dir.mkdirs();
       T config = configToResolveTo.get();
@@ -319,18 +291,14 @@ public final class ConfigResolverImpl implements ConfigResolver {
         dump(config, dumpFile.writer());
         return Collections.emptyMap();
       }
+      ResolvedSettings resolved = this.resolve(settings);
       Map<String, T> ret = new LinkedHashMap<>();
-      Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations = null;
       for (File file : files) {
         if (file.isDirectory()) {
           continue;
         }
         T config = configToResolveTo.get();
-        if (resolvedAnnotations == null) {
-          resolvedAnnotations =
-              AnnotatedConfigResolver.resolveAnnotations(config, reverseFields, findParentFields);
-        }
-        handleFileLoad(config, resolvedAnnotations, file, settings, findParentFields);
+        handleFileLoad(config, this.getSchema(config, resolved), file, resolved);
         ret.put(file.getName(), config);
       }
       return ret;
@@ -349,8 +317,6 @@ public final class ConfigResolverImpl implements ConfigResolver {
     if (!Files.isDirectory(dir)) {
       throw new IllegalArgumentException(dir + " is not a directory!");
     }
-    boolean findParentFields = this.getSetting(ACDefaultSettings.FIND_PARENT_FIELDS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
     if (Files.notExists(dir)) {
       try {
         Files.createDirectories(dir);
@@ -368,7 +334,7 @@ public final class ConfigResolverImpl implements ConfigResolver {
           dump(config, dumpFile.writer());
           return Collections.emptyMap();
         }
-        Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations = null;
+        ResolvedSettings resolved = this.resolve(settings);
         Map<String, T> ret = new LinkedHashMap<>();
         while (iterator.hasNext()) {
           Path path = iterator.next();
@@ -387,11 +353,7 @@ public final class ConfigResolverImpl implements ConfigResolver {
             continue;
           }
           T config = configToResolveTo.get();
-          if (resolvedAnnotations == null) {
-            resolvedAnnotations =
-                AnnotatedConfigResolver.resolveAnnotations(config, reverseFields, findParentFields);
-          }
-          handlePathLoad(config, resolvedAnnotations, path, settings, findParentFields);
+          handlePathLoad(config, this.getSchema(config, resolved), path, resolved);
           ret.put(fileName, config);
         }
         return ret;
@@ -401,115 +363,322 @@ public final class ConfigResolverImpl implements ConfigResolver {
     }
   }
 
-  private void handleFileLoad(
-      Object annotatedConfig,
-      Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations,
-      File file,
+  @Override
+  public <T> Map<String, T> resolveMultiple(
+      Path dir,
+      Supplier<T> configToResolveTo,
+      WritableObject dumpFile,
+      Settings settings,
+      Executor executor) {
+    try {
+      return this.resolveMultipleFuture(dir, configToResolveTo, dumpFile, settings, executor)
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public <T> CompletableFuture<Map<String, T>> resolveMultipleAsync(
+      Path dir, Supplier<T> configToResolveTo, WritableObject dumpFile, Settings settings) {
+    // the loads aren't joined on the async executor, so they can't starve it
+    return CompletableFuture.supplyAsync(
+            () ->
+                this.resolveMultipleFuture(
+                    dir, configToResolveTo, dumpFile, settings, this.asyncExecutor()),
+            this.asyncExecutor())
+        .thenCompose(loads -> loads);
+  }
+
+  private <T> CompletableFuture<Map<String, T>> resolveMultipleFuture(
+      Path dir,
+      Supplier<T> configToResolveTo,
+      WritableObject dumpFile,
       Settings settings,
-      boolean findParentFields) {
-    Map<String, Object> values;
-    try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
-      values = valueReader.read(reader, settings);
+      Executor executor) {
+    if (!Files.isDirectory(dir)) {
+      throw new IllegalArgumentException(dir + " is not a directory!");
+    }
+    List<Path> files;
+    try (Stream<Path> paths = Files.list(dir)) {
+      files =
+          paths
+              .filter(path -> !Files.isDirectory(path) && hasFileExtension(path))
+              .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+              .collect(Collectors.toList());
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    finishLoad(
+    if (files.isEmpty()) {
+      T config = configToResolveTo.get();
+      dump(config, dumpFile.writer());
+      return CompletableFuture.completedFuture(Collections.emptyMap());
+    }
+    if (executor == null) {
+      executor = ResolveExecutor.POOL;
+    }
+    // configs and their schemas are obtained here, so workers only read and bind
+    ResolvedSettings resolved = this.resolve(settings);
+    List<CompletableFuture<T>> loads = new ArrayList<>(files.size());
+    for (Path path : files) {
+      T config = configToResolveTo.get();
+      ConfigSchema schema = this.getSchema(config, resolved);
+      loads.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                handlePathLoad(config, schema, path, resolved);
+                return config;
+              },
+              executor));
+    }
+    return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+        .handle((ignored, error) -> collect(dir, files, loads));
+  }
+
+  private static <T> Map<String, T> collect(
+      Path dir, List<Path> files, List<CompletableFuture<T>> loads) {
+    Map<String, T> ret = new LinkedHashMap<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int i = 0; i < files.size(); i++) {
+      String fileName = files.get(i).getFileName().toString();
+      try {
+        ret.put(fileName, loads.get(i).join());
+      } catch (CompletionException e) {
+        failures.add(new RuntimeException("Could not load " + fileName, e.getCause()));
+      }
+    }
+    if (!failures.isEmpty()) {
+      RuntimeException failure =
+          new RuntimeException(
+              failures.size()
+                  + " of "
+                  + files.size()
+                  + " configurations in "
+                  + dir
+                  + " could not be loaded");
+      for (Throwable fileFailure : failures) {
+        failure.addSuppressed(fileFailure);
+      }
+      throw failure;
+    }
+    return ret;
+  }
+
+  @Override
+  public <T> ConfigDirectory<T> newConfigDirectory(
+      Path dir,
+      Supplier<T> configToResolveTo,
+      WritableObject dumpFile,
+      Settings settings,
+      Path indexFile) {
+    return new ConfigDirectoryImpl<>(
+        this,
+        this::hasFileExtension,
+        dir,
+        configToResolveTo,
+        dumpFile,
+        settings != null ? settings : this.settings,
+        indexFile);
+  }
+
+  @Override
+  public <T> ConfigHandle<T> newConfigHandle(
+      Path path, Supplier<T> configToResolveTo, Settings settings) {
+    ConfigHandle<T> handle =
+        new ConfigHandleImpl<>(
+            this, path, configToResolveTo, settings != null ? settings : this.settings);
+    handle.reload();
+    return handle;
+  }
+
+  private boolean hasFileExtension(Path path) {
+    String fileName = path.getFileName().toString();
+    for (String extension : fileExtensions) {
+      if (fileName.endsWith(extension)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Holds the executor configurations are loaded on when no executor is specified. */
+  private static final class ResolveExecutor {
+
+    static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Holds the executor asynchronous methods run on when no executor is specified. Its threads are
+   * daemon threads, which are only kept while there's work, so it never keeps the JVM alive.
+   */
+  private static final class AsyncExecutor {
+
+    static final ThreadPoolExecutor POOL = newPool();
+
+    private static ThreadPoolExecutor newPool() {
+      int threads = Runtime.getRuntime().availableProcessors();
+      AtomicInteger count = new AtomicInteger();
+      ThreadPoolExecutor pool =
+          new ThreadPoolExecutor(
+              threads,
+              threads,
+              30,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              task -> {
+                Thread thread =
+                    new Thread(task, "AnnotationConfig Async #" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+      pool.allowCoreThreadTimeOut(true);
+      return pool;
+    }
+  }
+
+  private void handleFileLoad(
+      Object annotatedConfig, ConfigSchema schema, File file, ResolvedSettings settings) {
+    this.loadLocked(
         annotatedConfig,
-        resolvedAnnotations,
-        values,
+        schema,
+        file.toPath(),
         settings,
-        () -> {
-          file.delete();
-          AnnotatedConfigResolver.dump(
-              annotatedConfig,
-              resolvedAnnotations,
-              file,
-              settings,
-              commentPrefix,
-              valueWriter,
-              keyResolver,
-              reverseFields,
-              findParentFields);
-        },
-        findParentFields);
+        () -> new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
   }
 
   private void handlePathLoad(
+      Object annotatedConfig, ConfigSchema schema, Path path, ResolvedSettings settings) {
+    this.loadLocked(
+        annotatedConfig,
+        schema,
+        path,
+        settings,
+        () -> new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8));
+  }
+
+  private void loadLocked(
       Object annotatedConfig,
-      Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations,
+      ConfigSchema schema,
       Path path,
-      Settings settings,
-      boolean findParentFields) {
-    Map<String, Object> values;
-    try (Reader reader =
-        new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8)) {
-      values = valueReader.read(reader, settings);
+      ResolvedSettings settings,
+      LockedAction<Reader> open) {
+    // a shared lock can't be upgraded, so the lock is exclusive if the new options may be dumped;
+    // no other process can then change the file between the load and the dump
+    boolean generateNewOptions = settings.shouldGenerateNewOptions();
+    try {
+      locked(
+          path,
+          generateNewOptions,
+          settings,
+          () -> {
+            boolean missingOptions;
+            try (Reader reader = open.run()) {
+              missingOptions = this.read(annotatedConfig, schema, reader, settings, true);
+            }
+            if (missingOptions && generateNewOptions) {
+              this.dumpUnlocked(annotatedConfig, schema, path, settings);
+            }
+            return null;
+          });
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    this.finishLoad(
-        annotatedConfig,
-        resolvedAnnotations,
-        values,
-        settings,
-        () -> {
-          try {
-            Files.deleteIfExists(path);
-          } catch (IOException e) {
-            throw new RuntimeException(e);
-          }
-          AnnotatedConfigResolver.dump(
-              annotatedConfig,
-              resolvedAnnotations,
-              path,
-              settings,
-              commentPrefix,
-              valueWriter,
-              keyResolver,
-              reverseFields,
-              findParentFields);
-        },
-        findParentFields);
-  }
-
-  private void finishLoad(
+  }
+
+  /**
+   * Reads the values from the specified {@link Reader} and sets them to the specified {@code
+   * annotatedConfig}. Streaming value readers are bound directly to the schema.
+   *
+   * @return whether there are missing options
+   */
+  private boolean read(
       Object annotatedConfig,
-      Map<AnnotationHolder, Set<AnnotationType>> resolvedAnnotations,
-      Map<String, Object> values,
-      Settings settings,
-      Runnable missingOptionsAction,
-      boolean findParentFields) {
-    if (values.isEmpty()) {
-      return;
+      ConfigSchema schema,
+      Reader reader,
+      ResolvedSettings resolved,
+      boolean skipIfEmpty)
+      throws IOException {
+    NullReadHandleOption nullReadHandler = resolved.getNullReadHandler();
+    Settings settings = resolved.getSource();
+    if (valueReader instanceof StreamingValueReader && StreamingBinder.supports(keyResolver)) {
+      try (ValueCursor cursor = ((StreamingValueReader) valueReader).open(reader, settings)) {
+        StreamingBinder binder =
+            new StreamingBinder(cursor, nullReadHandler, settings, keyResolver);
+        if (skipIfEmpty && binder.isEmpty()) {
+          return false;
+        }
+        return binder.bind(annotatedConfig, schema);
+      }
+    }
+    Map<String, Object> values = valueReader.read(reader, settings);
+    if (skipIfEmpty && values.isEmpty()) {
+      return false;
+    }
+    return AnnotatedConfigResolver.setFields(
+        annotatedConfig, values, schema, nullReadHandler, settings, keyResolver);
+  }
+
+  private DumpResult dumpToPath(
+      Object annotatedConfig, ConfigSchema schema, Path path, ResolvedSettings settings) {
+    try {
+      return locked(
+          path, true, settings, () -> this.dumpUnlocked(annotatedConfig, schema, path, settings));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     }
-    NullReadHandleOption nullReadHandler =
-        this.getSetting(ACDefaultSettings.NULL_READ_HANDLER, settings);
-    boolean generateNewOptions = this.getSetting(ACDefaultSettings.GENERATE_NEW_OPTIONS, settings);
-    boolean reverseFields = this.getSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, settings);
-    boolean missingOptions =
-        AnnotatedConfigResolver.setFields(
-            annotatedConfig,
-            values,
-            resolvedAnnotations,
-            nullReadHandler,
-            settings,
-            keyResolver,
-            reverseFields,
-            findParentFields);
-    if (missingOptions && generateNewOptions) {
-      missingOptionsAction.run();
+  }
+
+  // the caller holds the exclusive lock of the file, if files are locked
+  private DumpResult dumpUnlocked(
+      Object annotatedConfig, ConfigSchema schema, Path path, ResolvedSettings settings) {
+    return AnnotatedConfigResolver.dump(
+        annotatedConfig,
+        schema,
+        path,
+        settings.getSource(),
+        settings.shouldFsyncOnDump(),
+        commentPrefix,
+        valueWriter,
+        keyResolver);
+  }
+
+  // runs the action while holding the lock of the file, if files are locked
+  private static <T> T locked(
+      Path path, boolean exclusive, ResolvedSettings settings, LockedAction<T> action)
+      throws IOException {
+    FileLocks.Held held = lock(path, exclusive, settings);
+    try {
+      return action.run();
+    } finally {
+      held.close();
     }
   }
 
-  private <T> T getSetting(Setting<T> setting, Settings fromMethod) {
-    if (fromMethod == null || this.settings.equals(fromMethod)) {
-      return this.settings.get(setting).orElse(ACDefaultSettings.getDefault().get(setting).get());
+  private static FileLocks.Held lock(Path path, boolean exclusive, ResolvedSettings settings)
+      throws IOException {
+    if (!settings.shouldLockFiles()) {
+      return FileLocks.NONE;
     }
-    return fromMethod
-        .get(setting)
-        .orElse(
-            this.settings.get(setting).orElse(ACDefaultSettings.getDefault().get(setting).get()));
+    return FileLocks.lock(path, exclusive, settings.getLockTimeout());
+  }
+
+  /** Represents an action run while holding the lock of a config file. */
+  private interface LockedAction<T> {
+
+    T run() throws IOException;
+  }
+
+  private ConfigSchema getSchema(Object annotatedConfig, ResolvedSettings settings) {
+    return ConfigSchema.of(
+        annotatedConfig.getClass(),
+        settings.shouldReverseFields(),
+        settings.shouldFindParentFields());
+  }
+
+  private ResolvedSettings resolve(Settings fromMethod) {
+    return ResolvedSettings.of(this.settings, fromMethod);
   }
 }
@@ -0,0 +1,269 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.annotations.Key;
+import com.mrivanplays.annotationconfig.core.annotations.Multiline;
+import com.mrivanplays.annotationconfig.core.annotations.comment.Comment;
+import com.mrivanplays.annotationconfig.core.annotations.comment.Comments;
+import com.mrivanplays.annotationconfig.core.annotations.type.AnnotationType;
+import com.mrivanplays.annotationconfig.core.resolver.binder.ConfigBinder;
+import com.mrivanplays.annotationconfig.core.serialization.DataObject;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents the compiled, immutable form of an annotated config class. Compiling a class walks its
+ * fields, annotations and (optionally) superclasses once; the result is cached per class via a
+ * {@link ClassValue}, so it doesn't keep class loaders alive.
+ */
+final class ConfigSchema {
+
+  private static final ClassValue<AtomicReferenceArray<ConfigSchema>> SCHEMAS =
+      new ClassValue<AtomicReferenceArray<ConfigSchema>>() {
+        @Override
+        protected AtomicReferenceArray<ConfigSchema> computeValue(Class<?> type) {
+          // one slot per (reverseFields, findParentFields) combination
+          return new AtomicReferenceArray<>(4);
+        }
+      };
+
+  static ConfigSchema of(Class<?> type, boolean reverseFields, boolean findParentFields) {
+    AtomicReferenceArray<ConfigSchema> variants = SCHEMAS.get(type);
+    int slot = (reverseFields ? 1 : 0) | (findParentFields ? 2 : 0);
+    ConfigSchema schema = variants.get(slot);
+    if (schema == null) {
+      schema = compile(type, reverseFields, findParentFields);
+      if (!variants.compareAndSet(slot, null, schema)) {
+        schema = variants.get(slot);
+      }
+    }
+    return schema;
+  }
+
+  private static ConfigSchema compile(
+      Class<?> type, boolean reverseFields, boolean findParentFields) {
+    Map<AnnotationHolder, Set<AnnotationType>> resolved =
+        AnnotatedConfigResolver.resolveAnnotations(type, reverseFields, findParentFields);
+    List<List<String>> classComments = new ArrayList<>();
+    List<FieldSchema> fields = new ArrayList<>();
+    for (Map.Entry<AnnotationHolder, Set<AnnotationType>> entry : resolved.entrySet()) {
+      AnnotationHolder holder = entry.getKey();
+      if (holder.isClass()) {
+        List<String> block = new ArrayList<>();
+        for (AnnotationType annotationType : entry.getValue()) {
+          block.addAll(readComments(annotationType, null, holder.getClazz()));
+        }
+        classComments.add(Collections.unmodifiableList(block));
+        continue;
+      }
+      fields.add(compileField(holder.getField(), entry.getValue()));
+    }
+    return new ConfigSchema(
+        type,
+        reverseFields,
+        findParentFields,
+        Collections.unmodifiableList(classComments),
+        Collections.unmodifiableList(fields));
+  }
+
+  private static FieldSchema compileField(Field field, Set<AnnotationType> types) {
+    String key = field.getName();
+    List<String> comments = Collections.emptyList();
+    boolean configObject = false;
+    Character multiline = null;
+    for (AnnotationType type : types) {
+      if (comments.isEmpty()) {
+        comments = readComments(type, field, null);
+      }
+      if (type.is(AnnotationType.KEY)) {
+        key = field.getDeclaredAnnotation(Key.class).value();
+      }
+      if (type.is(AnnotationType.CONFIG_OBJECT)) {
+        configObject = true;
+      }
+      if (type.is(AnnotationType.MULTILINE)) {
+        multiline = field.getDeclaredAnnotation(Multiline.class).value();
+      }
+    }
+    boolean rawConfig = types.contains(AnnotationType.RAW_CONFIG);
+    if (rawConfig) {
+      if (types.size() > 1) {
+        throw new IllegalArgumentException(
+            "Found illegal annotation placement ; @RawConfig on a field with other annotations except @RawConfig.");
+      }
+      if (!field.getType().isAssignableFrom(DataObject.class)) {
+        throw new IllegalArgumentException("@RawConfig on a field which is not DataObject");
+      }
+    }
+    FieldValidator validator =
+        FieldValidator.compile(field, key, types, !configObject && !rawConfig);
+    return new FieldSchema(
+        field, key, types, Collections.unmodifiableList(comments), configObject, multiline,
+        validator);
+  }
+
+  private static List<String> readComments(AnnotationType type, Field field, Class<?> aClass) {
+    if (!type.is(AnnotationType.COMMENT) && !type.is(AnnotationType.COMMENTS)) {
+      return Collections.emptyList();
+    }
+    List<String> ret = new ArrayList<>();
+    if (type.is(AnnotationType.COMMENT)) {
+      ret.add(getAnnotation(field, aClass, Comment.class).value());
+    }
+    if (type.is(AnnotationType.COMMENTS)) {
+      for (Comment comment : getAnnotation(field, aClass, Comments.class).value()) {
+        ret.add(comment.value());
+      }
+    }
+    return ret;
+  }
+
+  private static <T extends Annotation> T getAnnotation(
+      Field field, Class<?> theClass, Class<T> annotationType) {
+    if (field != null) {
+      return field.getDeclaredAnnotation(annotationType);
+    } else {
+      return theClass.getDeclaredAnnotation(annotationType);
+    }
+  }
+
+  private final Class<?> type;
+  private final boolean reverseFields;
+  private final boolean findParentFields;
+  private final List<List<String>> classComments;
+  private final List<FieldSchema> fields;
+  private final boolean rawConfig;
+  private final ConfigBinder binder;
+  // the options by the index of the binder, and the binder indexes in the order of the options
+  private final FieldSchema[] boundFields;
+  private final int[] bindOrder;
+  // compiled on first streaming load, one per kind of keys; racing compilations are harmless
+  private volatile KeyIndex keyIndex;
+  private volatile KeyIndex dottedKeyIndex;
+
+  private ConfigSchema(
+      Class<?> type,
+      boolean reverseFields,
+      boolean findParentFields,
+      List<List<String>> classComments,
+      List<FieldSchema> fields) {
+    this.type = type;
+    this.reverseFields = reverseFields;
+    this.findParentFields = findParentFields;
+    this.classComments = classComments;
+    this.fields = fields;
+    boolean rawConfig = false;
+    for (FieldSchema field : fields) {
+      rawConfig |= field.isRawConfig();
+    }
+    this.rawConfig = rawConfig;
+
+    ConfigBinder binder = FieldAccessor.binderOf(type);
+    FieldSchema[] boundFields = null;
+    int[] bindOrder = null;
+    if (binder != null) {
+      List<String> names = Arrays.asList(binder.getFieldNames());
+      boundFields = new FieldSchema[names.size()];
+      bindOrder = new int[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        FieldSchema field = fields.get(i);
+        int index = names.indexOf(field.getName());
+        if (index == -1 || field.getField().getDeclaringClass() != type) {
+          // e.g. inherited options, which the binder of this class doesn't bind
+          binder = null;
+          boundFields = null;
+          bindOrder = null;
+          break;
+        }
+        boundFields[index] = field;
+        bindOrder[i] = index;
+      }
+    }
+    this.binder = binder;
+    this.boundFields = boundFields;
+    this.bindOrder = bindOrder;
+  }
+
+  Class<?> getType() {
+    return type;
+  }
+
+  /**
+   * Returns the schema of a config object (section) held by a field of this schema. Looked up by
+   * the runtime class of the section, with the same settings this schema was compiled with.
+   */
+  ConfigSchema child(Class<?> sectionType) {
+    return of(sectionType, reverseFields, findParentFields);
+  }
+
+  /** Returns the raw class comments, one block per class level comment annotation. */
+  List<List<String>> getClassComments() {
+    return classComments;
+  }
+
+  List<FieldSchema> getFields() {
+    return fields;
+  }
+
+  /** Returns whether an option of this schema is a {@code @RawConfig}. */
+  boolean hasRawConfig() {
+    return rawConfig;
+  }
+
+  /**
+   * Returns the generated {@link ConfigBinder} of the config, or null if it has none or it doesn't
+   * bind all the options of this schema.
+   */
+  ConfigBinder getBinder() {
+    return binder;
+  }
+
+  /** Returns the option the binder of this schema binds at the specified {@code index}. */
+  FieldSchema getBoundField(int index) {
+    return boundFields[index];
+  }
+
+  /** Returns the binder indexes of the options of this schema, in order. Not to be modified. */
+  int[] getBindOrder() {
+    return bindOrder;
+  }
+
+  /**
+   * Returns the {@link KeyIndex} of the options of this schema.
+   *
+   * @param dotted whether the keys are split into their dotted segments
+   * @return key index
+   */
+  KeyIndex getKeyIndex(boolean dotted) {
+    KeyIndex index = dotted ? dottedKeyIndex : keyIndex;
+    if (index == null) {
+      index = KeyIndex.compile(fields, dotted);
+      if (dotted) {
+        dottedKeyIndex = index;
+      } else {
+        keyIndex = index;
+      }
+    }
+    return index;
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigSchema{"
+        + "type="
+        + type.getName()
+        + ", reverseFields="
+        + reverseFields
+        + ", findParentFields="
+        + findParentFields
+        + ", fields="
+        + fields
+        + '}';
+  }
+}
@@ -0,0 +1,130 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.serialization.InstantiatorRegistry;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Stages the asynchronous loads of annotated configs. A load is bound to a copy of the config off
+ * the calling thread, and the loaded options are then copied to the config, field by field, while
+ * holding the config's monitor. Only code which reads the config while synchronized on it is
+ * guaranteed to see either none or all of a load; others may see a load partially applied, and
+ * should use a {@link com.mrivanplays.annotationconfig.core.resolver.ConfigHandle} instead.
+ *
+ * <p>The copies are created with the no-args constructor of the config, if it has one, and with
+ * {@link InstantiatorRegistry#newInstance(Class)} otherwise. Only the options are copied to and
+ * from them.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+final class ConfigStaging {
+
+  private static final ClassValue<Constructor<?>> CONSTRUCTORS =
+      new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+          try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+          } catch (NoSuchMethodException e) {
+            return null;
+          }
+        }
+      };
+
+  /**
+   * Loads the specified {@code annotatedConfig} asynchronously, by running the specified {@code
+   * load} against a copy of it on the specified {@link Executor}.
+   *
+   * @param annotatedConfig the config to load
+   * @param settings the resolved settings the config is loaded with
+   * @param executor the executor to load on
+   * @param load the load, which gets passed the copy
+   * @return future, completed once the loaded options are copied to the config
+   */
+  static CompletableFuture<Void> load(
+      Object annotatedConfig, ResolvedSettings settings, Executor executor, Consumer<Object> load) {
+    ConfigSchema schema = schema(annotatedConfig, settings);
+    Object staged = copy(annotatedConfig, schema);
+    return CompletableFuture.runAsync(() -> load.accept(staged), executor)
+        .thenRun(
+            () -> {
+              synchronized (annotatedConfig) {
+                publish(staged, annotatedConfig, schema);
+              }
+            });
+  }
+
+  /**
+   * Copies the options of the specified {@code annotatedConfig} while holding its monitor, so it
+   * can be dumped off the calling thread.
+   *
+   * @param annotatedConfig the config to copy
+   * @param settings the resolved settings the config is dumped with
+   * @return copy
+   */
+  static Object snapshot(Object annotatedConfig, ResolvedSettings settings) {
+    ConfigSchema schema = schema(annotatedConfig, settings);
+    synchronized (annotatedConfig) {
+      return copy(annotatedConfig, schema);
+    }
+  }
+
+  private static ConfigSchema schema(Object annotatedConfig, ResolvedSettings settings) {
+    return ConfigSchema.of(
+        annotatedConfig.getClass(),
+        settings.shouldReverseFields(),
+        settings.shouldFindParentFields());
+  }
+
+  // config objects are copied too, as loads set their options in place
+  private static Object copy(Object annotatedConfig, ConfigSchema schema) {
+    Object copy = newInstance(annotatedConfig.getClass());
+    for (FieldSchema field : schema.getFields()) {
+      Object value = field.get(annotatedConfig);
+      if (field.isConfigObject() && value != null) {
+        value = copy(value, schema.child(value.getClass()));
+      }
+      field.set(copy, value);
+    }
+    return copy;
+  }
+
+  // config objects of the target are kept, and get the options of the staged ones
+  private static void publish(Object staged, Object target, ConfigSchema schema) {
+    for (FieldSchema field : schema.getFields()) {
+      Object value = field.get(staged);
+      Object current = field.isConfigObject() ? field.get(target) : null;
+      if (current != null && value != null && current.getClass() == value.getClass()) {
+        publish(value, current, schema.child(current.getClass()));
+        continue;
+      }
+      field.set(target, value);
+    }
+  }
+
+  private static Object newInstance(Class<?> type) {
+    Constructor<?> constructor = CONSTRUCTORS.get(type);
+    if (constructor == null) {
+      // every option is set right after, so skipping the constructors is harmless
+      return InstantiatorRegistry.INSTANCE.newInstance(type);
+    }
+    try {
+      return constructor.newInstance();
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new IllegalArgumentException(
+          "Could not instantiate config '" + type.getSimpleName() + "'", e);
+    } catch (InvocationTargetException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private ConfigStaging() {
+    throw new IllegalArgumentException("Initialisation of utility-type class.");
+  }
+}
@@ -0,0 +1,54 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes SHA-256 hashes of the content of config files, as hex strings.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public final class ContentHash {
+
+  private ContentHash() {}
+
+  public static String of(byte[] content) {
+    MessageDigest digest = newDigest();
+    digest.update(content);
+    return toHex(digest.digest());
+  }
+
+  public static String of(Path path) throws IOException {
+    MessageDigest digest = newDigest();
+    byte[] buffer = new byte[8192];
+    try (InputStream in = Files.newInputStream(path)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toHex(byte[] hash) {
+    StringBuilder hex = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
@@ -0,0 +1,105 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the content AnnotationConfig dumps to watched files, so watchers can tell the changes made
+ * by dumps apart from the changes made by anyone else. Only files which are watched themselves, or
+ * whose directory is watched, are tracked.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public final class DumpTracker {
+
+  private static final Map<Path, Integer> WATCHED = new ConcurrentHashMap<>();
+  private static final Map<Path, String> DUMPED = new ConcurrentHashMap<>();
+
+  private DumpTracker() {}
+
+  /**
+   * Starts tracking the dumps to the specified file, or the files in the specified directory.
+   * Calls are counted, and have to be matched by calls to {@link #unwatch(Path)}.
+   *
+   * @param path file or directory
+   */
+  public static void watch(Path path) {
+    WATCHED.merge(normalize(path), 1, Integer::sum);
+  }
+
+  /**
+   * Stops tracking the dumps to the specified file, or the files in the specified directory.
+   *
+   * @param path file or directory
+   */
+  public static void unwatch(Path path) {
+    Path normalized = normalize(path);
+    if (WATCHED.computeIfPresent(normalized, (key, count) -> count == 1 ? null : count - 1)
+        == null) {
+      DUMPED
+          .keySet()
+          .removeIf(
+              dumped -> !WATCHED.containsKey(dumped) && !WATCHED.containsKey(dumped.getParent()));
+    }
+  }
+
+  /**
+   * Returns whether the content with the specified hash is what was last dumped to the specified
+   * file. Once the file is seen with any other content, or deleted, the dump is forgotten, so the
+   * dumped content being written back by anyone else later on is a change again.
+   *
+   * @param file the file
+   * @param contentHash the {@link ContentHash} of the content of the file, or null if the file
+   *     doesn't exist
+   * @return whether the content was dumped
+   */
+  public static boolean isDumped(Path file, String contentHash) {
+    return contentHash != null && contentHash.equals(lastDump(file, contentHash));
+  }
+
+  /**
+   * Returns the {@link ContentHash} of the content last dumped to the specified file, or null if
+   * there is none. Like with {@link #isDumped(Path, String)}, the dump is forgotten if the file is
+   * seen with any other content, or deleted.
+   *
+   * @param file the file
+   * @param contentHash the {@link ContentHash} of the content of the file, or null if the file
+   *     doesn't exist
+   * @return last dumped content hash or null
+   */
+  public static String lastDump(Path file, String contentHash) {
+    Path normalized = normalize(file);
+    String dumped = DUMPED.get(normalized);
+    if (dumped != null && !dumped.equals(contentHash)) {
+      // only removed if no newer dump has been recorded meanwhile
+      DUMPED.remove(normalized, dumped);
+    }
+    return dumped;
+  }
+
+  // called before the content is moved in place, so a watcher can never see it untracked. Returns
+  // the recorded hash, or null if the file isn't tracked
+  static String dumping(Path file, byte[] content) {
+    if (WATCHED.isEmpty()) {
+      return null;
+    }
+    Path normalized = normalize(file);
+    if (!WATCHED.containsKey(normalized) && !WATCHED.containsKey(normalized.getParent())) {
+      return null;
+    }
+    String hash = ContentHash.of(content);
+    DUMPED.put(normalized, hash);
+    return hash;
+  }
+
+  // called if the content recorded by dumping(Path, byte[]) was never moved in place
+  static void dumpFailed(Path file, String contentHash) {
+    DUMPED.remove(normalize(file), contentHash);
+  }
+
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+}
@@ -0,0 +1,207 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.binder.ConfigBinder;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents a fast accessor of a single field. If the declaring class has a generated {@link
+ * ConfigBinder}, the field is accessed through it, and through plain reflection otherwise.
+ *
+ * <p>{@link java.lang.invoke.MethodHandle MethodHandles} are deliberately not used: held in
+ * instance fields, the JIT can't constant-fold them, which makes them slower than reflection.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public abstract class FieldAccessor {
+
+  private static final ClassValue<Optional<ConfigBinder>> BINDERS =
+      new ClassValue<Optional<ConfigBinder>>() {
+        @Override
+        protected Optional<ConfigBinder> computeValue(Class<?> type) {
+          return findBinder(type);
+        }
+      };
+
+  private static final ClassValue<List<FieldAccessor>> DECLARED =
+      new ClassValue<List<FieldAccessor>>() {
+        @Override
+        protected List<FieldAccessor> computeValue(Class<?> type) {
+          Field[] fields = type.getDeclaredFields();
+          List<FieldAccessor> ret = new ArrayList<>(fields.length);
+          for (Field field : fields) {
+            ret.add(of(field));
+          }
+          return Collections.unmodifiableList(ret);
+        }
+      };
+
+  /**
+   * Creates a new {@link FieldAccessor} for the specified {@link Field}. The field is made
+   * accessible.
+   *
+   * @param field the field to create an accessor for
+   * @return accessor
+   */
+  public static FieldAccessor of(Field field) {
+    field.setAccessible(true);
+    Optional<ConfigBinder> binder = BINDERS.get(field.getDeclaringClass());
+    if (binder.isPresent()) {
+      String[] names = binder.get().getFieldNames();
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].equals(field.getName())) {
+          return new BinderAccessor(field, binder.get(), i);
+        }
+      }
+    }
+    return new ReflectiveAccessor(field);
+  }
+
+  /** Returns the generated {@link ConfigBinder} of the specified class, or null if it has none. */
+  static ConfigBinder binderOf(Class<?> type) {
+    return BINDERS.get(type).orElse(null);
+  }
+
+  /**
+   * Returns the accessors of all the fields declared by the specified {@link Class}, in the order
+   * returned by {@link Class#getDeclaredFields()}. The result is cached per class.
+   *
+   * @param type the class to get the field accessors of
+   * @return unmodifiable list of accessors
+   */
+  public static List<FieldAccessor> declared(Class<?> type) {
+    return DECLARED.get(type);
+  }
+
+  private static Optional<ConfigBinder> findBinder(Class<?> type) {
+    ClassLoader classLoader = type.getClassLoader();
+    if (classLoader == null) {
+      return Optional.empty();
+    }
+    try {
+      Class<?> binderClass = Class.forName(type.getName() + "$Binder", true, classLoader);
+      if (!ConfigBinder.class.isAssignableFrom(binderClass)) {
+        return Optional.empty();
+      }
+      Constructor<?> constructor = binderClass.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return Optional.of((ConfigBinder) constructor.newInstance());
+    } catch (ClassNotFoundException | LinkageError e) {
+      return Optional.empty();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException(
+          "Could not instantiate generated binder of " + type.getName(), e);
+    }
+  }
+
+  private final Field field;
+
+  FieldAccessor(Field field) {
+    this.field = field;
+  }
+
+  /**
+   * Returns the {@link Field} this accessor is accessing.
+   *
+   * @return field
+   */
+  public Field getField() {
+    return field;
+  }
+
+  /**
+   * Returns the value of the field in the specified {@code instance}.
+   *
+   * @param instance the object to get the field's value from
+   * @return value
+   * @throws IllegalArgumentException if the field's value couldn't be retrieved
+   */
+  public abstract Object get(Object instance);
+
+  /**
+   * Sets the value of the field in the specified {@code instance}.
+   *
+   * @param instance the object to set the field's value to
+   * @param value the new value
+   * @throws IllegalArgumentException if the field's value couldn't be set
+   */
+  public abstract void set(Object instance, Object value);
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{field=" + field + '}';
+  }
+
+  static IllegalArgumentException propagate(Field field, IllegalAccessException cause) {
+    return new IllegalArgumentException(
+        "Could not access field '" + field.getName() + "' ; field not accessible anymore", cause);
+  }
+
+  static IllegalArgumentException wrongType(Field field, Object value, RuntimeException cause) {
+    return new IllegalArgumentException(
+        "Can not set "
+            + field.getType().getName()
+            + " field '"
+            + field.getName()
+            + "' to "
+            + (value == null ? "null value" : value.getClass().getName()),
+        cause);
+  }
+
+  private static final class BinderAccessor extends FieldAccessor {
+
+    private final ConfigBinder binder;
+    private final int index;
+
+    BinderAccessor(Field field, ConfigBinder binder, int index) {
+      super(field);
+      this.binder = binder;
+      this.index = index;
+    }
+
+    @Override
+    public Object get(Object instance) {
+      return binder.get(instance, index);
+    }
+
+    @Override
+    public void set(Object instance, Object value) {
+      try {
+        binder.set(instance, index, value);
+      } catch (ClassCastException | NullPointerException e) {
+        // keep the behaviour of Field#set for values of a wrong type
+        throw wrongType(getField(), value, e);
+      }
+    }
+  }
+
+  private static final class ReflectiveAccessor extends FieldAccessor {
+
+    ReflectiveAccessor(Field field) {
+      super(field);
+    }
+
+    @Override
+    public Object get(Object instance) {
+      try {
+        return getField().get(instance);
+      } catch (IllegalAccessException e) {
+        throw propagate(getField(), e);
+      }
+    }
+
+    @Override
+    public void set(Object instance, Object value) {
+      try {
+        getField().set(instance, value);
+      } catch (IllegalAccessException e) {
+        throw propagate(getField(), e);
+      }
+    }
+  }
+}
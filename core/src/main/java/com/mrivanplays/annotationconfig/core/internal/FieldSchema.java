@@ -0,0 +1,182 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.annotations.type.AnnotationType;
+import com.mrivanplays.annotationconfig.core.resolver.key.KeyPath;
+import com.mrivanplays.annotationconfig.core.serialization.AnnotationAccessor;
+import com.mrivanplays.annotationconfig.core.serialization.FieldTypeSerializer;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/** Represents the compiled form of a single option (field) of a {@link ConfigSchema}. */
+final class FieldSchema {
+
+  private static final List<Class<?>> WIDENING_ORDER =
+      Arrays.asList(byte.class, short.class, int.class, long.class, float.class, double.class);
+
+  private final Field field;
+  private final FieldAccessor accessor;
+  private final Class<?> wrappedType;
+  private final String key;
+  private final KeyPath keyPath;
+  private final Set<AnnotationType> annotationTypes;
+  private final List<String> comments;
+  private final boolean configObject;
+  private final boolean rawConfig;
+  private final Character multilineCharacter;
+  private final FieldValidator validator;
+  private final AnnotationAccessor annotationAccessor;
+  private final SerializerLookup serializer;
+
+  FieldSchema(
+      Field field,
+      String key,
+      Set<AnnotationType> annotationTypes,
+      List<String> comments,
+      boolean configObject,
+      Character multilineCharacter,
+      FieldValidator validator) {
+    this.field = field;
+    this.accessor = FieldAccessor.of(field);
+    this.wrappedType = MethodType.methodType(field.getType()).wrap().returnType();
+    this.key = key;
+    this.keyPath = KeyPath.of(key);
+    this.annotationTypes = annotationTypes;
+    this.comments = comments;
+    this.configObject = configObject;
+    this.rawConfig = annotationTypes.contains(AnnotationType.RAW_CONFIG);
+    this.multilineCharacter = multilineCharacter;
+    this.validator = validator;
+    this.annotationAccessor = AnnotationAccessor.createFromField(field);
+    this.serializer = new SerializerLookup(field.getGenericType());
+  }
+
+  Field getField() {
+    return field;
+  }
+
+  FieldAccessor getAccessor() {
+    return accessor;
+  }
+
+  /** Returns the value of this option in the specified {@code instance}. */
+  Object get(Object instance) {
+    return accessor.get(instance);
+  }
+
+  void set(Object instance, Object value) {
+    accessor.set(instance, value);
+  }
+
+  /**
+   * Returns the specified value as it is set to this option. Like {@link Field#set(Object,
+   * Object)} does, values of primitive options are widened.
+   *
+   * @throws IllegalArgumentException if the value can't be set to this option
+   */
+  Object coerce(Object value) {
+    if (value == null ? !field.getType().isPrimitive() : wrappedType.isInstance(value)) {
+      return value;
+    }
+    Object widened = value == null ? null : widen(field.getType(), value);
+    if (widened == null) {
+      throw FieldAccessor.wrongType(field, value, null);
+    }
+    return widened;
+  }
+
+  // returns null if the value can't be widened to the type
+  private static Object widen(Class<?> type, Object value) {
+    int to = WIDENING_ORDER.indexOf(type);
+    int from;
+    Number number;
+    if (value instanceof Character) {
+      // chars widen to ints and wider only
+      from = 1;
+      number = (int) (Character) value;
+    } else {
+      Class<?> primitive = MethodType.methodType(value.getClass()).unwrap().returnType();
+      from = WIDENING_ORDER.indexOf(primitive);
+      number = from == -1 ? null : (Number) value;
+    }
+    if (number == null || to <= from) {
+      return null;
+    }
+    switch (to) {
+      case 1:
+        return number.shortValue();
+      case 2:
+        return number.intValue();
+      case 3:
+        return number.longValue();
+      case 4:
+        return number.floatValue();
+      default:
+        return number.doubleValue();
+    }
+  }
+
+  String getName() {
+    return field.getName();
+  }
+
+  Class<?> getType() {
+    return field.getType();
+  }
+
+  Type getGenericType() {
+    return field.getGenericType();
+  }
+
+  /** Returns the config key of this option, with {@code @Key} respected. */
+  String getKey() {
+    return key;
+  }
+
+  KeyPath getKeyPath() {
+    return keyPath;
+  }
+
+  Set<AnnotationType> getAnnotationTypes() {
+    return annotationTypes;
+  }
+
+  /** Returns the raw comments of this option, without placeholders applied. */
+  List<String> getComments() {
+    return comments;
+  }
+
+  boolean isConfigObject() {
+    return configObject;
+  }
+
+  boolean isRawConfig() {
+    return rawConfig;
+  }
+
+  Character getMultilineCharacter() {
+    return multilineCharacter;
+  }
+
+  /** Returns the compiled validation of the values of this option. */
+  FieldValidator getValidator() {
+    return validator;
+  }
+
+  AnnotationAccessor getAnnotationAccessor() {
+    return annotationAccessor;
+  }
+
+  /** Returns the serializer of this option, resolved by its generic type. */
+  FieldTypeSerializer<?> getSerializer() {
+    return serializer.get();
+  }
+
+  @Override
+  public String toString() {
+    return "FieldSchema{" + "field=" + field.getName() + ", key='" + key + '\'' + '}';
+  }
+}
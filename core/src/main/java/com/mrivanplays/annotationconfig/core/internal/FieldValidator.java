@@ -0,0 +1,194 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.annotations.Max;
+import com.mrivanplays.annotationconfig.core.annotations.Min;
+import com.mrivanplays.annotationconfig.core.annotations.custom.AnnotationValidator;
+import com.mrivanplays.annotationconfig.core.annotations.custom.CustomAnnotationRegistry;
+import com.mrivanplays.annotationconfig.core.annotations.custom.ValidationResponse;
+import com.mrivanplays.annotationconfig.core.annotations.type.AnnotationType;
+import com.mrivanplays.annotationconfig.core.internal.MinMaxHandler.Bound;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents the compiled validation of a single option (field): its {@link Min} and {@link Max}
+ * bounds and the {@link AnnotationValidator AnnotationValidators} of its custom annotations. The
+ * annotations are checked once, when the validator is compiled; the custom validators are looked
+ * up again only when the {@link CustomAnnotationRegistry} changes.
+ */
+final class FieldValidator {
+
+  private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+  /**
+   * Compiles the validator of the specified {@link Field}.
+   *
+   * @param field the field to compile the validator of
+   * @param key the config key of the field
+   * @param types the annotation types the field is annotated with
+   * @param checkPlacement whether the value of the field is validated, e.g. it's not a section
+   * @return validator
+   * @throws IllegalArgumentException if @Min or @Max are invalid or placed on an invalid field
+   */
+  static FieldValidator compile(
+      Field field, String key, Set<AnnotationType> types, boolean checkPlacement) {
+    Type fieldType = field.getGenericType();
+    Bound min = null;
+    Bound max = null;
+    if (types.contains(AnnotationType.MIN)) {
+      min = MinMaxHandler.compile(field.getDeclaredAnnotation(Min.class), fieldType, key);
+    }
+    if (types.contains(AnnotationType.MAX)) {
+      max = MinMaxHandler.compile(field.getDeclaredAnnotation(Max.class), fieldType, key);
+    }
+    if (checkPlacement && !MinMaxHandler.isApplicable(field.getType())) {
+      if (min != null) {
+        throw new IllegalArgumentException("@Min annotation placed on invalid field type");
+      }
+      if (max != null) {
+        throw new IllegalArgumentException("@Max annotation placed on invalid field type");
+      }
+    }
+    List<Annotation> custom = new ArrayList<>();
+    for (Annotation annotation : field.getDeclaredAnnotations()) {
+      // do not handle any validation of our own annotations even if someone registered a
+      // validator for them.
+      if (!AnnotationType.match(annotation.annotationType()).isPresent()) {
+        custom.add(annotation);
+      }
+    }
+    return new FieldValidator(
+        field, min, max, custom.isEmpty() ? NO_ANNOTATIONS : custom.toArray(NO_ANNOTATIONS));
+  }
+
+  private final Field field;
+  private final Bound min;
+  private final Bound max;
+  private final Annotation[] customAnnotations;
+  private volatile Resolved resolved;
+
+  private FieldValidator(Field field, Bound min, Bound max, Annotation[] customAnnotations) {
+    this.field = field;
+    this.min = min;
+    this.max = max;
+    this.customAnnotations = customAnnotations;
+  }
+
+  /**
+   * Validates the specified deserialized {@code value}.
+   *
+   * @param value the value to validate
+   * @param settings the settings of the operation
+   * @return true if the value should be set, false if a custom validator failed silently
+   * @throws IllegalArgumentException if the value is out of the @Min/@Max bounds
+   * @throws RuntimeException wrapping the error of a custom validator
+   */
+  boolean validate(Object value, Settings settings) {
+    if (min != null || max != null) {
+      if (value instanceof Number) {
+        MinMaxHandler.check(min, max, (Number) value, field.getGenericType());
+      } else if (value instanceof String) {
+        MinMaxHandler.check(min, max, (String) value, field.getGenericType());
+      } else if (min != null) {
+        throw new IllegalArgumentException("@Min annotation placed on invalid field type");
+      } else {
+        throw new IllegalArgumentException("@Max annotation placed on invalid field type");
+      }
+    }
+    for (CustomValidator custom : getCustomValidators()) {
+      ValidationResponse response = custom.validate(value, settings, field);
+      if (response.throwError() != null) {
+        throw new RuntimeException(response.throwError());
+      }
+      // error wasn't thrown, so just silently skip if the checks failed
+      if (response.shouldFailSilently()) {
+        return false;
+      }
+      if (response.onSuccess() != null) {
+        response.onSuccess().run();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the custom annotations of the field which have a validator registered, in the order
+   * they are declared.
+   *
+   * @return custom validators
+   */
+  List<CustomValidator> getCustomValidators() {
+    if (customAnnotations.length == 0) {
+      return Collections.emptyList();
+    }
+    CustomAnnotationRegistry registry = CustomAnnotationRegistry.INSTANCE;
+    // read the stamp before resolving, so a registration racing with us invalidates the result
+    int stamp = registry.getModificationStamp();
+    Resolved current = this.resolved;
+    if (current != null && current.stamp == stamp) {
+      return current.validators;
+    }
+    List<CustomValidator> validators = new ArrayList<>();
+    for (Annotation annotation : customAnnotations) {
+      registry
+          .getValidator(annotation.annotationType())
+          .ifPresent(validator -> validators.add(new CustomValidator(annotation, validator)));
+    }
+    List<CustomValidator> ret =
+        validators.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(validators);
+    this.resolved = new Resolved(stamp, ret);
+    return ret;
+  }
+
+  /** Represents a custom annotation of a field, together with its registered validator. */
+  static final class CustomValidator {
+
+    private final Annotation annotation;
+    private final AnnotationValidator<? extends Annotation> validator;
+
+    CustomValidator(Annotation annotation, AnnotationValidator<? extends Annotation> validator) {
+      this.annotation = annotation;
+      this.validator = validator;
+    }
+
+    ValidationResponse validate(Object value, Settings settings, Field field) {
+      return validate(validator, annotation, value, settings, field);
+    }
+
+    // captures the annotation type of the validator
+    @SuppressWarnings("unchecked") // the validator is registered for the annotation's type
+    private static <T extends Annotation> ValidationResponse validate(
+        AnnotationValidator<T> validator,
+        Annotation annotation,
+        Object value,
+        Settings settings,
+        Field field) {
+      return validator.validate((T) annotation, value, settings, field);
+    }
+
+    Class<? extends Annotation> getAnnotationType() {
+      return annotation.annotationType();
+    }
+
+    AnnotationValidator<? extends Annotation> getValidator() {
+      return validator;
+    }
+  }
+
+  private static final class Resolved {
+
+    private final int stamp;
+    private final List<CustomValidator> validators;
+
+    Resolved(int stamp, List<CustomValidator> validators) {
+      this.stamp = stamp;
+      this.validators = validators;
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locks config files across processes. A config file is locked through a hidden sidecar lock
+ * file next to it ({@code .<name>.lock}), on which readers take shared {@link FileLock FileLocks}
+ * and writers exclusive ones. As the locks of a file lock are held by the whole JVM, threads are
+ * first coordinated by read/write locks striped by path; the readers of a file in this JVM share
+ * a single file lock.
+ */
+final class FileLocks {
+
+  private static final int STRIPES = 64;
+  private static final long POLL_MILLIS = 10;
+
+  private static final ReentrantReadWriteLock[] LOCKS = new ReentrantReadWriteLock[STRIPES];
+  // the shared file locks of this JVM; entries are counted, and removed once unused
+  private static final Map<Path, SharedLock> SHARED = new ConcurrentHashMap<>();
+
+  static {
+    for (int i = 0; i < STRIPES; i++) {
+      LOCKS[i] = new ReentrantReadWriteLock();
+    }
+  }
+
+  private FileLocks() {}
+
+  /** A {@link Held} lock which holds nothing, for when files aren't locked. */
+  static final Held NONE = () -> {};
+
+  /** Represents a held lock of a config file. */
+  interface Held extends AutoCloseable {
+
+    @Override
+    void close() throws IOException;
+  }
+
+  /**
+   * Locks the specified config {@code file}.
+   *
+   * @param file the config file
+   * @param exclusive whether to lock the file for writing, rather than for reading
+   * @param timeoutMillis how long to wait for the lock
+   * @return held lock, which must be closed to release the lock
+   * @throws IOException if the lock file can't be opened, or the lock couldn't be acquired in time
+   */
+  static Held lock(Path file, boolean exclusive, long timeoutMillis) throws IOException {
+    Path absolute = file.toAbsolutePath().normalize();
+    Path lockFile = absolute.resolveSibling("." + absolute.getFileName() + ".lock");
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+    ReentrantReadWriteLock stripe = LOCKS[(lockFile.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    Lock threadLock = exclusive ? stripe.writeLock() : stripe.readLock();
+    try {
+      if (!threadLock.tryLock(remaining(deadline), TimeUnit.NANOSECONDS)) {
+        throw timedOut(file);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while locking " + file);
+    }
+    try {
+      if (exclusive) {
+        FileChannel channel = open(lockFile);
+        try {
+          acquire(channel, false, deadline, file);
+          // closing the channel releases its lock
+          return () -> {
+            try {
+              channel.close();
+            } finally {
+              threadLock.unlock();
+            }
+          };
+        } catch (IOException | RuntimeException e) {
+          channel.close();
+          throw e;
+        }
+      }
+      SharedLock shared = SharedLock.use(lockFile);
+      try {
+        shared.acquire(deadline, file);
+      } catch (IOException | RuntimeException e) {
+        shared.unuse();
+        throw e;
+      }
+      return () -> {
+        try {
+          shared.release();
+        } finally {
+          try {
+            shared.unuse();
+          } finally {
+            threadLock.unlock();
+          }
+        }
+      };
+    } catch (IOException | RuntimeException e) {
+      threadLock.unlock();
+      throw e;
+    }
+  }
+
+  private static FileChannel open(Path lockFile) throws IOException {
+    return FileChannel.open(
+        lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  // FileChannel#lock can't time out, so the lock is polled for
+  private static FileLock acquire(FileChannel channel, boolean shared, long deadline, Path file)
+      throws IOException {
+    while (true) {
+      try {
+        FileLock lock = channel.tryLock(0, Long.MAX_VALUE, shared);
+        if (lock != null) {
+          return lock;
+        }
+      } catch (OverlappingFileLockException e) {
+        // held by another copy of the library in this JVM
+      }
+      if (remaining(deadline) <= 0) {
+        throw timedOut(file);
+      }
+      try {
+        Thread.sleep(POLL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while locking " + file);
+      }
+    }
+  }
+
+  private static long remaining(long deadline) {
+    return deadline - System.nanoTime();
+  }
+
+  private static IOException timedOut(Path file) {
+    return new IOException("Timed out waiting for the lock of " + file);
+  }
+
+  /** Represents the shared file lock of a lock file, held while this JVM has readers of it. */
+  private static final class SharedLock {
+
+    private final Path lockFile;
+
+    // guarded by the SHARED entry of the lock file
+    private int users;
+
+    // guarded by this
+    private FileChannel channel;
+    private int holders;
+    private boolean acquiring;
+
+    private SharedLock(Path lockFile) {
+      this.lockFile = lockFile;
+    }
+
+    // returns the lock of the lock file, counting the caller as a user of it until unuse()
+    static SharedLock use(Path lockFile) {
+      return SHARED.compute(
+          lockFile,
+          (key, lock) -> {
+            SharedLock used = lock != null ? lock : new SharedLock(key);
+            used.users++;
+            return used;
+          });
+    }
+
+    void unuse() {
+      SHARED.computeIfPresent(lockFile, (key, lock) -> --lock.users == 0 ? null : lock);
+    }
+
+    void acquire(long deadline, Path file) throws IOException {
+      synchronized (this) {
+        // the file lock is polled for without holding the monitor, so the others wait for it here,
+        // each until its own deadline
+        while (acquiring) {
+          long remaining = remaining(deadline);
+          if (remaining <= 0) {
+            throw timedOut(file);
+          }
+          try {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while locking " + file);
+          }
+        }
+        if (holders > 0) {
+          holders++;
+          return;
+        }
+        acquiring = true;
+      }
+      FileChannel acquired = null;
+      try {
+        acquired = open(lockFile);
+        FileLocks.acquire(acquired, true, deadline, file);
+      } catch (IOException | RuntimeException e) {
+        try {
+          if (acquired != null) {
+            acquired.close();
+          }
+        } finally {
+          synchronized (this) {
+            acquiring = false;
+            notifyAll();
+          }
+        }
+        throw e;
+      }
+      synchronized (this) {
+        channel = acquired;
+        holders = 1;
+        acquiring = false;
+        notifyAll();
+      }
+    }
+
+    synchronized void release() throws IOException {
+      if (--holders == 0) {
+        try {
+          channel.close();
+        } finally {
+          channel = null;
+        }
+      }
+    }
+  }
+}
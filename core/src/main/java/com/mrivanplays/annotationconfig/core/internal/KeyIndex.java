@@ -0,0 +1,127 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.key.KeyPath;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an index of the keys of the options of a {@link ConfigSchema}, used to bind values
+ * read through a {@link com.mrivanplays.annotationconfig.core.resolver.ValueCursor} and to emit
+ * values to a {@link com.mrivanplays.annotationconfig.core.resolver.ValueEmitter}. With dotted
+ * keys, the index is a tree: each segment of a key leads to the index of the next segment. Keys
+ * are kept in the order the options first declare them.
+ */
+final class KeyIndex {
+
+  private static final int[] NO_FIELDS = new int[0];
+
+  static KeyIndex compile(List<FieldSchema> fields, boolean dotted) {
+    KeyIndex root = new KeyIndex("");
+    boolean unique = true;
+    for (int i = 0; i < fields.size(); i++) {
+      FieldSchema field = fields.get(i);
+      if (!dotted) {
+        root.entry(field.getKey()).addField(i);
+        continue;
+      }
+      KeyPath path = field.getKeyPath();
+      int last = path.size() - 1;
+      if (last < 0) {
+        // never resolves to a value
+        unique = false;
+        continue;
+      }
+      KeyIndex index = root;
+      for (int segment = 0; segment < last; segment++) {
+        index = index.entry(path.get(segment)).children();
+      }
+      index.entry(path.get(last)).addField(i);
+    }
+    root.unique = unique && root.isUnique();
+    return root;
+  }
+
+  private final String path;
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private boolean unique;
+
+  private KeyIndex(String path) {
+    this.path = path;
+  }
+
+  /** Returns the entry of the specified key, or null if no option has such a key. */
+  Entry get(String key) {
+    return entries.get(key);
+  }
+
+  Map<String, Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Returns whether each option has a key of its own: no key is shared by several options, and no
+   * option's key is a section in which other options' keys continue. Only known for the root
+   * index.
+   */
+  boolean hasUniqueKeys() {
+    return unique;
+  }
+
+  private boolean isUnique() {
+    for (Entry entry : entries.values()) {
+      if (entry.fields.length > 1 || (entry.fields.length == 1 && entry.children != null)) {
+        return false;
+      }
+      if (entry.children != null && !entry.children.isUnique()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Entry entry(String key) {
+    return entries.computeIfAbsent(
+        key, k -> new Entry(path.isEmpty() ? k : path + '.' + k));
+  }
+
+  /** Represents a key in a {@link KeyIndex}. */
+  static final class Entry {
+
+    private final String path;
+    private int[] fields = NO_FIELDS;
+    private KeyIndex children;
+
+    private Entry(String path) {
+      this.path = path;
+    }
+
+    /** Returns the dotted path of this entry. */
+    String getPath() {
+      return path;
+    }
+
+    /** Returns the indexes of the options whose key ends at this entry. */
+    int[] getFields() {
+      return fields;
+    }
+
+    /** Returns the index of the keys which continue after this entry, or null if there are none. */
+    KeyIndex getChildren() {
+      return children;
+    }
+
+    private void addField(int field) {
+      fields = Arrays.copyOf(fields, fields.length + 1);
+      fields[fields.length - 1] = field;
+    }
+
+    private KeyIndex children() {
+      if (children == null) {
+        children = new KeyIndex(path);
+      }
+      return children;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a {@link ValueCursor} over already read values. Obtain using {@link
+ * ValueCursor#of(Map)}.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public final class MapValueCursor implements ValueCursor {
+
+  private final Map<String, Object> root;
+  // iterators over the entries of the open sections and the elements of the open lists
+  private final Deque<Iterator<?>> open = new ArrayDeque<>();
+  private Token current;
+  private Object key;
+  private Object value;
+  private boolean pendingValue;
+  private boolean exhausted;
+
+  public MapValueCursor(Map<String, Object> root) {
+    this.root = root;
+  }
+
+  @Override
+  public Token next() {
+    if (exhausted) {
+      return current = null;
+    }
+    if (current == null) {
+      return start(root);
+    }
+    if (pendingValue) {
+      pendingValue = false;
+      return start(value);
+    }
+    if (open.isEmpty()) {
+      exhausted = true;
+      return current = null;
+    }
+    Iterator<?> iterator = open.peek();
+    if (!iterator.hasNext()) {
+      open.pop();
+      return current = Token.END;
+    }
+    Object next = iterator.next();
+    if (next instanceof Map.Entry) {
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) next;
+      key = entry.getKey();
+      value = entry.getValue();
+      pendingValue = true;
+      return current = Token.KEY;
+    }
+    return start(next);
+  }
+
+  private Token start(Object value) {
+    this.value = value;
+    if (value instanceof Map) {
+      open.push(((Map<?, ?>) value).entrySet().iterator());
+      return current = Token.START_SECTION;
+    }
+    if (value instanceof List) {
+      open.push(((List<?>) value).iterator());
+      return current = Token.START_LIST;
+    }
+    if (open.isEmpty()) {
+      // the root itself is a scalar
+      exhausted = true;
+    }
+    return current = Token.SCALAR;
+  }
+
+  @Override
+  public Token current() {
+    return current;
+  }
+
+  @Override
+  public String getKey() {
+    return String.valueOf(getKeyValue());
+  }
+
+  @Override
+  public Object getKeyValue() {
+    if (current != Token.KEY) {
+      throw new IllegalStateException("Not at a key");
+    }
+    return key;
+  }
+
+  @Override
+  public Object getScalar() {
+    if (current != Token.SCALAR) {
+      throw new IllegalStateException("Not at a scalar");
+    }
+    return value;
+  }
+
+  @Override
+  public void skipValue() {
+    if (current == Token.KEY) {
+      pendingValue = false;
+      current = Token.SCALAR;
+      return;
+    }
+    if (current == Token.START_SECTION || current == Token.START_LIST) {
+      open.pop();
+      current = Token.END;
+    }
+  }
+}
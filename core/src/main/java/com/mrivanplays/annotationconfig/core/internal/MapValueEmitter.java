@@ -0,0 +1,47 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emits already built values to a {@link ValueEmitter}. Use {@link ValueEmitter#emit(Map, Map,
+ * ValueEmitter)}.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+@SuppressWarnings("unchecked")
+public final class MapValueEmitter {
+
+  private MapValueEmitter() {}
+
+  public static void emit(
+      Map<String, Object> values, Map<String, List<String>> fieldComments, ValueEmitter emitter)
+      throws IOException {
+    emit(null, values, fieldComments, emitter);
+  }
+
+  private static void emit(
+      String parentPath,
+      Map<String, Object> values,
+      Map<String, List<String>> fieldComments,
+      ValueEmitter emitter)
+      throws IOException {
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      String key = entry.getKey();
+      String path = parentPath != null ? parentPath + "." + key : key;
+      List<String> comments = fieldComments.getOrDefault(path, Collections.emptyList());
+      Object value = entry.getValue();
+      if (value instanceof Map) {
+        emitter.beginSection(key, comments);
+        emit(path, (Map<String, Object>) value, fieldComments, emitter);
+        emitter.endSection();
+      } else {
+        emitter.scalar(key, value, comments);
+      }
+    }
+  }
+}
@@ -2,177 +2,257 @@ package com.mrivanplays.annotationconfig.core.internal;
 
 import com.mrivanplays.annotationconfig.core.annotations.Max;
 import com.mrivanplays.annotationconfig.core.annotations.Min;
-import java.util.Optional;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 class MinMaxHandler {
 
-  enum State {
-    START,
-    INVALID_MIN,
-    INVALID_MAX,
-    MORE_THAN_ONE_MIN,
-    MORE_THAN_ONE_MAX,
-    UNDER,
-    ABOVE,
-    ALRIGHT
-  }
-
-  static class NumberResult {
+  /**
+   * Represents a compiled {@link Min} or {@link Max} bound. Integral bounds are compared as longs,
+   * floating point ones as doubles (or floats, for float values), so nothing is truncated.
+   */
+  static final class Bound {
 
-    static NumberResult stateOnly(State state) {
-      return result(state, Optional.empty());
-    }
+    private final Number number;
+    private final boolean integral;
+    private final long longBound;
+    private final double doubleBound;
+    private final float floatBound;
 
-    static NumberResult result(State state, Optional<Number> number) {
-      return new NumberResult(state, number);
-    }
-
-    private final State state;
-    private final Optional<Number> number;
-
-    private NumberResult(State state, Optional<Number> number) {
-      this.state = state;
+    private Bound(long bound, Number number) {
       this.number = number;
+      this.integral = true;
+      this.longBound = bound;
+      this.doubleBound = bound;
+      this.floatBound = bound;
     }
 
-    public boolean isStateOnly() {
-      return !number.isPresent();
-    }
-
-    public State getState() {
-      return state;
+    private Bound(double doubleBound, float floatBound, Number number) {
+      this.number = number;
+      this.integral = false;
+      this.longBound = (long) doubleBound;
+      this.doubleBound = doubleBound;
+      this.floatBound = floatBound;
     }
 
-    public Optional<Number> getNumber() {
+    /** Returns the number as specified in the annotation. */
+    Number getNumber() {
       return number;
     }
-  }
 
-  static State compare(NumberResult min, NumberResult max, String compareTo) {
-    return compare(min, max, compareTo.length());
-  }
-
-  static State compare(NumberResult minResult, NumberResult maxResult, Number compareTo) {
-    State minState = minResult.getState();
-    State maxState = maxResult.getState();
-    if (minResult.isStateOnly() && minState != State.START) {
-      return minResult.getState();
-    }
-    if (maxResult.isStateOnly() && maxState != State.START) {
-      return maxResult.getState();
-    }
-    if (minState != State.START && maxState != State.START) {
-      Number min = minResult.getNumber().get();
-      Number max = maxResult.getNumber().get();
-      if (compareTo.intValue() < min.intValue()) {
-        return State.UNDER;
+    /**
+     * Compares the specified {@code value} to this bound.
+     *
+     * @return negative if the value is under the bound, positive if it is above it, 0 otherwise
+     */
+    int compare(Number value) {
+      if (value instanceof Integer
+          || value instanceof Long
+          || value instanceof Short
+          || value instanceof Byte) {
+        return compare(value.longValue());
       }
-      if (compareTo.intValue() > max.intValue()) {
-        return State.ABOVE;
+      if (value instanceof Float) {
+        return compare(value.floatValue(), floatBound);
       }
-      return State.ALRIGHT;
-    }
-    if (minState != State.START) {
-      Number min = minResult.getNumber().get();
-      if (compareTo.intValue() < min.intValue()) {
-        return State.UNDER;
+      if (value instanceof BigInteger) {
+        if (integral) {
+          return ((BigInteger) value).compareTo(BigInteger.valueOf(longBound));
+        }
+        return new BigDecimal((BigInteger) value).compareTo(BigDecimal.valueOf(doubleBound));
+      }
+      if (value instanceof BigDecimal) {
+        return ((BigDecimal) value)
+            .compareTo(integral ? BigDecimal.valueOf(longBound) : BigDecimal.valueOf(doubleBound));
       }
+      return compare(value.doubleValue(), doubleBound);
     }
-    if (maxState != State.START) {
-      Number max = maxResult.getNumber().get();
-      if (compareTo.intValue() > max.intValue()) {
-        return State.ABOVE;
+
+    int compare(long value) {
+      if (integral) {
+        return Long.compare(value, longBound);
       }
+      return compare((double) value, doubleBound);
+    }
+
+    // NaN is neither under nor above
+    private static int compare(double value, double bound) {
+      return value < bound ? -1 : (value > bound ? 1 : 0);
     }
-    return State.ALRIGHT;
   }
 
-  static NumberResult getNumber(Min min) {
+  /**
+   * Compiles the specified {@link Min} annotation.
+   *
+   * @throws IllegalArgumentException if none or more than one annotation members are specified
+   */
+  static Bound compile(Min min, Type fieldType, String key) {
     if (!isValid(min)) {
-      return NumberResult.stateOnly(State.INVALID_MIN);
+      throw invalid(
+          fieldType,
+          key,
+          "invalid @Min specified - it should implement annotation member ( e.g @Min(minInt = -22) )");
     }
+    int specified = 0;
+    Bound bound = null;
     if (min.minByte() != -1) {
-      if (min.minLong() != -1
-          || min.minFloat() != -1
-          || min.minShort() != -1
-          || min.minInt() != -1
-          || min.minDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MIN);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(min.minByte()));
+      specified++;
+      bound = new Bound(min.minByte(), min.minByte());
     }
     if (min.minLong() != -1) {
-      if (min.minFloat() != -1
-          || min.minShort() != -1
-          || min.minInt() != -1
-          || min.minDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MIN);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(min.minLong()));
+      specified++;
+      bound = new Bound(min.minLong(), min.minLong());
     }
     if (min.minFloat() != -1) {
-      if (min.minShort() != -1 || min.minInt() != -1 || min.minDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MIN);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(min.minFloat()));
+      specified++;
+      bound = floating(min.minFloat());
     }
     if (min.minShort() != -1) {
-      if (min.minInt() != -1 || min.minDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MIN);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(min.minShort()));
+      specified++;
+      bound = new Bound(min.minShort(), min.minShort());
     }
     if (min.minInt() != -1) {
-      if (min.minDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MIN);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(min.minInt()));
+      specified++;
+      bound = new Bound(min.minInt(), min.minInt());
+    }
+    if (min.minDouble() != -1) {
+      specified++;
+      bound = floating(min.minDouble());
     }
-    return NumberResult.result(State.ALRIGHT, Optional.of(min.minDouble()));
+    if (specified > 1) {
+      throw invalid(
+          fieldType,
+          key,
+          "invalid @Min specified - it should implement only one annotation member");
+    }
+    return bound;
   }
 
-  static NumberResult getNumber(Max max) {
+  /**
+   * Compiles the specified {@link Max} annotation.
+   *
+   * @throws IllegalArgumentException if none or more than one annotation members are specified
+   */
+  static Bound compile(Max max, Type fieldType, String key) {
     if (!isValid(max)) {
-      return NumberResult.stateOnly(State.INVALID_MAX);
+      throw invalid(
+          fieldType,
+          key,
+          "invalid @Max specified - it should implement annotation member ( e.g. @Max(maxInt = 3) )");
     }
+    int specified = 0;
+    Bound bound = null;
     if (max.maxByte() != -1) {
-      if (max.maxLong() != -1
-          || max.maxFloat() != -1
-          || max.maxShort() != -1
-          || max.maxInt() != -1
-          || max.maxDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MAX);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(max.maxByte()));
+      specified++;
+      bound = new Bound(max.maxByte(), max.maxByte());
     }
     if (max.maxLong() != -1) {
-      if (max.maxFloat() != -1
-          || max.maxShort() != -1
-          || max.maxInt() != -1
-          || max.maxDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MAX);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(max.maxLong()));
+      specified++;
+      bound = new Bound(max.maxLong(), max.maxLong());
     }
     if (max.maxFloat() != -1) {
-      if (max.maxShort() != -1 || max.maxInt() != -1 || max.maxDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MAX);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(max.maxFloat()));
+      specified++;
+      bound = floating(max.maxFloat());
     }
     if (max.maxShort() != -1) {
-      if (max.maxInt() != -1 || max.maxDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MAX);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(max.maxShort()));
+      specified++;
+      bound = new Bound(max.maxShort(), max.maxShort());
     }
     if (max.maxInt() != -1) {
-      if (max.maxDouble() != -1) {
-        return NumberResult.stateOnly(State.MORE_THAN_ONE_MAX);
-      }
-      return NumberResult.result(State.ALRIGHT, Optional.of(max.maxInt()));
+      specified++;
+      bound = new Bound(max.maxInt(), max.maxInt());
+    }
+    if (max.maxDouble() != -1) {
+      specified++;
+      bound = floating(max.maxDouble());
     }
-    return NumberResult.result(State.ALRIGHT, Optional.of(max.maxDouble()));
+    if (specified > 1) {
+      throw invalid(
+          fieldType,
+          key,
+          "invalid @Max specified - it should implement only one annotation member");
+    }
+    return bound;
+  }
+
+  /**
+   * Checks the specified {@code value} against the bounds.
+   *
+   * @param min min bound or null
+   * @param max max bound or null
+   * @throws IllegalArgumentException if the value is out of the bounds
+   */
+  static void check(Bound min, Bound max, Number value, Type fieldType) {
+    if (min != null && min.compare(value) < 0) {
+      throw new IllegalArgumentException(
+          fieldType.getTypeName()
+              + " ; deserialized value is under the minimal allowed ("
+              + min.getNumber()
+              + ") ; number: "
+              + value);
+    }
+    if (max != null && max.compare(value) > 0) {
+      throw new IllegalArgumentException(
+          fieldType.getTypeName()
+              + " ; deserialized value is above the maximum allowed ("
+              + max.getNumber()
+              + ") ; number: "
+              + value);
+    }
+  }
+
+  /**
+   * Checks the length of the specified {@code value} against the bounds.
+   *
+   * @param min min bound or null
+   * @param max max bound or null
+   * @throws IllegalArgumentException if the length is out of the bounds
+   */
+  static void check(Bound min, Bound max, String value, Type fieldType) {
+    int length = value.length();
+    if (min != null && min.compare(length) < 0) {
+      throw new IllegalArgumentException(
+          fieldType.getTypeName()
+              + " ; deserialized String's length is under the minimal length allowed ("
+              + min.getNumber()
+              + ") ; string length: "
+              + length);
+    }
+    if (max != null && max.compare(length) > 0) {
+      throw new IllegalArgumentException(
+          fieldType.getTypeName()
+              + " ; deserialized String's length is above the maximum length allowed ("
+              + max.getNumber()
+              + ") ; string length: "
+              + length);
+    }
+  }
+
+  /**
+   * Returns whether a field of the specified type can hold a value {@link Min} and {@link Max} can
+   * be checked against, e.g. a number or a string.
+   */
+  static boolean isApplicable(Class<?> type) {
+    if (type.isPrimitive()) {
+      return type != boolean.class && type != char.class && type != void.class;
+    }
+    return Number.class.isAssignableFrom(type)
+        || type.isAssignableFrom(Integer.class)
+        || type.isAssignableFrom(String.class);
+  }
+
+  private static Bound floating(double bound) {
+    return new Bound(bound, (float) bound, bound);
+  }
+
+  private static Bound floating(float bound) {
+    // compare doubles against the decimal value written, not against the float's binary value
+    return new Bound(Double.parseDouble(Float.toString(bound)), bound, bound);
+  }
+
+  private static IllegalArgumentException invalid(Type fieldType, String key, String message) {
+    return new IllegalArgumentException(fieldType.getTypeName() + " " + key + " ; " + message);
   }
 
   private static boolean isValid(Min min) {
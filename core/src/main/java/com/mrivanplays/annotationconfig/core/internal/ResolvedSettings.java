@@ -0,0 +1,88 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
+import com.mrivanplays.annotationconfig.core.resolver.settings.NullReadHandleOption;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Setting;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+
+/**
+ * Represents the settings the library itself reads, resolved once per operation. Each setting is
+ * looked up in the settings passed to the operation, then in the settings of the resolver, then in
+ * the {@link ACDefaultSettings#getDefault() defaults}.
+ *
+ * <p>The settings passed to the operation (or the resolver's, if none were passed) are kept as they
+ * are, as that is what value readers, value writers and validators get.
+ */
+final class ResolvedSettings {
+
+  static ResolvedSettings of(Settings resolverSettings, Settings fromMethod) {
+    if (fromMethod == null || fromMethod == resolverSettings) {
+      return new ResolvedSettings(resolverSettings, resolverSettings, null);
+    }
+    return new ResolvedSettings(fromMethod, fromMethod, resolverSettings);
+  }
+
+  private final Settings source;
+  private final boolean reverseFields;
+  private final boolean findParentFields;
+  private final boolean generateNewOptions;
+  private final boolean fsyncOnDump;
+  private final NullReadHandleOption nullReadHandler;
+  private final boolean lockFiles;
+  private final long lockTimeout;
+
+  private ResolvedSettings(Settings source, Settings first, Settings second) {
+    this.source = source;
+    this.reverseFields = lookup(ACDefaultSettings.SHOULD_REVERSE_FIELDS, first, second);
+    this.findParentFields = lookup(ACDefaultSettings.FIND_PARENT_FIELDS, first, second);
+    this.generateNewOptions = lookup(ACDefaultSettings.GENERATE_NEW_OPTIONS, first, second);
+    this.fsyncOnDump = lookup(ACDefaultSettings.FSYNC_ON_DUMP, first, second);
+    this.nullReadHandler = lookup(ACDefaultSettings.NULL_READ_HANDLER, first, second);
+    this.lockFiles = lookup(ACDefaultSettings.LOCK_FILES, first, second);
+    this.lockTimeout = lookup(ACDefaultSettings.LOCK_TIMEOUT, first, second);
+  }
+
+  private static <T> T lookup(Setting<T> setting, Settings first, Settings second) {
+    T value = first.getOrDefault(setting, null);
+    if (value == null && second != null) {
+      value = second.getOrDefault(setting, null);
+    }
+    if (value == null) {
+      value = ACDefaultSettings.getDefault().getOrDefault(setting, null);
+    }
+    return value;
+  }
+
+  /** Returns the settings to hand to value readers, value writers and validators. */
+  Settings getSource() {
+    return source;
+  }
+
+  boolean shouldReverseFields() {
+    return reverseFields;
+  }
+
+  boolean shouldFindParentFields() {
+    return findParentFields;
+  }
+
+  boolean shouldGenerateNewOptions() {
+    return generateNewOptions;
+  }
+
+  boolean shouldFsyncOnDump() {
+    return fsyncOnDump;
+  }
+
+  NullReadHandleOption getNullReadHandler() {
+    return nullReadHandler;
+  }
+
+  boolean shouldLockFiles() {
+    return lockFiles;
+  }
+
+  long getLockTimeout() {
+    return lockTimeout;
+  }
+}
@@ -0,0 +1,118 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver;
+import com.mrivanplays.annotationconfig.core.resolver.key.KeyResolver;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emits the values of an annotated config to a {@link ValueEmitter}, driven by its {@link
+ * ConfigSchema}. The values are emitted in the same order and with the same comments the map
+ * built by {@link AnnotatedConfigResolver} holds them, but without building the map.
+ */
+final class SchemaEmitter {
+
+  /** Returns whether values can be emitted to the specified writer with the specified resolver. */
+  static boolean supports(ValueWriter valueWriter, KeyResolver keyResolver) {
+    return valueWriter instanceof StreamingValueWriter
+        && (keyResolver == KeyResolver.DEFAULT || keyResolver instanceof DottedResolver);
+  }
+
+  /**
+   * Returns whether the specified annotated config can be emitted. It can't if it has a raw config
+   * option (which gets the map of all values), or if options of it or of its config objects need
+   * their values merged together.
+   */
+  static boolean canEmit(Object annotatedConfig, ConfigSchema schema, KeyResolver keyResolver) {
+    boolean dotted = keyResolver instanceof DottedResolver;
+    if (schema.hasRawConfig() || !schema.getKeyIndex(dotted).hasUniqueKeys()) {
+      return false;
+    }
+    for (FieldSchema fieldSchema : schema.getFields()) {
+      if (!fieldSchema.isConfigObject()) {
+        continue;
+      }
+      if (dotted && fieldSchema.getKeyPath().size() > 1) {
+        // config objects are written with their key as it is
+        return false;
+      }
+      Object section = fieldSchema.get(annotatedConfig);
+      if (section != null && !canEmit(section, schema.child(section.getClass()), keyResolver)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private final ValueEmitter emitter;
+  private final boolean dotted;
+  // segments of dotted keys, which are begun only once a value in them is emitted
+  private final Deque<String> pendingSections = new ArrayDeque<>();
+
+  SchemaEmitter(ValueEmitter emitter, KeyResolver keyResolver) {
+    this.emitter = emitter;
+    this.dotted = keyResolver instanceof DottedResolver;
+  }
+
+  void emit(Object annotatedConfig, ConfigSchema schema) throws IOException {
+    emit(annotatedConfig, schema, schema.getKeyIndex(dotted));
+  }
+
+  private void emit(Object annotatedConfig, ConfigSchema schema, KeyIndex index)
+      throws IOException {
+    for (Map.Entry<String, KeyIndex.Entry> indexed : index.getEntries().entrySet()) {
+      String key = indexed.getKey();
+      KeyIndex.Entry entry = indexed.getValue();
+      if (entry.getFields().length == 0) {
+        pendingSections.addLast(key);
+        emit(annotatedConfig, schema, entry.getChildren());
+        if (pendingSections.isEmpty()) {
+          emitter.endSection();
+        } else {
+          // nothing has been emitted in it
+          pendingSections.removeLast();
+        }
+        continue;
+      }
+      FieldSchema fieldSchema = schema.getFields().get(entry.getFields()[0]);
+      List<String> comments = AnnotatedConfigResolver.applyPlaceholders(fieldSchema.getComments());
+      if (fieldSchema.isConfigObject()) {
+        Object section = fieldSchema.get(annotatedConfig);
+        ConfigSchema childSchema = schema.child(section.getClass());
+        if (comments.isEmpty()) {
+          comments = new ArrayList<>();
+          for (List<String> classComments : childSchema.getClassComments()) {
+            comments.addAll(AnnotatedConfigResolver.applyPlaceholders(classComments));
+          }
+        }
+        beginPendingSections();
+        emitter.beginSection(key, comments);
+        emit(section, childSchema);
+        emitter.endSection();
+        continue;
+      }
+      Object value =
+          AnnotatedConfigResolver.writeValue(
+              annotatedConfig, fieldSchema, fieldSchema.get(annotatedConfig));
+      if (value == null) {
+        continue;
+      }
+      beginPendingSections();
+      emitter.scalar(key, value, comments);
+    }
+  }
+
+  private void beginPendingSections() throws IOException {
+    while (!pendingSections.isEmpty()) {
+      emitter.beginSection(pendingSections.pollFirst(), Collections.emptyList());
+    }
+  }
+}
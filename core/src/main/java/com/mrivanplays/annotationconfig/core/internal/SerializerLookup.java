@@ -0,0 +1,81 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.serialization.FieldTypeSerializer;
+import com.mrivanplays.annotationconfig.core.serialization.SerializerRegistry;
+import java.lang.reflect.Type;
+
+/**
+ * Represents a cached lookup of the {@link FieldTypeSerializer} of a single type. The resolved
+ * serializer is kept until the {@link SerializerRegistry#getModificationStamp() modification
+ * stamp} of the registry changes, so serializers registered later still take effect.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public final class SerializerLookup {
+
+  private static final ClassValue<SerializerLookup> CLASS_LOOKUPS =
+      new ClassValue<SerializerLookup>() {
+        @Override
+        protected SerializerLookup computeValue(Class<?> type) {
+          return new SerializerLookup(type);
+        }
+      };
+
+  /**
+   * Returns the shared {@link SerializerLookup} of the specified {@link Class}.
+   *
+   * @param type the class to get the lookup of
+   * @return lookup
+   */
+  public static SerializerLookup forClass(Class<?> type) {
+    return CLASS_LOOKUPS.get(type);
+  }
+
+  private final Type type;
+  private volatile Resolved resolved;
+
+  /**
+   * Creates a new {@link SerializerLookup} for the specified {@link Type}.
+   *
+   * @param type the type to look up the serializer of
+   */
+  public SerializerLookup(Type type) {
+    this.type = type;
+  }
+
+  /**
+   * Returns the serializer of the type, as {@link SerializerRegistry#resolveSerializer(Type)
+   * resolved} by the registry.
+   *
+   * @return serializer
+   */
+  public FieldTypeSerializer<?> get() {
+    SerializerRegistry registry = SerializerRegistry.INSTANCE;
+    // read the stamp before resolving, so a registration racing with us invalidates the result
+    int stamp = registry.getModificationStamp();
+    Resolved current = this.resolved;
+    if (current != null && current.stamp == stamp) {
+      return current.serializer;
+    }
+    FieldTypeSerializer<?> serializer = registry.resolveSerializer(type);
+    this.resolved = new Resolved(stamp, serializer);
+    return serializer;
+  }
+
+  @Override
+  public String toString() {
+    return "SerializerLookup{" + "type=" + type.getTypeName() + '}';
+  }
+
+  private static final class Resolved {
+
+    private final int stamp;
+    private final FieldTypeSerializer<?> serializer;
+
+    Resolved(int stamp, FieldTypeSerializer<?> serializer) {
+      this.stamp = stamp;
+      this.serializer = serializer;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package com.mrivanplays.annotationconfig.core.internal;
+
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor.Token;
+import com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver;
+import com.mrivanplays.annotationconfig.core.resolver.key.KeyResolver;
+import com.mrivanplays.annotationconfig.core.resolver.settings.NullReadHandleOption;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the values read through a {@link ValueCursor} to an annotated config, driven by its {@link
+ * ConfigSchema}. Only the values of known keys are materialized; the rest are skipped. The
+ * collected values are then set in schema order, exactly like {@link
+ * AnnotatedConfigResolver#setFields(Object, Map, ConfigSchema, NullReadHandleOption, Settings,
+ * KeyResolver)} does with a map of values.
+ */
+@SuppressWarnings("unchecked")
+final class StreamingBinder {
+
+  // mark sections which have been bound while reading, and whether they miss options
+  private static final Object BOUND = new Object();
+  private static final Object BOUND_MISSING = new Object();
+
+  /** Returns whether keys resolved with the specified {@link KeyResolver} can be streamed. */
+  static boolean supports(KeyResolver keyResolver) {
+    return keyResolver == KeyResolver.DEFAULT || keyResolver instanceof DottedResolver;
+  }
+
+  private final ValueCursor cursor;
+  private final NullReadHandleOption nullReadHandler;
+  private final Settings settings;
+  private final KeyResolver keyResolver;
+  private final boolean dotted;
+  private boolean started;
+  private boolean empty;
+
+  StreamingBinder(
+      ValueCursor cursor,
+      NullReadHandleOption nullReadHandler,
+      Settings settings,
+      KeyResolver keyResolver) {
+    this.cursor = cursor;
+    this.nullReadHandler = nullReadHandler;
+    this.settings = settings;
+    this.keyResolver = keyResolver;
+    this.dotted = keyResolver instanceof DottedResolver;
+  }
+
+  /**
+   * Returns whether the read config holds no values at all.
+   *
+   * @throws IOException if an I/O error occurs
+   * @throws IllegalArgumentException if the config is not a section
+   */
+  boolean isEmpty() throws IOException {
+    start();
+    return empty;
+  }
+
+  /**
+   * Binds the read values to the specified {@code annotatedConfig}.
+   *
+   * @return whether there are missing options
+   * @throws IOException if an I/O error occurs
+   */
+  boolean bind(Object annotatedConfig, ConfigSchema schema) throws IOException {
+    start();
+    if (empty) {
+      return AnnotatedConfigResolver.setFields(
+          annotatedConfig,
+          Collections.emptyMap(),
+          schema,
+          nullReadHandler,
+          settings,
+          keyResolver);
+    }
+    return bindSection(annotatedConfig, schema);
+  }
+
+  private void start() throws IOException {
+    if (started) {
+      return;
+    }
+    started = true;
+    Token token = cursor.next();
+    if (token == null || (token == Token.SCALAR && cursor.getScalar() == null)) {
+      empty = true;
+    } else if (token != Token.START_SECTION) {
+      throw new IllegalArgumentException("The config is not a section, but a " + token);
+    }
+  }
+
+  // the cursor is at the START_SECTION of the values of the config
+  private boolean bindSection(Object annotatedConfig, ConfigSchema schema) throws IOException {
+    if (schema.hasRawConfig()) {
+      // @RawConfig gets all the values anyway
+      return AnnotatedConfigResolver.setFields(
+          annotatedConfig,
+          (Map<String, Object>) cursor.readValue(),
+          schema,
+          nullReadHandler,
+          settings,
+          keyResolver);
+    }
+    List<FieldSchema> fields = schema.getFields();
+    Object[] values = new Object[fields.size()];
+    readSection(annotatedConfig, schema, schema.getKeyIndex(dotted), values);
+    boolean missingOptions = false;
+    for (int i = 0; i < values.length; i++) {
+      Object value = values[i];
+      if (value == BOUND) {
+        continue;
+      }
+      if (value == BOUND_MISSING
+          || AnnotatedConfigResolver.setField(
+              annotatedConfig,
+              fields.get(i),
+              value,
+              schema,
+              nullReadHandler,
+              settings,
+              keyResolver)) {
+        missingOptions = true;
+      }
+    }
+    return missingOptions;
+  }
+
+  // reads the entries of the section the cursor is at into values, up to the END of the section
+  private void readSection(
+      Object annotatedConfig, ConfigSchema schema, KeyIndex index, Object[] values)
+      throws IOException {
+    Token token;
+    while ((token = ValueCursor.nextToken(cursor)) != Token.END) {
+      if (token != Token.KEY) {
+        throw new IllegalStateException("Expected a key in a section, got " + token);
+      }
+      KeyIndex.Entry entry = index.get(cursor.getKey());
+      token = ValueCursor.nextToken(cursor);
+      if (entry == null) {
+        cursor.skipValue();
+        continue;
+      }
+      int[] fields = entry.getFields();
+      if (fields.length == 0) {
+        // a segment of dotted keys
+        if (token != Token.START_SECTION) {
+          throw invalidUnbox(entry);
+        }
+        readSection(annotatedConfig, schema, entry.getChildren(), values);
+        continue;
+      }
+      if (token == Token.START_SECTION && fields.length == 1 && entry.getChildren() == null) {
+        FieldSchema field = schema.getFields().get(fields[0]);
+        Object section = field.isConfigObject() ? field.get(annotatedConfig) : null;
+        if (section != null) {
+          boolean missing = bindSection(section, schema.child(section.getClass()));
+          values[fields[0]] = missing ? BOUND_MISSING : BOUND;
+          continue;
+        }
+      }
+      Object value = cursor.readValue();
+      for (int field : fields) {
+        values[field] = value;
+      }
+      if (entry.getChildren() != null) {
+        assign(entry, value, values);
+      }
+    }
+  }
+
+  // assigns the values of the dotted keys continuing after the entry, out of its read value
+  private void assign(KeyIndex.Entry entry, Object value, Object[] values) {
+    if (!(value instanceof Map)) {
+      throw invalidUnbox(entry);
+    }
+    Map<String, Object> section = (Map<String, Object>) value;
+    for (Map.Entry<String, KeyIndex.Entry> indexed : entry.getChildren().getEntries().entrySet()) {
+      KeyIndex.Entry child = indexed.getValue();
+      Object childValue = section.get(indexed.getKey());
+      if (childValue == null && !section.containsKey(indexed.getKey())) {
+        continue;
+      }
+      for (int field : child.getFields()) {
+        values[field] = childValue;
+      }
+      if (child.getChildren() != null) {
+        assign(child, childValue, values);
+      }
+    }
+  }
+
+  private static IllegalArgumentException invalidUnbox(KeyIndex.Entry entry) {
+    return new IllegalArgumentException(
+        "Invalid unbox ; either key is invalid or the values map ; " + entry.getPath());
+  }
+}
@@ -15,7 +15,7 @@ import java.util.Map.Entry;
 public enum CommentPlaceholderRegistry {
   INSTANCE;
 
-  private PlaceholderMap placeholderMap = new PlaceholderMap();
+  private volatile PlaceholderMap placeholderMap = PlaceholderMap.EMPTY;
 
   /**
    * Register a placeholder.
@@ -23,8 +23,8 @@ public enum CommentPlaceholderRegistry {
    * @param toReplace value to replace
    * @param replacement replacement value
    */
-  public void registerPlaceholder(String toReplace, String replacement) {
-    this.placeholderMap.put(toReplace, replacement);
+  public synchronized void registerPlaceholder(String toReplace, String replacement) {
+    this.placeholderMap = this.placeholderMap.with(toReplace, replacement);
   }
 
   /**
@@ -35,27 +35,28 @@ public enum CommentPlaceholderRegistry {
    * @return comments with applied placeholders
    */
   public List<String> applyPlaceholders(List<String> comments) {
-    if (this.placeholderMap.empty()) {
+    PlaceholderMap placeholderMap = this.placeholderMap;
+    if (placeholderMap.empty()) {
       return comments;
     }
     List<String> ret = new LinkedList<>();
 
-    if (this.placeholderMap.size() == 1) {
-      Entry<String, String> placeholder = this.placeholderMap.first();
+    if (placeholderMap.size() == 1) {
+      Entry<String, String> placeholder = placeholderMap.first();
       for (String comment : comments) {
         ret.add(comment.replace(placeholder.getKey(), placeholder.getValue()));
       }
       return ret;
     }
 
-    if (this.placeholderMap.size() < comments.size()) {
+    if (placeholderMap.size() < comments.size()) {
       for (String comment : comments) {
-        for (Entry<String, String> placeholder : this.placeholderMap) {
+        for (Entry<String, String> placeholder : placeholderMap) {
           ret.add(comment.replace(placeholder.getKey(), placeholder.getValue()));
         }
       }
     } else {
-      for (Entry<String, String> placeholder : this.placeholderMap) {
+      for (Entry<String, String> placeholder : placeholderMap) {
         for (String comment : comments) {
           ret.add(comment.replace(placeholder.getKey(), placeholder.getValue()));
         }
@@ -0,0 +1,138 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Represents the configurations in a directory, loaded incrementally. Each {@link #refresh()}
+ * only loads the configuration files which have been added or modified since the previous one, and
+ * drops the configurations whose files have been deleted. The configurations of unchanged files
+ * are kept as they are.
+ *
+ * <p>A file is considered unchanged if its size and last modified time are the same as when it was
+ * last loaded. If they differ, the hash of its content is compared to the one it was loaded with,
+ * so files which are only touched aren't loaded again.
+ *
+ * <p>Obtain using {@link ConfigResolver#newConfigDirectory(Path, Supplier, WritableObject,
+ * com.mrivanplays.annotationconfig.core.resolver.settings.Settings, Path)}. Refreshes are
+ * serialized; the configurations may be read from any thread.
+ *
+ * @param <T> configuration type
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public interface ConfigDirectory<T> {
+
+  /**
+   * Returns the directory the configurations are loaded from.
+   *
+   * @return directory
+   */
+  Path getDirectory();
+
+  /**
+   * Returns the configurations loaded by the last {@link #refresh()}, key being the file name,
+   * ordered by file name.
+   *
+   * @return configurations, empty if not refreshed yet
+   */
+  Map<String, T> getConfigs();
+
+  /**
+   * Loads the configuration files which have been added or modified since the previous refresh,
+   * and drops the configurations whose files have been deleted. If the directory holds no
+   * configuration files, the defaults are dumped to the default dump file. A file which can't be
+   * loaded is reported as a {@link Refresh#getFailures() failure}, and its previous configuration
+   * (if any) is kept.
+   *
+   * @return the changes made by this refresh
+   * @throws IllegalArgumentException if the directory is not a directory
+   */
+  Refresh<T> refresh();
+
+  /**
+   * Represents the changes made to a {@link ConfigDirectory} by a {@link #refresh()}.
+   *
+   * @param <T> configuration type
+   */
+  final class Refresh<T> {
+
+    private final Map<String, T> configs;
+    private final Set<String> added;
+    private final Set<String> changed;
+    private final Set<String> removed;
+    private final Map<String, RuntimeException> failures;
+
+    public Refresh(
+        Map<String, T> configs,
+        Set<String> added,
+        Set<String> changed,
+        Set<String> removed,
+        Map<String, RuntimeException> failures) {
+      this.configs = Collections.unmodifiableMap(configs);
+      this.added = Collections.unmodifiableSet(added);
+      this.changed = Collections.unmodifiableSet(changed);
+      this.removed = Collections.unmodifiableSet(removed);
+      this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Returns all the configurations after the refresh, key being the file name, ordered by file
+     * name.
+     *
+     * @return configurations
+     */
+    public Map<String, T> getConfigs() {
+      return configs;
+    }
+
+    /**
+     * Returns the names of the files which have been loaded for the first time.
+     *
+     * @return added file names
+     */
+    public Set<String> getAdded() {
+      return added;
+    }
+
+    /**
+     * Returns the names of the files whose content has changed, and have been loaded again.
+     *
+     * @return changed file names
+     */
+    public Set<String> getChanged() {
+      return changed;
+    }
+
+    /**
+     * Returns the names of the files which have been deleted, and whose configurations have been
+     * dropped.
+     *
+     * @return removed file names
+     */
+    public Set<String> getRemoved() {
+      return removed;
+    }
+
+    /**
+     * Returns the failures of the files which couldn't be loaded, key being the file name.
+     *
+     * @return failures
+     */
+    public Map<String, RuntimeException> getFailures() {
+      return failures;
+    }
+
+    /**
+     * Returns whether the refresh changed nothing.
+     *
+     * @return true if nothing has been added, changed or removed, and nothing failed
+     */
+    public boolean isEmpty() {
+      return added.isEmpty() && changed.isEmpty() && removed.isEmpty() && failures.isEmpty();
+    }
+  }
+}
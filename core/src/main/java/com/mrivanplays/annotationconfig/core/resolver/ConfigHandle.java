@@ -0,0 +1,56 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Represents a handle to a configuration file, holding an immutable snapshot of its configuration.
+ * Each {@link #reload()} loads the file into a fresh configuration object, and only publishes it
+ * once it has been loaded and validated entirely. Readers thus always {@link #get()} either the old
+ * or the new configuration, never one which is half loaded, and a failed reload leaves the current
+ * configuration in place.
+ *
+ * <p>Obtain using {@link ConfigResolver#newConfigHandle(Path, Supplier, Settings)}. Reloads are
+ * serialized; {@link #get()} may be called from any thread, without locking.
+ *
+ * @param <T> configuration type
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public interface ConfigHandle<T> {
+
+  /**
+   * Returns the configuration file of this handle.
+   *
+   * @return path
+   */
+  Path getPath();
+
+  /**
+   * Returns the configuration published by the last successful load. The returned object must be
+   * treated as read only, as it is shared with every other reader.
+   *
+   * @return current configuration
+   */
+  T get();
+
+  /**
+   * Loads the configuration file into a new configuration object, and publishes it. If the file
+   * doesn't exist, the defaults of the new configuration object are dumped to it and published.
+   *
+   * @return the newly published configuration
+   * @throws RuntimeException if the file couldn't be loaded or validated, in which case the
+   *     current configuration is kept
+   */
+  T reload();
+
+  /**
+   * Does a {@link #reload()} on the {@link ConfigResolver#asyncExecutor()} of the resolver of this
+   * handle.
+   *
+   * @return future of the newly published configuration
+   */
+  CompletableFuture<T> reloadAsync();
+}
@@ -16,6 +16,9 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 /**
@@ -47,8 +50,9 @@ public interface ConfigResolver {
 
   /**
    * Dumps the specified {@code annotatedConfig} to the specified {@link File} {@code file}. If, at
-   * the time of calling this method, the file exists, it will get deleted ( default implementation
-   * ).
+   * the time of calling this method, the file exists, it will get replaced, unless it already
+   * holds exactly the dumped config ( default implementation ). See {@link #dumpIfChanged(Object,
+   * File)} if you need to know whether the file was written.
    *
    * <p>If you are going to call {@link #load(Object, File, Settings)} after calling this method,
    * consider using {@link #loadOrDump(Object, File, Settings)} rather than calling dump and load
@@ -62,8 +66,9 @@ public interface ConfigResolver {
 
   /**
    * Dumps the specified {@code annotatedConfig} to the specified {@link Path} {@code path}. If, at
-   * the time of calling this method, the file exists, it will get deleted ( default implementation
-   * ).
+   * the time of calling this method, the file exists, it will get replaced, unless it already
+   * holds exactly the dumped config ( default implementation ). See {@link #dumpIfChanged(Object,
+   * Path)} if you need to know whether the file was written.
    *
    * <p>If you are going to call {@link #load(Object, Path, Settings)} after calling this method,
    * consider using {@link #loadOrDump(Object, Path, Settings)} rather than calling dump and load
@@ -75,6 +80,36 @@ public interface ConfigResolver {
    */
   void dump(Object annotatedConfig, Path path);
 
+  /**
+   * Dumps the specified {@code annotatedConfig} to the specified {@link File} {@code file}, if the
+   * file doesn't already hold exactly the dumped config.
+   *
+   * @param annotatedConfig the annotated config you want to dump
+   * @param file the file you want to dump the annotated config to
+   * @return whether the file was written
+   * @since 3.0.2
+   */
+  default DumpResult dumpIfChanged(Object annotatedConfig, File file) {
+    return dumpIfChanged(annotatedConfig, file.toPath());
+  }
+
+  /**
+   * Dumps the specified {@code annotatedConfig} to the specified {@link Path} {@code path}, if the
+   * file doesn't already hold exactly the dumped config.
+   *
+   * <p>The default implementation can't tell whether the content changed, so it always dumps the
+   * config and returns {@link DumpResult#WRITTEN}.
+   *
+   * @param annotatedConfig the annotated config you want to dump
+   * @param path the file path you want to dump the annotated config to
+   * @return whether the file was written
+   * @since 3.0.2
+   */
+  default DumpResult dumpIfChanged(Object annotatedConfig, Path path) {
+    dump(annotatedConfig, path);
+    return DumpResult.WRITTEN;
+  }
+
   /**
    * Dumps the specified {@code annotatedConfig} to the specified {@link OutputStream} {@code os}.
    *
@@ -346,6 +381,266 @@ public interface ConfigResolver {
   <T> Map<String, T> resolveMultiple(
       Path dir, Supplier<T> configToResolveTo, WritableObject dumpFile, Settings settings);
 
+  /**
+   * Loads the configurations in the {@link File} {@code dir} specified concurrently on the
+   * specified {@link Executor}, and if none exist, the defaults are dumped to the specified {@link
+   * WritableObject} {@code dumpFile}. <br>
+   * <b>WARNING: The specified {@link File} {@code dir} has to be a directory!!!!!</b>
+   *
+   * @param dir the directory to load configurations from
+   * @param configToResolveTo a {@link Supplier} of the needed configuration objects
+   * @param dumpFile the default dump file
+   * @param settings the load settings to use when loading the configurations
+   * @param executor the executor to load the configurations on, or null to use a shared {@link
+   *     java.util.concurrent.ForkJoinPool} bounded to the number of available processors
+   * @return a map of the loaded configurations, key being the file name, ordered by file name. If
+   *     the map is empty then AnnotationConfig couldn't find any configurations in the folder, and
+   *     you should fall back to the defaults.
+   * @throws IllegalArgumentException if the specified {@code dir} is not a directory!
+   * @throws RuntimeException if any of the configurations couldn't be loaded, after all of them
+   *     have been tried. The failure of each configuration is a suppressed exception of it.
+   * @param <T> configuration type needed
+   * @see #resolveMultiple(Path, Supplier, WritableObject, Settings, Executor)
+   */
+  default <T> Map<String, T> resolveMultiple(
+      File dir,
+      Supplier<T> configToResolveTo,
+      WritableObject dumpFile,
+      Settings settings,
+      Executor executor) {
+    return resolveMultiple(dir.toPath(), configToResolveTo, dumpFile, settings, executor);
+  }
+
+  /**
+   * Loads the configurations in the {@link Path} {@code dir} specified concurrently on the
+   * specified {@link Executor}, and if none exist, the defaults are dumped to the specified {@link
+   * WritableObject} {@code dumpFile}. <br>
+   * <b>WARNING: The specified {@link Path} {@code dir} has to be a directory!!!!!</b>
+   *
+   * <p>The configuration objects are obtained from the {@code configToResolveTo} supplier on the
+   * calling thread, so it doesn't have to be thread safe; only reading the files and setting the
+   * values of the configuration objects is done on the executor. Unlike {@link
+   * #resolveMultiple(Path, Supplier, WritableObject, Settings)}, a configuration which can't be
+   * loaded doesn't stop the others from being loaded.
+   *
+   * <p>The default implementation ignores the executor, and loads the configurations one by one
+   * with {@link #resolveMultiple(Path, Supplier, WritableObject, Settings)}.
+   *
+   * @param dir the directory to load configurations from
+   * @param configToResolveTo a {@link Supplier} of the needed configuration objects
+   * @param dumpFile the default dump file
+   * @param settings the load settings to use when loading the configurations
+   * @param executor the executor to load the configurations on, or null to use a shared {@link
+   *     java.util.concurrent.ForkJoinPool} bounded to the number of available processors
+   * @return a map of the loaded configurations, key being the file name, ordered by file name. If
+   *     the map is empty then AnnotationConfig couldn't find any configurations in the folder, and
+   *     you should fall back to the defaults.
+   * @throws IllegalArgumentException if the specified {@code dir} is not a directory!
+   * @throws RuntimeException if any of the configurations couldn't be loaded, after all of them
+   *     have been tried. The failure of each configuration is a suppressed exception of it.
+   * @param <T> configuration type needed
+   */
+  default <T> Map<String, T> resolveMultiple(
+      Path dir,
+      Supplier<T> configToResolveTo,
+      WritableObject dumpFile,
+      Settings settings,
+      Executor executor) {
+    return resolveMultiple(dir, configToResolveTo, dumpFile, settings);
+  }
+
+  /**
+   * Creates a new {@link ConfigDirectory} of the configurations in the {@link Path} {@code dir}
+   * specified. Nothing is loaded until it is {@link ConfigDirectory#refresh() refreshed}.
+   *
+   * @param dir the directory to load configurations from
+   * @param configToResolveTo a {@link Supplier} of the needed configuration objects
+   * @param dumpFile the default dump file, to which the defaults are dumped if the directory
+   *     holds no configurations
+   * @param settings the load settings to use when loading the configurations
+   * @return config directory
+   * @param <T> configuration type needed
+   */
+  default <T> ConfigDirectory<T> newConfigDirectory(
+      Path dir, Supplier<T> configToResolveTo, WritableObject dumpFile, Settings settings) {
+    return newConfigDirectory(dir, configToResolveTo, dumpFile, settings, null);
+  }
+
+  /**
+   * Creates a new {@link ConfigDirectory} of the configurations in the {@link Path} {@code dir}
+   * specified, which persists the index of the loaded files to the specified {@code indexFile}.
+   * The changes reported by the first refresh after a restart are then relative to the last
+   * refresh before it. Nothing is loaded until it is {@link ConfigDirectory#refresh() refreshed}.
+   *
+   * @param dir the directory to load configurations from
+   * @param configToResolveTo a {@link Supplier} of the needed configuration objects
+   * @param dumpFile the default dump file, to which the defaults are dumped if the directory
+   *     holds no configurations
+   * @param settings the load settings to use when loading the configurations
+   * @param indexFile the file to persist the index to, or null to not persist it
+   * @return config directory
+   * @throws UnsupportedOperationException if this config resolver doesn't support config
+   *     directories, which is what the default implementation does
+   * @param <T> configuration type needed
+   */
+  default <T> ConfigDirectory<T> newConfigDirectory(
+      Path dir,
+      Supplier<T> configToResolveTo,
+      WritableObject dumpFile,
+      Settings settings,
+      Path indexFile) {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " doesn't support config directories");
+  }
+
+  /**
+   * Creates a new {@link ConfigHandle} of the configuration file at the {@link Path} {@code path}
+   * specified, and loads it (or dumps the defaults to it, if it doesn't exist).
+   *
+   * @param path the configuration file
+   * @param configToResolveTo a {@link Supplier} of the needed configuration objects, called on
+   *     every reload
+   * @param settings the load settings to use when loading the configuration, or null to use the
+   *     settings of this config resolver
+   * @return config handle
+   * @throws RuntimeException if the configuration couldn't be loaded
+   * @throws UnsupportedOperationException if this config resolver doesn't support config handles,
+   *     which is what the default implementation does
+   * @param <T> configuration type needed
+   */
+  default <T> ConfigHandle<T> newConfigHandle(
+      Path path, Supplier<T> configToResolveTo, Settings settings) {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " doesn't support config handles");
+  }
+
+  /**
+   * Returns the {@link Executor} the asynchronous methods of this config resolver run on.
+   *
+   * <p>The default implementation returns the {@link ForkJoinPool#commonPool() common pool}. The
+   * config resolvers created with a {@link Builder} use a dedicated pool instead, unless another
+   * executor is {@link Builder#withAsyncExecutor(Executor) set}.
+   *
+   * @return async executor
+   * @see Builder#withAsyncExecutor(Executor)
+   */
+  default Executor asyncExecutor() {
+    return ForkJoinPool.commonPool();
+  }
+
+  /**
+   * Loads the specified {@code annotatedConfig} from the specified {@link Path} {@code path}
+   * asynchronously, using the default {@link Settings} from the builder of this config resolver, or
+   * {@link ACDefaultSettings#getDefault()}.
+   *
+   * @param annotatedConfig the annotated config you want to load
+   * @param path the file path you want to load from
+   * @return future, completed once the loaded values are set to the config
+   * @see #loadAsync(Object, Path, Settings)
+   */
+  default CompletableFuture<Void> loadAsync(Object annotatedConfig, Path path) {
+    return loadAsync(annotatedConfig, path, settings());
+  }
+
+  /**
+   * Loads the specified {@code annotatedConfig} from the specified {@link Path} {@code path}
+   * asynchronously, using the {@link Settings} {@code settings} specified.
+   *
+   * <p>The values are set to the config in place, so code reading the config while it is being
+   * loaded may see it partially loaded. If the loaded configuration has to be published in one
+   * step, use a {@link ConfigHandle} and its {@link ConfigHandle#reloadAsync()} instead.
+   *
+   * <p>The default implementation {@link #load(Object, Path, Settings) loads} the config on the
+   * {@link #asyncExecutor()}. The config resolvers created with a {@link Builder} bind the values
+   * to a copy of the config first, so a failed load leaves the config untouched, and then set
+   * them to the config while holding its monitor: code which reads the config while synchronized
+   * on it doesn't see it partially loaded. The copies are created with the no-args constructor of
+   * the config and of its config objects, or the way the default serializer creates objects if
+   * they have none (see {@link
+   * com.mrivanplays.annotationconfig.core.serialization.InstantiatorRegistry}).
+   *
+   * @param annotatedConfig the annotated config you want to load
+   * @param path the file path you want to load from
+   * @param settings the load settings
+   * @return future, completed once the loaded values are set to the config
+   */
+  default CompletableFuture<Void> loadAsync(Object annotatedConfig, Path path, Settings settings) {
+    return CompletableFuture.runAsync(
+        () -> load(annotatedConfig, path, settings), asyncExecutor());
+  }
+
+  /**
+   * Loads the specified {@code annotatedConfig} from the specified {@link Path} {@code path} if it
+   * exists, if not, dumps it to the specified path, asynchronously, using the default {@link
+   * Settings} from the builder of this config resolver, or {@link ACDefaultSettings#getDefault()}.
+   *
+   * @param annotatedConfig the annotated config you want to load/dump
+   * @param path the file path you want to load/dump to
+   * @return future, completed once the loaded values are set to the config
+   * @see #loadOrDumpAsync(Object, Path, Settings)
+   */
+  default CompletableFuture<Void> loadOrDumpAsync(Object annotatedConfig, Path path) {
+    return loadOrDumpAsync(annotatedConfig, path, settings());
+  }
+
+  /**
+   * Loads the specified {@code annotatedConfig} from the specified {@link Path} {@code path} if it
+   * exists, if not, dumps it to the specified path, asynchronously, using the {@link Settings}
+   * {@code settings} specified. The values are set to the config like with {@link
+   * #loadAsync(Object, Path, Settings)}.
+   *
+   * @param annotatedConfig the annotated config you want to load/dump
+   * @param path the file path you want to load/dump to
+   * @param settings the load settings
+   * @return future, completed once the loaded values are set to the config
+   */
+  default CompletableFuture<Void> loadOrDumpAsync(
+      Object annotatedConfig, Path path, Settings settings) {
+    return CompletableFuture.runAsync(
+        () -> loadOrDump(annotatedConfig, path, settings), asyncExecutor());
+  }
+
+  /**
+   * Dumps the specified {@code annotatedConfig} to the specified {@link Path} {@code path}
+   * asynchronously, on the {@link #asyncExecutor()}.
+   *
+   * <p>The default implementation dumps the config itself, so changes made to it while it is being
+   * dumped may be written. The config resolvers created with a {@link Builder} copy the values of
+   * the config on the calling thread, while holding its monitor, and dump the copy. The copies
+   * are created like with {@link #loadAsync(Object, Path, Settings)}.
+   *
+   * @param annotatedConfig the annotated config you want to dump
+   * @param path the file path you want to dump to
+   * @return future of the {@link DumpResult}
+   * @see #dumpIfChanged(Object, Path)
+   */
+  default CompletableFuture<DumpResult> dumpAsync(Object annotatedConfig, Path path) {
+    return CompletableFuture.supplyAsync(
+        () -> dumpIfChanged(annotatedConfig, path), asyncExecutor());
+  }
+
+  /**
+   * Loads the configurations in the {@link Path} {@code dir} specified asynchronously and
+   * concurrently, on the {@link #asyncExecutor()}, like {@link #resolveMultiple(Path, Supplier,
+   * WritableObject, Settings, Executor)} does. The configurations are only handed out once all of
+   * them are loaded.
+   *
+   * @param dir the directory to load configurations from
+   * @param configToResolveTo a {@link Supplier} of the needed configuration objects, called on
+   *     the async executor
+   * @param dumpFile the default dump file
+   * @param settings the load settings to use when loading the configurations
+   * @return future of the loaded configurations
+   * @param <T> configuration type needed
+   * @see #resolveMultiple(Path, Supplier, WritableObject, Settings, Executor)
+   */
+  default <T> CompletableFuture<Map<String, T>> resolveMultipleAsync(
+      Path dir, Supplier<T> configToResolveTo, WritableObject dumpFile, Settings settings) {
+    return CompletableFuture.supplyAsync(
+        () -> resolveMultiple(dir, configToResolveTo, dumpFile, settings, asyncExecutor()),
+        asyncExecutor());
+  }
+
   /**
    * Represents a builder of a {@link ConfigResolver}
    *
@@ -360,6 +655,7 @@ public interface ConfigResolver {
     private Settings settings;
     private KeyResolver keyResolver;
     private List<String> fileExtensions;
+    private Executor asyncExecutor;
 
     public Builder() {}
 
@@ -375,6 +671,7 @@ public interface ConfigResolver {
       this.settings = copy.settings;
       this.keyResolver = copy.keyResolver;
       this.fileExtensions = copy.fileExtensions;
+      this.asyncExecutor = copy.asyncExecutor;
     }
 
     /**
@@ -471,6 +768,18 @@ public interface ConfigResolver {
       return this;
     }
 
+    /**
+     * Sets the {@link Executor} the asynchronous methods of the config resolver run on. If null, a
+     * shared pool of daemon threads, bounded to the number of available processors, is used.
+     *
+     * @param executor the executor you want to set
+     * @return this instance for chaining
+     */
+    public Builder withAsyncExecutor(Executor executor) {
+      this.asyncExecutor = executor;
+      return this;
+    }
+
     /**
      * Sets whether to reverse fields when generating options. This is needed for some config types
      * so the generated options are chronological with the annotated config's fields. The default
@@ -501,7 +810,8 @@ public interface ConfigResolver {
           valueReader,
           settings,
           keyResolver,
-          fileExtensions.toArray(new String[0]));
+          fileExtensions.toArray(new String[0]),
+          asyncExecutor);
     }
   }
 }
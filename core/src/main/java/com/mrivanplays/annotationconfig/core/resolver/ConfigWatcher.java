@@ -0,0 +1,550 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import com.mrivanplays.annotationconfig.core.internal.ContentHash;
+import com.mrivanplays.annotationconfig.core.internal.DumpTracker;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigDirectory.Refresh;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Represents a watcher of config files, which reloads them when they change. Files are watched
+ * with a {@link WatchService}.
+ *
+ * <p>Editors often write a file several times when saving it, so the changes to a file are
+ * debounced: a file is reloaded once no change has been made to it for the configured debounce
+ * time. Reloads of the same file never run concurrently; changes made while a file is being
+ * reloaded cause a single reload after it. A reload is skipped if the content of the file is the
+ * same as when it was last loaded, or as AnnotationConfig last dumped to it, so dumping a watched
+ * config doesn't cause it to be reloaded. A dump is only recognized until the file is seen with
+ * other content, so writing the dumped content back after an edit is reloaded as usual, and
+ * content other than the dumped one is reloaded even if it is what was loaded before the dump.
+ *
+ * <p>Obtain using {@link #newBuilder()}.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public final class ConfigWatcher implements Closeable {
+
+  /**
+   * Creates a new {@link Builder}.
+   *
+   * @return builder
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Represents a listener of the reloads made by a {@link ConfigWatcher}.
+   *
+   * @param <T> the type of the reloaded values
+   */
+  @FunctionalInterface
+  public interface Listener<T> {
+
+    /**
+     * Called when a config has been reloaded.
+     *
+     * @param reloaded the reloaded config, or the {@link Refresh} of a watched {@link
+     *     ConfigDirectory}
+     */
+    void reloaded(T reloaded);
+
+    /**
+     * Called when a config couldn't be reloaded. By default, the failure is passed to the
+     * uncaught exception handler of the current thread.
+     *
+     * @param path the path of the config file or directory
+     * @param failure the failure
+     */
+    default void failed(Path path, RuntimeException failure) {
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+    }
+  }
+
+  /** Represents a registration of a file or directory to a {@link ConfigWatcher}. */
+  public interface Registration extends Closeable {
+
+    /** Stops watching the file or directory. */
+    @Override
+    void close();
+  }
+
+  private final WatchService watchService;
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+  private final long debounceMillis;
+  private final Thread watchThread;
+
+  // guarded by this
+  private final Map<Path, WatchKey> keys = new HashMap<>();
+  private final Map<Path, List<Watch>> watches = new HashMap<>();
+  private boolean closed;
+
+  private ConfigWatcher(Executor executor, long debounceMillis) throws IOException {
+    this.watchService = FileSystems.getDefault().newWatchService();
+    ScheduledThreadPoolExecutor scheduler =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              Thread thread = new Thread(runnable, "AnnotationConfig Watcher Scheduler");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.setRemoveOnCancelPolicy(true);
+    this.scheduler = scheduler;
+    this.executor = executor != null ? executor : scheduler;
+    this.debounceMillis = debounceMillis;
+    this.watchThread = new Thread(this::processEvents, "AnnotationConfig Watcher");
+    this.watchThread.setDaemon(true);
+    this.watchThread.start();
+  }
+
+  /**
+   * Watches the specified config {@code file}. Whenever it changes, it is loaded into a new config
+   * obtained from the specified {@link Supplier}, which is then passed to the specified {@link
+   * Listener}.
+   *
+   * @param file the file to watch
+   * @param resolver the resolver to load the file with
+   * @param configToResolveTo a {@link Supplier} of the configs to load the file into
+   * @param settings the settings to load the file with, or null for the settings of the resolver
+   * @param listener the listener of the reloads
+   * @param <T> config type
+   * @return registration, which can be closed to stop watching the file
+   */
+  public <T> Registration watch(
+      Path file,
+      ConfigResolver resolver,
+      Supplier<T> configToResolveTo,
+      Settings settings,
+      Listener<? super T> listener) {
+    Objects.requireNonNull(resolver, "resolver");
+    Objects.requireNonNull(configToResolveTo, "configToResolveTo");
+    Objects.requireNonNull(listener, "listener");
+    Path absolute = file.toAbsolutePath().normalize();
+    Supplier<T> loader =
+        () -> {
+          T config = configToResolveTo.get();
+          if (settings != null) {
+            resolver.load(config, absolute, settings);
+          } else {
+            resolver.load(config, absolute);
+          }
+          return config;
+        };
+    return register(new FileWatch<>(absolute, loader, listener));
+  }
+
+  /**
+   * Watches the file of the specified {@link ConfigHandle}. Whenever it changes, the handle is
+   * {@link ConfigHandle#reload() reloaded}, and the newly published config is passed to the
+   * specified {@link Listener}.
+   *
+   * @param handle the handle to reload
+   * @param listener the listener of the reloads
+   * @param <T> config type
+   * @return registration, which can be closed to stop watching the file
+   */
+  public <T> Registration watch(ConfigHandle<T> handle, Listener<? super T> listener) {
+    Objects.requireNonNull(listener, "listener");
+    Path absolute = handle.getPath().toAbsolutePath().normalize();
+    return register(new FileWatch<>(absolute, handle::reload, listener));
+  }
+
+  /**
+   * Watches the specified {@link ConfigDirectory}. Whenever files in it change, it is {@link
+   * ConfigDirectory#refresh() refreshed}, and the {@link Refresh} is passed to the specified
+   * {@link Listener} if anything changed. Failures of single files are reported through the
+   * refresh.
+   *
+   * @param directory the directory to watch
+   * @param listener the listener of the refreshes
+   * @param <T> config type
+   * @return registration, which can be closed to stop watching the directory
+   */
+  public <T> Registration watch(
+      ConfigDirectory<T> directory, Listener<? super Refresh<T>> listener) {
+    Objects.requireNonNull(listener, "listener");
+    return register(new DirectoryWatch<>(directory, listener));
+  }
+
+  private synchronized Registration register(Watch watch) {
+    if (closed) {
+      throw new IllegalStateException("Watcher closed");
+    }
+    Path dir = watch.dir;
+    if (!keys.containsKey(dir)) {
+      try {
+        keys.put(
+            dir,
+            dir.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE));
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    watches.computeIfAbsent(dir, key -> new CopyOnWriteArrayList<>()).add(watch);
+    DumpTracker.watch(watch.path);
+    return () -> unregister(watch);
+  }
+
+  private synchronized void unregister(Watch watch) {
+    List<Watch> dirWatches = watches.get(watch.dir);
+    if (dirWatches == null || !dirWatches.remove(watch)) {
+      return;
+    }
+    watch.cancel();
+    DumpTracker.unwatch(watch.path);
+    if (dirWatches.isEmpty()) {
+      watches.remove(watch.dir);
+      keys.remove(watch.dir).cancel();
+    }
+  }
+
+  private void processEvents() {
+    while (true) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+      Path dir = (Path) key.watchable();
+      List<Watch> dirWatches;
+      synchronized (this) {
+        dirWatches = watches.get(dir);
+      }
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (dirWatches == null) {
+          continue;
+        }
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+          // we don't know what changed
+          for (Watch watch : dirWatches) {
+            watch.changed(null);
+          }
+          continue;
+        }
+        Path path = dir.resolve((Path) event.context());
+        String fileName = path.getFileName().toString();
+        if (fileName.startsWith(".")
+            && (fileName.endsWith(".tmp") || fileName.endsWith(".lock"))) {
+          // temporary files of dumps, and lock files
+          continue;
+        }
+        for (Watch watch : dirWatches) {
+          if (watch.accepts(path)) {
+            watch.changed(path);
+          }
+        }
+      }
+      key.reset();
+    }
+  }
+
+  /**
+   * Stops watching all files and directories. Reloads which are already running are completed.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      for (List<Watch> dirWatches : watches.values()) {
+        for (Watch watch : dirWatches) {
+          watch.cancel();
+          DumpTracker.unwatch(watch.path);
+        }
+      }
+      watches.clear();
+      keys.clear();
+    }
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  /** Represents a watched file or directory, and the state of its reloads. */
+  private abstract class Watch {
+
+    final Path path;
+    final Path dir;
+
+    // guarded by this
+    private final Set<Path> changed = new HashSet<>();
+    private boolean unknownChanges;
+    private ScheduledFuture<?> scheduled;
+    private boolean running;
+    private boolean rerun;
+    private boolean cancelled;
+
+    Watch(Path path, Path dir) {
+      this.path = path;
+      this.dir = dir;
+    }
+
+    abstract boolean accepts(Path changedPath);
+
+    /**
+     * Reloads, if needed.
+     *
+     * @param changedPaths the changed paths
+     * @param unknownChanges whether other paths may have changed too
+     */
+    abstract void reload(Set<Path> changedPaths, boolean unknownChanges);
+
+    abstract void failed(RuntimeException failure);
+
+    // null if we don't know what changed
+    synchronized void changed(Path changedPath) {
+      if (changedPath == null) {
+        unknownChanges = true;
+      } else {
+        changed.add(changedPath);
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (cancelled) {
+        return;
+      }
+      if (running) {
+        rerun = true;
+        return;
+      }
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+      scheduled =
+          scheduler.schedule(
+              () -> executor.execute(this::run), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void cancel() {
+      cancelled = true;
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+    }
+
+    private void run() {
+      Set<Path> changedPaths;
+      boolean unknown;
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        if (running) {
+          rerun = true;
+          return;
+        }
+        running = true;
+        scheduled = null;
+        changedPaths = new HashSet<>(changed);
+        changed.clear();
+        unknown = unknownChanges;
+        unknownChanges = false;
+      }
+      try {
+        reload(changedPaths, unknown);
+      } catch (RuntimeException e) {
+        failed(e);
+      } finally {
+        synchronized (this) {
+          running = false;
+          if (rerun) {
+            rerun = false;
+            schedule();
+          }
+        }
+      }
+    }
+  }
+
+  private final class FileWatch<T> extends Watch {
+
+    private final Supplier<T> loader;
+    private final Listener<? super T> listener;
+    // the hash of the content last loaded; only accessed by reloads, which don't run concurrently
+    private String loadedHash;
+
+    FileWatch(Path file, Supplier<T> loader, Listener<? super T> listener) {
+      super(file, file.getParent());
+      this.loader = loader;
+      this.listener = listener;
+      this.loadedHash = hash(file);
+    }
+
+    @Override
+    boolean accepts(Path changedPath) {
+      return changedPath.equals(path);
+    }
+
+    @Override
+    void reload(Set<Path> changedPaths, boolean unknownChanges) {
+      String hash = hash(path);
+      // what we dumped is what the config held, so it's what later content is compared with, even
+      // if the file has been edited again since the dump
+      String dumped = DumpTracker.lastDump(path, hash);
+      if (dumped != null) {
+        loadedHash = dumped;
+      }
+      if (hash == null || hash.equals(loadedHash)) {
+        // deleted (a following creation is another change), unchanged or dumped by us
+        return;
+      }
+      T config = loader.get();
+      loadedHash = hash;
+      listener.reloaded(config);
+    }
+
+    @Override
+    void failed(RuntimeException failure) {
+      listener.failed(path, failure);
+    }
+  }
+
+  private final class DirectoryWatch<T> extends Watch {
+
+    private final ConfigDirectory<T> directory;
+    private final Listener<? super Refresh<T>> listener;
+
+    DirectoryWatch(ConfigDirectory<T> directory, Listener<? super Refresh<T>> listener) {
+      super(
+          directory.getDirectory().toAbsolutePath().normalize(),
+          directory.getDirectory().toAbsolutePath().normalize());
+      this.directory = directory;
+      this.listener = listener;
+    }
+
+    @Override
+    boolean accepts(Path changedPath) {
+      return true;
+    }
+
+    @Override
+    void reload(Set<Path> changedPaths, boolean unknownChanges) {
+      boolean needed = unknownChanges;
+      // every path is checked, so the dumps to the paths changed since are forgotten
+      for (Path changedPath : changedPaths) {
+        if (!DumpTracker.isDumped(changedPath, hash(changedPath))) {
+          needed = true;
+        }
+      }
+      if (!needed) {
+        return;
+      }
+      Refresh<T> refresh = directory.refresh();
+      if (!refresh.isEmpty()) {
+        listener.reloaded(refresh);
+      }
+    }
+
+    @Override
+    void failed(RuntimeException failure) {
+      listener.failed(path, failure);
+    }
+  }
+
+  // null if the file doesn't exist
+  private static String hash(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      return ContentHash.of(file);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Represents a builder of a {@link ConfigWatcher}.
+   *
+   * @since 3.0.2
+   * @author MrIvanPlays
+   */
+  public static final class Builder {
+
+    private Executor executor;
+    private long debounceMillis = 200;
+
+    private Builder() {}
+
+    /**
+     * Sets the {@link Executor} to reload configs on. By default, configs are reloaded on the
+     * single thread of the watcher which times the reloads.
+     *
+     * @param executor executor
+     * @return this instance for chaining
+     */
+    public Builder withExecutor(Executor executor) {
+      this.executor = Objects.requireNonNull(executor, "executor");
+      return this;
+    }
+
+    /**
+     * Sets the time for which a file must not change before it is reloaded. The default is 200
+     * milliseconds.
+     *
+     * @param time the time
+     * @param unit the unit of the time
+     * @return this instance for chaining
+     */
+    public Builder withDebounce(long time, TimeUnit unit) {
+      if (time < 0) {
+        throw new IllegalArgumentException("Negative debounce time");
+      }
+      this.debounceMillis = unit.toMillis(time);
+      return this;
+    }
+
+    /**
+     * Builds a new {@link ConfigWatcher}, which starts watching right away.
+     *
+     * @return new config watcher
+     */
+    public ConfigWatcher build() {
+      try {
+        return new ConfigWatcher(executor, debounceMillis);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+/**
+ * Represents the result of dumping a config to a file.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ * @see ConfigResolver#dumpIfChanged(Object, java.nio.file.Path)
+ */
+public enum DumpResult {
+  /** The file didn't exist, or its content differed from the dumped config, and was written. */
+  WRITTEN,
+
+  /** The file already contained exactly the dumped config, so it was left untouched. */
+  UNCHANGED
+}
@@ -0,0 +1,90 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a {@link ValueEmitter} for formats which write the values of a config one top level
+ * entry at a time. Top level scalars are written as soon as they are emitted; top level sections
+ * are built into a {@link Map} while their values are emitted, and written once they end.
+ *
+ * <p>Each entry is written together with the comments emitted for it and for the values in it,
+ * keyed by their dotted path, the same way {@link ValueWriter#write(Map, Map, java.io.PrintWriter,
+ * com.mrivanplays.annotationconfig.core.resolver.settings.Settings)} receives them. So a value
+ * writer which writes its top level entries one by one can emit them with the code it writes them
+ * with already.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public abstract class EntryValueEmitter implements ValueEmitter {
+
+  // the sections of the entry being built, and their dotted paths
+  private final Deque<Map<String, Object>> sections = new ArrayDeque<>();
+  private final Deque<String> paths = new ArrayDeque<>();
+  private String entryKey;
+  private Map<String, List<String>> entryComments = new LinkedHashMap<>();
+
+  /**
+   * Writes the specified top level entry.
+   *
+   * @param key the key of the entry
+   * @param value the value of the entry, a {@link Map} if it is a section
+   * @param comments the comments of the entry and of the values in it, by their dotted path
+   * @throws IOException if an i/o occurs
+   */
+  protected abstract void writeEntry(String key, Object value, Map<String, List<String>> comments)
+      throws IOException;
+
+  @Override
+  public void beginSection(String key, List<String> comments) {
+    Map<String, Object> section = new LinkedHashMap<>();
+    String path;
+    if (sections.isEmpty()) {
+      entryKey = key;
+      path = key;
+    } else {
+      sections.peekLast().put(key, section);
+      path = paths.peekLast() + "." + key;
+    }
+    sections.addLast(section);
+    paths.addLast(path);
+    if (!comments.isEmpty()) {
+      entryComments.put(path, comments);
+    }
+  }
+
+  @Override
+  public void scalar(String key, Object value, List<String> comments) throws IOException {
+    if (sections.isEmpty()) {
+      writeEntry(
+          key,
+          value,
+          comments.isEmpty() ? Collections.emptyMap() : Collections.singletonMap(key, comments));
+      return;
+    }
+    sections.peekLast().put(key, value);
+    if (!comments.isEmpty()) {
+      entryComments.put(paths.peekLast() + "." + key, comments);
+    }
+  }
+
+  @Override
+  public void endSection() throws IOException {
+    if (sections.isEmpty()) {
+      throw new IllegalStateException("No section has been begun");
+    }
+    Map<String, Object> section = sections.removeLast();
+    paths.removeLast();
+    if (sections.isEmpty()) {
+      Map<String, List<String>> comments = entryComments;
+      entryComments = new LinkedHashMap<>();
+      writeEntry(entryKey, section, comments);
+    }
+  }
+}
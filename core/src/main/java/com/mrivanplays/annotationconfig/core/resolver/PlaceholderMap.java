@@ -1,37 +1,46 @@
 package com.mrivanplays.annotationconfig.core.resolver;
 
 import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map.Entry;
 
-class PlaceholderMap implements Iterable<Entry<String, String>> {
+/** An immutable list of placeholders; {@link #with(String, String)} returns a new map. */
+final class PlaceholderMap implements Iterable<Entry<String, String>> {
 
-  private List<Entry<String, String>> entries;
+  static final PlaceholderMap EMPTY = new PlaceholderMap(noEntries());
 
-  PlaceholderMap() {
-    this.entries = new LinkedList<>();
+  private final Entry<String, String>[] entries;
+
+  private PlaceholderMap(Entry<String, String>[] entries) {
+    this.entries = entries;
+  }
+
+  @SuppressWarnings("unchecked") // empty, so it holds no entries of any other type
+  private static Entry<String, String>[] noEntries() {
+    return (Entry<String, String>[]) new Entry<?, ?>[0];
   }
 
   public int size() {
-    return this.entries.size();
+    return this.entries.length;
   }
 
   public boolean empty() {
-    return this.entries.isEmpty();
+    return this.entries.length == 0;
   }
 
-  public void put(String key, String value) {
-    this.entries.add(new AbstractMap.SimpleEntry<>(key, value));
+  public PlaceholderMap with(String key, String value) {
+    Entry<String, String>[] copy = Arrays.copyOf(this.entries, this.entries.length + 1);
+    copy[this.entries.length] = new AbstractMap.SimpleImmutableEntry<>(key, value);
+    return new PlaceholderMap(copy);
   }
 
   public Entry<String, String> first() {
-    return this.entries.get(0);
+    return this.entries[0];
   }
 
   @Override
   public Iterator<Entry<String, String>> iterator() {
-    return this.entries.iterator();
+    return Arrays.asList(this.entries).iterator();
   }
 }
@@ -0,0 +1,64 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor.Token;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Represents a {@link ValueReader} which reads the values lazily, through a {@link ValueCursor}.
+ *
+ * <p>When a config resolver has a streaming value reader, it binds the read values directly to the
+ * options of the config, so only the values of known options are materialized and the rest are
+ * skipped. This works with {@link com.mrivanplays.annotationconfig.core.resolver.key.KeyResolver
+ * KeyResolver#DEFAULT} and {@link
+ * com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver}; with any other key resolver
+ * the values are read into a map with {@link #read(Reader, Settings)}.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+@FunctionalInterface
+public interface StreamingValueReader extends ValueReader {
+
+  /**
+   * Opens a {@link ValueCursor} over the values in the specified {@link Reader}. Can use the
+   * specified {@link Settings} to manipulate the ways the reader is parsed.
+   *
+   * <p>The first token of the cursor should be the {@link Token#START_SECTION} of the config. A
+   * cursor with no tokens, or with a single null {@link Token#SCALAR}, represents an empty config.
+   *
+   * @param reader the reader we need read
+   * @param settings the settings
+   * @return value cursor
+   * @throws IOException if an io occurs
+   */
+  ValueCursor open(Reader reader, Settings settings) throws IOException;
+
+  /**
+   * Reads all the values of the cursor {@link #open(Reader, Settings) opened} for the specified
+   * {@link Reader} to a {@link Map}.
+   *
+   * @param reader the reader we need read
+   * @param settings the settings
+   * @return the values read, represented as a map, or empty map if no values have been read
+   * @throws IOException if an io occurs
+   * @throws IllegalArgumentException if the config is not a section
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  default Map<String, Object> read(Reader reader, Settings settings) throws IOException {
+    try (ValueCursor cursor = open(reader, settings)) {
+      Token token = cursor.next();
+      if (token == null || (token == Token.SCALAR && cursor.getScalar() == null)) {
+        return Collections.emptyMap();
+      }
+      if (token != Token.START_SECTION) {
+        throw new IllegalArgumentException("The config is not a section, but a " + token);
+      }
+      return (Map<String, Object>) cursor.readValue();
+    }
+  }
+}
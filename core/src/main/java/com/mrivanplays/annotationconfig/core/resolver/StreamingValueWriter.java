@@ -0,0 +1,60 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a {@link ValueWriter} to which the values are emitted one by one, through a {@link
+ * ValueEmitter}.
+ *
+ * <p>When a config resolver has a streaming value writer, it emits the values straight out of the
+ * options of the config, without building a map of all the values and their comments first. This
+ * works with {@link com.mrivanplays.annotationconfig.core.resolver.key.KeyResolver
+ * KeyResolver#DEFAULT} and {@link
+ * com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver}; with any other key
+ * resolver, or when the config has a raw config option, the values are built and written with
+ * {@link #write(Map, Map, PrintWriter, Settings)}.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+@FunctionalInterface
+public interface StreamingValueWriter extends ValueWriter {
+
+  /**
+   * Opens a {@link ValueEmitter} which writes the values emitted to it to the specified {@link
+   * PrintWriter}. Can use the specified {@link Settings} to manipulate the way the values are
+   * written.
+   *
+   * @param writer the writer to write
+   * @param settings settings
+   * @return value emitter
+   * @throws IOException if an i/o occurs
+   */
+  ValueEmitter open(PrintWriter writer, Settings settings) throws IOException;
+
+  /**
+   * Emits the specified {@code values} to the emitter {@link #open(PrintWriter, Settings) opened}
+   * for the specified {@link PrintWriter}.
+   *
+   * @param values the values needed to be written
+   * @param fieldComments the comments of the fields
+   * @param writer the writer to write
+   * @param settings settings
+   * @throws IOException if an i/o occurs
+   */
+  @Override
+  default void write(
+      Map<String, Object> values,
+      Map<String, List<String>> fieldComments,
+      PrintWriter writer,
+      Settings settings)
+      throws IOException {
+    ValueEmitter emitter = open(writer, settings);
+    ValueEmitter.emit(values, fieldComments, emitter);
+    emitter.finish();
+  }
+}
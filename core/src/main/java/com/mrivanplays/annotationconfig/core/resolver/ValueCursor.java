@@ -0,0 +1,201 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import com.mrivanplays.annotationconfig.core.internal.MapValueCursor;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a forward-only cursor over the values of a config, as read by a {@link
+ * StreamingValueReader}.
+ *
+ * <p>A config is a {@link Token#START_SECTION section}, which holds {@link Token#KEY keys}, each
+ * followed by its value. A value is either a {@link Token#SCALAR scalar}, a section or a {@link
+ * Token#START_LIST list} of values. Sections and lists are closed by an {@link Token#END end}
+ * token. For example, the config
+ *
+ * <pre>{@code
+ * foo: bar
+ * baz:
+ *   - 1
+ *   - 2
+ * }</pre>
+ *
+ * is read as {@code START_SECTION, KEY(foo), SCALAR(bar), KEY(baz), START_LIST, SCALAR(1),
+ * SCALAR(2), END, END}.
+ *
+ * <p>Values are only materialized when they are asked for, so the values of unknown keys can be
+ * skipped with {@link #skipValue()} without being read into objects.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public interface ValueCursor extends Closeable {
+
+  /** Represents the type of token a {@link ValueCursor} is at. */
+  enum Token {
+    /** The start of a section (a map of values). */
+    START_SECTION,
+
+    /** The key of a value in a section. The value follows. */
+    KEY,
+
+    /**
+     * A value which is neither a section nor a list, as the format represents it, e.g. a {@link
+     * String}, {@link Number}, {@link Boolean} or {@code null}.
+     */
+    SCALAR,
+
+    /** The start of a list of values. */
+    START_LIST,
+
+    /** The end of the section or list started last. */
+    END
+  }
+
+  /**
+   * Advances the cursor to the next token.
+   *
+   * @return the next token, or null if there are no more tokens
+   * @throws IOException if an I/O error occurs
+   */
+  Token next() throws IOException;
+
+  /**
+   * Returns the token the cursor is at.
+   *
+   * @return current token, or null if the cursor hasn't been advanced yet or is exhausted
+   */
+  Token current();
+
+  /**
+   * Returns the key the cursor is at.
+   *
+   * @return key
+   * @throws IllegalStateException if the cursor is not at a {@link Token#KEY}
+   */
+  String getKey();
+
+  /**
+   * Returns the key the cursor is at as the format represents it, e.g. a {@link Number} for the
+   * numeric keys of formats which support them. Used as the key when reading sections into maps.
+   * Defaults to {@link #getKey()}.
+   *
+   * @return key, may be null
+   * @throws IllegalStateException if the cursor is not at a {@link Token#KEY}
+   */
+  default Object getKeyValue() {
+    return getKey();
+  }
+
+  /**
+   * Returns the scalar value the cursor is at.
+   *
+   * @return scalar value, may be null
+   * @throws IllegalStateException if the cursor is not at a {@link Token#SCALAR}
+   */
+  Object getScalar();
+
+  /**
+   * Skips the value the cursor is at. If the cursor is at a {@link Token#KEY}, the value of the
+   * key is skipped. If the cursor is at the start of a section or a list, the cursor is moved to
+   * its {@link Token#END}. Implementations are encouraged to override this method with one which
+   * doesn't materialize anything.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  default void skipValue() throws IOException {
+    Token token = current();
+    if (token == Token.KEY) {
+      token = nextToken(this);
+    }
+    if (token != Token.START_SECTION && token != Token.START_LIST) {
+      return;
+    }
+    int depth = 1;
+    while (depth > 0) {
+      token = nextToken(this);
+      if (token == Token.START_SECTION || token == Token.START_LIST) {
+        depth++;
+      } else if (token == Token.END) {
+        depth--;
+      }
+    }
+  }
+
+  /**
+   * Reads the value the cursor is at into plain objects: sections are read as {@link Map Maps},
+   * lists as {@link List Lists} and scalars are returned as they are. If the value is a section or
+   * a list, the cursor is moved to its {@link Token#END}.
+   *
+   * @return the value, may be null
+   * @throws IOException if an I/O error occurs
+   * @throws IllegalStateException if the cursor is not at the start of a value
+   */
+  default Object readValue() throws IOException {
+    Token token = current();
+    if (token == Token.SCALAR) {
+      return getScalar();
+    }
+    if (token == Token.START_SECTION) {
+      Map<Object, Object> section = new LinkedHashMap<>();
+      while ((token = nextToken(this)) != Token.END) {
+        if (token != Token.KEY) {
+          throw new IllegalStateException("Expected a key in a section, got " + token);
+        }
+        Object key = getKeyValue();
+        nextToken(this);
+        section.put(key, readValue());
+      }
+      return section;
+    }
+    if (token == Token.START_LIST) {
+      List<Object> list = new ArrayList<>();
+      while (nextToken(this) != Token.END) {
+        list.add(readValue());
+      }
+      return list;
+    }
+    throw new IllegalStateException("Not at the start of a value: " + token);
+  }
+
+  /**
+   * Closes this cursor. Whether the source of the cursor is closed is up to the implementation.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  default void close() throws IOException {}
+
+  /**
+   * Creates a new {@link ValueCursor} over the specified already read {@code values}. {@link Map
+   * Maps} in the values are reported as sections and {@link List Lists} as lists; anything else
+   * is reported as a scalar.
+   *
+   * @param values the values to create a cursor over
+   * @return value cursor
+   */
+  static ValueCursor of(Map<String, Object> values) {
+    return new MapValueCursor(values);
+  }
+
+  /**
+   * Advances the specified {@code cursor}, expecting more tokens.
+   *
+   * @param cursor the cursor to advance
+   * @return the next token
+   * @throws EOFException if there are no more tokens
+   * @throws IOException if an I/O error occurs
+   */
+  static Token nextToken(ValueCursor cursor) throws IOException {
+    Token token = cursor.next();
+    if (token == null) {
+      throw new EOFException("Unexpected end of the config");
+    }
+    return token;
+  }
+}
@@ -0,0 +1,77 @@
+package com.mrivanplays.annotationconfig.core.resolver;
+
+import com.mrivanplays.annotationconfig.core.internal.MapValueEmitter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a writer of the values of a config, which are emitted to it one by one, as a {@link
+ * StreamingValueWriter} writes them.
+ *
+ * <p>The values of a config are emitted in the order of its options. Sections (config objects and
+ * the segments of dotted keys) are opened with {@link #beginSection(String, List)} and closed with
+ * {@link #endSection()}; everything else is a {@link #scalar(String, Object, List) scalar}. Keys
+ * are always the key of the value in the section it is emitted in. After all values have been
+ * emitted, {@link #finish()} is called.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public interface ValueEmitter {
+
+  /**
+   * Begins a section with the specified {@code key}. The values emitted until the matching {@link
+   * #endSection()} are in that section.
+   *
+   * @param key the key of the section
+   * @param comments the comments of the section, may be empty
+   * @throws IOException if an i/o occurs
+   */
+  void beginSection(String key, List<String> comments) throws IOException;
+
+  /**
+   * Writes the specified {@code value} with the specified {@code key}. The value is anything the
+   * serializer of the option produced which is not a section, e.g. a {@link String}, a {@link
+   * Number}, a {@link List}, an array, a {@link MultilineString} or a {@link Map} an option is
+   * serialized to.
+   *
+   * @param key the key of the value
+   * @param value the value
+   * @param comments the comments of the value, may be empty
+   * @throws IOException if an i/o occurs
+   */
+  void scalar(String key, Object value, List<String> comments) throws IOException;
+
+  /**
+   * Ends the section begun last.
+   *
+   * @throws IOException if an i/o occurs
+   */
+  void endSection() throws IOException;
+
+  /**
+   * Called after all the values of the config have been emitted.
+   *
+   * @throws IOException if an i/o occurs
+   */
+  default void finish() throws IOException {}
+
+  /**
+   * Emits the specified already built {@code values} to the specified {@link ValueEmitter}, the
+   * same way {@link ValueWriter#write(Map, Map, java.io.PrintWriter,
+   * com.mrivanplays.annotationconfig.core.resolver.settings.Settings)} receives them. {@link Map
+   * Maps} in the values are emitted as sections, and comments are looked up in the {@code
+   * fieldComments} by the dotted path of the value. Doesn't call {@link #finish()}.
+   *
+   * @param values the values to emit
+   * @param fieldComments the comments of the values
+   * @param emitter the emitter to emit to
+   * @throws IOException if an i/o occurs
+   */
+  static void emit(
+      Map<String, Object> values, Map<String, List<String>> fieldComments, ValueEmitter emitter)
+      throws IOException {
+    MapValueEmitter.emit(values, fieldComments, emitter);
+  }
+}
@@ -0,0 +1,64 @@
+package com.mrivanplays.annotationconfig.core.resolver.binder;
+
+/**
+ * Represents a binder of an annotated config, generated at compile time by the
+ * annotationconfig-processor as {@code <Config>$Binder}. A binder reads and writes the options of
+ * the config with plain field accesses, so loading and dumping the config needs no reflection.
+ *
+ * <p>A binder is used whenever it binds all the options of the config. It is not used for the
+ * options inherited from superclasses when {@link
+ * com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings#FIND_PARENT_FIELDS} is
+ * enabled. Such configs are loaded and dumped reflectively.
+ *
+ * <p>Not meant to be implemented by hand.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public interface ConfigBinder {
+
+  /**
+   * Returns the names of the fields this binder binds. The index of a name is the index the field
+   * is referred to with by the other methods of the binder.
+   *
+   * @return bound field names
+   */
+  String[] getFieldNames();
+
+  /**
+   * Returns the value of the field at the specified {@code index} in the specified {@code
+   * instance}.
+   *
+   * @param instance config instance
+   * @param index field index
+   * @return value
+   */
+  Object get(Object instance, int index);
+
+  /**
+   * Sets the value of the field at the specified {@code index} in the specified {@code instance}.
+   *
+   * @param instance config instance
+   * @param index field index
+   * @param value new value
+   */
+  void set(Object instance, int index, Object value);
+
+  /**
+   * Loads the specified {@code instance}, by setting the value the specified {@link LoadContext}
+   * resolves for each of its options.
+   *
+   * @param instance config instance
+   * @param context load context
+   */
+  void load(Object instance, LoadContext context);
+
+  /**
+   * Dumps the specified {@code instance}, by handing the value of each of its options to the
+   * specified {@link DumpContext}.
+   *
+   * @param instance config instance
+   * @param context dump context
+   */
+  void dump(Object instance, DumpContext context);
+}
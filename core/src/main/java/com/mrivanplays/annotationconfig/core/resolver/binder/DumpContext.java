@@ -0,0 +1,26 @@
+package com.mrivanplays.annotationconfig.core.resolver.binder;
+
+/**
+ * Represents the receiver of the values of a config a {@link ConfigBinder} dumps. For each option,
+ * in {@link #order()}, the binder {@link #write(int, Object) writes} the value of the option.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public interface DumpContext {
+
+  /**
+   * Returns the indexes of the options to dump, in the order they should be dumped in.
+   *
+   * @return option indexes
+   */
+  int[] order();
+
+  /**
+   * Writes the specified {@code value} of the option at the specified {@code index}.
+   *
+   * @param index option index
+   * @param value option value
+   */
+  void write(int index, Object value);
+}
@@ -0,0 +1,126 @@
+package com.mrivanplays.annotationconfig.core.resolver.binder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates the {@link MethodHandle MethodHandles} generated {@link ConfigBinder ConfigBinders}
+ * access the fields they can't access directly with (e.g. private or final fields). The binders
+ * hold the handles in {@code static final} fields, which the JIT constant-folds, so after the
+ * handles are created once no reflection is involved.
+ *
+ * <p>Not meant to be used by hand.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public final class FieldHandles {
+
+  private static final MethodHandle NOT_WRITABLE;
+
+  static {
+    try {
+      NOT_WRITABLE =
+          MethodHandles.lookup()
+              .findStatic(
+                  FieldHandles.class,
+                  "notWritable",
+                  MethodType.methodType(void.class, String.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Creates a getter of the specified field. The getter takes the instance (unless the field is
+   * static) and returns the value as the specified {@code type}.
+   *
+   * @param declaringClass the class declaring the field
+   * @param name the name of the field
+   * @param type the type to return the value as
+   * @return getter
+   * @throws IllegalArgumentException if the field doesn't exist
+   */
+  public static MethodHandle getter(Class<?> declaringClass, String name, Class<?> type) {
+    Field field = getField(declaringClass, name);
+    try {
+      MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+      return getter.asType(getterType(field, type));
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException("Could not access field '" + name + "'", e);
+    }
+  }
+
+  /**
+   * Creates a setter of the specified field. The setter takes the instance (unless the field is
+   * static) and the value as the specified {@code type}. The setter of a static final field throws
+   * an {@link IllegalArgumentException}, like {@link Field#set(Object, Object)} would.
+   *
+   * @param declaringClass the class declaring the field
+   * @param name the name of the field
+   * @param type the type to take the value as
+   * @return setter
+   * @throws IllegalArgumentException if the field doesn't exist
+   */
+  public static MethodHandle setter(Class<?> declaringClass, String name, Class<?> type) {
+    Field field = getField(declaringClass, name);
+    MethodType getterType = getterType(field, type);
+    MethodType setterType =
+        getterType.changeReturnType(void.class).appendParameterTypes(getterType.returnType());
+    try {
+      return MethodHandles.lookup().unreflectSetter(field).asType(setterType);
+    } catch (IllegalAccessException e) {
+      // static final fields can't be written
+      MethodHandle notWritable =
+          MethodHandles.insertArguments(
+              NOT_WRITABLE, 0, "Could not access field '" + name + "' ; field is final");
+      return MethodHandles.dropArguments(notWritable, 0, setterType.parameterList());
+    }
+  }
+
+  /**
+   * Returns the specified {@link Throwable}, thrown by a field handle, as a {@link
+   * RuntimeException}, or throws it if it is an {@link Error}.
+   *
+   * @param throwable the thrown throwable
+   * @return runtime exception to throw
+   */
+  public static RuntimeException rethrow(Throwable throwable) {
+    if (throwable instanceof RuntimeException) {
+      return (RuntimeException) throwable;
+    }
+    if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+    return new IllegalStateException(throwable);
+  }
+
+  private static Field getField(Class<?> declaringClass, String name) {
+    try {
+      Field field = declaringClass.getDeclaredField(name);
+      field.setAccessible(true);
+      return field;
+    } catch (NoSuchFieldException e) {
+      throw new IllegalArgumentException(
+          "Field '" + name + "' not found in " + declaringClass.getName(), e);
+    }
+  }
+
+  private static MethodType getterType(Field field, Class<?> type) {
+    if (Modifier.isStatic(field.getModifiers())) {
+      return MethodType.methodType(type);
+    }
+    return MethodType.methodType(type, field.getDeclaringClass());
+  }
+
+  private static void notWritable(String message) {
+    throw new IllegalArgumentException(message);
+  }
+
+  private FieldHandles() {
+    throw new IllegalArgumentException("Initialisation of utility-type class.");
+  }
+}
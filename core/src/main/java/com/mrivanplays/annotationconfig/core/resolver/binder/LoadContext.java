@@ -0,0 +1,38 @@
+package com.mrivanplays.annotationconfig.core.resolver.binder;
+
+/**
+ * Represents the values a {@link ConfigBinder} loads a config with. For each option, in {@link
+ * #order()}, the binder asks the context to {@link #read(int, Object) read} the option, and sets
+ * the read {@link #value()} if there is one.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public interface LoadContext {
+
+  /**
+   * Returns the indexes of the options to load, in the order they should be loaded in.
+   *
+   * @return option indexes
+   */
+  int[] order();
+
+  /**
+   * Reads the value of the option at the specified {@code index}. Config objects (sections) are
+   * loaded in place, so they never have a value to set.
+   *
+   * @param index option index
+   * @param current the current value of the option
+   * @return whether the option should be set to {@link #value()}
+   * @throws IllegalArgumentException if the read value is invalid for the option
+   */
+  boolean read(int index, Object current);
+
+  /**
+   * Returns the value read last by {@link #read(int, Object)}. It is always of the type of the
+   * option, or its wrapper type if the option is primitive.
+   *
+   * @return read value
+   */
+  Object value();
+}
@@ -34,7 +34,7 @@ import java.util.Map;
  */
 public final class DottedResolver implements KeyResolver {
 
-  private static DottedResolver instance;
+  private static final DottedResolver INSTANCE = new DottedResolver();
 
   /**
    * Returns the instance of the {@link DottedResolver}
@@ -42,10 +42,7 @@ public final class DottedResolver implements KeyResolver {
    * @return instance
    */
   public static DottedResolver getInstance() {
-    if (instance == null) {
-      instance = new DottedResolver();
-    }
-    return instance;
+    return INSTANCE;
   }
 
   private DottedResolver() {}
@@ -53,98 +50,71 @@ public final class DottedResolver implements KeyResolver {
   /** {@inheritDoc} */
   @Override
   public Object unbox(String key, Map<String, Object> values) {
-    if (!key.contains(".")) {
+    if (key.indexOf('.') == -1) {
       return values.get(key);
     }
-
-    String[] parts = key.split("\\.");
-    int partsLength = parts.length;
-    Map<String, Object> currentMap = null;
-    for (int i = 0; i < partsLength; i++) {
-      String currentPart = parts[i];
-      if (currentMap == null) {
-        if (!values.containsKey(currentPart)) {
-          return null;
-        }
-        currentMap = getCurrentMap(values, currentPart, key, values);
-      } else {
-        if (!currentMap.containsKey(currentPart)) {
-          return null;
-        }
-        Object next = currentMap.get(currentPart);
-        if ((i + 1) == partsLength) {
-          return next;
-        } else {
-          if (!(next instanceof Map)) {
-            throw new IllegalArgumentException(
-                "Invalid unbox ; either key is invalid or the values map ; "
-                    + key
-                    + " ; "
-                    + values);
-          }
-          currentMap = (Map<String, Object>) next;
-        }
-      }
-    }
-    return null;
+    return unbox(KeyPath.of(key), values);
   }
 
-  private Map<String, Object> getCurrentMap(
-      Map<String, Object> current, String part, String key, Map<String, Object> values) {
-    Object curr = current.get(part);
-    if (!(curr instanceof Map)) {
-      throw new IllegalArgumentException(
-          "Invalid unbox ; either key is invalid or the values map ; " + key + " ; " + values);
+  /** {@inheritDoc} */
+  @Override
+  public Object unbox(KeyPath path, Map<String, Object> values) {
+    int last = path.size() - 1;
+    if (last <= 0) {
+      return last == 0 ? values.get(path.get(0)) : null;
     }
-    return (Map<String, Object>) curr;
+    Map<String, Object> currentMap = values;
+    for (int i = 0; i < last; i++) {
+      Object next = currentMap.get(path.get(i));
+      if (next == null && !currentMap.containsKey(path.get(i))) {
+        return null;
+      }
+      if (!(next instanceof Map)) {
+        throw new IllegalArgumentException(
+            "Invalid unbox ; either key is invalid or the values map ; "
+                + path.getKey()
+                + " ; "
+                + values);
+      }
+      currentMap = (Map<String, Object>) next;
+    }
+    return currentMap.get(path.get(last));
   }
 
   /** {@inheritDoc} */
   @Override
   public void boxTo(String key, Object value, Map<String, Object> values) {
-    if (!key.contains(".")) {
+    if (key.indexOf('.') == -1) {
       values.put(key, value);
       return;
     }
-
-    String[] parts = key.split("\\.");
-    int partsLength = parts.length;
-    Map<String, Object> currentMap = null;
-    for (int i = (partsLength - 1); i > 0; i--) {
-      if (currentMap == null) {
-        currentMap = getCurrentMap(parts, i, values);
-        if (currentMap.containsKey(parts[i])) {
-          throw new IllegalArgumentException("Illegal key to box '" + key + "'");
-        }
-        currentMap.put(parts[i], value);
-      } else {
-        Map<String, Object> newMap = getCurrentMap(parts, i, values);
-        newMap.put(parts[i], currentMap);
-        currentMap = newMap;
-      }
-    }
-    values.put(parts[0], currentMap);
+    boxTo(KeyPath.of(key), value, values);
   }
 
-  private Map<String, Object> getCurrentMap(
-      String[] keyParts, int currentPart, Map<String, Object> target) {
-    Map<String, Object> currentMap = target;
-    for (int i = 0; i < keyParts.length; i++) {
-      String part = keyParts[i];
-      if (currentMap.containsKey(part)) {
-        Object val = currentMap.get(part);
-        if (!(val instanceof Map)) {
-          throw new IllegalArgumentException("Illegal dotted key syntax.");
-        }
-        currentMap = (Map<String, Object>) val;
+  /** {@inheritDoc} */
+  @Override
+  public void boxTo(KeyPath path, Object value, Map<String, Object> values) {
+    int last = path.size() - 1;
+    if (last < 0) {
+      throw new IllegalArgumentException("Illegal key to box '" + path.getKey() + "'");
+    }
+    Map<String, Object> currentMap = values;
+    for (int i = 0; i < last; i++) {
+      String part = path.get(i);
+      Object next = currentMap.get(part);
+      if (next == null) {
+        Map<String, Object> newMap = new LinkedHashMap<>();
+        currentMap.put(part, newMap);
+        currentMap = newMap;
+      } else if (next instanceof Map) {
+        currentMap = (Map<String, Object>) next;
       } else {
-        currentMap = new LinkedHashMap<>();
-        break;
-      }
-      if (i == (currentPart - 1)) {
-        break;
+        throw new IllegalArgumentException("Illegal dotted key syntax.");
       }
     }
-    return currentMap;
+    if (last > 0 && currentMap.containsKey(path.get(last))) {
+      throw new IllegalArgumentException("Illegal key to box '" + path.getKey() + "'");
+    }
+    currentMap.put(path.get(last), value);
   }
 }
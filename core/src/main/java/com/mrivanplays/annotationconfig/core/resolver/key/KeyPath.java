@@ -0,0 +1,116 @@
+package com.mrivanplays.annotationconfig.core.resolver.key;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a precompiled config key. The key is split into its dotted segments once, so {@link
+ * KeyResolver KeyResolvers} don't have to parse it on every load and dump. The segments are
+ * interned.
+ *
+ * <p>Splitting follows {@link String#split(String)} with {@code "\\."}, e.g. trailing empty
+ * segments are removed.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public final class KeyPath {
+
+  /**
+   * Creates a new {@link KeyPath} out of the specified {@code key}.
+   *
+   * @param key the key to compile
+   * @return key path
+   */
+  public static KeyPath of(String key) {
+    Objects.requireNonNull(key, "key");
+    if (key.indexOf('.') == -1) {
+      return new KeyPath(key, new String[] {key.intern()});
+    }
+    List<String> segments = new ArrayList<>();
+    int start = 0;
+    int dot;
+    while ((dot = key.indexOf('.', start)) != -1) {
+      segments.add(key.substring(start, dot));
+      start = dot + 1;
+    }
+    segments.add(key.substring(start));
+    int size = segments.size();
+    while (size > 0 && segments.get(size - 1).isEmpty()) {
+      size--;
+    }
+    String[] parts = new String[size];
+    for (int i = 0; i < size; i++) {
+      parts[i] = segments.get(i).intern();
+    }
+    return new KeyPath(key, parts);
+  }
+
+  private final String key;
+  private final String[] segments;
+
+  private KeyPath(String key, String[] segments) {
+    this.key = key;
+    this.segments = segments;
+  }
+
+  /**
+   * Returns the key this path was compiled from.
+   *
+   * @return key
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Returns the amount of segments this path has.
+   *
+   * @return segment count
+   */
+  public int size() {
+    return segments.length;
+  }
+
+  /**
+   * Returns the segment at the specified {@code index}.
+   *
+   * @param index segment index
+   * @return segment
+   */
+  public String get(int index) {
+    return segments[index];
+  }
+
+  /**
+   * Returns whether this path consists of more than 1 segment.
+   *
+   * @return whether dotted
+   */
+  public boolean isDotted() {
+    return segments.length > 1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return key.equals(((KeyPath) o).key);
+  }
+
+  @Override
+  public int hashCode() {
+    return key.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "KeyPath{" + "key='" + key + '\'' + ", segments=" + Arrays.toString(segments) + '}';
+  }
+}
@@ -46,4 +46,31 @@ public interface KeyResolver {
    * @param values the place where the value shall be put
    */
   void boxTo(String key, Object value, Map<String, Object> values);
+
+  /**
+   * Same as {@link #unbox(String, Map)}, but with a precompiled {@link KeyPath}. AnnotationConfig
+   * prefers this method. Defaults to {@link #unbox(String, Map)} with the path's key.
+   *
+   * @param path the path of the value
+   * @param values the values to unbox it from
+   * @return value or null
+   * @since 3.0.2
+   */
+  default Object unbox(KeyPath path, Map<String, Object> values) {
+    return unbox(path.getKey(), values);
+  }
+
+  /**
+   * Same as {@link #boxTo(String, Object, Map)}, but with a precompiled {@link KeyPath}.
+   * AnnotationConfig prefers this method. Defaults to {@link #boxTo(String, Object, Map)} with the
+   * path's key.
+   *
+   * @param path the path of the value
+   * @param value the value to box
+   * @param values the place where the value shall be put
+   * @since 3.0.2
+   */
+  default void boxTo(KeyPath path, Object value, Map<String, Object> values) {
+    boxTo(path.getKey(), value, values);
+  }
 }
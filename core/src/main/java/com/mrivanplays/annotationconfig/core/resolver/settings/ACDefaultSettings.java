@@ -41,18 +41,56 @@ public final class ACDefaultSettings {
   public static final Setting<Boolean> FIND_PARENT_FIELDS =
       Setting.of("find_parent_fields", Boolean.class);
 
-  private static Settings defaults;
+  /**
+   * A setting indicating whether dumping a config to a file should force the written content to
+   * the storage device before the file is replaced.
+   *
+   * <p>Configs are always written to a temporary file first, which then atomically replaces the
+   * config file, so readers never see a partially written config. Enabling this setting also makes
+   * the new content survive a system crash, at the cost of slower dumps. Defaults to {@code
+   * false}.
+   *
+   * @since 3.0.2
+   */
+  public static final Setting<Boolean> FSYNC_ON_DUMP = Setting.of("fsync_on_dump", Boolean.class);
+
+  /**
+   * A setting indicating whether config files should be locked while they are loaded or dumped, so
+   * other processes using this setting don't dump a config file while it is being read, or dump it
+   * at the same time.
+   *
+   * <p>A config file is locked through a hidden lock file next to it ({@code .<name>.lock}), which
+   * is held exclusively by dumps, and shared by loads unless {@link #GENERATE_NEW_OPTIONS} is
+   * enabled: such a load may dump the options it finds missing, and a shared lock can't be
+   * upgraded, so it holds the lock exclusively until they are dumped. Defaults to {@code false}.
+   *
+   * @since 3.0.2
+   */
+  public static final Setting<Boolean> LOCK_FILES = Setting.of("lock_files", Boolean.class);
+
+  /**
+   * A setting holding how long, in milliseconds, to wait for the lock of a config file when {@link
+   * #LOCK_FILES} is enabled, before the load or dump fails. Defaults to {@code 10000}.
+   *
+   * @since 3.0.2
+   */
+  public static final Setting<Long> LOCK_TIMEOUT = Setting.of("lock_timeout", Long.class);
 
   public static Settings getDefault() {
-    if (defaults != null) {
-      return defaults;
-    }
-    return defaults =
+    return Defaults.SETTINGS;
+  }
+
+  private static final class Defaults {
+
+    static final Settings SETTINGS =
         new Settings()
             .put(SHOULD_REVERSE_FIELDS, false)
             .put(NULL_READ_HANDLER, NullReadHandleOption.SET_NULL)
             .put(GENERATE_NEW_OPTIONS, true)
             .put(FIND_PARENT_FIELDS, false)
+            .put(FSYNC_ON_DUMP, false)
+            .put(LOCK_FILES, false)
+            .put(LOCK_TIMEOUT, 10000L)
             .copy(true);
   }
 }
@@ -15,6 +15,13 @@ public interface Setting<T> {
     Objects.requireNonNull(key, "key");
     Objects.requireNonNull(type, "type");
     return new Setting<T>() {
+      private final int id = Settings.idOf(key);
+
+      @Override
+      public int id() {
+        return id;
+      }
+
       @Override
       public String key() {
         return key;
@@ -56,6 +63,21 @@ public interface Setting<T> {
    */
   Class<T> type();
 
+  /**
+   * Returns the id of the key of this setting, which {@link Settings} store the value of this
+   * setting at. Settings with the same key have the same id.
+   *
+   * <p>This is called on every lookup of the setting. The default implementation looks the id up by
+   * the key every time; implementations should look it up once and hold it, like the settings
+   * created with {@link #of(String, Class)} do.
+   *
+   * @return setting id
+   * @since 3.0.2
+   */
+  default int id() {
+    return Settings.idOf(key());
+  }
+
   /**
    * Compares 2 {@code Setting} objects to check whether they are equal.
    *
@@ -1,46 +1,70 @@
 package com.mrivanplays.annotationconfig.core.resolver.settings;
 
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Represents a {@link Setting} holder.
+ * Represents a {@link Setting} holder. Values are stored in an array indexed by the {@link
+ * Setting#id() id} of their setting, so looking one up is a single array read.
  *
  * @since 3.0.0
  * @author MrIvanPlays
  */
 public final class Settings {
 
-  private Map<String, Object> values = new LinkedHashMap<>();
+  private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+  private static final AtomicInteger NEXT_ID = new AtomicInteger();
+  private static final Object[] NO_VALUES = new Object[0];
+
+  /**
+   * Returns the id of the specified setting key. Ids are small integers, handed out in the order
+   * keys are first seen, and never change afterwards.
+   */
+  static int idOf(String key) {
+    Integer id = IDS.get(key);
+    if (id != null) {
+      return id;
+    }
+    return IDS.computeIfAbsent(key, $ -> NEXT_ID.getAndIncrement());
+  }
+
+  // indexed by setting id; a null slot holds no value
+  private Object[] values;
   private final boolean immutable;
 
   public Settings() {
     this.immutable = false;
+    this.values = NO_VALUES;
   }
 
-  private Settings(boolean immutable, Map<String, Object> values) {
+  private Settings(boolean immutable, Object[] values) {
     this.immutable = immutable;
     this.values = values;
   }
 
   /**
-   * Creates a mutable copy of the current settings object.
+   * Creates a mutable copy of the current settings object. Changes to the copy don't affect this
+   * settings object, and vice versa.
    *
    * @return copy
    */
   public Settings copy() {
-    return new Settings(false, this.values);
+    return copy(false);
   }
 
   /**
-   * Creates a copy of the current settings object.
+   * Creates a copy of the current settings object. Changes to the copy don't affect this settings
+   * object, and vice versa.
    *
    * @param immutable whether the copy to be immutable
    * @return copy
    */
   public Settings copy(boolean immutable) {
-    return new Settings(immutable, this.values);
+    return new Settings(immutable, this.values.length == 0 ? NO_VALUES : this.values.clone());
   }
 
   /**
@@ -50,7 +74,7 @@ public final class Settings {
    * @return whether it has value or not
    */
   public boolean has(Setting<?> setting) {
-    return this.values.containsKey(setting.key());
+    return this.value(setting.id()) != null;
   }
 
   /**
@@ -64,7 +88,7 @@ public final class Settings {
 
   /**
    * Puts the specified {@link Setting} {@code setting} {@code value} into this settings instance,
-   * or if it already exists it replaces it.
+   * or if it already exists it replaces it. A null value removes the value of the setting.
    *
    * @param setting setting to modify
    * @param value value to put/replace
@@ -76,22 +100,19 @@ public final class Settings {
     if (immutable) {
       throw new UnsupportedOperationException("This settings instance is immutable");
     }
-    if (this.values.containsKey(setting.key())) {
-      Object val = this.values.get(setting.key());
-      if (!setting.type().isAssignableFrom(val.getClass())) {
-        throw new IllegalArgumentException(
-            "key matches for 2 different data types: key '"
-                + setting.key()
-                + "' cannot store both "
-                + val.getClass().getName()
-                + "' and '"
-                + setting.type().getName()
-                + "' value types");
-      }
-      this.values.replace(setting.key(), value);
-    } else {
-      this.values.put(setting.key(), value);
+    int id = setting.id();
+    Object val = this.value(id);
+    if (val != null && !setting.type().isAssignableFrom(val.getClass())) {
+      throw new IllegalArgumentException(
+          "key matches for 2 different data types: key '"
+              + setting.key()
+              + "' cannot store both "
+              + val.getClass().getName()
+              + "' and '"
+              + setting.type().getName()
+              + "' value types");
     }
+    this.set(id, value);
     return this;
   }
 
@@ -107,11 +128,10 @@ public final class Settings {
     if (immutable) {
       throw new UnsupportedOperationException("This settings instance is immutable");
     }
-    if (!settings.values.isEmpty()) {
-      for (Map.Entry<String, Object> entry : settings.values.entrySet()) {
-        if (!this.values.containsKey(entry.getKey())) {
-          this.values.put(entry.getKey(), entry.getValue());
-        }
+    Object[] other = settings.values;
+    for (int id = 0; id < other.length; id++) {
+      if (other[id] != null && this.value(id) == null) {
+        this.set(id, other[id]);
       }
     }
     return this;
@@ -127,11 +147,27 @@ public final class Settings {
    * @param <T> value type
    */
   public <T> Optional<T> get(Setting<T> setting) {
-    if (!this.values.containsKey(setting.key())) {
-      return Optional.empty();
+    return Optional.ofNullable(this.getOrDefault(setting, null));
+  }
+
+  /**
+   * Returns the stored value in these settings of the specified {@link Setting}, or the specified
+   * {@code defaultValue} if there is none. Unlike {@link #get(Setting)}, this doesn't allocate.
+   *
+   * @param setting the setting needed to get
+   * @param defaultValue the value to return if there is no stored value
+   * @return stored value, or the default value
+   * @throws IllegalArgumentException if the submitted setting's type mismatches the setting type
+   *     held.
+   * @param <T> value type
+   * @since 3.0.2
+   */
+  public <T> T getOrDefault(Setting<T> setting, T defaultValue) {
+    Object val = this.value(setting.id());
+    if (val == null) {
+      return defaultValue;
     }
-    Object val = this.values.get(setting.key());
-    if (!setting.type().isAssignableFrom(val.getClass())) {
+    if (!setting.type().isInstance(val)) {
       throw new IllegalArgumentException(
           "tried to access '"
               + setting.key()
@@ -141,7 +177,30 @@ public final class Settings {
               + val.getClass().getName()
               + "'");
     }
-    return Optional.of(setting.type().cast(val));
+    return setting.type().cast(val);
+  }
+
+  private Object value(int id) {
+    return id < this.values.length ? this.values[id] : null;
+  }
+
+  private void set(int id, Object value) {
+    if (id >= this.values.length) {
+      if (value == null) {
+        return;
+      }
+      this.values = Arrays.copyOf(this.values, id + 1);
+    }
+    this.values[id] = value;
+  }
+
+  // the number of slots, ignoring trailing empty ones
+  private int length() {
+    int length = this.values.length;
+    while (length > 0 && this.values[length - 1] == null) {
+      length--;
+    }
+    return length;
   }
 
   @Override
@@ -154,12 +213,24 @@ public final class Settings {
     }
 
     Settings settings = (Settings) o;
-
-    return values.equals(settings.values);
+    int length = this.length();
+    if (length != settings.length()) {
+      return false;
+    }
+    for (int id = 0; id < length; id++) {
+      if (!Objects.equals(this.values[id], settings.values[id])) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return values.hashCode();
+    int hash = 1;
+    for (int id = 0, length = this.length(); id < length; id++) {
+      hash = 31 * hash + Objects.hashCode(this.values[id]);
+    }
+    return hash;
   }
 }
@@ -1,11 +1,11 @@
 package com.mrivanplays.annotationconfig.core.serialization;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiPredicate;
 
@@ -88,6 +88,11 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
   private final Class<E> enumClass;
   private final BiPredicate<Integer, List<String>> matchesCondition;
 
+  // index of the constants, built once: constants by name, and the constants with their name
+  // parts bucketed by the amount of parts
+  private final Map<String, E> constantsByName;
+  private final List<List<IndexedConstant<E>>> constantsByPartCount;
+
   private AdvancedEnumSerializer(Class<E> enumClass) {
     this(enumClass, DEFAULT_MATCHES_CONDITION);
   }
@@ -102,6 +107,24 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
     }
     this.enumClass = enumClass;
     this.matchesCondition = Objects.requireNonNull(matchesCondition, "matchesCondition");
+
+    E[] constants = enumClass.getEnumConstants();
+    this.constantsByName = new HashMap<>(constants.length * 2);
+    this.constantsByPartCount = new ArrayList<>();
+    for (E val : constants) {
+      String name = val.name();
+      this.constantsByName.put(name, val);
+      String[] parts = null;
+      int length = 1;
+      if (containsChar(name, '_')) {
+        parts = name.split("_");
+        length = parts.length;
+      }
+      while (this.constantsByPartCount.size() <= length) {
+        this.constantsByPartCount.add(new ArrayList<>());
+      }
+      this.constantsByPartCount.get(length).add(new IndexedConstant<>(val, parts));
+    }
   }
 
   /** {@inheritDoc} */
@@ -113,11 +136,10 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
       return null;
     }
 
-    // try firstly to parse it using Enum#valueOf
-    try {
-      return Enum.valueOf(enumClass, input.toUpperCase(Locale.ROOT));
-    } catch (IllegalArgumentException e) {
-      // no enum constant, continue
+    // try firstly to find it by the constant name
+    E byName = constantsByName.get(input.toUpperCase(Locale.ROOT));
+    if (byName != null) {
+      return byName;
     }
 
     List<String> parts = getParts(input);
@@ -135,21 +157,23 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
       }
     }
     // try this input as the enum constant
-    try {
-      return Enum.valueOf(enumClass, enumFriendlyNormalizedInput.toString());
-    } catch (IllegalArgumentException e) {
-      // no enum constant, continue
+    byName = constantsByName.get(enumFriendlyNormalizedInput.toString());
+    if (byName != null) {
+      return byName;
     }
 
     // find all the constants with parts.size
-    EnumSet<E> possibleConstants = getSearchThroughConstants(parts.size());
+    if (parts.size() >= constantsByPartCount.size()) {
+      return null;
+    }
+    List<IndexedConstant<E>> possibleConstants = constantsByPartCount.get(parts.size());
     if (possibleConstants.isEmpty()) {
       return null;
     }
 
     // try to make our lives easier
     if (possibleConstants.size() == 1) {
-      return possibleConstants.stream().findFirst().orElse(null);
+      return possibleConstants.get(0).constant;
     }
 
     // last effort: findTheBestMatch
@@ -163,22 +187,17 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
    * @param parts the matches to search for in an constant parts
    * @return best match
    */
-  private E findTheBestMatch(EnumSet<E> values, List<String> parts) {
-    for (E val : values) {
+  private E findTheBestMatch(List<IndexedConstant<E>> values, List<String> parts) {
+    for (IndexedConstant<E> val : values) {
       // this filters out even more the possible values
-      String name = val.name();
-      List<String> list = null;
-      if (containsChar(name, '_')) {
-        list = Arrays.asList(name.split("_"));
-      } else {
+      String[] list = val.parts;
+      if (list == null) {
         // skip entirely the map if parts.size() is 1
         if (parts.size() == 1) {
-          if (name.equalsIgnoreCase(parts.get(0))) {
-            return val;
+          if (val.constant.name().equalsIgnoreCase(parts.get(0))) {
+            return val.constant;
           }
         }
-      }
-      if (list == null) {
         continue;
       }
 
@@ -191,37 +210,13 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
         }
       }
       if (matchesCondition.test(matches, parts)) {
-        return val;
+        return val.constant;
       }
     }
     // sorry but for sure this has been an invalid input
     return null;
   }
 
-  /**
-   * Gets the enum constants, parts of which equal the inputted length.
-   *
-   * @param length the length of the parts
-   * @return enum set
-   */
-  private EnumSet<E> getSearchThroughConstants(int length) {
-    EnumSet<E> ret = EnumSet.noneOf(enumClass);
-    for (E val : enumClass.getEnumConstants()) {
-      String name = val.name();
-      if (containsChar(name, '_')) {
-        String[] parts = name.split("_");
-        if (parts.length == length) {
-          ret.add(val);
-        }
-      } else {
-        if (length == 1) {
-          ret.add(val);
-        }
-      }
-    }
-    return ret;
-  }
-
   /**
    * Tries to split the value to its base parts.
    *
@@ -250,7 +245,7 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
     return parts;
   }
 
-  private boolean containsChar(String val, char c) {
+  private static boolean containsChar(String val, char c) {
     return val.indexOf(c) != -1;
   }
 
@@ -260,4 +255,16 @@ public final class AdvancedEnumSerializer<E extends Enum<E>> implements FieldTyp
       E value, SerializationContext<E> context, AnnotationAccessor annotations) {
     return new DataObject(value.name().toLowerCase(Locale.ROOT).replace("_", " "));
   }
+
+  private static final class IndexedConstant<E> {
+
+    private final E constant;
+    // the name split by '_', or null if the name doesn't contain '_'
+    private final String[] parts;
+
+    IndexedConstant(E constant, String[] parts) {
+      this.constant = constant;
+      this.parts = parts;
+    }
+  }
 }
@@ -2,12 +2,16 @@ package com.mrivanplays.annotationconfig.core.serialization;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A class, which stores read from config values or serialized values in a developer friendly way.
@@ -27,6 +31,11 @@ public final class DataObject {
   }
 
   private Map<String, DataObject> serialize;
+  // lazy view mode: the wrapped map of an immutable data object, whose children are only created
+  // on access
+  private final Map<String, Object> view;
+  // the children of a view, created on first access
+  private volatile Map<String, DataObject> viewEntries;
   private final Object data;
 
   private final boolean immutable;
@@ -34,6 +43,7 @@ public final class DataObject {
   /** Constructs a empty data object */
   public DataObject() {
     this.serialize = null;
+    this.view = null;
     this.data = null;
     this.immutable = false;
   }
@@ -53,7 +63,10 @@ public final class DataObject {
    * converted, so it's values are accessible.
    *
    * <p>The {@code immutable} tag if set to {@code true} will make the data held in the created data
-   * object and in the created data object delegates immutable/unmodifiable.
+   * object and in the created data object delegates immutable/unmodifiable. An immutable data
+   * object holding a map with only {@link String} keys doesn't copy it, but wraps it instead; the
+   * delegates are created upon access. Such a data object takes ownership of the map: it, and the
+   * maps and lists in it, must not be modified afterwards.
    *
    * @param data the data which is stored
    * @param immutable whether immutable
@@ -63,18 +76,26 @@ public final class DataObject {
     if (data == null) {
       this.data = null;
       this.serialize = null;
+      this.view = null;
       return;
     }
     if (data instanceof Map) {
+      this.data = null;
+      if (immutable && hasStringKeys((Map<?, ?>) data)) {
+        this.view = wrap((Map<?, ?>) data);
+        this.serialize = null;
+        return;
+      }
+      this.view = null;
       Map<Object, Object> map = (Map<Object, Object>) data;
       this.serialize = new LinkedHashMap<>();
       for (Map.Entry<Object, Object> entry : map.entrySet()) {
         this.serialize.put(
             String.valueOf(entry.getKey()), new DataObject(entry.getValue(), immutable));
       }
-      this.data = null;
       return;
     }
+    this.view = null;
     this.data = data;
   }
 
@@ -91,15 +112,24 @@ public final class DataObject {
    * Constructs a data object, which holds the specified map data.
    *
    * <p>The {@code immutable} tag if set to {@code true} will make the data held in the created data
-   * object and in the created data object delegates immutable/unmodifiable.
+   * object and in the created data object delegates immutable/unmodifiable. An immutable data
+   * object doesn't copy the map, but wraps it instead; the delegates are created upon access. The
+   * data object then takes ownership of the map: it, and the maps and lists in it, must not be
+   * modified afterwards.
    *
    * @param data the data which is stored
    * @param immutable whether immutable
    */
   public DataObject(Map<String, Object> data, boolean immutable) {
     this.data = null;
-    this.serialize = new LinkedHashMap<>();
     this.immutable = immutable;
+    if (immutable && data != null && hasStringKeys(data)) {
+      this.view = Collections.unmodifiableMap(data);
+      this.serialize = null;
+      return;
+    }
+    this.view = null;
+    this.serialize = new LinkedHashMap<>();
     if (data != null) {
       for (Map.Entry<String, Object> entry : data.entrySet()) {
         this.serialize.put(entry.getKey(), new DataObject(entry.getValue(), immutable));
@@ -113,6 +143,9 @@ public final class DataObject {
    * @return boolean value
    */
   public boolean isEmpty() {
+    if (this.view != null) {
+      return this.view.isEmpty();
+    }
     if (!isSingleValue()) {
       return this.serialize.isEmpty();
     }
@@ -125,7 +158,7 @@ public final class DataObject {
    * @return boolean value
    */
   public boolean isSingleValue() {
-    return this.serialize == null;
+    return this.serialize == null && this.view == null;
   }
 
   /**
@@ -145,6 +178,9 @@ public final class DataObject {
    */
   public boolean has(String key) {
     Objects.requireNonNull(key, "key");
+    if (this.view != null) {
+      return this.view.containsKey(key);
+    }
     if (this.serialize == null) {
       return false;
     }
@@ -160,10 +196,8 @@ public final class DataObject {
    */
   public DataObject get(String key) {
     Objects.requireNonNull(key, "key");
-    if (this.serialize == null) {
-      return null;
-    }
-    return this.serialize.get(key);
+    Map<String, DataObject> entries = entries();
+    return entries != null ? entries.get(key) : null;
   }
 
   /**
@@ -236,11 +270,15 @@ public final class DataObject {
 
   /**
    * Returns this data object as a {@link Map} with key type of {@link String} and a value type of
-   * {@link Object}. Modifying the returned map won't have any impact on this data object.
+   * {@link Object}. Modifying the returned map won't have any impact on this data object. If this
+   * data object is immutable, the returned map may be an unmodifiable view.
    *
    * @return data as base serialization map
    */
   public Map<String, Object> getAsMap() {
+    if (this.view != null) {
+      return new ConvertingMapView(this.view);
+    }
     if (this.serialize == null) {
       return Collections.emptyMap();
     }
@@ -325,9 +363,31 @@ public final class DataObject {
    * @see #getAsObject()
    */
   public int getAsInt() {
+    if (isIntegral(data)) {
+      long value = ((Number) data).longValue();
+      if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+        return (int) value;
+      }
+    }
     return Integer.parseInt(getAsString());
   }
 
+  /**
+   * Returns the held value by this data object as a {@link Integer}, or the specified {@code def}
+   * if the held value is not an int.
+   *
+   * @param def the value to return if the held value is not an int
+   * @return held int or default value
+   * @see #getAsInt()
+   */
+  public int getAsInt(int def) {
+    long value = toLong(def);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      return def;
+    }
+    return (int) value;
+  }
+
   /**
    * Returns the held value by this data object as a {@link Boolean}
    *
@@ -335,9 +395,37 @@ public final class DataObject {
    * @see #getAsObject()
    */
   public boolean getAsBoolean() {
+    if (data instanceof Boolean) {
+      return (Boolean) data;
+    }
     return Boolean.parseBoolean(getAsString());
   }
 
+  /**
+   * Returns the held value by this data object as a {@link Boolean}, or the specified {@code def}
+   * if the held value is neither a boolean, nor a {@code "true"} or {@code "false"} string
+   * (ignoring case).
+   *
+   * @param def the value to return if the held value is not a boolean
+   * @return held boolean or default value
+   * @see #getAsBoolean()
+   */
+  public boolean getAsBoolean(boolean def) {
+    if (data instanceof Boolean) {
+      return (Boolean) data;
+    }
+    if (data instanceof String) {
+      String value = (String) data;
+      if (value.equalsIgnoreCase("true")) {
+        return true;
+      }
+      if (value.equalsIgnoreCase("false")) {
+        return false;
+      }
+    }
+    return def;
+  }
+
   /**
    * Returns the held value by this data object as a {@link Byte}
    *
@@ -345,6 +433,12 @@ public final class DataObject {
    * @see #getAsObject()
    */
   public byte getAsByte() {
+    if (isIntegral(data)) {
+      long value = ((Number) data).longValue();
+      if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        return (byte) value;
+      }
+    }
     return Byte.parseByte(getAsString());
   }
 
@@ -365,9 +459,40 @@ public final class DataObject {
    * @see #getAsObject()
    */
   public double getAsDouble() {
+    if (data instanceof Double) {
+      return (Double) data;
+    }
+    if (isIntegral(data)) {
+      return ((Number) data).longValue();
+    }
     return Double.parseDouble(getAsString());
   }
 
+  /**
+   * Returns the held value by this data object as a {@link Double}, or the specified {@code def}
+   * if the held value is not a double.
+   *
+   * @param def the value to return if the held value is not a double
+   * @return held double or default value
+   * @see #getAsDouble()
+   */
+  public double getAsDouble(double def) {
+    if (data instanceof Double) {
+      return (Double) data;
+    }
+    if (isIntegral(data)) {
+      return ((Number) data).longValue();
+    }
+    if (!isNumeric(data)) {
+      return def;
+    }
+    try {
+      return Double.parseDouble(getAsString());
+    } catch (NumberFormatException e) {
+      return def;
+    }
+  }
+
   /**
    * Returns the held value by this data object as a {@link Float}
    *
@@ -375,9 +500,40 @@ public final class DataObject {
    * @see #getAsObject()
    */
   public float getAsFloat() {
+    if (data instanceof Float) {
+      return (Float) data;
+    }
+    if (isIntegral(data)) {
+      return ((Number) data).longValue();
+    }
     return Float.parseFloat(getAsString());
   }
 
+  /**
+   * Returns the held value by this data object as a {@link Float}, or the specified {@code def} if
+   * the held value is not a float.
+   *
+   * @param def the value to return if the held value is not a float
+   * @return held float or default value
+   * @see #getAsFloat()
+   */
+  public float getAsFloat(float def) {
+    if (data instanceof Float) {
+      return (Float) data;
+    }
+    if (isIntegral(data)) {
+      return ((Number) data).longValue();
+    }
+    if (!isNumeric(data)) {
+      return def;
+    }
+    try {
+      return Float.parseFloat(getAsString());
+    } catch (NumberFormatException e) {
+      return def;
+    }
+  }
+
   /**
    * Returns the held value by this data object as a {@link Long}
    *
@@ -385,9 +541,24 @@ public final class DataObject {
    * @see #getAsObject()
    */
   public long getAsLong() {
+    if (isIntegral(data)) {
+      return ((Number) data).longValue();
+    }
     return Long.parseLong(getAsString());
   }
 
+  /**
+   * Returns the held value by this data object as a {@link Long}, or the specified {@code def} if
+   * the held value is not a long.
+   *
+   * @param def the value to return if the held value is not a long
+   * @return held long or default value
+   * @see #getAsLong()
+   */
+  public long getAsLong(long def) {
+    return toLong(def);
+  }
+
   /**
    * Returns the held value by this data object as a {@link Short}
    *
@@ -395,6 +566,12 @@ public final class DataObject {
    * @see #getAsObject()
    */
   public short getAsShort() {
+    if (isIntegral(data)) {
+      long value = ((Number) data).longValue();
+      if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+        return (short) value;
+      }
+    }
     return Short.parseShort(getAsString());
   }
 
@@ -465,7 +642,7 @@ public final class DataObject {
     if (isSingleValue()) {
       return "DataObject{value=" + data + ", immutable=" + immutable + "}";
     } else {
-      return "DataObject{value=" + serialize + ", immutable=" + immutable + "}";
+      return "DataObject{value=" + entries() + ", immutable=" + immutable + "}";
     }
   }
 
@@ -485,17 +662,174 @@ public final class DataObject {
     } else if (other.isSingleValue()) {
       return false;
     } else {
-      return other.serialize.equals(this.serialize);
+      return other.entries().equals(this.entries());
     }
   }
 
   @Override
   public int hashCode() {
-    int result = serialize != null ? serialize.hashCode() : 0;
+    Map<String, DataObject> entries = entries();
+    int result = entries != null ? entries.hashCode() : 0;
     result = 31 * result + (data != null ? data.hashCode() : 0);
     return result;
   }
 
+  // whether the value is a number which converts to a long without losing anything, so it can skip
+  // the round trip through its string representation
+  private static boolean isIntegral(Object value) {
+    return value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte;
+  }
+
+  private static boolean isNumeric(Object value) {
+    return value instanceof Number || value instanceof String;
+  }
+
+  private long toLong(long def) {
+    if (isIntegral(data)) {
+      return ((Number) data).longValue();
+    }
+    if (data instanceof BigInteger) {
+      BigInteger value = (BigInteger) data;
+      return value.bitLength() < Long.SIZE ? value.longValue() : def;
+    }
+    if (!(data instanceof String)) {
+      return def;
+    }
+    // parse without throwing: this is meant to be used on hot paths where invalid values are
+    // expected
+    String text = (String) data;
+    int length = text.length();
+    if (length == 0) {
+      return def;
+    }
+    int i = 0;
+    boolean negative = false;
+    char first = text.charAt(0);
+    if (first == '-' || first == '+') {
+      if (length == 1) {
+        return def;
+      }
+      negative = first == '-';
+      i++;
+    }
+    // accumulate negatively, so Long.MIN_VALUE is representable
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplyLimit = limit / 10;
+    long result = 0;
+    for (; i < length; i++) {
+      int digit = Character.digit(text.charAt(i), 10);
+      if (digit < 0 || result < multiplyLimit) {
+        return def;
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        return def;
+      }
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+
+  // the delegates of this data object, created once if this is a view
+  private Map<String, DataObject> entries() {
+    if (this.view == null) {
+      return this.serialize;
+    }
+    Map<String, DataObject> entries = this.viewEntries;
+    if (entries == null) {
+      Map<String, DataObject> created = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> entry : this.view.entrySet()) {
+        created.put(entry.getKey(), new DataObject(entry.getValue(), true));
+      }
+      // racing creations are harmless, they hold equal delegates
+      entries = Collections.unmodifiableMap(created);
+      this.viewEntries = entries;
+    }
+    return entries;
+  }
+
+  @SuppressWarnings("unchecked") // the keys are checked by hasStringKeys
+  private static Map<String, Object> wrap(Map<?, ?> map) {
+    return Collections.unmodifiableMap((Map<String, Object>) map);
+  }
+
+  private static boolean hasStringKeys(Map<?, ?> map) {
+    for (Object key : map.keySet()) {
+      if (!(key instanceof String)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // unmodifiable view of a wrapped map, converting the values the same way getAsMap does
+  private static final class ConvertingMapView extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> map;
+
+    ConvertingMapView(Map<String, Object> map) {
+      this.map = map;
+    }
+
+    private static Object convert(Object value) {
+      if (value instanceof BigInteger) {
+        return ((BigInteger) value).intValueExact();
+      }
+      if (value instanceof BigDecimal) {
+        return ((BigDecimal) value).doubleValue();
+      }
+      if (value instanceof Map) {
+        return new DataObject(value, true).getAsMap();
+      }
+      return value;
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return map.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+      return convert(map.get(key));
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<Entry<String, Object>>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          Iterator<Entry<String, Object>> iterator = map.entrySet().iterator();
+          return new Iterator<Entry<String, Object>>() {
+            @Override
+            public boolean hasNext() {
+              return iterator.hasNext();
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              Entry<String, Object> entry = iterator.next();
+              return new SimpleImmutableEntry<>(entry.getKey(), convert(entry.getValue()));
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return map.size();
+        }
+      };
+    }
+  }
+
   private void checkNonNullData(String action) {
     if (this.data != null) {
       throw new IllegalArgumentException(
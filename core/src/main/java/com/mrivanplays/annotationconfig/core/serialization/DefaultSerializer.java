@@ -1,5 +1,7 @@
 package com.mrivanplays.annotationconfig.core.serialization;
 
+import com.mrivanplays.annotationconfig.core.internal.FieldAccessor;
+import com.mrivanplays.annotationconfig.core.internal.SerializerLookup;
 import com.mrivanplays.annotationconfig.core.utils.AnnotationUtils;
 import com.mrivanplays.annotationconfig.core.utils.ReflectionUtils;
 import java.lang.reflect.Array;
@@ -9,6 +11,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -22,12 +25,23 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
 
   static final DefaultSerializer INSTANCE = new DefaultSerializer();
 
+  private static final ClassValue<List<PojoField>> POJO_FIELDS =
+      new ClassValue<List<PojoField>>() {
+        @Override
+        protected List<PojoField> computeValue(Class<?> type) {
+          List<PojoField> ret = new ArrayList<>();
+          for (FieldAccessor accessor : FieldAccessor.declared(type)) {
+            ret.add(new PojoField(accessor));
+          }
+          return Collections.unmodifiableList(ret);
+        }
+      };
+
   private DefaultSerializer() {}
 
   @Override
   public Object deserialize(
       DataObject data, SerializationContext<Object> context, AnnotationAccessor annotations) {
-    PrimitiveSerializers.registerSerializers();
     Class<?> fieldType = context.getClassType();
     Object dataRaw = data.getAsObject();
     if (data.isSingleValue() && dataRaw == null) {
@@ -47,7 +61,6 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
     if (fieldType.isAssignableFrom(DataObject.class)) {
       return data;
     }
-    SerializerRegistry serializerRegistry = SerializerRegistry.INSTANCE;
     if (data.isSingleValue() && fieldType.isArray()) {
       String typeName = fieldType.getTypeName();
       typeName = typeName.substring(0, typeName.length() - 2);
@@ -68,7 +81,7 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
           }
         }
         Object arr = Array.newInstance(type, read.size());
-        FieldTypeSerializer serializer = serializerRegistry.getSerializer(type).orElse(this);
+        FieldTypeSerializer serializer = SerializerLookup.forClass(type).get();
         SerializationContext serializationContext =
             SerializationContext.of(type, type, context.getAnnotatedConfig());
         for (int i = 0; i < read.size(); i++) {
@@ -92,7 +105,7 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
         try {
           Class<?> type = Class.forName(typeName);
           List<Object> list = new LinkedList<>();
-          FieldTypeSerializer serializer = serializerRegistry.getSerializer(type).orElse(this);
+          FieldTypeSerializer serializer = SerializerLookup.forClass(type).get();
           SerializationContext serializationContext =
               SerializationContext.of(type, type, context.getAnnotatedConfig());
           for (Object o : (Object[]) dataRaw) {
@@ -115,7 +128,7 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
         List<Object> ret = new LinkedList<>();
         Class<?> neededType =
             (Class<?>) ((ParameterizedType) context.getGenericType()).getActualTypeArguments()[0];
-        FieldTypeSerializer serializer = serializerRegistry.getSerializer(neededType).orElse(this);
+        FieldTypeSerializer serializer = SerializerLookup.forClass(neededType).get();
         SerializationContext serializationContext =
             SerializationContext.of(neededType, neededType, context.getAnnotatedConfig());
         for (Object o : read) {
@@ -155,14 +168,8 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
           // ignored
         }
       }
-      Object fieldTypeInstance;
-      try {
-        fieldTypeInstance = getUnsafeInstance().allocateInstance(fieldType);
-      } catch (InstantiationException e) {
-        throw new RuntimeException("Cannot instantiate " + fieldType.getName() + " ; ", e);
-      }
-      Field[] fields = fieldTypeInstance.getClass().getDeclaredFields();
-      if (fields.length != 1) {
+      List<PojoField> fields = POJO_FIELDS.get(fieldType);
+      if (fields.size() != 1) {
         throw new IllegalArgumentException(
             "Can't deserialize a "
                 + data
@@ -172,64 +179,68 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
                 + fieldType.getName()
                 + " does not have exactly 1 field");
       }
-      Field desField = fields[0];
-      desField.setAccessible(true);
-      if (AnnotationUtils.isIgnored(desField)) {
+      if (fields.get(0).ignored) {
         throw new IllegalArgumentException("Can't deserialize a " + data + " to empty class!");
       }
-      FieldTypeSerializer serializer =
-          serializerRegistry.getSerializer(desField.getGenericType()).orElse(this);
-      try {
-        desField.set(
-            fieldTypeInstance,
-            serializer.deserialize(
-                data,
-                SerializationContext.fromField(desField, fieldTypeInstance),
-                AnnotationAccessor.createFromField(desField)));
-      } catch (IllegalAccessException e) {
-        throw new IllegalArgumentException("A field became inaccessible");
-      }
-      return fieldTypeInstance;
+      return newPojo(fieldType, fields, desField -> data);
     } else {
       if (fieldType.isAssignableFrom(Map.class)) {
-        return dataMap;
+        // immutable data objects return views, but the field gets a map it can modify
+        return data.isImmutable() ? new DataObject(dataMap).getAsMap() : dataMap;
       }
       Class<?> neededInstanceAllocation = fieldType;
       if (fieldType.isAssignableFrom(List.class)) {
         neededInstanceAllocation =
             (Class<?>) ((ParameterizedType) context.getGenericType()).getActualTypeArguments()[0];
       }
-      Object fieldTypeInstance;
-      try {
-        fieldTypeInstance = getUnsafeInstance().allocateInstance(neededInstanceAllocation);
-      } catch (InstantiationException e) {
-        throw new RuntimeException("Cannot instantiate " + fieldType.getName() + " ; ", e);
-      }
-      for (Field desField : fieldTypeInstance.getClass().getDeclaredFields()) {
-        desField.setAccessible(true);
-        if (AnnotationUtils.isIgnored(desField)) {
+      return newPojo(
+          neededInstanceAllocation,
+          POJO_FIELDS.get(neededInstanceAllocation),
+          desField -> {
+            Object val = dataMap.get(desField.key);
+            return val == null ? null : new DataObject(val, true);
+          });
+    }
+  }
+
+  // creates an instance of the type with the (not ignored) fields set to the deserialized values;
+  // the values function returns null for fields which should be left untouched
+  private Object newPojo(
+      Class<?> type, List<PojoField> fields, Function<PojoField, DataObject> values) {
+    InstantiationStrategy strategy = InstantiatorRegistry.INSTANCE.getStrategy(type);
+    String[] argumentFields = strategy.getArgumentFields();
+    if (argumentFields == null) {
+      Object instance = strategy.newInstance(null);
+      for (PojoField desField : fields) {
+        if (desField.ignored) {
           continue;
         }
-        Object val = dataMap.get(AnnotationUtils.getKey(desField));
-        if (val == null) {
+        DataObject value = values.apply(desField);
+        if (value == null) {
           continue;
         }
-        FieldTypeSerializer serializer =
-            serializerRegistry.getSerializer(desField.getGenericType()).orElse(this);
-        try {
-          desField.set(
-              fieldTypeInstance,
-              serializer.deserialize(
-                  new DataObject(val, true),
-                  SerializationContext.fromField(desField, fieldTypeInstance),
-                  AnnotationAccessor.createFromField(desField)));
-        } catch (IllegalAccessException e) {
-          throw new IllegalArgumentException("A field became inaccessible");
-        }
+        FieldTypeSerializer serializer = desField.serializer.get();
+        desField.accessor.set(
+            instance,
+            serializer.deserialize(value, desField.contextOf(instance), desField.annotations));
       }
-
-      return fieldTypeInstance;
+      return instance;
+    }
+    Object[] arguments = new Object[argumentFields.length];
+    for (PojoField desField : fields) {
+      if (desField.ignored) {
+        continue;
+      }
+      int index = indexOf(argumentFields, desField.field.getName());
+      DataObject value = index == -1 ? null : values.apply(desField);
+      if (value == null) {
+        continue;
+      }
+      FieldTypeSerializer serializer = desField.serializer.get();
+      arguments[index] =
+          serializer.deserialize(value, desField.contextOf(null, null), desField.annotations);
     }
+    return strategy.newInstance(arguments);
   }
 
   @Override
@@ -251,7 +262,6 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
         return new DataObject(value.toString());
       }
     }
-    SerializerRegistry serializerRegistry = SerializerRegistry.INSTANCE;
     if (value instanceof List) {
       List<Object> values = (List<Object>) value;
       if (values.isEmpty()) {
@@ -260,7 +270,7 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
         List<Object> toSerialize = new LinkedList<>();
         Class<?> neededType =
             (Class<?>) ((ParameterizedType) context.getGenericType()).getActualTypeArguments()[0];
-        FieldTypeSerializer serializer = serializerRegistry.getSerializer(neededType).orElse(this);
+        FieldTypeSerializer serializer = SerializerLookup.forClass(neededType).get();
         SerializationContext serializationContext =
             SerializationContext.of(neededType, neededType, context.getAnnotatedConfig());
         for (Object val : values) {
@@ -287,7 +297,7 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
       } else {
         try {
           Class<?> type = Class.forName(typeName);
-          FieldTypeSerializer serializer = serializerRegistry.getSerializer(type).orElse(this);
+          FieldTypeSerializer serializer = SerializerLookup.forClass(type).get();
           SerializationContext serializationContext =
               SerializationContext.of(type, type, context.getAnnotatedConfig());
           List<Object> list = new LinkedList<>();
@@ -303,74 +313,47 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
         }
       }
     }
-    Field[] fields = value.getClass().getDeclaredFields();
-    if (fields.length == 0) {
+    List<PojoField> fields = POJO_FIELDS.get(value.getClass());
+    if (fields.isEmpty()) {
       throw new IllegalArgumentException("Can't serialize object with no fields.");
     }
-    if (fields.length == 1) {
-      Field desField = fields[0];
-      desField.setAccessible(true);
-      if (AnnotationUtils.isIgnored(desField)) {
+    if (fields.size() == 1) {
+      PojoField desField = fields.get(0);
+      if (desField.ignored) {
         throw new IllegalArgumentException("Can't serialize object with no fields.");
       }
-      try {
-        Object def = desField.get(value);
-        if (def == null) {
-          throw new IllegalArgumentException("Can't serialize object with no fields.");
-        }
-        FieldTypeSerializer serializer =
-            serializerRegistry.getSerializer(desField.getGenericType()).orElse(this);
-        return serializer.serialize(
-            def,
-            SerializationContext.of(
-                desField.getName(),
-                def,
-                desField.getType(),
-                desField.getGenericType(),
-                context.getAnnotatedConfig()),
-            AnnotationAccessor.createFromField(desField));
-      } catch (IllegalAccessException e) {
-        throw new IllegalArgumentException("Field became inaccessible.", e);
+      Object def = desField.accessor.get(value);
+      if (def == null) {
+        throw new IllegalArgumentException("Can't serialize object with no fields.");
       }
+      FieldTypeSerializer serializer = desField.serializer.get();
+      return serializer.serialize(
+          def, desField.contextOf(def, context.getAnnotatedConfig()), desField.annotations);
     }
     DataObject object = new DataObject();
-    for (Field desField : fields) {
-      desField.setAccessible(true);
-      if (AnnotationUtils.isIgnored(desField)) {
+    for (PojoField desField : fields) {
+      if (desField.ignored) {
         continue;
       }
-      String key = AnnotationUtils.getKey(desField);
-      try {
-        Object def = desField.get(value);
-        if (def == null) {
-          continue;
-        }
-        FieldTypeSerializer serializer =
-            serializerRegistry.getSerializer(desField.getGenericType()).orElse(this);
-        DataObject serialized =
-            serializer.serialize(
-                def,
-                SerializationContext.of(
-                    desField.getName(),
-                    def,
-                    desField.getType(),
-                    desField.getGenericType(),
-                    context.getAnnotatedConfig()),
-                AnnotationAccessor.createFromField(desField));
-        if (serialized == null) {
-          throw new NullPointerException(
-              "Expected DataObject, but got null ; Field: "
-                  + desField.getName()
-                  + " ; Field type: "
-                  + desField.getClass().getName());
-        }
-        if (serialized.isEmpty()) {
-          continue;
-        }
-        object.putAll(key, serialized);
-      } catch (IllegalAccessException e) {
-        throw new IllegalArgumentException("Field became inaccessible.");
+      Object def = desField.accessor.get(value);
+      if (def == null) {
+        continue;
+      }
+      FieldTypeSerializer serializer = desField.serializer.get();
+      DataObject serialized =
+          serializer.serialize(
+              def, desField.contextOf(def, context.getAnnotatedConfig()), desField.annotations);
+      if (serialized == null) {
+        throw new NullPointerException(
+            "Expected DataObject, but got null ; Field: "
+                + desField.field.getName()
+                + " ; Field type: "
+                + desField.field.getClass().getName());
       }
+      if (serialized.isEmpty()) {
+        continue;
+      }
+      object.putAll(desField.key, serialized);
     }
     return object;
   }
@@ -397,15 +380,13 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
     }
   }
 
-  private sun.misc.Unsafe getUnsafeInstance() {
-    try {
-      Field field = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
-      field.setAccessible(true);
-      return (sun.misc.Unsafe) field.get(null);
-    } catch (NoSuchFieldException | IllegalAccessException e) {
-      // ignored
-      return null;
+  private static int indexOf(String[] names, String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
     }
+    return -1;
   }
 
   private Object forcePrimitive(Object val, Class<?> fieldType) {
@@ -440,41 +421,124 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
     return isPrimitiveClass(valClass) || (checkMap && value instanceof Map);
   }
 
-  private static final class PrimitiveSerializers {
-
-    private static Map<Class<?>, Function<Object, ?>> serializers = new HashMap<>();
-    private static boolean registered = false;
-
-    public static void registerSerializers() {
-      if (registered) {
-        return;
-      }
-
-      registerSerializer(String.class, validateO(Function.identity()));
-
-      Function<Object, Byte> byteSerializer = validateO(Byte::parseByte);
-      registerSerializer(byte.class, byteSerializer);
-      registerSerializer(Byte.class, byteSerializer);
-
-      Function<Object, Double> doubleSerializer = validateO(Double::parseDouble);
-      registerSerializer(double.class, doubleSerializer);
-      registerSerializer(Double.class, doubleSerializer);
+  // field of a (de)serialized object, with everything not depending on the value resolved once
+  private static final class PojoField {
+
+    private final FieldAccessor accessor;
+    private final Field field;
+    private final boolean ignored;
+    private final String key;
+    private final AnnotationAccessor annotations;
+    private final SerializerLookup serializer;
+
+    PojoField(FieldAccessor accessor) {
+      this.accessor = accessor;
+      this.field = accessor.getField();
+      this.ignored = AnnotationUtils.isIgnored(field);
+      this.key = AnnotationUtils.getKey(field);
+      this.annotations = AnnotationAccessor.createFromField(field);
+      this.serializer = new SerializerLookup(field.getGenericType());
+    }
 
-      Function<Object, Float> floatSerializer = validateO(Float::parseFloat);
-      registerSerializer(float.class, floatSerializer);
-      registerSerializer(Float.class, floatSerializer);
+    SerializationContext contextOf(Object instance) {
+      return contextOf(accessor.get(instance), instance);
+    }
 
-      Function<Object, Integer> intSerializer = validateO(Integer::parseInt);
-      registerSerializer(Integer.class, intSerializer);
-      registerSerializer(int.class, intSerializer);
+    SerializationContext contextOf(Object def, Object annotatedConfig) {
+      return SerializationContext.of(
+          field.getName(), def, field.getType(), field.getGenericType(), annotatedConfig);
+    }
+  }
 
-      Function<Object, Short> shortSerializer = validateO(Short::parseShort);
-      registerSerializer(Short.class, shortSerializer);
-      registerSerializer(short.class, shortSerializer);
+  // coerces read values to the primitive field types. Numbers are converted directly and only
+  // other values are parsed from their string representation, so the results (and the exceptions
+  // for values out of range) match parsing the string
+  private static final class PrimitiveSerializers {
 
-      Function<Object, Long> longSerializer = validateO(Long::parseLong);
-      registerSerializer(Long.class, longSerializer);
-      registerSerializer(long.class, longSerializer);
+    private static final Map<Class<?>, Function<Object, ?>> SERIALIZERS;
+
+    static {
+      Map<Class<?>, Function<Object, ?>> serializers = new HashMap<>();
+
+      serializers.put(String.class, coerce(o -> null, Function.identity()));
+
+      Function<Object, Byte> byteSerializer =
+          coerce(
+              o -> {
+                if (isIntegral(o)) {
+                  long value = ((Number) o).longValue();
+                  if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                    return (byte) value;
+                  }
+                }
+                return null;
+              },
+              Byte::parseByte);
+      serializers.put(byte.class, byteSerializer);
+      serializers.put(Byte.class, byteSerializer);
+
+      Function<Object, Double> doubleSerializer =
+          coerce(
+              o -> {
+                if (o instanceof Double) {
+                  return (Double) o;
+                }
+                if (isIntegral(o)) {
+                  return (double) ((Number) o).longValue();
+                }
+                return null;
+              },
+              Double::parseDouble);
+      serializers.put(double.class, doubleSerializer);
+      serializers.put(Double.class, doubleSerializer);
+
+      Function<Object, Float> floatSerializer =
+          coerce(
+              o -> {
+                if (o instanceof Number) {
+                  // narrowing doubles and big numbers is what parsing their text would do too
+                  return ((Number) o).floatValue();
+                }
+                return null;
+              },
+              Float::parseFloat);
+      serializers.put(float.class, floatSerializer);
+      serializers.put(Float.class, floatSerializer);
+
+      Function<Object, Integer> intSerializer =
+          coerce(
+              o -> {
+                if (isIntegral(o)) {
+                  long value = ((Number) o).longValue();
+                  if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return (int) value;
+                  }
+                }
+                return null;
+              },
+              Integer::parseInt);
+      serializers.put(Integer.class, intSerializer);
+      serializers.put(int.class, intSerializer);
+
+      Function<Object, Short> shortSerializer =
+          coerce(
+              o -> {
+                if (isIntegral(o)) {
+                  long value = ((Number) o).longValue();
+                  if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                    return (short) value;
+                  }
+                }
+                return null;
+              },
+              Short::parseShort);
+      serializers.put(Short.class, shortSerializer);
+      serializers.put(short.class, shortSerializer);
+
+      Function<Object, Long> longSerializer =
+          coerce(o -> isIntegral(o) ? ((Number) o).longValue() : null, Long::parseLong);
+      serializers.put(Long.class, longSerializer);
+      serializers.put(long.class, longSerializer);
 
       Function<Object, Character> charSerializer =
           (o) -> {
@@ -483,40 +547,87 @@ class DefaultSerializer implements FieldTypeSerializer<Object> {
             }
             return (char) o;
           };
-      registerSerializer(char.class, charSerializer);
-      registerSerializer(Character.class, charSerializer);
+      serializers.put(char.class, charSerializer);
+      serializers.put(Character.class, charSerializer);
 
-      Function<Object, Boolean> boolSerializer = validateO(Boolean::parseBoolean);
-      registerSerializer(boolean.class, boolSerializer);
-      registerSerializer(Boolean.class, boolSerializer);
+      Function<Object, Boolean> boolSerializer =
+          coerce(o -> o instanceof Boolean ? (Boolean) o : null, Boolean::parseBoolean);
+      serializers.put(boolean.class, boolSerializer);
+      serializers.put(Boolean.class, boolSerializer);
 
       Function<Object, BigDecimal> bigDecimalSerializer =
-          validateO((o) -> BigDecimal.valueOf(Double.parseDouble(o)));
-      registerSerializer(BigDecimal.class, bigDecimalSerializer);
+          coerce(
+              o -> {
+                if (o instanceof BigDecimal) {
+                  return (BigDecimal) o;
+                }
+                if (o instanceof BigInteger) {
+                  return new BigDecimal((BigInteger) o);
+                }
+                if (isIntegral(o)) {
+                  return BigDecimal.valueOf(((Number) o).longValue());
+                }
+                if (o instanceof Double) {
+                  return BigDecimal.valueOf((Double) o);
+                }
+                return null;
+              },
+              PrimitiveSerializers::parseBigDecimal);
+      serializers.put(BigDecimal.class, bigDecimalSerializer);
 
       Function<Object, BigInteger> bigIntegerSerializer =
-          validateO((o) -> BigInteger.valueOf(Long.parseLong(o)));
-      registerSerializer(BigInteger.class, bigIntegerSerializer);
+          coerce(
+              o -> {
+                if (o instanceof BigInteger) {
+                  return (BigInteger) o;
+                }
+                if (isIntegral(o)) {
+                  return BigInteger.valueOf(((Number) o).longValue());
+                }
+                return null;
+              },
+              BigInteger::new);
+      serializers.put(BigInteger.class, bigIntegerSerializer);
+
+      SERIALIZERS = Collections.unmodifiableMap(serializers);
+    }
 
-      registered = true;
+    // whether the value converts to a long without losing anything
+    private static boolean isIntegral(Object o) {
+      return o instanceof Integer
+          || o instanceof Long
+          || o instanceof Short
+          || o instanceof Byte
+          || (o instanceof BigInteger && ((BigInteger) o).bitLength() < Long.SIZE);
     }
 
-    private static <T> Function<Object, T> validateO(Function<String, T> cont) {
+    private static BigDecimal parseBigDecimal(String value) {
+      try {
+        return new BigDecimal(value.trim());
+      } catch (NumberFormatException e) {
+        // things like "1.5d" or hexadecimal values, which only double parsing accepts
+        return BigDecimal.valueOf(Double.parseDouble(value));
+      }
+    }
+
+    // the direct conversion returns null if the value has to be parsed
+    private static <T> Function<Object, T> coerce(
+        Function<Object, T> direct, Function<String, T> parser) {
       return (o) -> {
+        T value = direct.apply(o);
+        if (value != null) {
+          return value;
+        }
         String strVal = String.valueOf(o);
-        if (strVal == null || strVal.isEmpty()) {
+        if (strVal.isEmpty()) {
           return null;
         }
-        return cont.apply(strVal);
+        return parser.apply(strVal);
       };
     }
 
     public static Function<Object, ?> getMapper(Class<?> aClass) {
-      return serializers.get(aClass);
-    }
-
-    private static <T> void registerSerializer(Class<T> val, Function<Object, T> mapper) {
-      serializers.put(val, mapper);
+      return SERIALIZERS.get(aClass);
     }
   }
 }
@@ -0,0 +1,258 @@
+package com.mrivanplays.annotationconfig.core.serialization;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * The way {@link DefaultSerializer} creates the instances of a class, as chosen by {@link
+ * InstantiatorRegistry}. Everything reflective is resolved once, when the strategy is created.
+ */
+abstract class InstantiationStrategy {
+
+  /**
+   * Chooses the strategy of the specified class.
+   *
+   * @param type the class to instantiate
+   * @param instantiator the registered instantiator of the class, if any
+   * @param unsafeAllowed whether unsafe allocation may be used
+   * @return strategy
+   */
+  static InstantiationStrategy resolve(
+      Class<?> type, ObjectInstantiator<?> instantiator, boolean unsafeAllowed) {
+    if (instantiator != null) {
+      return new Factory(instantiator);
+    }
+    if (Records.isRecord(type)) {
+      return Records.canonicalConstructor(type);
+    }
+    if (unsafeAllowed && UnsafeAllocation.UNSAFE != null) {
+      return new UnsafeAllocation(type);
+    }
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      if (!Modifier.isAbstract(type.getModifiers())) {
+        constructor.setAccessible(true);
+        return new NoArgsConstructor(
+            MethodHandles.lookup()
+                .unreflectConstructor(constructor)
+                .asType(MethodType.methodType(Object.class)));
+      }
+    } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      // can't be instantiated
+    }
+    return new Failing(type);
+  }
+
+  /**
+   * Returns the names of the fields whose values are passed to {@link #newInstance(Object[])}, or
+   * null if the fields are set after the instance is created.
+   *
+   * @return field names or null
+   */
+  String[] getArgumentFields() {
+    return null;
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param arguments the values of the {@link #getArgumentFields() argument fields}, or null if
+   *     there are none
+   * @return new instance
+   */
+  abstract Object newInstance(Object[] arguments);
+
+  static RuntimeException cannotInstantiate(Class<?> type, Throwable cause) {
+    String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+    return new RuntimeException("Cannot instantiate " + type.getName() + " ; " + reason, cause);
+  }
+
+  private static final class Factory extends InstantiationStrategy {
+
+    private final ObjectInstantiator<?> instantiator;
+
+    Factory(ObjectInstantiator<?> instantiator) {
+      this.instantiator = instantiator;
+    }
+
+    @Override
+    Object newInstance(Object[] arguments) {
+      return instantiator.instantiate();
+    }
+  }
+
+  private static final class NoArgsConstructor extends InstantiationStrategy {
+
+    private final MethodHandle constructor;
+
+    NoArgsConstructor(MethodHandle constructor) {
+      this.constructor = constructor;
+    }
+
+    @Override
+    Object newInstance(Object[] arguments) {
+      try {
+        return (Object) constructor.invokeExact();
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  private static final class UnsafeAllocation extends InstantiationStrategy {
+
+    private static final sun.misc.Unsafe UNSAFE = (sun.misc.Unsafe) findUnsafe();
+
+    // looked up by name, so the internal API is only referenced where it's used
+    private static Object findUnsafe() {
+      try {
+        Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return field.get(null);
+      } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+        return null;
+      }
+    }
+
+    private final Class<?> type;
+
+    UnsafeAllocation(Class<?> type) {
+      this.type = type;
+    }
+
+    @Override
+    Object newInstance(Object[] arguments) {
+      try {
+        return UNSAFE.allocateInstance(type);
+      } catch (InstantiationException e) {
+        throw cannotInstantiate(type, e);
+      }
+    }
+  }
+
+  private static final class Failing extends InstantiationStrategy {
+
+    private final Class<?> type;
+
+    Failing(Class<?> type) {
+      this.type = type;
+    }
+
+    @Override
+    Object newInstance(Object[] arguments) {
+      throw cannotInstantiate(
+          type,
+          new InstantiationException(
+              "No instantiator registered, no no-args constructor and unsafe allocation is"
+                  + " unavailable"));
+    }
+  }
+
+  // records are looked up reflectively, as we're compiled against java 8
+  private static final class Records {
+
+    private static final Method IS_RECORD;
+    private static final Method GET_RECORD_COMPONENTS;
+    private static final Method GET_NAME;
+    private static final Method GET_TYPE;
+
+    static {
+      Method isRecord = null;
+      Method getRecordComponents = null;
+      Method getName = null;
+      Method getType = null;
+      try {
+        isRecord = Class.class.getMethod("isRecord");
+        getRecordComponents = Class.class.getMethod("getRecordComponents");
+        Class<?> componentClass = Class.forName("java.lang.reflect.RecordComponent");
+        getName = componentClass.getMethod("getName");
+        getType = componentClass.getMethod("getType");
+      } catch (ReflectiveOperationException e) {
+        isRecord = null;
+      }
+      IS_RECORD = isRecord;
+      GET_RECORD_COMPONENTS = getRecordComponents;
+      GET_NAME = getName;
+      GET_TYPE = getType;
+    }
+
+    static boolean isRecord(Class<?> type) {
+      if (IS_RECORD == null) {
+        return false;
+      }
+      try {
+        return (Boolean) IS_RECORD.invoke(type);
+      } catch (ReflectiveOperationException e) {
+        return false;
+      }
+    }
+
+    static InstantiationStrategy canonicalConstructor(Class<?> type) {
+      try {
+        Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+        String[] names = new String[components.length];
+        Class<?>[] types = new Class<?>[components.length];
+        Object[] defaults = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+          names[i] = (String) GET_NAME.invoke(components[i]);
+          types[i] = (Class<?>) GET_TYPE.invoke(components[i]);
+          if (types[i].isPrimitive()) {
+            defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+          }
+        }
+        Constructor<?> constructor = type.getDeclaredConstructor(types);
+        constructor.setAccessible(true);
+        MethodHandle handle =
+            MethodHandles.lookup()
+                .unreflectConstructor(constructor)
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return new CanonicalConstructor(handle, names, defaults);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        return new Failing(type);
+      }
+    }
+  }
+
+  private static final class CanonicalConstructor extends InstantiationStrategy {
+
+    private final MethodHandle constructor;
+    private final String[] names;
+    private final Object[] defaults;
+
+    CanonicalConstructor(MethodHandle constructor, String[] names, Object[] defaults) {
+      this.constructor = constructor;
+      this.names = names;
+      this.defaults = defaults;
+    }
+
+    @Override
+    String[] getArgumentFields() {
+      return names;
+    }
+
+    @Override
+    Object newInstance(Object[] arguments) {
+      for (int i = 0; i < arguments.length; i++) {
+        if (arguments[i] == null) {
+          arguments[i] = defaults[i];
+        }
+      }
+      try {
+        return (Object) constructor.invokeExact(arguments);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
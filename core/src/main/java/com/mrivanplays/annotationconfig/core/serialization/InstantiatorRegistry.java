@@ -0,0 +1,162 @@
+package com.mrivanplays.annotationconfig.core.serialization;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a registry of the {@link ObjectInstantiator ObjectInstantiators} used by the default
+ * serializer. The way a class is instantiated is chosen once per class, in the following order:
+ *
+ * <ul>
+ *   <li>the {@link ObjectInstantiator} registered for the class;
+ *   <li>the canonical constructor, if the class is a record;
+ *   <li>{@code sun.misc.Unsafe} allocation, which skips constructors and field initializers, if
+ *       {@link #setUnsafeAllowed(boolean) allowed} and available;
+ *   <li>the no-args constructor of the class.
+ * </ul>
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public enum InstantiatorRegistry {
+  INSTANCE;
+
+  private final Map<Class<?>, ObjectInstantiator<?>> instantiators = new ConcurrentHashMap<>();
+  private final AtomicInteger modificationStamp = new AtomicInteger();
+  private volatile boolean unsafeAllowed = true;
+
+  private final ClassValue<Lookup> lookups =
+      new ClassValue<Lookup>() {
+        @Override
+        protected Lookup computeValue(Class<?> type) {
+          return new Lookup(type);
+        }
+      };
+
+  /**
+   * Registers a new {@link ObjectInstantiator}.
+   *
+   * @param type the type the instantiator creates
+   * @param instantiator the instantiator
+   * @param <T> generic
+   * @throws IllegalArgumentException if an instantiator for this type has been already registered
+   */
+  public <T> void registerInstantiator(Class<T> type, ObjectInstantiator<T> instantiator) {
+    if (this.instantiators.putIfAbsent(type, instantiator) != null) {
+      throw new IllegalArgumentException(
+          "Instantiator for " + type.getName() + " already registered");
+    }
+    this.modificationStamp.incrementAndGet();
+  }
+
+  /**
+   * Unregisters the {@link ObjectInstantiator} of the specified type
+   *
+   * @param type the type you want the instantiator of unregistered
+   * @throws IllegalArgumentException if there isn't an instantiator for the type specified
+   */
+  public void unregisterInstantiator(Class<?> type) {
+    if (this.instantiators.remove(type) == null) {
+      throw new IllegalArgumentException(
+          "Cannot unregister "
+              + type.getName()
+              + " because an instantiator hasn't been registered.");
+    }
+    this.modificationStamp.incrementAndGet();
+  }
+
+  /**
+   * Returns the {@link ObjectInstantiator} registered for the specified type.
+   *
+   * @param type the type you want the instantiator of
+   * @param <T> generic
+   * @return optional of instantiator if present, empty optional otherwise
+   */
+  @SuppressWarnings("unchecked") // registerInstantiator only maps a class to an instantiator of it
+  public <T> Optional<ObjectInstantiator<T>> getInstantiator(Class<T> type) {
+    return Optional.ofNullable((ObjectInstantiator<T>) this.instantiators.get(type));
+  }
+
+  /**
+   * Sets whether {@code sun.misc.Unsafe} may be used to create objects without calling their
+   * constructor. If disallowed, classes without a registered {@link ObjectInstantiator} need a
+   * no-args constructor (or to be records). Allowed by default.
+   *
+   * @param unsafeAllowed whether unsafe allocation is allowed
+   */
+  public void setUnsafeAllowed(boolean unsafeAllowed) {
+    this.unsafeAllowed = unsafeAllowed;
+    this.modificationStamp.incrementAndGet();
+  }
+
+  /**
+   * Returns whether {@code sun.misc.Unsafe} may be used to create objects.
+   *
+   * @return whether unsafe allocation is allowed
+   * @see #setUnsafeAllowed(boolean)
+   */
+  public boolean isUnsafeAllowed() {
+    return unsafeAllowed;
+  }
+
+  /**
+   * Creates a new instance of the specified type, the same way the default serializer creates the
+   * objects it deserializes.
+   *
+   * @param type the type you want an instance of
+   * @param <T> generic
+   * @return new instance
+   * @throws IllegalArgumentException if the type can only be created from the values of its fields,
+   *     like records
+   * @throws RuntimeException if the type couldn't be instantiated
+   */
+  public <T> T newInstance(Class<T> type) {
+    InstantiationStrategy strategy = getStrategy(type);
+    if (strategy.getArgumentFields() != null) {
+      throw new IllegalArgumentException(
+          type.getName() + " can only be instantiated from the values of its fields");
+    }
+    return type.cast(strategy.newInstance(null));
+  }
+
+  InstantiationStrategy getStrategy(Class<?> type) {
+    return lookups.get(type).get();
+  }
+
+  // the strategy of a single class; kept until the registry is modified
+  private final class Lookup {
+
+    private final Class<?> type;
+    private volatile Resolved resolved;
+
+    Lookup(Class<?> type) {
+      this.type = type;
+    }
+
+    InstantiationStrategy get() {
+      // read the stamp before resolving, so a registration racing with us invalidates the result
+      int stamp = modificationStamp.get();
+      Resolved current = this.resolved;
+      if (current != null && current.stamp == stamp) {
+        return current.strategy;
+      }
+      InstantiationStrategy strategy =
+          InstantiationStrategy.resolve(type, instantiators.get(type), unsafeAllowed);
+      this.resolved = new Resolved(stamp, strategy);
+      return strategy;
+    }
+  }
+
+  private static final class Resolved {
+
+    private final int stamp;
+    private final InstantiationStrategy strategy;
+
+    Resolved(int stamp, InstantiationStrategy strategy) {
+      this.stamp = stamp;
+      this.strategy = strategy;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.mrivanplays.annotationconfig.core.serialization;
+
+/**
+ * Represents a factory of the objects the default serializer creates when deserializing a value
+ * into a class without a registered {@link FieldTypeSerializer}. The fields of the created object
+ * are set by the serializer afterwards.
+ *
+ * @param <T> type of the created objects
+ * @see InstantiatorRegistry
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+@FunctionalInterface
+public interface ObjectInstantiator<T> {
+
+  /**
+   * Creates a new instance, which is going to be populated with the deserialized values.
+   *
+   * @return new instance
+   */
+  T instantiate();
+}
@@ -1,9 +1,17 @@
 package com.mrivanplays.annotationconfig.core.serialization;
 
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
@@ -16,6 +24,16 @@ public enum SerializerRegistry {
   INSTANCE;
 
   private Map<Type, FieldTypeSerializer<?>> serializers;
+  private final AtomicInteger modificationStamp = new AtomicInteger();
+  // memoized hierarchical lookups of classes; an entry is only valid for the stamp it was
+  // resolved with. Kept in a ClassValue so the registry doesn't keep classes from unloading.
+  private final ClassValue<AtomicReference<Resolved>> resolved =
+      new ClassValue<AtomicReference<Resolved>>() {
+        @Override
+        protected AtomicReference<Resolved> computeValue(Class<?> type) {
+          return new AtomicReference<>();
+        }
+      };
 
   SerializerRegistry() {
     this.serializers = new ConcurrentHashMap<>();
@@ -29,13 +47,14 @@ public enum SerializerRegistry {
    * @param <T> generic
    * @throws IllegalArgumentException if a serializer for this type has been already registered
    */
-  public <T> void registerSerializer(
+  public synchronized <T> void registerSerializer(
       Class<T> serializedType, FieldTypeSerializer<T> typeSerializer) {
     if (this.serializers.containsKey(serializedType)) {
       throw new IllegalArgumentException(
           "Serializer for " + serializedType.getName() + " already registered");
     }
     this.serializers.put(serializedType, typeSerializer);
+    this.invalidate();
   }
 
   /**
@@ -45,12 +64,14 @@ public enum SerializerRegistry {
    * @param typeSerializer the serializer of the serialized type
    * @throws IllegalArgumentException if a serializer for this type has been already registered.
    */
-  public void registerSerializer(Type serializedType, FieldTypeSerializer<?> typeSerializer) {
+  public synchronized void registerSerializer(
+      Type serializedType, FieldTypeSerializer<?> typeSerializer) {
     if (this.serializers.containsKey(serializedType)) {
       throw new IllegalArgumentException(
           "Serializer for " + serializedType.getTypeName() + " already registered");
     }
     this.serializers.put(serializedType, typeSerializer);
+    this.invalidate();
   }
 
   /**
@@ -62,7 +83,7 @@ public enum SerializerRegistry {
    * @param serialize serialization method of the serializedType
    * @param <T> generic
    */
-  public <T> void registerSimpleSerializer(
+  public synchronized <T> void registerSimpleSerializer(
       Class<T> serializedType,
       Function<DataObject, T> deserialize,
       Function<T, DataObject> serialize) {
@@ -75,6 +96,7 @@ public enum SerializerRegistry {
         FieldTypeSerializer.<T>functional(
             (data, context, annotations) -> deserialize.apply(data),
             (value, context, annotations) -> serialize.apply(value)));
+    this.invalidate();
   }
 
   /**
@@ -88,16 +110,17 @@ public enum SerializerRegistry {
    * @param serialize serialization method of the serializedType
    * @param <T> generic
    */
-  public <T> void registerSimpleValueSerializer(
+  public synchronized <T> void registerSimpleValueSerializer(
       Class<T> serializedType, Function<T, DataObject> serialize) {
     if (this.serializers.containsKey(serializedType)) {
       FieldTypeSerializer<T> serializer =
-          (FieldTypeSerializer<T>) this.serializers.remove(serializedType);
+          (FieldTypeSerializer<T>) this.serializers.get(serializedType);
       this.serializers.put(
           serializedType,
           FieldTypeSerializer.functional(
               serializer.deserializeAsFunction(),
               (value, context, annotations) -> serialize.apply(value)));
+      this.invalidate();
       return;
     }
     this.serializers.put(
@@ -107,6 +130,7 @@ public enum SerializerRegistry {
                 SimpleValueSerializer.deserialize(
                     data, serializedType, context.getAnnotatedConfig()),
             (value, context, annotations) -> serialize.apply(value)));
+    this.invalidate();
   }
 
   /**
@@ -120,16 +144,17 @@ public enum SerializerRegistry {
    * @param deserialize deserialization method of the serialized type
    * @param <T> generic
    */
-  public <T> void registerSimpleValueDeserializer(
+  public synchronized <T> void registerSimpleValueDeserializer(
       Class<T> serializedType, Function<DataObject, T> deserialize) {
     if (this.serializers.containsKey(serializedType)) {
       FieldTypeSerializer<T> serializer =
-          (FieldTypeSerializer<T>) this.serializers.remove(serializedType);
+          (FieldTypeSerializer<T>) this.serializers.get(serializedType);
       this.serializers.put(
           serializedType,
           FieldTypeSerializer.functional(
               (data, context, annotations) -> deserialize.apply(data),
               serializer.serializeAsFunction()));
+      this.invalidate();
       return;
     }
     this.serializers.put(
@@ -139,6 +164,7 @@ public enum SerializerRegistry {
             (value, context, annotations) ->
                 SimpleValueSerializer.serialize(
                     value, serializedType, context.getAnnotatedConfig())));
+    this.invalidate();
   }
 
   /**
@@ -147,7 +173,7 @@ public enum SerializerRegistry {
    * @param serializedType the serialized type you want the serializer of unregistered
    * @throws IllegalArgumentException if there isn't a serializer for the type specified
    */
-  public void unregisterSerializer(Class<?> serializedType) {
+  public synchronized void unregisterSerializer(Class<?> serializedType) {
     if (!this.serializers.containsKey(serializedType)) {
       throw new IllegalArgumentException(
           "Cannot unregister "
@@ -155,6 +181,7 @@ public enum SerializerRegistry {
               + " because a serializer hasn't been registered.");
     }
     this.serializers.remove(serializedType);
+    this.invalidate();
   }
 
   /**
@@ -163,7 +190,7 @@ public enum SerializerRegistry {
    * @param serializedType the serialized type you want the serializer of unregistered
    * @throws IllegalArgumentException if there isn't a serializer for the type specified
    */
-  public void unregisterSerializer(Type serializedType) {
+  public synchronized void unregisterSerializer(Type serializedType) {
     if (!this.serializers.containsKey(serializedType)) {
       throw new IllegalArgumentException(
           "Cannot unregister "
@@ -171,6 +198,7 @@ public enum SerializerRegistry {
               + " because a serializer hasn't been registered.");
     }
     this.serializers.remove(serializedType);
+    this.invalidate();
   }
 
   /**
@@ -195,7 +223,9 @@ public enum SerializerRegistry {
 
   /**
    * Returns an {@link Optional} value, which may or may not be filled with a {@link
-   * FieldTypeSerializer}, depending on if the {@code serializedType} has been registered or not.
+   * FieldTypeSerializer}, depending on if there's a serializer registered for exactly the {@code
+   * serializedType}. Serializers registered for superclasses or interfaces of the type are not
+   * looked up, use {@link #resolveSerializer(Type)} for that.
    *
    * @param serializedType the type which is serialized you want the serializer of
    * @return an optional with value or an empty optional
@@ -206,7 +236,9 @@ public enum SerializerRegistry {
 
   /**
    * Returns an {@link Optional} value, which may or may not be filled with a {@link
-   * FieldTypeSerializer}, depending on if the {@code serializedType} has been registered or not.
+   * FieldTypeSerializer}, depending on if there's a serializer registered for exactly the {@code
+   * serializedType}. Serializers registered for superclasses or interfaces of the type are not
+   * looked up, use {@link #resolveSerializer(Type)} for that.
    *
    * @param serializedType the type which is serialized you want the serializer of
    * @return an optional with value or an empty optional
@@ -215,6 +247,110 @@ public enum SerializerRegistry {
     return Optional.ofNullable(serializers.get(serializedType));
   }
 
+  /**
+   * Resolves the {@link FieldTypeSerializer} of the specified {@code serializedType}. The lookup
+   * order is:
+   *
+   * <ol>
+   *   <li>a serializer registered for exactly the type
+   *   <li>a serializer registered for the raw class of the type, if the type is a {@link
+   *       ParameterizedType}
+   *   <li>a serializer registered for a superclass (except {@link Object}), the nearest first
+   *   <li>a serializer registered for an implemented interface
+   *   <li>the {@link #getDefaultSerializer() default serializer}
+   * </ol>
+   *
+   * <p>The result for a {@link Class} is memoized until a serializer is registered or
+   * unregistered. Other types aren't memoized, but their raw class is.
+   *
+   * @param serializedType the type which is serialized you want the serializer of
+   * @return serializer, never null
+   * @since 3.0.2
+   */
+  public FieldTypeSerializer<?> resolveSerializer(Type serializedType) {
+    FieldTypeSerializer<?> serializer = lookup(serializedType);
+    return serializer != null ? serializer : getDefaultSerializer();
+  }
+
+  private FieldTypeSerializer<?> lookup(Type serializedType) {
+    FieldTypeSerializer<?> exact = this.serializers.get(serializedType);
+    if (exact != null) {
+      return exact;
+    }
+    if (serializedType instanceof Class) {
+      return lookupClass((Class<?>) serializedType);
+    }
+    if (serializedType instanceof ParameterizedType) {
+      Type rawType = ((ParameterizedType) serializedType).getRawType();
+      if (rawType instanceof Class) {
+        FieldTypeSerializer<?> raw = this.serializers.get(rawType);
+        return raw != null ? raw : lookupClass((Class<?>) rawType);
+      }
+    }
+    return null;
+  }
+
+  private FieldTypeSerializer<?> lookupClass(Class<?> type) {
+    if (type.isPrimitive() || type.isArray()) {
+      return null;
+    }
+    int stamp = this.modificationStamp.get();
+    AtomicReference<Resolved> memo = this.resolved.get(type);
+    Resolved resolved = memo.get();
+    if (resolved != null && resolved.stamp == stamp) {
+      return resolved.serializer;
+    }
+    FieldTypeSerializer<?> serializer = lookupHierarchy(type);
+    memo.set(new Resolved(stamp, serializer));
+    return serializer;
+  }
+
+  // the class itself has been looked up already
+  private FieldTypeSerializer<?> lookupHierarchy(Class<?> rawClass) {
+    for (Class<?> superClass = rawClass.getSuperclass();
+        superClass != null && superClass != Object.class;
+        superClass = superClass.getSuperclass()) {
+      FieldTypeSerializer<?> serializer = this.serializers.get(superClass);
+      if (serializer != null) {
+        return serializer;
+      }
+    }
+    Set<Class<?>> visited = new HashSet<>();
+    Deque<Class<?>> queue = new ArrayDeque<>();
+    for (Class<?> type = rawClass; type != null; type = type.getSuperclass()) {
+      queue.addAll(Arrays.asList(type.getInterfaces()));
+    }
+    while (!queue.isEmpty()) {
+      Class<?> anInterface = queue.poll();
+      if (!visited.add(anInterface)) {
+        continue;
+      }
+      FieldTypeSerializer<?> serializer = this.serializers.get(anInterface);
+      if (serializer != null) {
+        return serializer;
+      }
+      queue.addAll(Arrays.asList(anInterface.getInterfaces()));
+    }
+    return null;
+  }
+
+  private void invalidate() {
+    // memoized lookups of older stamps are redone when next looked up
+    this.modificationStamp.incrementAndGet();
+  }
+
+  /**
+   * Returns the modification stamp of this registry. The stamp changes whenever a serializer is
+   * registered or unregistered, so serializers resolved from this registry can be cached as long as
+   * the stamp stays the same.
+   *
+   * @return modification stamp
+   * @since 3.0.2
+   */
+  public int getModificationStamp() {
+    return this.modificationStamp.get();
+  }
+
   /**
    * Returns the default serializer. This is used when there isn't a registered serializer available
    * for a specific value.
@@ -224,4 +360,15 @@ public enum SerializerRegistry {
   public FieldTypeSerializer<Object> getDefaultSerializer() {
     return DefaultSerializer.INSTANCE;
   }
+
+  private static final class Resolved {
+
+    private final int stamp;
+    private final FieldTypeSerializer<?> serializer;
+
+    Resolved(int stamp, FieldTypeSerializer<?> serializer) {
+      this.stamp = stamp;
+      this.serializer = serializer;
+    }
+  }
 }
@@ -64,6 +64,13 @@ public class AdvancedEnumSerializerTest {
     assertEquals(Values.DENY_ALL_FALSE, deserialize("deny_false all"));
   }
 
+  @Test
+  public void testDeserializingSeparators() {
+    assertEquals(Values.THA_COOL, deserialize("cool tha"));
+    assertEquals(Values.THA_COOL, deserialize("Cool_Tha"));
+    assertEquals(Values.TRUE, deserialize("true "));
+  }
+
   @Test
   public void testDeserializingError() {
     assertNull(deserialize(null));
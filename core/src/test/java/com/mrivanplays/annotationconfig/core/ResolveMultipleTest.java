@@ -1,13 +1,20 @@
 package com.mrivanplays.annotationconfig.core;
 
 import com.mrivanplays.annotationconfig.core.resolver.WritableObject;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
@@ -63,6 +70,63 @@ class ResolveMultipleTest {
     Assertions.assertEquals(1000, firstFoo);
   }
 
+  @Test
+  void testResolveMultipleConcurrently() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Map<String, Subject> loadedConfigs =
+          PropertyConfig.getConfigResolver()
+              .resolveMultiple(
+                  dir,
+                  Subject::new,
+                  WritableObject.createFromPath(dir.resolve("default.properties")),
+                  new Settings(),
+                  executor);
+
+      List<Integer> foos = new ArrayList<>();
+      for (Map.Entry<String, Subject> entry : loadedConfigs.entrySet()) {
+        Assertions.assertTrue(entry.getKey().startsWith("test" + foos.size()));
+        foos.add(entry.getValue().foo);
+      }
+      Assertions.assertEquals(Arrays.asList(1000, 1001, 1002), foos);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testResolveMultipleAggregatesFailures() throws IOException {
+    Path failingDir = Files.createTempDirectory("resolveMultipleFailures");
+    try {
+      Files.write(failingDir.resolve("a.properties"), "foo=1\n".getBytes(StandardCharsets.UTF_8));
+      Files.write(failingDir.resolve("b.properties"), "foo=b\n".getBytes(StandardCharsets.UTF_8));
+      Files.write(failingDir.resolve("c.properties"), "foo=c\n".getBytes(StandardCharsets.UTF_8));
+
+      RuntimeException failure =
+          Assertions.assertThrows(
+              RuntimeException.class,
+              () ->
+                  PropertyConfig.getConfigResolver()
+                      .resolveMultiple(
+                          failingDir,
+                          Subject::new,
+                          WritableObject.createFromPath(failingDir.resolve("default.properties")),
+                          new Settings(),
+                          null));
+      Assertions.assertEquals(2, failure.getSuppressed().length);
+      Assertions.assertTrue(failure.getSuppressed()[0].getMessage().contains("b.properties"));
+      Assertions.assertTrue(failure.getSuppressed()[1].getMessage().contains("c.properties"));
+    } finally {
+      try (Stream<Path> files = Files.list(failingDir)) {
+        Iterator<Path> iterator = files.iterator();
+        while (iterator.hasNext()) {
+          Files.delete(iterator.next());
+        }
+      }
+      Files.delete(failingDir);
+    }
+  }
+
   @AfterAll
   static void terminate() {
     try (Stream<Path> stream = Files.list(dir)) {
@@ -0,0 +1,201 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.annotations.ConfigObject;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.WritableObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestAsyncResolver {
+
+  static class Section {
+
+    private String value = "default";
+  }
+
+  static class Subject {
+
+    private int foo = 0;
+
+    @ConfigObject private Section section = new Section();
+  }
+
+  static class FlatSubject {
+
+    private int foo = 0;
+  }
+
+  static class NoDefaultConstructor {
+
+    private int foo;
+
+    NoDefaultConstructor(int foo) {
+      this.foo = foo;
+    }
+  }
+
+  /** Runs the tasks submitted to it only when asked to. */
+  private static final class ManualExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private int submitted;
+
+    @Override
+    public void execute(Runnable command) {
+      submitted++;
+      tasks.add(command);
+    }
+
+    void runAll() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+    }
+  }
+
+  private final ManualExecutor executor = new ManualExecutor();
+  private Path file;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    file = Files.createTempDirectory("asyncResolverTest").resolve("config.properties");
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(file.getParent());
+  }
+
+  private ConfigResolver resolver(Map<String, Object> values) {
+    return ConfigResolver.newBuilder()
+        .withCommentPrefix("# ")
+        .withValueWriter((toWrite, fieldComments, writer, settings) -> writer.write("written"))
+        .withValueReader((reader, settings) -> values)
+        .withFileExtension(".properties")
+        .withAsyncExecutor(executor)
+        .build();
+  }
+
+  @Test
+  public void testLoadPublishesOnCompletion() throws IOException {
+    Files.write(file, "ignored".getBytes(StandardCharsets.UTF_8));
+    Map<String, Object> values = new HashMap<>();
+    values.put("foo", 5);
+    values.put("section", Collections.singletonMap("value", "loaded"));
+    Subject subject = new Subject();
+    Section section = subject.section;
+
+    CompletableFuture<Void> future = resolver(values).loadAsync(subject, file);
+    Assertions.assertFalse(future.isDone());
+    Assertions.assertEquals(0, subject.foo);
+    Assertions.assertEquals("default", section.value);
+
+    executor.runAll();
+    Assertions.assertTrue(future.isDone());
+    Assertions.assertEquals(5, subject.foo);
+    Assertions.assertSame(section, subject.section);
+    Assertions.assertEquals("loaded", section.value);
+  }
+
+  @Test
+  public void testDumpWritesSnapshot() throws IOException {
+    FlatSubject subject = new FlatSubject();
+    subject.foo = 3;
+    CompletableFuture<?> future = PropertyConfig.getConfigResolver().dumpAsync(subject, file);
+    subject.foo = 4;
+    future.join();
+
+    FlatSubject loaded = new FlatSubject();
+    PropertyConfig.getConfigResolver().load(loaded, file);
+    Assertions.assertEquals(3, loaded.foo);
+  }
+
+  @Test
+  public void testFailureLeavesConfigUntouched() throws IOException {
+    Files.write(file, "ignored".getBytes(StandardCharsets.UTF_8));
+    Subject subject = new Subject();
+    subject.foo = 1;
+    ConfigResolver resolver =
+        ConfigResolver.newBuilder()
+            .withCommentPrefix("# ")
+            .withValueWriter((toWrite, fieldComments, writer, settings) -> {})
+            .withValueReader(
+                (reader, settings) -> {
+                  throw new IllegalStateException("broken");
+                })
+            .withFileExtension(".properties")
+            .withAsyncExecutor(executor)
+            .build();
+
+    CompletableFuture<Void> future = resolver.loadOrDumpAsync(subject, file);
+    executor.runAll();
+    Assertions.assertTrue(future.isCompletedExceptionally());
+    Assertions.assertEquals(1, subject.foo);
+  }
+
+  @Test
+  public void testStagesWithoutDefaultConstructor() throws IOException {
+    Files.write(file, "ignored".getBytes(StandardCharsets.UTF_8));
+    NoDefaultConstructor subject = new NoDefaultConstructor(1);
+
+    CompletableFuture<Void> future =
+        resolver(Collections.singletonMap("foo", 2)).loadAsync(subject, file);
+    Assertions.assertEquals(1, subject.foo);
+    executor.runAll();
+    future.join();
+    Assertions.assertEquals(2, subject.foo);
+  }
+
+  @Test
+  public void testResolveMultipleLoadsEachFileOnExecutor() throws IOException {
+    Path dir = file.getParent();
+    Path first = dir.resolve("a.properties");
+    Path second = dir.resolve("b.properties");
+    try {
+      Files.write(first, "ignored".getBytes(StandardCharsets.UTF_8));
+      Files.write(second, "ignored".getBytes(StandardCharsets.UTF_8));
+
+      CompletableFuture<Map<String, FlatSubject>> future =
+          resolver(Collections.singletonMap("foo", 2))
+              .resolveMultipleAsync(
+                  dir, FlatSubject::new, WritableObject.createFromFile(file.toFile()), null);
+      Assertions.assertFalse(future.isDone());
+      executor.runAll();
+
+      Map<String, FlatSubject> configs = future.join();
+      Assertions.assertEquals(2, configs.size());
+      Assertions.assertEquals(2, configs.get("a.properties").foo);
+      Assertions.assertEquals(2, configs.get("b.properties").foo);
+      // one task listing the directory, and one per file
+      Assertions.assertEquals(3, executor.submitted);
+    } finally {
+      Files.deleteIfExists(first);
+      Files.deleteIfExists(second);
+    }
+  }
+
+  @Test
+  public void testDefaultExecutorIsDaemon() {
+    Thread thread =
+        CompletableFuture.supplyAsync(
+                Thread::currentThread, PropertyConfig.getConfigResolver().asyncExecutor())
+            .join();
+    Assertions.assertTrue(thread.isDaemon());
+    Assertions.assertFalse(thread.getName().startsWith("ForkJoinPool.commonPool"));
+  }
+}
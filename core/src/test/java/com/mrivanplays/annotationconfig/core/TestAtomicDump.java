@@ -0,0 +1,128 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.DumpResult;
+import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestAtomicDump {
+
+  static class Subject {
+
+    private String greeting = "здравей";
+  }
+
+  private final ConfigResolver resolver = PropertyConfig.getConfigResolver();
+  private Path dir;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("atomicDumpTest");
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  private void assertOnlyFile(Path file) throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      Assertions.assertArrayEquals(new Object[] {file}, files.toArray());
+    }
+  }
+
+  @Test
+  public void testReplacesExistingFile() throws IOException {
+    Path file = dir.resolve("config.properties");
+    StringBuilder previous = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      previous.append("old").append(i).append("=value\n");
+    }
+    Files.write(file, previous.toString().getBytes(StandardCharsets.UTF_8));
+
+    resolver.dump(new Subject(), file.toFile());
+
+    String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    Assertions.assertEquals("greeting=здравей", content.trim());
+    assertOnlyFile(file);
+  }
+
+  @Test
+  public void testFsyncSetting() throws IOException {
+    Path file = dir.resolve("config.properties");
+    resolver.loadOrDump(
+        new Subject(), file, new Settings().put(ACDefaultSettings.FSYNC_ON_DUMP, true));
+
+    Subject loaded = new Subject();
+    loaded.greeting = null;
+    resolver.load(loaded, file);
+    Assertions.assertEquals("здравей", loaded.greeting);
+    assertOnlyFile(file);
+  }
+
+  @Test
+  public void testUnchangedFileIsNotWritten() throws IOException {
+    Path file = dir.resolve("config.properties");
+    Subject subject = new Subject();
+    Assertions.assertEquals(DumpResult.WRITTEN, resolver.dumpIfChanged(subject, file));
+
+    FileTime modified = FileTime.fromMillis(1_000_000L);
+    Files.setLastModifiedTime(file, modified);
+    Assertions.assertEquals(DumpResult.UNCHANGED, resolver.dumpIfChanged(subject, file));
+    resolver.dump(subject, file);
+    Assertions.assertEquals(modified, Files.getLastModifiedTime(file));
+
+    // same length, different content
+    subject.greeting = "здравеи";
+    Assertions.assertEquals(DumpResult.WRITTEN, resolver.dumpIfChanged(subject, file.toFile()));
+    Subject loaded = new Subject();
+    resolver.load(loaded, file);
+    Assertions.assertEquals("здравеи", loaded.greeting);
+    assertOnlyFile(file);
+  }
+
+  @Test
+  public void testMissingDirectory() throws IOException {
+    Path file = dir.resolve("missing").resolve("config.properties");
+    Assertions.assertThrows(RuntimeException.class, () -> resolver.dump(new Subject(), file));
+    Assertions.assertTrue(Files.notExists(file.getParent()));
+  }
+
+  @Test
+  public void testKeepsSymbolicLinkAndPermissions() throws IOException {
+    Assumptions.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+    Path real = Files.createDirectory(dir.resolve("real")).resolve("config.properties");
+    Files.write(real, "greeting=old\n".getBytes(StandardCharsets.UTF_8));
+    Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-------");
+    Files.setPosixFilePermissions(real, permissions);
+    Path link = Files.createSymbolicLink(dir.resolve("config.properties"), real);
+
+    resolver.dump(new Subject(), link);
+
+    Assertions.assertTrue(Files.isSymbolicLink(link));
+    Assertions.assertEquals(permissions, Files.getPosixFilePermissions(real));
+    String content = new String(Files.readAllBytes(real), StandardCharsets.UTF_8);
+    Assertions.assertEquals("greeting=здравей", content.trim());
+    try (Stream<Path> files = Files.list(real.getParent())) {
+      Assertions.assertArrayEquals(new Object[] {real}, files.toArray());
+    }
+  }
+}
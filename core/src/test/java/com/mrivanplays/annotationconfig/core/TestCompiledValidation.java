@@ -0,0 +1,91 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.annotations.Max;
+import com.mrivanplays.annotationconfig.core.annotations.Min;
+import com.mrivanplays.annotationconfig.core.annotations.custom.CustomAnnotationRegistry;
+import com.mrivanplays.annotationconfig.core.annotations.custom.ValidationResponse;
+import java.io.StringWriter;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestCompiledValidation {
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.FIELD)
+  @interface Rejected {}
+
+  static class BoundsTestSubject {
+
+    @Min(minLong = 3_000_000_000L)
+    private long big = 3_000_000_000L;
+
+    @Min(minDouble = 2.5)
+    private int fractional = 3;
+
+    @Max(maxFloat = 1.1F)
+    private double floatBound = 1;
+  }
+
+  static class PlacementTestSubject {
+
+    @Max(maxInt = 1)
+    private boolean value;
+  }
+
+  static class CustomTestSubject {
+
+    @Rejected private String value = "default";
+  }
+
+  private static void load(Object subject, String key, Object value) {
+    PropertyConfig.getConfigResolver().load(subject, Collections.singletonMap(key, value));
+  }
+
+  @Test
+  public void testBoundsAreNotTruncated() {
+    BoundsTestSubject subject = new BoundsTestSubject();
+    load(subject, "big", 3_000_000_001L);
+    Assertions.assertEquals(3_000_000_001L, subject.big);
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> load(subject, "big", 2_999_999_999L));
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> load(subject, "fractional", 2));
+
+    load(subject, "floatBound", 1.1D);
+    Assertions.assertEquals(1.1D, subject.floatBound);
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> load(subject, "floatBound", 1.2D));
+  }
+
+  @Test
+  public void testPlacementFailsOnDump() {
+    PlacementTestSubject subject = new PlacementTestSubject();
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> PropertyConfig.getConfigResolver().dump(subject, new StringWriter()));
+  }
+
+  @Test
+  public void testLateValidatorRegistration() {
+    CustomTestSubject subject = new CustomTestSubject();
+    load(subject, "value", "first");
+    Assertions.assertEquals("first", subject.value);
+
+    CustomAnnotationRegistry registry = CustomAnnotationRegistry.INSTANCE;
+    registry.register(
+        Rejected.class, (annotation, value, settings, field) -> ValidationResponse.failSilently());
+    try {
+      load(subject, "value", "second");
+      Assertions.assertEquals("first", subject.value);
+    } finally {
+      registry.unregister(Rejected.class);
+    }
+    load(subject, "value", "third");
+    Assertions.assertEquals("third", subject.value);
+  }
+}
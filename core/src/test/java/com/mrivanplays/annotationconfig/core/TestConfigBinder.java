@@ -0,0 +1,115 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.binder.ConfigBinder;
+import com.mrivanplays.annotationconfig.core.resolver.binder.DumpContext;
+import com.mrivanplays.annotationconfig.core.resolver.binder.LoadContext;
+import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestConfigBinder {
+
+  // static fields are options too, so the counters can't live in the config
+  private static final AtomicInteger LOADS = new AtomicInteger();
+  // dumps or gets, as streaming writers emit the options one by one
+  private static final AtomicInteger DUMPS = new AtomicInteger();
+
+  static class BinderBase {
+
+    private int inherited = 1;
+  }
+
+  static class BoundSubject extends BinderBase {
+
+    private long count = 1;
+
+    // what the processor would generate
+    static final class Binder implements ConfigBinder {
+
+      @Override
+      public String[] getFieldNames() {
+        return new String[] {"count"};
+      }
+
+      @Override
+      public Object get(Object instance, int index) {
+        DUMPS.incrementAndGet();
+        return ((BoundSubject) instance).count;
+      }
+
+      @Override
+      public void set(Object instance, int index, Object value) {
+        ((BoundSubject) instance).count = (Long) value;
+      }
+
+      @Override
+      public void load(Object instance, LoadContext context) {
+        LOADS.incrementAndGet();
+        BoundSubject config = (BoundSubject) instance;
+        for (int index : context.order()) {
+          if (context.read(index, config.count)) {
+            config.count = (Long) context.value();
+          }
+        }
+      }
+
+      @Override
+      public void dump(Object instance, DumpContext context) {
+        DUMPS.incrementAndGet();
+        for (int index : context.order()) {
+          context.write(index, ((BoundSubject) instance).count);
+        }
+      }
+    }
+  }
+
+  private final ConfigResolver resolver = PropertyConfig.getConfigResolver();
+  // other tests change the settings of the shared resolver
+  private final Settings ownOptions =
+      new Settings().put(ACDefaultSettings.FIND_PARENT_FIELDS, false);
+
+  @Test
+  public void testLoadAndDumpThroughBinder() {
+    int loads = LOADS.get();
+    int dumps = DUMPS.get();
+    BoundSubject subject = new BoundSubject();
+    resolver.load(subject, Collections.singletonMap("count", 5L), ownOptions);
+    Assertions.assertEquals(5, subject.count);
+    Assertions.assertEquals(loads + 1, LOADS.get());
+
+    StringWriter writer = new StringWriter();
+    resolver.dump(subject, writer);
+    Assertions.assertTrue(writer.toString().contains("count=5"));
+    Assertions.assertTrue(DUMPS.get() > dumps);
+  }
+
+  @Test
+  public void testWrongValueType() {
+    BoundSubject subject = new BoundSubject();
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> resolver.load(subject, Collections.singletonMap("count", "text"), ownOptions));
+  }
+
+  @Test
+  public void testInheritedOptionsAreReflective() {
+    int loads = LOADS.get();
+    BoundSubject subject = new BoundSubject();
+    Map<String, Object> values = new HashMap<>();
+    values.put("count", 5L);
+    values.put("inherited", 2);
+    Settings settings = new Settings().put(ACDefaultSettings.FIND_PARENT_FIELDS, true);
+    resolver.load(subject, values, settings);
+
+    Assertions.assertEquals(5, subject.count);
+    Assertions.assertEquals(2, ((BinderBase) subject).inherited);
+    Assertions.assertEquals(loads, LOADS.get());
+  }
+}
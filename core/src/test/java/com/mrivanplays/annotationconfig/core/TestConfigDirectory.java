@@ -0,0 +1,128 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigDirectory;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigDirectory.Refresh;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.WritableObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestConfigDirectory {
+
+  static class Subject {
+
+    private int foo = 0;
+  }
+
+  private final ConfigResolver resolver = PropertyConfig.getConfigResolver();
+  private Path dir;
+  private Path defaults;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("configDirectoryTest");
+    defaults = Files.createTempDirectory("configDirectoryDefaults").resolve("default.properties");
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    for (Path path : Arrays.asList(dir, defaults.getParent())) {
+      try (Stream<Path> files = Files.walk(path)) {
+        files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+      }
+    }
+  }
+
+  private void write(String name, String content) throws IOException {
+    Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private ConfigDirectory<Subject> directory(Path indexFile) {
+    return resolver.newConfigDirectory(
+        dir, Subject::new, WritableObject.createFromPath(defaults), null, indexFile);
+  }
+
+  @Test
+  public void testRefreshReportsChanges() throws IOException {
+    write("a.properties", "foo=1");
+    write("b.properties", "foo=2");
+    write("c.properties", "foo=3");
+    ConfigDirectory<Subject> directory = directory(null);
+
+    Refresh<Subject> refresh = directory.refresh();
+    Assertions.assertEquals(
+        new HashSet<>(Arrays.asList("a.properties", "b.properties", "c.properties")),
+        refresh.getAdded());
+    Assertions.assertEquals(2, refresh.getConfigs().get("b.properties").foo);
+    Subject a = refresh.getConfigs().get("a.properties");
+
+    Assertions.assertTrue(directory.refresh().isEmpty());
+    Assertions.assertSame(a, directory.getConfigs().get("a.properties"));
+
+    write("b.properties", "foo=20");
+    Files.setLastModifiedTime(dir.resolve("a.properties"), FileTime.fromMillis(0));
+    Files.delete(dir.resolve("c.properties"));
+    write("d.properties", "foo=4");
+    refresh = directory.refresh();
+    Assertions.assertEquals(Collections.singleton("d.properties"), refresh.getAdded());
+    Assertions.assertEquals(Collections.singleton("b.properties"), refresh.getChanged());
+    Assertions.assertEquals(Collections.singleton("c.properties"), refresh.getRemoved());
+    Assertions.assertSame(a, refresh.getConfigs().get("a.properties"));
+    Assertions.assertEquals(20, refresh.getConfigs().get("b.properties").foo);
+    Assertions.assertEquals(
+        Arrays.asList("a.properties", "b.properties", "d.properties"),
+        Arrays.asList(refresh.getConfigs().keySet().toArray()));
+  }
+
+  @Test
+  public void testFailureKeepsPreviousConfig() throws IOException {
+    write("a.properties", "foo=1");
+    ConfigDirectory<Subject> directory = directory(null);
+    Subject a = directory.refresh().getConfigs().get("a.properties");
+
+    write("a.properties", "foo=broken");
+    Refresh<Subject> refresh = directory.refresh();
+    Assertions.assertTrue(refresh.getFailures().containsKey("a.properties"));
+    Assertions.assertSame(a, refresh.getConfigs().get("a.properties"));
+
+    write("a.properties", "foo=2");
+    refresh = directory.refresh();
+    Assertions.assertEquals(Collections.singleton("a.properties"), refresh.getChanged());
+    Assertions.assertEquals(2, refresh.getConfigs().get("a.properties").foo);
+  }
+
+  @Test
+  public void testIndexFilePersistsAcrossInstances() throws IOException {
+    Path indexFile = defaults.resolveSibling("index");
+    write("a.properties", "foo=1");
+    write("b.properties", "foo=2");
+    directory(indexFile).refresh();
+    Assertions.assertTrue(Files.exists(indexFile));
+
+    write("b.properties", "foo=22");
+    Refresh<Subject> refresh = directory(indexFile).refresh();
+    Assertions.assertTrue(refresh.getAdded().isEmpty());
+    Assertions.assertEquals(Collections.singleton("b.properties"), refresh.getChanged());
+    Assertions.assertEquals(1, refresh.getConfigs().get("a.properties").foo);
+    Assertions.assertEquals(22, refresh.getConfigs().get("b.properties").foo);
+  }
+
+  @Test
+  public void testEmptyDirectoryDumpsDefaults() {
+    Refresh<Subject> refresh = directory(null).refresh();
+    Assertions.assertTrue(refresh.getConfigs().isEmpty());
+    Assertions.assertTrue(Files.exists(defaults));
+  }
+}
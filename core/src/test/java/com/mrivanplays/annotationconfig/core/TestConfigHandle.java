@@ -0,0 +1,68 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigHandle;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestConfigHandle {
+
+  static class Subject {
+
+    private int foo = 1;
+  }
+
+  private final ConfigResolver resolver = PropertyConfig.getConfigResolver();
+  private Path file;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    file = Files.createTempDirectory("configHandleTest").resolve("config.properties");
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(file.getParent());
+  }
+
+  private void write(String content) throws IOException {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testReloadPublishesNewSnapshot() throws IOException {
+    ConfigHandle<Subject> handle = resolver.newConfigHandle(file, Subject::new, null);
+    Assertions.assertTrue(Files.exists(file));
+    Subject first = handle.get();
+    Assertions.assertEquals(1, first.foo);
+
+    write("foo=2");
+    Subject second = handle.reload();
+    Assertions.assertSame(second, handle.get());
+    Assertions.assertEquals(2, second.foo);
+    Assertions.assertEquals(1, first.foo);
+
+    write("foo=3");
+    Assertions.assertEquals(3, handle.reloadAsync().join().foo);
+    Assertions.assertEquals(3, handle.get().foo);
+  }
+
+  @Test
+  public void testFailedReloadKeepsSnapshot() throws IOException {
+    write("foo=2");
+    ConfigHandle<Subject> handle = resolver.newConfigHandle(file, Subject::new, null);
+    Subject current = handle.get();
+
+    write("foo=broken");
+    Assertions.assertThrows(RuntimeException.class, handle::reload);
+    Assertions.assertSame(current, handle.get());
+    Assertions.assertEquals(2, current.foo);
+  }
+}
@@ -0,0 +1,150 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigHandle;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigWatcher;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigWatcher.Registration;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestConfigWatcher {
+
+  static class Subject {
+
+    private int foo = 0;
+  }
+
+  private final ConfigResolver resolver = PropertyConfig.getConfigResolver();
+  private final BlockingQueue<Subject> reloads = new LinkedBlockingQueue<>();
+  private Path file;
+  private ConfigWatcher watcher;
+  private Registration registration;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    file = Files.createTempDirectory("configWatcherTest").resolve("config.properties");
+    write("foo=1");
+    watcher = ConfigWatcher.newBuilder().withDebounce(100, TimeUnit.MILLISECONDS).build();
+    registration = watcher.watch(file, resolver, Subject::new, null, reloads::add);
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    watcher.close();
+    try (Stream<Path> files = Files.walk(file.getParent())) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  private void write(String content) throws IOException {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // WatchService implementations may poll, so waits are generous
+  private Subject awaitReload() throws InterruptedException {
+    return reloads.poll(30, TimeUnit.SECONDS);
+  }
+
+  // changes are reloaded in order, so no reload happened before a marker change is reloaded
+  private void assertNoReloadBeforeMarker() throws Exception {
+    write("foo=99");
+    Subject marker = awaitReload();
+    Assertions.assertNotNull(marker);
+    Assertions.assertEquals(99, marker.foo);
+  }
+
+  @Test
+  public void testReloadsOnExternalChange() throws Exception {
+    write("foo=2");
+    Subject reloaded = awaitReload();
+    Assertions.assertNotNull(reloaded);
+    Assertions.assertEquals(2, reloaded.foo);
+  }
+
+  @Test
+  public void testIgnoresOwnDump() throws Exception {
+    Subject dumped = new Subject();
+    dumped.foo = 5;
+    resolver.dump(dumped, file);
+
+    write("foo=3");
+    Subject reloaded = awaitReload();
+    Assertions.assertNotNull(reloaded);
+    Assertions.assertEquals(3, reloaded.foo);
+    assertNoReloadBeforeMarker();
+  }
+
+  @Test
+  public void testReloadsLoadedContentAfterDump() throws Exception {
+    Subject dumped = new Subject();
+    dumped.foo = 5;
+    resolver.dump(dumped, file);
+
+    write("foo=1");
+    Subject reloaded = awaitReload();
+    Assertions.assertNotNull(reloaded);
+    Assertions.assertEquals(1, reloaded.foo);
+  }
+
+  @Test
+  public void testReloadsRevertToDumpedContent() throws Exception {
+    Subject dumped = new Subject();
+    dumped.foo = 5;
+    resolver.dump(dumped, file);
+    String dumpedContent = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+    write("foo=6");
+    Subject edited = awaitReload();
+    Assertions.assertNotNull(edited);
+    Assertions.assertEquals(6, edited.foo);
+
+    write(dumpedContent);
+    Subject reverted = awaitReload();
+    Assertions.assertNotNull(reverted);
+    Assertions.assertEquals(5, reverted.foo);
+  }
+
+  @Test
+  public void testCoalescesBursts() throws Exception {
+    for (int i = 10; i <= 20; i++) {
+      write("foo=" + i);
+    }
+    Subject reloaded = awaitReload();
+    Assertions.assertNotNull(reloaded);
+    Assertions.assertEquals(20, reloaded.foo);
+    assertNoReloadBeforeMarker();
+  }
+
+  @Test
+  public void testClosedRegistrationStopsReloads() throws Exception {
+    registration.close();
+    BlockingQueue<Subject> marker = new LinkedBlockingQueue<>();
+    watcher.watch(file, resolver, Subject::new, null, marker::add);
+    write("foo=4");
+    Assertions.assertNotNull(marker.poll(30, TimeUnit.SECONDS));
+    Assertions.assertTrue(reloads.isEmpty());
+  }
+
+  @Test
+  public void testReloadsHandle() throws Exception {
+    registration.close();
+    ConfigHandle<Subject> handle = resolver.newConfigHandle(file, Subject::new, null);
+    watcher.watch(handle, reloads::add);
+    write("foo=7");
+    Subject reloaded = awaitReload();
+    Assertions.assertNotNull(reloaded);
+    Assertions.assertSame(reloaded, handle.get());
+    Assertions.assertEquals(7, reloaded.foo);
+  }
+}
@@ -0,0 +1,50 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.serialization.DataObject;
+import java.math.BigInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestDataObjectPrimitives {
+
+  @Test
+  public void testNumberValues() {
+    Assertions.assertEquals(5, new DataObject(5L).getAsInt());
+    Assertions.assertEquals(5L, new DataObject(5).getAsLong());
+    Assertions.assertEquals(5D, new DataObject(5).getAsDouble());
+    Assertions.assertEquals(1.5D, new DataObject(1.5D).getAsDouble());
+    Assertions.assertEquals(1.5F, new DataObject(1.5F).getAsFloat());
+    Assertions.assertEquals((short) 7, new DataObject((byte) 7).getAsShort());
+    Assertions.assertTrue(new DataObject(Boolean.TRUE).getAsBoolean());
+    Assertions.assertEquals(12, new DataObject("12").getAsInt());
+
+    Assertions.assertThrows(
+        NumberFormatException.class, () -> new DataObject(Long.MAX_VALUE).getAsInt());
+    Assertions.assertThrows(NumberFormatException.class, () -> new DataObject(300).getAsByte());
+    Assertions.assertThrows(NumberFormatException.class, () -> new DataObject(1.5D).getAsInt());
+  }
+
+  @Test
+  public void testDefaultValues() {
+    Assertions.assertEquals(3, new DataObject(3).getAsInt(-1));
+    Assertions.assertEquals(-42, new DataObject("-42").getAsInt(-1));
+    Assertions.assertEquals(-1, new DataObject("4x").getAsInt(-1));
+    Assertions.assertEquals(-1, new DataObject("").getAsInt(-1));
+    Assertions.assertEquals(-1, new DataObject("-").getAsInt(-1));
+    Assertions.assertEquals(-1, new DataObject(1.5D).getAsInt(-1));
+    Assertions.assertEquals(-1, new DataObject(Long.MAX_VALUE).getAsInt(-1));
+    Assertions.assertEquals(-1, new DataObject().getAsInt(-1));
+
+    Assertions.assertEquals(Long.MIN_VALUE, new DataObject("-9223372036854775808").getAsLong(0));
+    Assertions.assertEquals(0, new DataObject("9223372036854775808").getAsLong(0));
+    Assertions.assertEquals(9L, new DataObject(BigInteger.valueOf(9)).getAsLong(0));
+
+    Assertions.assertEquals(2.5D, new DataObject("2.5").getAsDouble(0));
+    Assertions.assertEquals(0D, new DataObject("abc").getAsDouble(0));
+    Assertions.assertEquals(0F, new DataObject(Boolean.TRUE).getAsFloat(0));
+
+    Assertions.assertTrue(new DataObject("TRUE").getAsBoolean(false));
+    Assertions.assertFalse(new DataObject("false").getAsBoolean(true));
+    Assertions.assertTrue(new DataObject("yes").getAsBoolean(true));
+  }
+}
@@ -0,0 +1,89 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.annotations.RawConfig;
+import com.mrivanplays.annotationconfig.core.serialization.DataObject;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+public class TestDataObjectView {
+
+  static class MapTestSubject {
+
+    private Map<String, Object> values = new HashMap<>();
+  }
+
+  static class RawTestSubject {
+
+    private String text;
+
+    @RawConfig private DataObject raw;
+  }
+
+  private static Map<String, Object> parsed() {
+    Map<String, Object> nested = new LinkedHashMap<>();
+    nested.put("big", new BigInteger("5"));
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("text", "foo");
+    map.put("decimal", new BigDecimal("1.5"));
+    map.put("nested", nested);
+    return map;
+  }
+
+  @Test
+  public void testImmutableView() {
+    DataObject object = new DataObject(parsed(), true);
+    Assertions.assertFalse(object.isSingleValue());
+    Assertions.assertTrue(object.has("nested"));
+    Assertions.assertEquals("foo", object.get("text").getAsString());
+    Assertions.assertEquals(5, object.get("nested").get("big").getAsInt());
+    Assertions.assertNull(object.get("missing"));
+    Assertions.assertSame(object.get("nested"), object.get("nested"));
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> object.put("text", "bar"));
+
+    Map<String, Object> map = object.getAsMap();
+    Assertions.assertEquals(1.5D, map.get("decimal"));
+    Assertions.assertEquals(5, ((Map<String, Object>) map.get("nested")).get("big"));
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> map.put("text", "bar"));
+
+    Assertions.assertEquals(new DataObject(parsed()), object);
+    Assertions.assertEquals(new DataObject(parsed()).getAsMap(), map);
+  }
+
+  @Test
+  public void testNonStringKeysAreCopied() {
+    DataObject object = new DataObject(Collections.singletonMap(1, "one"), true);
+    Assertions.assertEquals("one", object.get("1").getAsString());
+    Assertions.assertEquals(Collections.singletonMap("1", "one"), object.getAsMap());
+  }
+
+  @Test
+  public void testLoadedMapFieldIsMutable() {
+    MapTestSubject subject = new MapTestSubject();
+    PropertyConfig.getConfigResolver()
+        .load(subject, Collections.singletonMap("values", parsed()));
+    Assertions.assertEquals("foo", subject.values.get("text"));
+    subject.values.put("text", "bar");
+    ((Map<String, Object>) subject.values.get("nested")).put("big", 6);
+    Assertions.assertEquals("bar", subject.values.get("text"));
+  }
+
+  @Test
+  public void testRawConfigOwnsItsValues() {
+    RawTestSubject subject = new RawTestSubject();
+    Map<String, Object> values = parsed();
+    PropertyConfig.getConfigResolver().load(subject, values);
+    values.put("text", "bar");
+    ((Map<String, Object>) values.get("nested")).put("big", 6);
+
+    Assertions.assertEquals("foo", subject.text);
+    Assertions.assertEquals("foo", subject.raw.get("text").getAsString());
+    Assertions.assertEquals(5, subject.raw.get("nested").get("big").getAsInt());
+  }
+}
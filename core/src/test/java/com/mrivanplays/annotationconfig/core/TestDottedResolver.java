@@ -0,0 +1,59 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver;
+import com.mrivanplays.annotationconfig.core.resolver.key.KeyPath;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+public class TestDottedResolver {
+
+  private final DottedResolver resolver = DottedResolver.getInstance();
+
+  @Test
+  public void testKeyPathSegments() {
+    KeyPath path = KeyPath.of("foo.bar.baz");
+    Assertions.assertEquals(3, path.size());
+    Assertions.assertEquals("bar", path.get(1));
+    Assertions.assertTrue(path.isDotted());
+    Assertions.assertSame("baz", path.get(2));
+
+    Assertions.assertFalse(KeyPath.of("foo").isDotted());
+    Assertions.assertEquals(2, KeyPath.of("foo.bar.").size());
+  }
+
+  @Test
+  public void testBoxMergesSections() {
+    Map<String, Object> values = new LinkedHashMap<>();
+    resolver.boxTo(KeyPath.of("foo.bar.baz"), 1, values);
+    resolver.boxTo(KeyPath.of("foo.bar.qux"), 2, values);
+    resolver.boxTo("foo.other", 3, values);
+
+    Map<String, Object> foo = (Map<String, Object>) values.get("foo");
+    Map<String, Object> bar = (Map<String, Object>) foo.get("bar");
+    Assertions.assertEquals(1, bar.get("baz"));
+    Assertions.assertEquals(2, bar.get("qux"));
+    Assertions.assertEquals(3, foo.get("other"));
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> resolver.boxTo("foo.bar.baz", 4, values));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> resolver.boxTo("foo.other.x", 4, values));
+  }
+
+  @Test
+  public void testUnbox() {
+    Map<String, Object> values = new LinkedHashMap<>();
+    resolver.boxTo("foo.bar.baz", "value", values);
+    values.put("plain", "text");
+
+    Assertions.assertEquals("value", resolver.unbox(KeyPath.of("foo.bar.baz"), values));
+    Assertions.assertEquals("value", resolver.unbox("foo.bar.baz", values));
+    Assertions.assertEquals("text", resolver.unbox(KeyPath.of("plain"), values));
+    Assertions.assertNull(resolver.unbox(KeyPath.of("foo.missing.baz"), values));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> resolver.unbox("plain.foo", values));
+  }
+}
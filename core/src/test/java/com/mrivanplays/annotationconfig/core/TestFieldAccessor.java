@@ -0,0 +1,54 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.internal.FieldAccessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestFieldAccessor {
+
+  static class AccessorTestSubject {
+
+    private static String staticName = "static";
+
+    private int number = 5;
+    private final String finalName = "final";
+  }
+
+  private static FieldAccessor accessor(String name) throws NoSuchFieldException {
+    return FieldAccessor.of(AccessorTestSubject.class.getDeclaredField(name));
+  }
+
+  @Test
+  public void testGetAndSet() throws NoSuchFieldException {
+    AccessorTestSubject subject = new AccessorTestSubject();
+    FieldAccessor number = accessor("number");
+
+    Assertions.assertEquals(5, number.get(subject));
+    number.set(subject, 10);
+    Assertions.assertEquals(10, subject.number);
+  }
+
+  @Test
+  public void testStaticAndFinalFields() throws NoSuchFieldException {
+    AccessorTestSubject subject = new AccessorTestSubject();
+
+    Assertions.assertEquals("static", accessor("staticName").get(null));
+    Assertions.assertEquals("final", accessor("finalName").get(subject));
+  }
+
+  @Test
+  public void testWrongValueType() throws NoSuchFieldException {
+    AccessorTestSubject subject = new AccessorTestSubject();
+    FieldAccessor number = accessor("number");
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> number.set(subject, "text"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> number.set(subject, null));
+  }
+
+  @Test
+  public void testDeclaredIsCached() {
+    Assertions.assertSame(
+        FieldAccessor.declared(AccessorTestSubject.class),
+        FieldAccessor.declared(AccessorTestSubject.class));
+  }
+}
@@ -0,0 +1,145 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestFileLocking {
+
+  static class Subject {
+
+    private int foo = 0;
+  }
+
+  private Path dir;
+  private Path file;
+  private Path lockFile;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("fileLockingTest");
+    file = dir.resolve("config.properties");
+    lockFile = dir.resolve(".config.properties.lock");
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    Files.deleteIfExists(lockFile);
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(dir);
+  }
+
+  private Settings lockingSettings(long timeout) {
+    return new Settings()
+        .put(ACDefaultSettings.LOCK_FILES, true)
+        .put(ACDefaultSettings.LOCK_TIMEOUT, timeout);
+  }
+
+  @Test
+  public void testLoadAndDump() {
+    ConfigResolver resolver = PropertyConfig.getConfigResolver();
+    Subject subject = new Subject();
+    subject.foo = 3;
+    resolver.loadOrDump(subject, file, lockingSettings(1000));
+    Assertions.assertTrue(Files.exists(lockFile));
+
+    Subject loaded = new Subject();
+    resolver.load(loaded, file, lockingSettings(1000));
+    Assertions.assertEquals(3, loaded.foo);
+  }
+
+  @Test
+  public void testLockedElsewhere() throws IOException {
+    ConfigResolver resolver = PropertyConfig.getConfigResolver();
+    Subject subject = new Subject();
+    subject.foo = 3;
+    resolver.dump(subject, file);
+
+    // what another process dumping the config would hold
+    try (FileChannel channel =
+            FileChannel.open(
+                lockFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileLock lock = channel.lock()) {
+      Assertions.assertThrows(
+          RuntimeException.class,
+          () -> resolver.load(new Subject(), file, lockingSettings(50)));
+      // locking is opt-in
+      Subject loaded = new Subject();
+      resolver.load(loaded, file);
+      Assertions.assertEquals(3, loaded.foo);
+    }
+
+    Subject loaded = new Subject();
+    resolver.load(loaded, file, lockingSettings(1000));
+    Assertions.assertEquals(3, loaded.foo);
+  }
+
+  @Test
+  public void testConcurrentLoads() throws IOException {
+    ConfigResolver resolver = PropertyConfig.getConfigResolver();
+    Files.write(file, "foo=4\n".getBytes(StandardCharsets.UTF_8));
+    List<CompletableFuture<Subject>> loads = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      // loads generating new options lock the file exclusively, the others share the lock
+      Settings settings =
+          lockingSettings(10000).put(ACDefaultSettings.GENERATE_NEW_OPTIONS, i % 2 == 0);
+      loads.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                Subject loaded = new Subject();
+                resolver.load(loaded, file, settings);
+                return loaded;
+              }));
+    }
+    for (CompletableFuture<Subject> load : loads) {
+      Assertions.assertEquals(4, load.join().foo);
+    }
+  }
+
+  @Test
+  public void testWaitingReaderHonorsItsTimeout() throws Exception {
+    ConfigResolver resolver = PropertyConfig.getConfigResolver();
+    Files.write(file, "foo=4\n".getBytes(StandardCharsets.UTF_8));
+    Settings patient = lockingSettings(5000).put(ACDefaultSettings.GENERATE_NEW_OPTIONS, false);
+    Settings impatient = lockingSettings(50).put(ACDefaultSettings.GENERATE_NEW_OPTIONS, false);
+
+    try (FileChannel channel =
+            FileChannel.open(
+                lockFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileLock lock = channel.lock()) {
+      CompletableFuture<Void> waiting =
+          CompletableFuture.runAsync(() -> resolver.load(new Subject(), file, patient));
+      // let the patient reader start polling for the file lock
+      Thread.sleep(200);
+      long start = System.nanoTime();
+      Assertions.assertThrows(
+          RuntimeException.class, () -> resolver.load(new Subject(), file, impatient));
+      Assertions.assertTrue(
+          System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(2500),
+          "the reader waited for the other reader's timeout");
+      lock.release();
+      waiting.join();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.serialization.DataObject;
+import com.mrivanplays.annotationconfig.core.serialization.FieldTypeSerializer;
+import com.mrivanplays.annotationconfig.core.serialization.SerializerRegistry;
+import java.lang.reflect.Type;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestHierarchicalSerializer {
+
+  interface Shape {}
+
+  static class Circle implements Shape {}
+
+  static class BaseValue {}
+
+  static class DerivedValue extends BaseValue {}
+
+  static class Box<T> {}
+
+  static class HierarchyTestSubject {
+
+    private Box<String> box;
+  }
+
+  private static FieldTypeSerializer<Object> serializer(String name) {
+    return FieldTypeSerializer.functional(
+        (data, context, annotations) -> name, (value, context, annotations) -> new DataObject(name));
+  }
+
+  @Test
+  public void testInterfaceAndSuperclass() {
+    SerializerRegistry registry = SerializerRegistry.INSTANCE;
+    FieldTypeSerializer<Object> shapeSerializer = serializer("shape");
+    FieldTypeSerializer<Object> baseSerializer = serializer("base");
+    Assertions.assertSame(registry.getDefaultSerializer(), registry.resolveSerializer(Circle.class));
+
+    registry.registerSerializer((Type) Shape.class, shapeSerializer);
+    registry.registerSerializer((Type) BaseValue.class, baseSerializer);
+    try {
+      Assertions.assertSame(shapeSerializer, registry.resolveSerializer(Circle.class));
+      Assertions.assertSame(baseSerializer, registry.resolveSerializer(DerivedValue.class));
+      // only resolveSerializer looks up the hierarchy
+      Assertions.assertFalse(registry.getSerializer(DerivedValue.class).isPresent());
+      Assertions.assertFalse(registry.hasSerializer(DerivedValue.class));
+    } finally {
+      registry.unregisterSerializer(Shape.class);
+      registry.unregisterSerializer(BaseValue.class);
+    }
+    Assertions.assertSame(registry.getDefaultSerializer(), registry.resolveSerializer(Circle.class));
+    Assertions.assertFalse(registry.getSerializer(DerivedValue.class).isPresent());
+  }
+
+  @Test
+  public void testRawClassOfParameterizedType() throws NoSuchFieldException {
+    SerializerRegistry registry = SerializerRegistry.INSTANCE;
+    FieldTypeSerializer<Object> boxSerializer = serializer("box");
+    Type boxOfString = HierarchyTestSubject.class.getDeclaredField("box").getGenericType();
+
+    registry.registerSerializer((Type) Box.class, boxSerializer);
+    try {
+      Assertions.assertSame(boxSerializer, registry.resolveSerializer(boxOfString));
+    } finally {
+      registry.unregisterSerializer(Box.class);
+    }
+    Assertions.assertSame(registry.getDefaultSerializer(), registry.resolveSerializer(boxOfString));
+  }
+}
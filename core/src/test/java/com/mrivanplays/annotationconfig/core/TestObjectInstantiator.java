@@ -0,0 +1,56 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.serialization.InstantiatorRegistry;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestObjectInstantiator {
+
+  static class CreatedValue {
+
+    private String text;
+    private transient String origin = "constructor";
+
+    CreatedValue(String origin) {
+      this.origin = origin;
+    }
+  }
+
+  static class InstantiatorTestSubject {
+
+    private CreatedValue value;
+  }
+
+  private static CreatedValue load() {
+    InstantiatorTestSubject subject = new InstantiatorTestSubject();
+    PropertyConfig.getConfigResolver()
+        .load(subject, Collections.singletonMap("value", Collections.singletonMap("text", "foo")));
+    return subject.value;
+  }
+
+  @Test
+  public void testRegisteredInstantiator() {
+    InstantiatorRegistry registry = InstantiatorRegistry.INSTANCE;
+    Assertions.assertNull(load().origin);
+
+    AtomicInteger created = new AtomicInteger();
+    registry.registerInstantiator(
+        CreatedValue.class,
+        () -> new CreatedValue("factory " + created.incrementAndGet()));
+    try {
+      Assertions.assertThrows(
+          IllegalArgumentException.class,
+          () -> registry.registerInstantiator(CreatedValue.class, () -> null));
+      CreatedValue value = load();
+      Assertions.assertEquals("foo", value.text);
+      Assertions.assertEquals("factory 1", value.origin);
+      Assertions.assertEquals("factory 2", load().origin);
+    } finally {
+      registry.unregisterInstantiator(CreatedValue.class);
+    }
+    Assertions.assertNull(load().origin);
+    Assertions.assertFalse(registry.getInstantiator(CreatedValue.class).isPresent());
+  }
+}
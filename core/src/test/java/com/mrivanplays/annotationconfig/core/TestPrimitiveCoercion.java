@@ -0,0 +1,73 @@
+package com.mrivanplays.annotationconfig.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPrimitiveCoercion {
+
+  static class CoercionTestSubject {
+
+    private int intValue;
+    private long longValue;
+    private double doubleValue;
+    private float floatValue;
+    private byte byteValue;
+    private BigDecimal decimal;
+    private BigInteger integer;
+  }
+
+  private static CoercionTestSubject load(Map<String, Object> values) {
+    CoercionTestSubject subject = new CoercionTestSubject();
+    PropertyConfig.getConfigResolver().load(subject, values);
+    return subject;
+  }
+
+  @Test
+  public void testNumbersConvertDirectly() {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("intValue", 5L);
+    values.put("longValue", BigInteger.valueOf(6));
+    values.put("doubleValue", 7);
+    values.put("floatValue", 1.5D);
+    values.put("byteValue", 8);
+    values.put("decimal", 0.1D);
+    values.put("integer", 9);
+    CoercionTestSubject subject = load(values);
+
+    Assertions.assertEquals(5, subject.intValue);
+    Assertions.assertEquals(6L, subject.longValue);
+    Assertions.assertEquals(7D, subject.doubleValue);
+    Assertions.assertEquals(1.5F, subject.floatValue);
+    Assertions.assertEquals(8, subject.byteValue);
+    Assertions.assertEquals(new BigDecimal("0.1"), subject.decimal);
+    Assertions.assertEquals(BigInteger.valueOf(9), subject.integer);
+  }
+
+  @Test
+  public void testTextKeepsPrecision() {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("decimal", "1111111111.222222222222");
+    values.put("integer", "123456789012345678901234567890");
+    CoercionTestSubject subject = load(values);
+
+    Assertions.assertEquals(new BigDecimal("1111111111.222222222222"), subject.decimal);
+    Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), subject.integer);
+  }
+
+  @Test
+  public void testOutOfRange() {
+    Assertions.assertThrows(
+        NumberFormatException.class,
+        () -> load(Collections.singletonMap("byteValue", 300)));
+    Assertions.assertThrows(
+        NumberFormatException.class,
+        () -> load(Collections.singletonMap("intValue", Long.MAX_VALUE)));
+    Assertions.assertThrows(
+        NumberFormatException.class, () -> load(Collections.singletonMap("intValue", 1.5D)));
+  }
+}
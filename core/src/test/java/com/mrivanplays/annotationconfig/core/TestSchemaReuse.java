@@ -0,0 +1,77 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.annotations.ConfigObject;
+import com.mrivanplays.annotationconfig.core.annotations.Key;
+import com.mrivanplays.annotationconfig.core.annotations.comment.Comment;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSchemaReuse {
+
+  @Comment("Schema reuse test subject")
+  static class SchemaReuseSubject {
+
+    @Comment("The name")
+    private String name = "Ivan";
+
+    @Key("section.value")
+    private int value = 5;
+  }
+
+  static class NestedSchemaReuseSubject {
+
+    @ConfigObject private Nested nested = new Nested();
+
+    static class Nested {
+
+      private String name = "nested";
+    }
+  }
+
+  private static Properties dump(Object config) {
+    StringWriter writer = new StringWriter();
+    PropertyConfig.getConfigResolver().dump(config, writer);
+    Properties properties = new Properties();
+    try {
+      properties.load(new StringReader(writer.toString()));
+    } catch (IOException e) {
+      Assertions.fail(e);
+    }
+    return properties;
+  }
+
+  @Test
+  public void testRepeatedDumpsUseCurrentValues() {
+    SchemaReuseSubject first = new SchemaReuseSubject();
+    SchemaReuseSubject second = new SchemaReuseSubject();
+    second.name = "Pesho";
+    second.value = 10;
+
+    Properties firstDump = dump(first);
+    Properties secondDump = dump(second);
+
+    Assertions.assertEquals("Ivan", firstDump.getProperty("name"));
+    Assertions.assertEquals("5", firstDump.getProperty("section.value"));
+    Assertions.assertEquals("Pesho", secondDump.getProperty("name"));
+    Assertions.assertEquals("10", secondDump.getProperty("section.value"));
+  }
+
+  @Test
+  public void testRepeatedLoadsOfNestedConfigObjects() {
+    for (int i = 0; i < 3; i++) {
+      NestedSchemaReuseSubject config = new NestedSchemaReuseSubject();
+      Map<String, Object> nested = new HashMap<>();
+      nested.put("name", "loaded" + i);
+      PropertyConfig.getConfigResolver()
+          .load(config, Collections.singletonMap("nested", nested));
+      Assertions.assertEquals("loaded" + i, config.nested.name);
+    }
+  }
+}
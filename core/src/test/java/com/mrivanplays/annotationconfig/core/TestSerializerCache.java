@@ -0,0 +1,51 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.serialization.DataObject;
+import com.mrivanplays.annotationconfig.core.serialization.SerializerRegistry;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSerializerCache {
+
+  static class CachedValue {
+
+    private String text;
+
+    CachedValue(String text) {
+      this.text = text;
+    }
+  }
+
+  static class CacheTestSubject {
+
+    private CachedValue value = new CachedValue("default");
+  }
+
+  private static String load() {
+    CacheTestSubject subject = new CacheTestSubject();
+    PropertyConfig.getConfigResolver()
+        .load(subject, Collections.singletonMap("value", "loaded"));
+    return subject.value.text;
+  }
+
+  @Test
+  public void testLateRegistrationTakesEffect() {
+    SerializerRegistry registry = SerializerRegistry.INSTANCE;
+    Assertions.assertEquals("loaded", load());
+
+    int stamp = registry.getModificationStamp();
+    registry.registerSimpleSerializer(
+        CachedValue.class,
+        data -> new CachedValue("custom " + data.getAsString()),
+        value -> new DataObject(value.text));
+    try {
+      Assertions.assertNotEquals(stamp, registry.getModificationStamp());
+      Assertions.assertEquals("custom loaded", load());
+      Assertions.assertEquals("custom loaded", load());
+    } finally {
+      registry.unregisterSerializer(CachedValue.class);
+    }
+    Assertions.assertEquals("loaded", load());
+  }
+}
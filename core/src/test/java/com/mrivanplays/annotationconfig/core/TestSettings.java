@@ -0,0 +1,58 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Setting;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSettings {
+
+  private static final Setting<String> NAME = Setting.of("test_settings_name", String.class);
+  private static final Setting<Integer> COUNT = Setting.of("test_settings_count", Integer.class);
+
+  @Test
+  public void testCopiesAreIsolated() {
+    Settings settings = new Settings().put(NAME, "a");
+    Settings copy = settings.copy();
+    copy.put(NAME, "b").put(COUNT, 1);
+
+    Assertions.assertEquals("a", settings.get(NAME).orElse(null));
+    Assertions.assertFalse(settings.has(COUNT));
+    Assertions.assertEquals("b", copy.getOrDefault(NAME, null));
+
+    Settings defaults = ACDefaultSettings.getDefault();
+    defaults.copy().put(ACDefaultSettings.GENERATE_NEW_OPTIONS, false);
+    Assertions.assertTrue(defaults.getOrDefault(ACDefaultSettings.GENERATE_NEW_OPTIONS, null));
+  }
+
+  @Test
+  public void testIdsAreSharedByKey() {
+    Setting<String> sameKey = Setting.of("test_settings_name", String.class);
+    Assertions.assertEquals(NAME.id(), sameKey.id());
+    Assertions.assertNotEquals(NAME.id(), COUNT.id());
+
+    Settings settings = new Settings().put(NAME, "a");
+    Assertions.assertEquals("a", settings.getOrDefault(sameKey, null));
+  }
+
+  @Test
+  public void testEqualityIgnoresInsertionOrder() {
+    Settings first = new Settings().put(NAME, "a").put(COUNT, 1);
+    Settings second = new Settings().put(COUNT, 1).put(NAME, "a");
+    Assertions.assertEquals(first, second);
+    Assertions.assertEquals(first.hashCode(), second.hashCode());
+
+    Assertions.assertEquals(new Settings(), new Settings().put(NAME, "a").put(NAME, null));
+  }
+
+  @Test
+  public void testGetOrDefault() {
+    Settings settings = new Settings().put(COUNT, 2);
+    Assertions.assertEquals(2, settings.getOrDefault(COUNT, 5));
+    Assertions.assertEquals("fallback", settings.getOrDefault(NAME, "fallback"));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> settings.getOrDefault(Setting.of("test_settings_count", String.class), null));
+  }
+}
@@ -0,0 +1,157 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.annotations.ConfigObject;
+import com.mrivanplays.annotationconfig.core.annotations.Key;
+import com.mrivanplays.annotationconfig.core.annotations.RawConfig;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueReader;
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
+import com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver;
+import com.mrivanplays.annotationconfig.core.serialization.DataObject;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestStreamingBinder {
+
+  static class Section {
+
+    private String value = "default";
+  }
+
+  static class Subject {
+
+    @Key("server.host")
+    private String host = "localhost";
+
+    @Key("server.port")
+    private int port = 80;
+
+    @ConfigObject private Section section = new Section();
+
+    private String plain = "plain";
+  }
+
+  static class RawSubject {
+
+    private String foo = "foo";
+
+    @RawConfig private DataObject raw;
+  }
+
+  static class PropertiesSubject {
+
+    private String foo = "foo";
+    private int number = 1;
+  }
+
+  private static ConfigResolver cursorResolver(Map<String, Object> values) {
+    return ConfigResolver.newBuilder()
+        .withCommentPrefix("# ")
+        .withKeyResolver(DottedResolver.getInstance())
+        .withFileExtension(".test")
+        .withValueWriter((written, comments, writer, settings) -> {})
+        .withValueReader((StreamingValueReader) (reader, settings) -> ValueCursor.of(values))
+        .build();
+  }
+
+  private static Map<String, Object> section(Object... entries) {
+    Map<String, Object> section = new LinkedHashMap<>();
+    for (int i = 0; i < entries.length; i += 2) {
+      section.put((String) entries[i], entries[i + 1]);
+    }
+    return section;
+  }
+
+  @Test
+  public void testBindsLikeLoadingValues() {
+    Map<String, Object> values =
+        section(
+            "unknown", section("deep", Arrays.asList(section("a", 1), 2)),
+            "server", section("host", "example.com", "skipped", "x", "port", 25565),
+            "section", section("value", "read"),
+            "plain", "text");
+
+    Subject streamed = new Subject();
+    ConfigResolver resolver = cursorResolver(values);
+    resolver.load(streamed, new StringReader(""));
+    Subject loaded = new Subject();
+    resolver.load(loaded, values);
+
+    Assertions.assertEquals("example.com", streamed.host);
+    Assertions.assertEquals(25565, streamed.port);
+    Assertions.assertEquals("read", streamed.section.value);
+    Assertions.assertEquals("text", streamed.plain);
+
+    Assertions.assertEquals(loaded.host, streamed.host);
+    Assertions.assertEquals(loaded.port, streamed.port);
+    Assertions.assertEquals(loaded.section.value, streamed.section.value);
+    Assertions.assertEquals(loaded.plain, streamed.plain);
+  }
+
+  @Test
+  public void testMissingKeysKeepDefaults() {
+    Subject config = new Subject();
+    cursorResolver(section("server", section("port", 1))).load(config, new StringReader(""));
+
+    Assertions.assertEquals("localhost", config.host);
+    Assertions.assertEquals(1, config.port);
+    Assertions.assertEquals("default", config.section.value);
+    Assertions.assertEquals("plain", config.plain);
+  }
+
+  @Test
+  public void testDottedSegmentNotASection() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> cursorResolver(section("server", "text")).load(new Subject(), new StringReader("")));
+  }
+
+  @Test
+  public void testRawConfigGetsAllValues() {
+    RawSubject config = new RawSubject();
+    cursorResolver(section("foo", "bar", "unknown", section("a", 1)))
+        .load(config, new StringReader(""));
+
+    Assertions.assertEquals("bar", config.foo);
+    Assertions.assertTrue(config.raw.has("foo"));
+    Assertions.assertTrue(config.raw.has("unknown"));
+  }
+
+  @Test
+  public void testPropertiesSkipUnknownKeys() {
+    PropertiesSubject config = new PropertiesSubject();
+    PropertyConfig.getConfigResolver()
+        .load(config, new StringReader("foo=bar\nunknown=a, b\nnumber=5\n"));
+
+    Assertions.assertEquals("bar", config.foo);
+    Assertions.assertEquals(5, config.number);
+  }
+
+  @Test
+  public void testEmptyProperties() {
+    PropertiesSubject config = new PropertiesSubject();
+    PropertyConfig.getConfigResolver().load(config, new StringReader(""));
+
+    Assertions.assertEquals("foo", config.foo);
+    Assertions.assertEquals(1, config.number);
+  }
+
+  @Test
+  public void testEmptyPropertiesFileIsLeftEmpty() throws IOException {
+    Path file = Files.createTempFile("streamingBinderTest", ".properties");
+    try {
+      PropertyConfig.getConfigResolver().load(new PropertiesSubject(), file);
+
+      Assertions.assertEquals(0, Files.size(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.mrivanplays.annotationconfig.core;
+
+import com.mrivanplays.annotationconfig.core.annotations.ConfigObject;
+import com.mrivanplays.annotationconfig.core.annotations.Key;
+import com.mrivanplays.annotationconfig.core.annotations.comment.Comment;
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestValueEmitter {
+
+  @Comment("Section comment")
+  static class Section {
+
+    @Comment("Inner value")
+    private String value = "inner";
+
+    private List<String> list = Arrays.asList("a", "b");
+  }
+
+  static class Subject {
+
+    @Comment("The host")
+    @Key("server.host")
+    private String host = "localhost";
+
+    private int plain = 1;
+
+    @Key("server.port")
+    private int port = 80;
+
+    @ConfigObject private Section section = new Section();
+  }
+
+  static class PropertiesSubject {
+
+    @Comment("First")
+    private String foo = "bar";
+
+    private int number = 5;
+  }
+
+  /** Records what is emitted to it. */
+  private static final class RecordingEmitter implements ValueEmitter {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void beginSection(String key, List<String> comments) {
+      events.add("begin " + key + " " + comments);
+    }
+
+    @Override
+    public void scalar(String key, Object value, List<String> comments) {
+      events.add(key + "=" + value + " " + comments);
+    }
+
+    @Override
+    public void endSection() {
+      events.add("end");
+    }
+
+    @Override
+    public void finish() {
+      events.add("finish");
+    }
+  }
+
+  private static ConfigResolver resolver(ValueWriter valueWriter) {
+    return ConfigResolver.newBuilder()
+        .withCommentPrefix("# ")
+        .withKeyResolver(DottedResolver.getInstance())
+        .withFileExtension(".test")
+        .withValueWriter(valueWriter)
+        .withValueReader((reader, settings) -> Collections.emptyMap())
+        .build();
+  }
+
+  @Test
+  public void testEmitsLikeTheWrittenValues() {
+    RecordingEmitter streamed = new RecordingEmitter();
+    resolver((StreamingValueWriter) (writer, settings) -> streamed)
+        .dump(new Subject(), new StringWriter());
+
+    RecordingEmitter built = new RecordingEmitter();
+    resolver(
+            (values, fieldComments, writer, settings) -> {
+              ValueEmitter.emit(values, fieldComments, built);
+              built.finish();
+            })
+        .dump(new Subject(), new StringWriter());
+
+    Assertions.assertEquals(built.events, streamed.events);
+    Assertions.assertEquals(
+        Arrays.asList(
+            "begin section [Section comment]",
+            "list=[a, b] []",
+            "value=inner [Inner value]",
+            "end",
+            "begin server []",
+            "port=80 []",
+            "host=localhost [The host]",
+            "end",
+            "plain=1 []",
+            "finish"),
+        streamed.events);
+  }
+
+  @Test
+  public void testPropertiesDump() {
+    StringWriter writer = new StringWriter();
+    PropertyConfig.getConfigResolver().dump(new PropertiesSubject(), writer);
+
+    Assertions.assertEquals(
+        "number=5\n\n# First\nfoo=bar\n", writer.toString().replace(System.lineSeparator(), "\n"));
+  }
+}
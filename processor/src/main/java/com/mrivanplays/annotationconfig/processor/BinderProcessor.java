@@ -0,0 +1,418 @@
+package com.mrivanplays.annotationconfig.processor;
+
+import com.mrivanplays.annotationconfig.core.annotations.ConfigObject;
+import com.mrivanplays.annotationconfig.core.annotations.GenerateBinder;
+import com.mrivanplays.annotationconfig.core.annotations.Ignore;
+import com.mrivanplays.annotationconfig.core.annotations.Key;
+import com.mrivanplays.annotationconfig.core.annotations.Max;
+import com.mrivanplays.annotationconfig.core.annotations.Min;
+import com.mrivanplays.annotationconfig.core.annotations.Multiline;
+import com.mrivanplays.annotationconfig.core.annotations.RawConfig;
+import com.mrivanplays.annotationconfig.core.annotations.comment.Comment;
+import com.mrivanplays.annotationconfig.core.annotations.comment.Comments;
+import com.mrivanplays.annotationconfig.core.resolver.binder.ConfigBinder;
+import com.mrivanplays.annotationconfig.core.resolver.binder.DumpContext;
+import com.mrivanplays.annotationconfig.core.resolver.binder.FieldHandles;
+import com.mrivanplays.annotationconfig.core.resolver.binder.LoadContext;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor generating a {@link ConfigBinder} named {@code <Config>$Binder} for every
+ * class using AnnotationConfig's annotations, or marked with {@link GenerateBinder}. The binder
+ * loads and dumps the config with plain field accesses. Fields which can't be accessed from the
+ * binder's source (e.g. private or final fields) are accessed through {@link
+ * java.lang.invoke.MethodHandle MethodHandles} held in static final fields, which are created
+ * once when the binder is initialized.
+ *
+ * <p>Binders are not generated for private, local or anonymous classes.
+ *
+ * @since 3.0.2
+ * @author MrIvanPlays
+ */
+public final class BinderProcessor extends AbstractProcessor {
+
+  private static final Set<String> SUPPORTED_ANNOTATIONS =
+      Collections.unmodifiableSet(
+          new HashSet<>(
+              Arrays.asList(
+                  Key.class.getCanonicalName(),
+                  Comment.class.getCanonicalName(),
+                  Comments.class.getCanonicalName(),
+                  ConfigObject.class.getCanonicalName(),
+                  Min.class.getCanonicalName(),
+                  Max.class.getCanonicalName(),
+                  Multiline.class.getCanonicalName(),
+                  RawConfig.class.getCanonicalName(),
+                  Ignore.class.getCanonicalName(),
+                  GenerateBinder.class.getCanonicalName())));
+
+  private final Set<String> generated = new HashSet<>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return SUPPORTED_ANNOTATIONS;
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<TypeElement> configs = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.CLASS) {
+          configs.add((TypeElement) element);
+        } else if (element.getKind() == ElementKind.FIELD) {
+          configs.add((TypeElement) element.getEnclosingElement());
+          if (element.getAnnotation(ConfigObject.class) != null) {
+            TypeElement section = asTypeElement(element.asType());
+            if (section != null && isInRound(section, roundEnv)) {
+              configs.add(section);
+            }
+          }
+        }
+      }
+    }
+    for (TypeElement config : configs) {
+      if (!isAccessible(config)) {
+        continue;
+      }
+      String binderName = binderName(config);
+      if (!generated.add(config.getQualifiedName().toString())) {
+        continue;
+      }
+      // all the fields are options, like Class#getDeclaredFields returns them
+      List<VariableElement> fields = ElementFilter.fieldsIn(config.getEnclosedElements());
+      if (fields.isEmpty()) {
+        continue;
+      }
+      try {
+        writeBinder(config, binderName, fields);
+      } catch (IOException e) {
+        processingEnv
+            .getMessager()
+            .printMessage(
+                Diagnostic.Kind.ERROR, "Could not generate binder: " + e.getMessage(), config);
+      }
+    }
+    return false;
+  }
+
+  private void writeBinder(TypeElement config, String binderName, List<VariableElement> fields)
+      throws IOException {
+    PackageElement packageElement = getPackage(config);
+    String packageName = packageElement.getQualifiedName().toString();
+    String configType = typeName(config.asType());
+    String qualifiedBinderName =
+        packageName.isEmpty() ? binderName : packageName + "." + binderName;
+    List<BoundField> boundFields = new ArrayList<>(fields.size());
+    for (int i = 0; i < fields.size(); i++) {
+      boundFields.add(new BoundField(fields.get(i), i, configType, packageElement));
+    }
+    JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedBinderName, config);
+    try (PrintWriter out = new PrintWriter(file.openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.println("package " + packageName + ";");
+        out.println();
+      }
+      out.println("// Generated by AnnotationConfig. Do not edit.");
+      out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+      out.println(
+          "public final class " + binderName + " implements " + name(ConfigBinder.class) + " {");
+      out.println();
+      out.print("  private static final String[] FIELD_NAMES = {");
+      for (int i = 0; i < fields.size(); i++) {
+        if (i > 0) {
+          out.print(", ");
+        }
+        out.print("\"" + fields.get(i).getSimpleName() + "\"");
+      }
+      out.println("};");
+      for (BoundField field : boundFields) {
+        field.writeHandles(out);
+      }
+      out.println();
+      out.println("  @Override");
+      out.println("  public String[] getFieldNames() {");
+      out.println("    return FIELD_NAMES.clone();");
+      out.println("  }");
+      out.println();
+      out.println("  @Override");
+      out.println("  public Object get(Object instance, int index) {");
+      out.println("    " + configType + " config = (" + configType + ") instance;");
+      out.println("    switch (index) {");
+      for (BoundField field : boundFields) {
+        out.println("      case " + field.index + ":");
+        out.println("        return " + field.get() + ";");
+      }
+      writeDefault(out, "      ");
+      out.println("    }");
+      out.println("  }");
+      out.println();
+      out.println("  @Override");
+      out.println("  public void set(Object instance, int index, Object value) {");
+      out.println("    " + configType + " config = (" + configType + ") instance;");
+      out.println("    switch (index) {");
+      for (BoundField field : boundFields) {
+        out.println("      case " + field.index + ":");
+        out.println("        " + field.set("value") + ";");
+        out.println("        return;");
+      }
+      writeDefault(out, "      ");
+      out.println("    }");
+      out.println("  }");
+      out.println();
+      out.println("  @Override");
+      out.println(
+          "  public void load(Object instance, " + name(LoadContext.class) + " context) {");
+      out.println("    " + configType + " config = (" + configType + ") instance;");
+      out.println("    for (int index : context.order()) {");
+      out.println("      switch (index) {");
+      for (BoundField field : boundFields) {
+        out.println("        case " + field.index + ":");
+        out.println("          if (context.read(" + field.index + ", " + field.get() + ")) {");
+        out.println("            " + field.set("context.value()") + ";");
+        out.println("          }");
+        out.println("          break;");
+      }
+      writeDefault(out, "        ");
+      out.println("      }");
+      out.println("    }");
+      out.println("  }");
+      out.println();
+      out.println("  @Override");
+      out.println(
+          "  public void dump(Object instance, " + name(DumpContext.class) + " context) {");
+      out.println("    " + configType + " config = (" + configType + ") instance;");
+      out.println("    for (int index : context.order()) {");
+      out.println("      switch (index) {");
+      for (BoundField field : boundFields) {
+        out.println("        case " + field.index + ":");
+        out.println("          context.write(" + field.index + ", " + field.get() + ");");
+        out.println("          break;");
+      }
+      writeDefault(out, "        ");
+      out.println("      }");
+      out.println("    }");
+      out.println("  }");
+      for (BoundField field : boundFields) {
+        field.writeAccessors(out);
+      }
+      out.println("}");
+    }
+  }
+
+  private static void writeDefault(PrintWriter out, String indent) {
+    out.println(indent + "default:");
+    out.println(
+        indent + "  throw new IndexOutOfBoundsException(\"No bound field at \" + index);");
+  }
+
+  private static String name(Class<?> type) {
+    return type.getCanonicalName();
+  }
+
+  // the erasure of the type, as it is written in source
+  private String typeName(TypeMirror type) {
+    return processingEnv.getTypeUtils().erasure(type).toString();
+  }
+
+  /** Represents a field a binder binds, and how it is accessed. */
+  private final class BoundField {
+
+    private final VariableElement field;
+    private final int index;
+    private final String configType;
+    // the type the value is handled as, and the type it is cast to (the wrapper of a primitive)
+    private final String valueType;
+    private final String castType;
+    private final boolean direct;
+    private final boolean isStatic;
+
+    BoundField(VariableElement field, int index, String configType, PackageElement from) {
+      this.field = field;
+      this.index = index;
+      this.configType = configType;
+      TypeMirror type = field.asType();
+      boolean typeAccessible = isAccessible(type, from);
+      this.valueType = typeAccessible ? typeName(type) : "java.lang.Object";
+      this.castType = typeAccessible ? castType(type) : "java.lang.Object";
+      Set<Modifier> modifiers = field.getModifiers();
+      this.isStatic = modifiers.contains(Modifier.STATIC);
+      this.direct =
+          typeAccessible
+              && !modifiers.contains(Modifier.PRIVATE)
+              && !modifiers.contains(Modifier.FINAL);
+    }
+
+    // the expression the value of the field is read with
+    String get() {
+      if (direct) {
+        return (isStatic ? configType : "config") + "." + field.getSimpleName();
+      }
+      return "get" + index + "(config)";
+    }
+
+    // the statement the field is set to the specified Object expression with
+    String set(String value) {
+      String cast = "(" + castType + ") " + value;
+      if (direct) {
+        return (isStatic ? configType : "config") + "." + field.getSimpleName() + " = " + cast;
+      }
+      return "set" + index + "(config, " + cast + ")";
+    }
+
+    void writeHandles(PrintWriter out) {
+      if (direct) {
+        return;
+      }
+      String arguments =
+          configType + ".class, \"" + field.getSimpleName() + "\", " + valueType + ".class";
+      String handles = name(FieldHandles.class);
+      out.println("  private static final java.lang.invoke.MethodHandle GET_" + index + " =");
+      out.println("      " + handles + ".getter(" + arguments + ");");
+      out.println("  private static final java.lang.invoke.MethodHandle SET_" + index + " =");
+      out.println("      " + handles + ".setter(" + arguments + ");");
+    }
+
+    void writeAccessors(PrintWriter out) {
+      if (direct) {
+        return;
+      }
+      String receiver = isStatic ? "" : "config";
+      out.println();
+      out.println(
+          "  private static " + valueType + " get" + index + "(" + configType + " config) {");
+      out.println("    try {");
+      out.println(
+          "      return (" + valueType + ") GET_" + index + ".invokeExact(" + receiver + ");");
+      out.println("    } catch (Throwable e) {");
+      out.println("      throw " + name(FieldHandles.class) + ".rethrow(e);");
+      out.println("    }");
+      out.println("  }");
+      out.println();
+      out.println(
+          "  private static void set"
+              + index
+              + "("
+              + configType
+              + " config, "
+              + valueType
+              + " value) {");
+      out.println("    try {");
+      out.println(
+          "      SET_" + index + ".invokeExact(" + (isStatic ? "" : "config, ") + "value);");
+      out.println("    } catch (Throwable e) {");
+      out.println("      throw " + name(FieldHandles.class) + ".rethrow(e);");
+      out.println("    }");
+      out.println("  }");
+    }
+  }
+
+  private String castType(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return processingEnv
+          .getTypeUtils()
+          .boxedClass((PrimitiveType) type)
+          .getQualifiedName()
+          .toString();
+    }
+    return typeName(type);
+  }
+
+  private String binderName(TypeElement config) {
+    String binaryName = processingEnv.getElementUtils().getBinaryName(config).toString();
+    String packageName = getPackage(config).getQualifiedName().toString();
+    if (!packageName.isEmpty()) {
+      binaryName = binaryName.substring(packageName.length() + 1);
+    }
+    return binaryName + "$Binder";
+  }
+
+  private PackageElement getPackage(TypeElement type) {
+    return processingEnv.getElementUtils().getPackageOf(type);
+  }
+
+  private boolean isAccessible(TypeElement type) {
+    Element current = type;
+    while (current instanceof TypeElement) {
+      TypeElement currentType = (TypeElement) current;
+      if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      NestingKind nesting = currentType.getNestingKind();
+      if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+    return type.getKind() == ElementKind.CLASS;
+  }
+
+  // whether the erasure of the type can be referred to from the specified package
+  private boolean isAccessible(TypeMirror type, PackageElement from) {
+    TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+    if (erasure.getKind() == TypeKind.ARRAY) {
+      return isAccessible(((ArrayType) erasure).getComponentType(), from);
+    }
+    if (erasure.getKind() != TypeKind.DECLARED) {
+      return true;
+    }
+    Element current = ((DeclaredType) erasure).asElement();
+    while (current instanceof TypeElement) {
+      Set<Modifier> modifiers = current.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      if (!modifiers.contains(Modifier.PUBLIC) && !getPackage((TypeElement) current).equals(from)) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private TypeElement asTypeElement(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    return (TypeElement) ((DeclaredType) type).asElement();
+  }
+
+  private boolean isInRound(TypeElement type, RoundEnvironment roundEnv) {
+    Element outermost = type;
+    while (outermost.getEnclosingElement() instanceof TypeElement) {
+      outermost = outermost.getEnclosingElement();
+    }
+    return roundEnv.getRootElements().contains(outermost);
+  }
+}
@@ -0,0 +1,153 @@
+package com.mrivanplays.annotationconfig.processor;
+
+import com.mrivanplays.annotationconfig.core.PropertyConfig;
+import com.mrivanplays.annotationconfig.core.annotations.ConfigObject;
+import com.mrivanplays.annotationconfig.core.annotations.GenerateBinder;
+import com.mrivanplays.annotationconfig.core.annotations.Key;
+import com.mrivanplays.annotationconfig.core.annotations.Max;
+import com.mrivanplays.annotationconfig.core.annotations.comment.Comment;
+import com.mrivanplays.annotationconfig.core.internal.FieldAccessor;
+import com.mrivanplays.annotationconfig.core.resolver.binder.ConfigBinder;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestGeneratedBinder {
+
+  @Comment("Binder test subject")
+  static class BinderTestSubject {
+
+    @Comment("The name")
+    String name = "Ivan";
+
+    @Key("max-players")
+    @Max(maxInt = 100)
+    int maxPlayers = 20;
+
+    List<String> worlds = Arrays.asList("world", "nether");
+
+    private boolean reflective = true;
+
+    private final String motd = "Welcome";
+
+    @ConfigObject Section section = new Section();
+  }
+
+  static class Section {
+
+    private String greeting = "hello";
+  }
+
+  static class FlatBinderTestSubject {
+
+    @Key("message")
+    String text = "Hello";
+  }
+
+  @GenerateBinder
+  static class PlainBinderTestSubject {
+
+    private String text = "Hello";
+    private long count = 1;
+  }
+
+  private static ConfigBinder binder(Class<?> type) throws ReflectiveOperationException {
+    Class<?> binderClass = Class.forName(type.getName() + "$Binder");
+    Assertions.assertTrue(ConfigBinder.class.isAssignableFrom(binderClass));
+    return (ConfigBinder) binderClass.getDeclaredConstructor().newInstance();
+  }
+
+  @Test
+  public void testBinderGenerated() throws ReflectiveOperationException {
+    Assertions.assertEquals(
+        Arrays.asList("name", "maxPlayers", "worlds", "reflective", "motd", "section"),
+        Arrays.asList(binder(BinderTestSubject.class).getFieldNames()));
+
+    // the section is only referenced through @ConfigObject
+    binder(Section.class);
+    // the plain config uses no annotation other than @GenerateBinder
+    Assertions.assertEquals(
+        Arrays.asList("text", "count"),
+        Arrays.asList(binder(PlainBinderTestSubject.class).getFieldNames()));
+  }
+
+  @Test
+  public void testAccessorUsesBinder() throws NoSuchFieldException {
+    FieldAccessor direct = FieldAccessor.of(BinderTestSubject.class.getDeclaredField("name"));
+    FieldAccessor handle = FieldAccessor.of(BinderTestSubject.class.getDeclaredField("motd"));
+
+    Assertions.assertTrue(direct.toString().startsWith("BinderAccessor"));
+    Assertions.assertTrue(handle.toString().startsWith("BinderAccessor"));
+
+    BinderTestSubject subject = new BinderTestSubject();
+    direct.set(subject, "Pesho");
+    Assertions.assertEquals("Pesho", subject.name);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> direct.set(subject, 5));
+
+    handle.set(subject, "Hi");
+    Assertions.assertEquals("Hi", handle.get(subject));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> handle.set(subject, 5));
+  }
+
+  @Test
+  public void testLoadAndDump() {
+    BinderTestSubject subject = new BinderTestSubject();
+    Map<String, Object> section = new HashMap<>();
+    section.put("greeting", "hey");
+    Map<String, Object> values = new HashMap<>();
+    values.put("name", "Pesho");
+    values.put("max-players", 50);
+    values.put("reflective", false);
+    values.put("motd", "Hi");
+    values.put("section", section);
+
+    PropertyConfig.getConfigResolver().load(subject, values);
+
+    Assertions.assertEquals("Pesho", subject.name);
+    Assertions.assertEquals(50, subject.maxPlayers);
+    Assertions.assertFalse(subject.reflective);
+    Assertions.assertEquals("hey", subject.section.greeting);
+
+    BinderTestSubject tooMany = new BinderTestSubject();
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            PropertyConfig.getConfigResolver()
+                .load(tooMany, Collections.singletonMap("max-players", 101)));
+  }
+
+  @Test
+  public void testDump() {
+    FlatBinderTestSubject subject = new FlatBinderTestSubject();
+    subject.text = "Pesho";
+    StringWriter writer = new StringWriter();
+    PropertyConfig.getConfigResolver().dump(subject, writer);
+    Assertions.assertTrue(writer.toString().contains("message=Pesho"));
+  }
+
+  @Test
+  public void testPlainConfig() {
+    PlainBinderTestSubject subject = new PlainBinderTestSubject();
+    PropertyConfig.getConfigResolver().load(subject, new StringReader("text=Hey\ncount=5\n"));
+    Assertions.assertEquals("Hey", subject.text);
+    Assertions.assertEquals(5, subject.count);
+
+    StringWriter writer = new StringWriter();
+    PropertyConfig.getConfigResolver().dump(subject, writer);
+    Assertions.assertTrue(writer.toString().contains("text=Hey"));
+    Assertions.assertTrue(writer.toString().contains("count=5"));
+  }
+
+  @Test
+  public void testLoadFromReader() {
+    BinderTestSubject subject = new BinderTestSubject();
+    PropertyConfig.getConfigResolver().load(subject, new StringReader("max-players=30\n"));
+    Assertions.assertEquals(30, subject.maxPlayers);
+  }
+}
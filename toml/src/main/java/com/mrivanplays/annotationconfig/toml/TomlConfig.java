@@ -3,6 +3,7 @@ package com.mrivanplays.annotationconfig.toml;
 import com.fasterxml.jackson.dataformat.toml.TomlMapper;
 import com.fasterxml.jackson.dataformat.toml.TomlReadFeature;
 import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.ValueReader;
 import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
 import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Setting;
@@ -13,8 +14,6 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.Date;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
  * Represents configuration, utilising TOML.
@@ -30,23 +29,19 @@ public final class TomlConfig {
   /** Returns the {@link Setting} with which the mapper is referenced. */
   public static final Setting<TomlMapper> MAPPER_KEY = Setting.of("mapper", TomlMapper.class);
 
-  private static ConfigResolver configResolver;
-
   /**
    * Returns the {@link ConfigResolver} instance for toml config.
    *
    * @return config resolver
    */
   public static ConfigResolver getConfigResolver() {
-    if (configResolver == null) {
-      generateConfigResolver();
-    }
-    return configResolver;
+    return ConfigResolverHolder.CONFIG_RESOLVER;
   }
 
   private static final ValueWriter TOML_VALUE_WRITER = new TomlValueWriter(DEFAULT_TOML_MAPPER);
+  private static final ValueReader TOML_VALUE_READER = new TomlValueReader(DEFAULT_TOML_MAPPER);
 
-  private static void generateConfigResolver() {
+  private static ConfigResolver generateConfigResolver() {
     SerializerRegistry registry = SerializerRegistry.INSTANCE;
     if (!registry.hasSerializer(OffsetDateTime.class)) {
       registry.registerSimpleSerializer(
@@ -72,22 +67,19 @@ public final class TomlConfig {
           data -> LocalTime.parse(data.getAsString()),
           value -> new DataObject(value.toString()));
     }
-    configResolver =
-        ConfigResolver.newBuilder()
-            .withSetting(MAPPER_KEY, DEFAULT_TOML_MAPPER)
-            .withSetting(ACDefaultSettings.GENERATE_NEW_OPTIONS, false)
-            .withSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, true)
-            .withValueWriter(TOML_VALUE_WRITER)
-            .withCommentPrefix("# ")
-            .withFileExtension(".toml")
-            .withValueReader(
-                (reader, settings) ->
-                    (Map<String, Object>)
-                        settings
-                            .get(MAPPER_KEY)
-                            .orElse(DEFAULT_TOML_MAPPER)
-                            .reader()
-                            .readValue(reader, LinkedHashMap.class))
-            .build();
+    return ConfigResolver.newBuilder()
+        .withSetting(MAPPER_KEY, DEFAULT_TOML_MAPPER)
+        .withSetting(ACDefaultSettings.GENERATE_NEW_OPTIONS, false)
+        .withSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, true)
+        .withValueWriter(TOML_VALUE_WRITER)
+        .withCommentPrefix("# ")
+        .withFileExtension(".toml")
+        .withValueReader(TOML_VALUE_READER)
+        .build();
+  }
+
+  private static final class ConfigResolverHolder {
+
+    static final ConfigResolver CONFIG_RESOLVER = generateConfigResolver();
   }
 }
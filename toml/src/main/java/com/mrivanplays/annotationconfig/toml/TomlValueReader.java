@@ -0,0 +1,141 @@
+package com.mrivanplays.annotationconfig.toml;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.toml.TomlMapper;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueReader;
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Represents the default toml value reader. Reads the values through the streaming {@link
+ * JsonParser} of jackson's {@link TomlMapper}, and reports them like the mapper would read them
+ * into a map.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public final class TomlValueReader implements StreamingValueReader {
+
+  private final TomlMapper defaultMapper;
+
+  public TomlValueReader(TomlMapper defaultMapper) {
+    this.defaultMapper = defaultMapper;
+  }
+
+  @Override
+  public ValueCursor open(Reader reader, Settings settings) throws IOException {
+    TomlMapper tomlMapper = settings.getOrDefault(TomlConfig.MAPPER_KEY, defaultMapper);
+    return new TomlValueCursor(
+        tomlMapper.createParser(reader), tomlMapper.getDeserializationConfig());
+  }
+
+  private static final class TomlValueCursor implements ValueCursor {
+
+    private final JsonParser parser;
+    private final DeserializationConfig config;
+    private Token current;
+
+    TomlValueCursor(JsonParser parser, DeserializationConfig config) {
+      this.parser = parser;
+      this.config = config;
+    }
+
+    @Override
+    public Token next() throws IOException {
+      return current = toToken(parser.nextToken());
+    }
+
+    @Override
+    public Token current() {
+      return current;
+    }
+
+    @Override
+    public String getKey() {
+      if (current != Token.KEY) {
+        throw new IllegalStateException("Not at a key");
+      }
+      try {
+        return parser.getCurrentName();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public Object getScalar() {
+      if (current != Token.SCALAR) {
+        throw new IllegalStateException("Not at a scalar");
+      }
+      try {
+        switch (parser.currentToken()) {
+          case VALUE_STRING:
+            return parser.getText();
+          case VALUE_NUMBER_INT:
+            // same as jackson's untyped deserializer
+            if (config.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)) {
+              return parser.getBigIntegerValue();
+            }
+            if (config.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS)
+                && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+              return parser.getLongValue();
+            }
+            return parser.getNumberValue();
+          case VALUE_NUMBER_FLOAT:
+            if (config.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+              return parser.getDecimalValue();
+            }
+            return parser.getNumberValue();
+          case VALUE_TRUE:
+            return Boolean.TRUE;
+          case VALUE_FALSE:
+            return Boolean.FALSE;
+          case VALUE_EMBEDDED_OBJECT:
+            return parser.getEmbeddedObject();
+          default:
+            return null;
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+      if (current == Token.KEY) {
+        next();
+      }
+      parser.skipChildren();
+      current = toToken(parser.currentToken());
+    }
+
+    @Override
+    public void close() throws IOException {
+      parser.close();
+    }
+
+    private static Token toToken(JsonToken token) {
+      if (token == null) {
+        return null;
+      }
+      switch (token) {
+        case START_OBJECT:
+          return Token.START_SECTION;
+        case FIELD_NAME:
+          return Token.KEY;
+        case START_ARRAY:
+          return Token.START_LIST;
+        case END_OBJECT:
+        case END_ARRAY:
+          return Token.END;
+        default:
+          return Token.SCALAR;
+      }
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package com.mrivanplays.annotationconfig.toml;
 
 import com.fasterxml.jackson.dataformat.toml.TomlMapper;
+import com.mrivanplays.annotationconfig.core.resolver.EntryValueEmitter;
 import com.mrivanplays.annotationconfig.core.resolver.MultilineString;
-import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -13,12 +15,13 @@ import java.util.Map;
 
 /**
  * Represents the default toml value writer. Has a lot of stuff homebrew but the main dumping is
- * done via jackson's {@link TomlMapper}.
+ * done via jackson's {@link TomlMapper}. Values can be {@link #open(PrintWriter, Settings)
+ * emitted} to it, which writes them one top level entry at a time.
  *
  * @author MrIvanPlays
  * @since 2.1.0
  */
-public final class TomlValueWriter implements ValueWriter {
+public final class TomlValueWriter implements StreamingValueWriter {
 
   private final TomlMapper defaultMapper;
 
@@ -26,6 +29,18 @@ public final class TomlValueWriter implements ValueWriter {
     this.defaultMapper = defaultMapper;
   }
 
+  @Override
+  public ValueEmitter open(PrintWriter writer, Settings settings) {
+    TomlMapper tomlMapper = settings.getOrDefault(TomlConfig.MAPPER_KEY, defaultMapper);
+    return new EntryValueEmitter() {
+      @Override
+      protected void writeEntry(String key, Object value, Map<String, List<String>> comments)
+          throws IOException {
+        TomlValueWriter.this.writeEntry(key, value, comments, writer, tomlMapper);
+      }
+    };
+  }
+
   @Override
   public void write(
       Map<String, Object> values,
@@ -33,23 +48,32 @@ public final class TomlValueWriter implements ValueWriter {
       PrintWriter writer,
       Settings settings)
       throws IOException {
-    TomlMapper tomlMapper = settings.get(TomlConfig.MAPPER_KEY).orElse(defaultMapper);
+    TomlMapper tomlMapper = settings.getOrDefault(TomlConfig.MAPPER_KEY, defaultMapper);
     for (Map.Entry<String, Object> entry : values.entrySet()) {
-      List<String> comments = getComments(entry.getKey(), fieldComments);
-      if (!comments.isEmpty()) {
-        for (String comment : comments) {
-          writer.println("# " + comment);
-        }
-      }
-      Object toWrite;
-      if (entry.getValue() instanceof MultilineString) {
-        toWrite = ((MultilineString) entry.getValue()).getString();
-      } else {
-        toWrite = entry.getValue();
+      writeEntry(entry.getKey(), entry.getValue(), fieldComments, writer, tomlMapper);
+    }
+  }
+
+  private void writeEntry(
+      String key,
+      Object value,
+      Map<String, List<String>> fieldComments,
+      PrintWriter writer,
+      TomlMapper tomlMapper)
+      throws IOException {
+    List<String> comments = getComments(key, fieldComments);
+    if (!comments.isEmpty()) {
+      for (String comment : comments) {
+        writer.println("# " + comment);
       }
-      writer.println(
-          tomlMapper.writeValueAsString(Collections.singletonMap(entry.getKey(), toWrite)));
     }
+    Object toWrite;
+    if (value instanceof MultilineString) {
+      toWrite = ((MultilineString) value).getString();
+    } else {
+      toWrite = value;
+    }
+    writer.println(tomlMapper.writeValueAsString(Collections.singletonMap(key, toWrite)));
   }
 
   private List<String> getComments(String key, Map<String, List<String>> toWriteComments) {
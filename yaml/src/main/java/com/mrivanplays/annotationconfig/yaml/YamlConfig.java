@@ -1,14 +1,14 @@
 package com.mrivanplays.annotationconfig.yaml;
 
 import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.ValueReader;
 import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
 import com.mrivanplays.annotationconfig.core.resolver.key.DottedResolver;
 import com.mrivanplays.annotationconfig.core.resolver.settings.ACDefaultSettings;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Setting;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 import org.yaml.snakeyaml.Yaml;
 
 /**
@@ -19,14 +19,46 @@ import org.yaml.snakeyaml.Yaml;
  */
 public final class YamlConfig {
 
-  private static final Yaml YAML = new Yaml();
-
   /**
    * Returns the {@link Setting} with which the yaml instance is referenced in the {@link Settings}
+   *
+   * @deprecated a {@link Yaml} instance can't be used by multiple threads at once, so loads with
+   *     the instance set here are run one at a time. Use {@link #YAML_SUPPLIER} instead.
    */
+  @Deprecated
   public static final Setting<Yaml> YAML_INSTANCE = Setting.of("yaml", Yaml.class);
 
-  private static ConfigResolver configResolver;
+  /**
+   * Returns the {@link Setting} with which a supplier of the {@link Yaml} instances to load yaml
+   * configs with is referenced in the {@link Settings}. The supplier is called once per load, and
+   * may be called from multiple threads at once; as a {@link Yaml} instance can't be used by
+   * multiple threads at once, it should never return an instance which another thread may be
+   * using, like the suppliers {@link #perThread(Supplier)} returns.
+   *
+   * @since 3.0.2
+   */
+  public static final Setting<Supplier<Yaml>> YAML_SUPPLIER =
+      Setting.of("yaml_supplier", yamlSupplierType());
+
+  /**
+   * Returns a {@link Supplier} for the {@link #YAML_SUPPLIER} setting, which supplies each thread
+   * with its own {@link Yaml} instance, created with the specified {@code factory} the first time
+   * the thread asks for one.
+   *
+   * @param factory the factory of the yaml instances
+   * @return per thread yaml supplier
+   * @since 3.0.2
+   */
+  public static Supplier<Yaml> perThread(Supplier<Yaml> factory) {
+    Objects.requireNonNull(factory, "factory");
+    ThreadLocal<Yaml> instances = ThreadLocal.withInitial(factory);
+    return instances::get;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Class<Supplier<Yaml>> yamlSupplierType() {
+    return (Class<Supplier<Yaml>>) (Class<?>) Supplier.class;
+  }
 
   /**
    * Returns the {@link ConfigResolver} instance of YamlConfig
@@ -34,32 +66,26 @@ public final class YamlConfig {
    * @return config resolver
    */
   public static ConfigResolver getConfigResolver() {
-    if (configResolver == null) {
-      generateConfigResolver();
-    }
-    return configResolver;
+    return ConfigResolverHolder.CONFIG_RESOLVER;
   }
 
   private static final ValueWriter YAML_VALUE_WRITER = new YamlValueWriter();
+  private static final ValueReader YAML_VALUE_READER = new YamlValueReader();
+
+  private static ConfigResolver generateConfigResolver() {
+    return ConfigResolver.newBuilder()
+        .withKeyResolver(DottedResolver.getInstance())
+        .withValueWriter(YAML_VALUE_WRITER)
+        .withSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, true)
+        .withCommentPrefix("# ")
+        .withFileExtension(".yml")
+        .withFileExtension(".yaml")
+        .withValueReader(YAML_VALUE_READER)
+        .build();
+  }
+
+  private static final class ConfigResolverHolder {
 
-  private static void generateConfigResolver() {
-    configResolver =
-        ConfigResolver.newBuilder()
-            .withKeyResolver(DottedResolver.getInstance())
-            .withValueWriter(YAML_VALUE_WRITER)
-            .withSetting(ACDefaultSettings.SHOULD_REVERSE_FIELDS, true)
-            .withCommentPrefix("# ")
-            .withFileExtension(".yml")
-            .withFileExtension(".yaml")
-            .withValueReader(
-                (reader, settings) -> {
-                  Map<String, Object> values =
-                      settings.get(YAML_INSTANCE).orElse(YAML).loadAs(reader, LinkedHashMap.class);
-                  if (values == null) {
-                    return Collections.emptyMap();
-                  }
-                  return values;
-                })
-            .build();
+    static final ConfigResolver CONFIG_RESOLVER = generateConfigResolver();
   }
 }
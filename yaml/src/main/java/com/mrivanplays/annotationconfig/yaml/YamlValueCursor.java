@@ -0,0 +1,577 @@
+package com.mrivanplays.annotationconfig.yaml;
+
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.composer.ComposerException;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * Represents a {@link ValueCursor} over the events of a SnakeYAML {@link Parser}. Values are
+ * resolved and constructed like {@code new Yaml().load} does, but only when they are asked for:
+ *
+ * <ul>
+ *   <li>scalars are constructed with a {@link Constructor}, so timestamps, binary, etc. are read
+ *       the same;
+ *   <li>aliases replay the events recorded for their anchor;
+ *   <li>merge keys ({@code <<}) are flattened into the mapping they are in, with the precedence
+ *       SnakeYAML uses: explicit keys first, then merged keys in order. Merged keys are reported
+ *       after the explicit ones;
+ *   <li>collections with explicit tags other than {@code !!map} and {@code !!seq}, e.g. {@code
+ *       !!set}, are constructed as a whole and reported as scalars.
+ * </ul>
+ */
+final class YamlValueCursor implements ValueCursor {
+
+  // returned for keys which are merge keys
+  private static final Object MERGE_KEY = new Object();
+
+  private final Parser parser;
+  private final LoaderOptions options;
+  private final Resolver resolver = new Resolver();
+  private NodeConstructor constructor;
+
+  // events replayed for aliases, and the events of the anchors recorded so far
+  private final Deque<Iterator<Event>> aliasReplays = new ArrayDeque<>();
+  private final Map<String, List<Event>> anchors = new HashMap<>();
+  private final List<Recording> recordings = new ArrayList<>();
+  private int collectionAliases;
+
+  // merged entries of a mapping, replayed before its end
+  private final Deque<Event> mergeReplay = new ArrayDeque<>();
+
+  private final Deque<Frame> frames = new ArrayDeque<>();
+  private Token current;
+  private Object key;
+  private ScalarEvent scalar;
+  private Object constructed;
+  private boolean hasConstructed;
+  private boolean finished;
+
+  YamlValueCursor(Parser parser, LoaderOptions options) {
+    this.parser = parser;
+    this.options = options;
+  }
+
+  @Override
+  public Token next() {
+    hasConstructed = false;
+    while (!finished) {
+      Event event = pull();
+      if (event == null) {
+        break;
+      }
+      switch (event.getEventId()) {
+        case StreamStart:
+        case DocumentStart:
+        case Comment:
+          continue;
+        case DocumentEnd:
+          Event following = pull();
+          if (following != null && !following.is(Event.ID.StreamEnd)) {
+            throw new YAMLException("expected a single document in the stream");
+          }
+          finished = true;
+          break;
+        case StreamEnd:
+          finished = true;
+          break;
+        case MappingEnd:
+          Frame mapping = frames.peek();
+          if (mapping.merges != null) {
+            flushMerges(mapping);
+            mergeReplay.add(event);
+            continue;
+          }
+          return end();
+        case SequenceEnd:
+          return end();
+        default:
+          Frame frame = frames.peek();
+          if (frame != null && frame.expectKey) {
+            Object key = readKey(event);
+            if (key == MERGE_KEY) {
+              frame.addMerge(readNodeEvents(event));
+              continue;
+            }
+            String stringKey = String.valueOf(key);
+            frame.keys.add(stringKey);
+            frame.expectKey = false;
+            this.key = key;
+            return current = Token.KEY;
+          }
+          return startValue(event);
+      }
+    }
+    return current = null;
+  }
+
+  private Token end() {
+    frames.pop();
+    valueRead();
+    return current = Token.END;
+  }
+
+  private Token startValue(Event event) {
+    if (event.is(Event.ID.Scalar)) {
+      scalar = (ScalarEvent) event;
+      valueRead();
+      return current = Token.SCALAR;
+    }
+    CollectionStartEvent start = (CollectionStartEvent) event;
+    boolean mapping = event.is(Event.ID.MappingStart);
+    String tag = start.getTag();
+    if (tag != null
+        && !tag.equals("!")
+        && !tag.equals(mapping ? Tag.MAP.getValue() : Tag.SEQ.getValue())) {
+      // e.g. !!set or !!omap; let the constructor build them
+      constructed = constructor().construct(compose(event));
+      hasConstructed = true;
+      valueRead();
+      return current = Token.SCALAR;
+    }
+    frames.push(new Frame(mapping));
+    if (frames.size() > options.getNestingDepthLimit()) {
+      throw new YAMLException("Nesting Depth exceeded max " + options.getNestingDepthLimit());
+    }
+    return current = mapping ? Token.START_SECTION : Token.START_LIST;
+  }
+
+  private void valueRead() {
+    Frame frame = frames.peek();
+    if (frame != null && frame.mapping) {
+      frame.expectKey = true;
+    }
+  }
+
+  @Override
+  public Token current() {
+    return current;
+  }
+
+  @Override
+  public String getKey() {
+    return String.valueOf(getKeyValue());
+  }
+
+  @Override
+  public Object getKeyValue() {
+    if (current != Token.KEY) {
+      throw new IllegalStateException("Not at a key");
+    }
+    return key;
+  }
+
+  @Override
+  public Object getScalar() {
+    if (current != Token.SCALAR) {
+      throw new IllegalStateException("Not at a scalar");
+    }
+    if (!hasConstructed) {
+      constructed = constructor().construct(scalarNode(scalar));
+      hasConstructed = true;
+    }
+    return constructed;
+  }
+
+  @Override
+  public void skipValue() {
+    if (current == Token.KEY) {
+      Event event = pull();
+      skipNode(event);
+      valueRead();
+      if (event.is(Event.ID.Scalar)) {
+        scalar = (ScalarEvent) event;
+        hasConstructed = false;
+        current = Token.SCALAR;
+      } else {
+        current = Token.END;
+      }
+      return;
+    }
+    if (current == Token.START_SECTION || current == Token.START_LIST) {
+      int depth = 1;
+      while (depth > 0) {
+        Event event = pull();
+        if (event instanceof CollectionStartEvent) {
+          depth++;
+        } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+          depth--;
+        }
+      }
+      end();
+    }
+  }
+
+  // the next event, with the merged entries of the current mapping first
+  private Event pull() {
+    if (!mergeReplay.isEmpty()) {
+      return mergeReplay.poll();
+    }
+    return nextEvent();
+  }
+
+  // the next event of the document, with aliases replaced by the events of their anchor
+  private Event nextEvent() {
+    Event event;
+    boolean replayed;
+    while (true) {
+      Iterator<Event> replay = aliasReplays.peek();
+      if (replay == null) {
+        event = parser.getEvent();
+        replayed = false;
+        break;
+      }
+      if (replay.hasNext()) {
+        event = replay.next();
+        replayed = true;
+        break;
+      }
+      aliasReplays.pop();
+    }
+    if (event == null) {
+      return null;
+    }
+    if (event.is(Event.ID.Alias)) {
+      String anchor = ((AliasEvent) event).getAnchor();
+      List<Event> events = anchors.get(anchor);
+      if (events == null) {
+        for (Recording recording : recordings) {
+          if (recording.anchor.equals(anchor)) {
+            throw new YAMLException("Recursive aliases are not supported: " + anchor);
+          }
+        }
+        throw new YAMLException("found undefined alias " + anchor);
+      }
+      if (events.size() > 1 && ++collectionAliases > options.getMaxAliasesForCollections()) {
+        throw new YAMLException(
+            "Number of aliases for non-scalar nodes exceeds the specified max="
+                + options.getMaxAliasesForCollections());
+      }
+      aliasReplays.push(events.iterator());
+      return nextEvent();
+    }
+    record(event, replayed);
+    return event;
+  }
+
+  private void record(Event event, boolean replayed) {
+    if (!recordings.isEmpty()) {
+      for (Iterator<Recording> iterator = recordings.iterator(); iterator.hasNext(); ) {
+        Recording recording = iterator.next();
+        recording.events.add(event);
+        if (event instanceof CollectionStartEvent) {
+          recording.depth++;
+        } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+          if (--recording.depth == 0) {
+            anchors.put(recording.anchor, recording.events);
+            iterator.remove();
+          }
+        }
+      }
+    }
+    // anchors in replayed events have been registered when they were first read
+    if (!replayed && event instanceof NodeEvent && ((NodeEvent) event).getAnchor() != null) {
+      String anchor = ((NodeEvent) event).getAnchor();
+      List<Event> events = new ArrayList<>();
+      events.add(event);
+      if (event instanceof CollectionStartEvent) {
+        recordings.add(new Recording(anchor, events));
+      } else {
+        anchors.put(anchor, events);
+      }
+    }
+  }
+
+  // skips the rest of the node started by the specified event
+  private void skipNode(Event start) {
+    if (!(start instanceof CollectionStartEvent)) {
+      return;
+    }
+    int depth = 1;
+    while (depth > 0) {
+      Event event = pull();
+      if (event instanceof CollectionStartEvent) {
+        depth++;
+      } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+        depth--;
+      }
+    }
+  }
+
+  // reads the events of the node started by the specified event
+  private List<Event> readNodeEvents(Event start) {
+    List<Event> events = new ArrayList<>();
+    Event value = pull();
+    events.add(value);
+    if (value instanceof CollectionStartEvent) {
+      int depth = 1;
+      while (depth > 0) {
+        Event event = pull();
+        events.add(event);
+        if (event instanceof CollectionStartEvent) {
+          depth++;
+        } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+          depth--;
+        }
+      }
+    }
+    return events;
+  }
+
+  private Object readKey(Event event) {
+    if (event.is(Event.ID.Scalar)) {
+      ScalarEvent scalar = (ScalarEvent) event;
+      ScalarNode node = scalarNode(scalar);
+      if (node.getTag().equals(Tag.MERGE)) {
+        return MERGE_KEY;
+      }
+      if (node.getTag().equals(Tag.STR)) {
+        return scalar.getValue();
+      }
+      return constructor().construct(node);
+    }
+    // complex keys
+    return constructor().construct(compose(event));
+  }
+
+  /**
+   * Replays the entries merged into the specified mapping, which are not overridden by its own
+   * keys or by entries merged before them. Merges in merged mappings are flattened recursively,
+   * in the order they appear, like SnakeYAML's {@code SafeConstructor#flattenMapping} does.
+   */
+  private void flushMerges(Frame mapping) {
+    Set<Object> taken = new HashSet<>(mapping.keys);
+    for (List<Event> merge : mapping.merges) {
+      merge(merge.iterator(), taken);
+    }
+    mapping.merges = null;
+  }
+
+  private void merge(Iterator<Event> events, Set<Object> taken) {
+    Event start = events.next();
+    if (start.is(Event.ID.MappingStart)) {
+      mergeMapping(events, taken);
+      return;
+    }
+    if (start.is(Event.ID.SequenceStart)) {
+      Event next;
+      while (!(next = events.next()).is(Event.ID.SequenceEnd)) {
+        if (!next.is(Event.ID.MappingStart)) {
+          throw new YAMLException(
+              "while constructing a mapping ; expected a mapping for merging, but found "
+                  + next.getEventId());
+        }
+        mergeMapping(events, taken);
+      }
+      return;
+    }
+    throw new YAMLException(
+        "while constructing a mapping ; expected a mapping or list of mappings for merging, but"
+            + " found "
+            + start.getEventId());
+  }
+
+  // merges the entries of a mapping whose start event has been read
+  private void mergeMapping(Iterator<Event> events, Set<Object> taken) {
+    Event next;
+    while (!(next = events.next()).is(Event.ID.MappingEnd)) {
+      List<Event> keyEvents = subNode(next, events);
+      List<Event> valueEvents = subNode(events.next(), events);
+      Object key;
+      if (next.is(Event.ID.Scalar)) {
+        key = readKey(next);
+      } else {
+        key = constructor().construct(compose(keyEvents.iterator()));
+      }
+      if (key == MERGE_KEY) {
+        merge(valueEvents.iterator(), taken);
+        continue;
+      }
+      if (taken.add(String.valueOf(key))) {
+        mergeReplay.addAll(keyEvents);
+        mergeReplay.addAll(valueEvents);
+      }
+    }
+  }
+
+  private static List<Event> subNode(Event start, Iterator<Event> events) {
+    List<Event> node = new ArrayList<>();
+    node.add(start);
+    if (start instanceof CollectionStartEvent) {
+      int depth = 1;
+      while (depth > 0) {
+        Event event = events.next();
+        node.add(event);
+        if (event instanceof CollectionStartEvent) {
+          depth++;
+        } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+          depth--;
+        }
+      }
+    }
+    return node;
+  }
+
+  // composes the node started by the specified event out of the next events
+  private Node compose(Event start) {
+    return compose(start, null);
+  }
+
+  private Node compose(Iterator<Event> events) {
+    return compose(events.next(), events);
+  }
+
+  private Node compose(Event start, Iterator<Event> events) {
+    if (start.is(Event.ID.Scalar)) {
+      return scalarNode((ScalarEvent) start);
+    }
+    CollectionStartEvent collection = (CollectionStartEvent) start;
+    boolean mapping = start instanceof MappingStartEvent;
+    String tag = collection.getTag();
+    boolean resolved = tag == null || tag.equals("!");
+    Tag nodeTag =
+        resolved
+            ? resolver.resolve(mapping ? NodeId.mapping : NodeId.sequence, null, true)
+            : explicitTag(tag, start.getStartMark());
+    if (mapping) {
+      List<NodeTuple> tuples = new ArrayList<>();
+      Event next;
+      while (!(next = events == null ? pull() : events.next()).is(Event.ID.MappingEnd)) {
+        Node key = compose(next, events);
+        Node value = compose(events == null ? pull() : events.next(), events);
+        tuples.add(new NodeTuple(key, value));
+      }
+      return new MappingNode(
+          nodeTag,
+          resolved,
+          tuples,
+          start.getStartMark(),
+          next.getEndMark(),
+          collection.getFlowStyle());
+    }
+    List<Node> nodes = new ArrayList<>();
+    Event next;
+    while (!(next = events == null ? pull() : events.next()).is(Event.ID.SequenceEnd)) {
+      nodes.add(compose(next, events));
+    }
+    return new SequenceNode(
+        nodeTag,
+        resolved,
+        nodes,
+        start.getStartMark(),
+        next.getEndMark(),
+        ((SequenceStartEvent) start).getFlowStyle());
+  }
+
+  private ScalarNode scalarNode(ScalarEvent event) {
+    String tag = event.getTag();
+    boolean resolved = tag == null || tag.equals("!");
+    Tag nodeTag =
+        resolved
+            ? resolver.resolve(
+                NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar())
+            : explicitTag(tag, event.getStartMark());
+    return new ScalarNode(
+        nodeTag,
+        resolved,
+        event.getValue(),
+        event.getStartMark(),
+        event.getEndMark(),
+        event.getScalarStyle());
+  }
+
+  // global tags (e.g. !!java.io.File) are checked like SnakeYAML's Composer does, so only the
+  // classes allowed by the TagInspector of the options can be constructed
+  private Tag explicitTag(String tag, Mark mark) {
+    Tag nodeTag = new Tag(tag);
+    if (nodeTag.isCustomGlobal() && !options.getTagInspector().isGlobalTagAllowed(nodeTag)) {
+      // the constructor is protected, as SnakeYAML only throws it from its own Composer
+      throw new ComposerException(null, null, "Global tag is not allowed: " + tag, mark) {};
+    }
+    return nodeTag;
+  }
+
+  private NodeConstructor constructor() {
+    if (constructor == null) {
+      constructor = new NodeConstructor(options);
+    }
+    return constructor;
+  }
+
+  /** Exposes the construction of single nodes. */
+  private static final class NodeConstructor extends Constructor {
+
+    NodeConstructor(LoaderOptions options) {
+      super(options);
+    }
+
+    Object construct(Node node) {
+      if (node instanceof ScalarNode) {
+        // not tracked for recursion, as scalars can't hold themselves
+        return getConstructor(node).construct(node);
+      }
+      return constructObject(node);
+    }
+  }
+
+  private static final class Frame {
+
+    private final boolean mapping;
+    private boolean expectKey;
+    // the keys read in a mapping, which take precedence over merged ones
+    private final List<String> keys;
+    private List<List<Event>> merges;
+
+    Frame(boolean mapping) {
+      this.mapping = mapping;
+      this.expectKey = mapping;
+      this.keys = mapping ? new ArrayList<>() : null;
+    }
+
+    void addMerge(List<Event> merge) {
+      if (merges == null) {
+        merges = new ArrayList<>(1);
+      }
+      merges.add(merge);
+    }
+  }
+
+  private static final class Recording {
+
+    private final String anchor;
+    private final List<Event> events;
+    private int depth = 1;
+
+    Recording(String anchor, List<Event> events) {
+      this.anchor = anchor;
+      this.events = events;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.mrivanplays.annotationconfig.yaml;
+
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueReader;
+import com.mrivanplays.annotationconfig.core.resolver.ValueCursor;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+
+/**
+ * Represents the default yaml value reader. Reads the values through the events of SnakeYAML's
+ * parser, and reports them like {@link Yaml#load(Reader)} would read them into a map. If custom
+ * {@link Yaml} instances are supplied with {@link YamlConfig#YAML_SUPPLIER}, the values are loaded
+ * with an instance of the supplier instead.
+ *
+ * @author MrIvanPlays
+ * @since 3.0.2
+ */
+public final class YamlValueReader implements StreamingValueReader {
+
+  @Override
+  public Map<String, Object> read(Reader reader, Settings settings) throws IOException {
+    Map<String, Object> values;
+    Supplier<Yaml> yamlSupplier = settings.getOrDefault(YamlConfig.YAML_SUPPLIER, null);
+    if (yamlSupplier != null) {
+      values = loadMap(yamlSupplier.get(), reader);
+    } else {
+      @SuppressWarnings("deprecation")
+      Yaml yaml = settings.getOrDefault(YamlConfig.YAML_INSTANCE, null);
+      if (yaml == null) {
+        return StreamingValueReader.super.read(reader, settings);
+      }
+      // the instance may be shared by loads on other threads
+      synchronized (yaml) {
+        values = loadMap(yaml, reader);
+      }
+    }
+    if (values == null) {
+      return Collections.emptyMap();
+    }
+    return values;
+  }
+
+  // loadAs can only be given a raw class, and the map holds whatever keys the yaml has, as it did
+  // when the values were loaded with the yaml instance directly
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> loadMap(Yaml yaml, Reader reader) {
+    return yaml.loadAs(reader, LinkedHashMap.class);
+  }
+
+  @SuppressWarnings("deprecation")
+  @Override
+  public ValueCursor open(Reader reader, Settings settings) throws IOException {
+    if (settings.getOrDefault(YamlConfig.YAML_SUPPLIER, null) != null
+        || settings.getOrDefault(YamlConfig.YAML_INSTANCE, null) != null) {
+      // the custom instance may construct values differently
+      return ValueCursor.of(read(reader, settings));
+    }
+    LoaderOptions options = new LoaderOptions();
+    return new YamlValueCursor(new ParserImpl(new StreamReader(reader), options), options);
+  }
+}
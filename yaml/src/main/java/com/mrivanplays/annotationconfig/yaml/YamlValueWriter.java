@@ -1,7 +1,9 @@
 package com.mrivanplays.annotationconfig.yaml;
 
+import com.mrivanplays.annotationconfig.core.resolver.EntryValueEmitter;
 import com.mrivanplays.annotationconfig.core.resolver.MultilineString;
-import com.mrivanplays.annotationconfig.core.resolver.ValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.StreamingValueWriter;
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
 import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
 import com.mrivanplays.annotationconfig.core.utils.ReflectionUtils;
 import java.io.PrintWriter;
@@ -12,13 +14,25 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Represents the default yaml value writer. It uses homebrew writing to support comments.
+ * Represents the default yaml value writer. It uses homebrew writing to support comments. Values
+ * can be {@link #open(PrintWriter, Settings) emitted} to it, which writes them one top level entry
+ * at a time.
  *
  * @author MrIvanPlays
  * @since 2.1.0
  */
 @SuppressWarnings("unchecked")
-public final class YamlValueWriter implements ValueWriter {
+public final class YamlValueWriter implements StreamingValueWriter {
+
+  @Override
+  public ValueEmitter open(PrintWriter writer, Settings settings) {
+    return new EntryValueEmitter() {
+      @Override
+      protected void writeEntry(String key, Object value, Map<String, List<String>> comments) {
+        write(null, key, value, writer, comments, 2, false, false);
+      }
+    };
+  }
 
   @Override
   public void write(
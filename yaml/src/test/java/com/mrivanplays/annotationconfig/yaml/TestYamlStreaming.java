@@ -0,0 +1,117 @@
+package com.mrivanplays.annotationconfig.yaml;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.ValueEmitter;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.composer.ComposerException;
+
+public class TestYamlStreaming {
+
+  static class Subject {
+
+    private String name = "default";
+    private Map<Object, Object> base;
+    private Map<Object, Object> derived;
+    private Map<Object, Object> numbers;
+    private List<Object> aliased;
+  }
+
+  private static final String CONFIG =
+      "unknown:\n"
+          + "  deep: [1, {a: b}]\n"
+          + "name: &name streamed\n"
+          + "base: &base\n"
+          + "  foo: 1\n"
+          + "  bar: two\n"
+          + "derived:\n"
+          + "  <<: *base\n"
+          + "  bar: overridden\n"
+          + "  baz: 3.5\n"
+          + "numbers:\n"
+          + "  1: one\n"
+          + "  2: two\n"
+          + "aliased: [*name, *base]\n";
+
+  private final ConfigResolver resolver = YamlConfig.getConfigResolver();
+
+  @Test
+  public void testReadsLikeLoadingValues() {
+    Subject streamed = new Subject();
+    resolver.load(streamed, new StringReader(CONFIG));
+    Subject loaded = new Subject();
+    resolver.load(loaded, new Yaml().<Map<String, Object>>load(CONFIG));
+
+    Assertions.assertEquals("streamed", streamed.name);
+    Assertions.assertEquals(loaded.base, streamed.base);
+    Assertions.assertEquals(loaded.derived, streamed.derived);
+    Assertions.assertEquals(loaded.numbers, streamed.numbers);
+    Assertions.assertEquals(loaded.aliased, streamed.aliased);
+
+    Assertions.assertEquals("overridden", streamed.derived.get("bar"));
+    Assertions.assertEquals(1, streamed.derived.get("foo"));
+    Assertions.assertEquals(3.5, streamed.derived.get("baz"));
+  }
+
+  @Test
+  public void testEmptyDocument() {
+    Subject config = new Subject();
+    resolver.load(config, new StringReader("# only a comment\n"));
+
+    Assertions.assertEquals("default", config.name);
+  }
+
+  @Test
+  public void testUndefinedAlias() {
+    Assertions.assertThrows(
+        RuntimeException.class,
+        () -> resolver.load(new Subject(), new StringReader("name: *missing\n")));
+  }
+
+  @Test
+  public void testRejectsGlobalTags() {
+    YamlValueReader reader = new YamlValueReader();
+    Assertions.assertThrows(
+        ComposerException.class,
+        () -> reader.read(new StringReader("f: !!java.io.File \"/etc/passwd\"\n"), new Settings()));
+    Assertions.assertThrows(
+        ComposerException.class,
+        () -> reader.read(new StringReader("f: !!java.util.ArrayList [a]\n"), new Settings()));
+  }
+
+  @Test
+  public void testEmitsLikeWritingValues() throws IOException {
+    Map<String, Object> section = new LinkedHashMap<>();
+    section.put("host", "localhost");
+    section.put("ports", Arrays.asList(25565, 25566));
+    section.put("nested", Collections.singletonMap("deep", true));
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("name", "emitted");
+    values.put("server", section);
+    Map<String, List<String>> comments = new LinkedHashMap<>();
+    comments.put("name", Collections.singletonList("The name"));
+    comments.put("server", Collections.singletonList("The server"));
+    comments.put("server.ports", Collections.singletonList("The ports"));
+
+    YamlValueWriter valueWriter = new YamlValueWriter();
+    StringWriter written = new StringWriter();
+    valueWriter.write(values, comments, new PrintWriter(written), new Settings());
+    StringWriter emitted = new StringWriter();
+    ValueEmitter emitter = valueWriter.open(new PrintWriter(emitted), new Settings());
+    ValueEmitter.emit(values, comments, emitter);
+    emitter.finish();
+
+    Assertions.assertEquals(written.toString(), emitted.toString());
+  }
+}
@@ -0,0 +1,68 @@
+package com.mrivanplays.annotationconfig.yaml;
+
+import com.mrivanplays.annotationconfig.core.resolver.ConfigResolver;
+import com.mrivanplays.annotationconfig.core.resolver.settings.Settings;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+public class TestYamlSupplier {
+
+  static class Subject {
+
+    private String name = "default";
+    private List<Integer> numbers;
+  }
+
+  private final ConfigResolver resolver = YamlConfig.getConfigResolver();
+
+  @Test
+  public void testPerThread() throws InterruptedException, ExecutionException {
+    Supplier<Yaml> supplier = YamlConfig.perThread(Yaml::new);
+    Yaml own = supplier.get();
+    Assertions.assertSame(own, supplier.get());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Assertions.assertNotSame(own, executor.submit(supplier::get).get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testConcurrentLoads() throws InterruptedException, ExecutionException {
+    Settings settings =
+        new Settings().put(YamlConfig.YAML_SUPPLIER, YamlConfig.perThread(Yaml::new));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Subject>> loads = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        String config = "name: config" + i + "\nnumbers: [" + i + ", " + (i + 1) + "]\n";
+        loads.add(
+            executor.submit(
+                () -> {
+                  Subject subject = new Subject();
+                  resolver.load(subject, new StringReader(config), settings);
+                  return subject;
+                }));
+      }
+      for (int i = 0; i < loads.size(); i++) {
+        Subject subject = loads.get(i).get();
+        Assertions.assertEquals("config" + i, subject.name);
+        Assertions.assertEquals(i, subject.numbers.get(0));
+        Assertions.assertEquals(i + 1, subject.numbers.get(1));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}